@@ -30,15 +30,20 @@
         static final String PATH_TO_DATA_FILE = "list/Character.data";
 
         Character CharacterValueToSearch;
-        Character[] charArray;
+        CharDataset charDataset;
+        RunOptions runOptions;
 
         private static final String SEPARATOR = "\n" + "=".repeat(80) + "\n";
-        private static final String USAGE_MESSAGE = "Використання: java BasicDataOperation <пошукове-значення> \n" +
+        private static final String USAGE_MESSAGE = "Використання: java BasicDataOperation <пошукове-значення> [--probes=<символи>] [--probes-file=<файл>] [--eytzinger-search] [--range=<від>..<до>] [--list-backend=linked|array|primitive] [--queue-workload=array|linked|concurrent|ring|all] [--queue-threads=<N>] [--latency[=<прогрів>:<вимірів>]]\n" +
     "Приклад:\n" +
-    "  java BasicDataOperation \"2025-01-02T20:42:25Z\"";
+    "  java BasicDataOperation \"2025-01-02T20:42:25Z\"\n" +
+    "  java BasicDataOperation Ж --probes=АБВЖ --probes-file=list/Character.data --range=А..Я\n" +
+    "  java BasicDataOperation Ж --list-backend=primitive\n" +
+    "  java BasicDataOperation Ж --queue-workload=all --queue-threads=8\n" +
+    "  java BasicDataOperation Ж --latency=20000:200000";
 
         public static void main(String[] args) {
-            if (args.length != 1) {
+            if (args.length < 1) {
                 System.out.println(USAGE_MESSAGE);
                 return;
             }
@@ -54,6 +59,16 @@
             }
 
             BasicDataOperation coordinator = new BasicDataOperation();
+            try {
+                coordinator.runOptions = RunOptions.parse(args, 1);
+                if (coordinator.runOptions.hasCache()) {
+                    throw new IllegalArgumentException("параметр --cache діє лише для обробки Map (java BasicDataOperationUsingMap)");
+                }
+            } catch (IllegalArgumentException e) {
+                System.out.println("Помилка: " + e.getMessage());
+                System.out.println(USAGE_MESSAGE);
+                return;
+            }
             coordinator.executeOperations(args);
         }
 
@@ -70,9 +85,15 @@
             
             // Підготовка даних та перевірка формату
             CharacterValueToSearch = args[0].charAt(0);
-            charArray = DataFileHandler.loadArrayFromFile(PATH_TO_DATA_FILE);
+            // один набір даних на всі обробники: сортування і запис .sorted виконуються один раз
+            charDataset = new CharDataset((char[]) DataFileHandler.loadCachedArray(PATH_TO_DATA_FILE, DataType.CHARACTER));
             
             runAllOperations();
+            if (runOptions.measuresLatency()) {
+                System.out.println(SEPARATOR);
+                System.out.println("⏱ РОЗПОДІЛ ЗАТРИМОК ПОШУКОВИХ ОПЕРАЦІЙ");
+                PerformanceTracker.displayLatencyReport();
+            }
 
             System.out.println(SEPARATOR);
             System.out.println("✅ АНАЛІЗ ЗАВЕРШЕНО ✅");
@@ -90,7 +111,7 @@
             
             try {
                 // Створення екземпляру класу з передаванням даних
-                BasicDataOperationUsingList listProcessor = new BasicDataOperationUsingList(CharacterValueToSearch, charArray);
+                BasicDataOperationUsingList listProcessor = new BasicDataOperationUsingList(CharacterValueToSearch, charDataset, runOptions);
                 listProcessor.executeDataOperations();
             } catch (Exception e) {
                 System.out.println("❌ Помилка при роботі з List: " + e.getMessage());
@@ -109,7 +130,7 @@
             
             try {
                 // Створення екземпляру класу з передаванням даних
-                BasicDataOperationUsingQueue queueProcessor = new BasicDataOperationUsingQueue(CharacterValueToSearch, charArray);
+                BasicDataOperationUsingQueue queueProcessor = new BasicDataOperationUsingQueue(CharacterValueToSearch, charDataset, runOptions);
                 queueProcessor.runDataProcessing();
             } catch (Exception e) {
                 System.out.println("❌ Помилка при роботі з Queue: " + e.getMessage());
@@ -128,7 +149,7 @@
             
             try {
                 // Створення екземпляру класу з передаванням даних           
-                BasicDataOperationUsingSet setProcessor = new BasicDataOperationUsingSet(CharacterValueToSearch, charArray);
+                BasicDataOperationUsingSet setProcessor = new BasicDataOperationUsingSet(CharacterValueToSearch, charDataset, runOptions);
                 setProcessor.executeDataAnalysis();
             } catch (Exception e) {
                 System.out.println("❌ Помилка при роботі з Set: " + e.getMessage());
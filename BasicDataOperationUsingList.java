@@ -1,11 +1,11 @@
 //*import java.time.Character; *//
-import java.util.LinkedList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 
 /**
- * Клас BasicDataOperationUsingList реалізує операції з колекціями типу LinkedList для даних Character.
+ * Клас BasicDataOperationUsingList реалізує операції зі списками List для даних Character.
+ * Реалізація списку (LinkedList, ArrayList або {@link CharArrayList}) обирається через {@link ListBackend}.
  * 
  * <p>Методи класу:</p>
  * <ul>
@@ -13,26 +13,38 @@ import java.util.List;
  *   <li>{@link #performArraySorting()} - Упорядковує масив елементів Character.</li>
  *   <li>{@link #findInArray()} - Здійснює пошук елемента в масиві Character.</li>
  *   <li>{@link #locateMinMaxInArray()} - Визначає найменше і найбільше значення в масиві.</li>
+ *   <li>{@link #findBatchInArray()} - Пакетний пошук значень у відсортованому масиві.</li>
+ *   <li>{@link #countRangeInArray()} - Підрахунок елементів масиву в діапазоні.</li>
+ *   <li>{@link #measureSearchLatency()} - Повторні виміри пошукових операцій з прогрівом (параметр --latency).</li>
  *   <li>{@link #sortList()} - Сортує колекцію List з Character.</li>
  *   <li>{@link #findInList()} - Пошук конкретного значення в списку.</li>
  *   <li>{@link #locateMinMaxInList()} - Пошук мінімального і максимального значення в списку.</li>
+ *   <li>{@link #findBatchInList()} - Пакетний пошук значень у відсортованому списку.</li>
  * </ul>
  */
 public class BasicDataOperationUsingList {
     private Character CharacterValueToSearch;
-    private Character[] charArray;
+    private CharDataset charDataset;
+    private RunOptions runOptions;
+    private char[] charArray;
+    private EytzingerIndex searchIndex;
     private List<Character> charList;
+    private String listName;
 
     /**
      * Конструктор, який iнiцiалiзує об'єкт з готовими даними.
      * 
      * @param CharacterValueToSearch Значення для пошуку
-     * @param charArray Масив Character
+     * @param charDataset Спільний набір символів
+     * @param runOptions Додаткові параметри запуску (пакетний пошук)
      */
-    BasicDataOperationUsingList(Character CharacterValueToSearch, Character[] charArray) {
+    BasicDataOperationUsingList(Character CharacterValueToSearch, CharDataset charDataset, RunOptions runOptions) {
         this.CharacterValueToSearch = CharacterValueToSearch;
-        this.charArray = charArray;
-        this.charList = new LinkedList<Character>(Arrays.asList(charArray));
+        this.charDataset = charDataset;
+        this.runOptions = runOptions;
+        this.charArray = charDataset.values();
+        this.charList = runOptions.getListBackend().createList(charArray);
+        this.listName = runOptions.getListBackend().getDisplayName();
     }
     
     /**
@@ -50,6 +62,9 @@ public class BasicDataOperationUsingList {
         
         findInList();
         locateMinMaxInList();
+        if (runOptions.hasProbes()) {
+            findBatchInList();
+        }
 
         // потім обробляємо масив дати та часу
         findInArray();
@@ -59,9 +74,18 @@ public class BasicDataOperationUsingList {
         
         findInArray();
         locateMinMaxInArray();
+        if (runOptions.hasProbes()) {
+            findBatchInArray();
+        }
+        if (runOptions.hasRange()) {
+            countRangeInArray();
+        }
+        if (runOptions.measuresLatency()) {
+            measureSearchLatency();
+        }
 
         // зберігаємо відсортований масив до окремого файлу
-        DataFileHandler.writeArrayToFile(charArray, BasicDataOperation.PATH_TO_DATA_FILE + ".sorted");
+        charDataset.saveSorted(BasicDataOperation.PATH_TO_DATA_FILE + ".sorted");
     }
 
     /**
@@ -71,7 +95,10 @@ public class BasicDataOperationUsingList {
     void performArraySorting() {
         long timeStart = System.nanoTime();
 
-        Arrays.sort(charArray);
+        charArray = charDataset.sortedValues();
+        if (runOptions.usesEytzingerSearch()) {
+            searchIndex = charDataset.eytzingerIndex();
+        }
 
         PerformanceTracker.displayOperationTime(timeStart, "упорядкування масиву дати i часу");
     }
@@ -82,7 +109,10 @@ public class BasicDataOperationUsingList {
     void findInArray() {
         long timeStart = System.nanoTime();
 
-        int position = Arrays.binarySearch(this.charArray, CharacterValueToSearch);
+        // індекс Ейтцінгера доступний лише після сортування; до того - звичайний двійковий пошук
+        int position = searchIndex != null
+                ? searchIndex.search(CharacterValueToSearch)
+                : Arrays.binarySearch(this.charArray, CharacterValueToSearch);
 
         PerformanceTracker.displayOperationTime(timeStart, "пошук Character");
 
@@ -94,66 +124,97 @@ public class BasicDataOperationUsingList {
     }
 
     /**
-     * Визначає найменше та найбільше значення в масиві дати та часу.
+     * Шукає пакет значень у відсортованому масиві за один прохід.
      */
-    void locateMinMaxInArray() {
-        if (charArray == null || charArray.length == 0) {
-            System.out.println("Масив є пустим або не ініціалізованим.");
-            return;
-        }
-
-        long timeStart = System.nanoTime();
-
-        Character minValue = charArray[0];
-        Character maxValue = charArray[0];
+    void findBatchInArray() {
+        BatchSearch.searchAndReport(charArray, runOptions.getProbes(), "масивi");
+    }
 
-        for (Character currentchar : charArray) {
-            if (currentchar.charValue() < minValue.charValue()) {
-                minValue = currentchar;
-            }
-            if (currentchar.charValue() > maxValue.charValue()) {
-                maxValue = currentchar;
-            }
-        }
+    /**
+     * Підраховує елементи відсортованого масиву в діапазоні через нижню та верхню межі.
+     */
+    void countRangeInArray() {
+        SortedRangeIndex.countCharRange(charDataset, runOptions.getRangeFrom(), runOptions.getRangeTo(), "масивi");
+    }
 
-        PerformanceTracker.displayOperationTime(timeStart, "визначення мiнiмальної i максимальної дати в масивi");
+    /**
+     * Визначає найменше та найбільше значення в масиві дати та часу.
+     */
+    void locateMinMaxInArray() {
+        charDataset.printStatistics();
+    }
 
-        System.out.println("Найменше значення в масивi: " + minValue);
-        System.out.println("Найбільше значення в масивi: " + maxValue);
+    /**
+     * Вимірює пошук у відсортованому масиві та у відсортованому списку повторними запусками з прогрівом
+     * (див. {@link PerformanceTracker#measureOperation}); звіт про затримки виводить {@link BasicDataOperation}.
+     */
+    void measureSearchLatency() {
+        char value = CharacterValueToSearch;
+        int warmupIterations = runOptions.getLatencyWarmupIterations();
+        int measurementIterations = runOptions.getLatencyMeasurementIterations();
+        PerformanceTracker.measureOperation("пошук елемента у відсортованому масивi", warmupIterations, measurementIterations,
+                () -> searchIndex != null ? searchIndex.search(value) : Arrays.binarySearch(charArray, value));
+        PerformanceTracker.measureOperation("пошук елемента в " + listName, warmupIterations, measurementIterations,
+                () -> binarySearchList(value));
     }
 
     /**
-     * Шукає конкретне значення дати та часу в колекції LinkedList.
+     * Шукає конкретне значення дати та часу в списку.
      */
     void findInList() {
         long timeStart = System.nanoTime();
 
-        int position = Collections.binarySearch(this.charList, CharacterValueToSearch);
+        int position = binarySearchList(CharacterValueToSearch);
 
-        PerformanceTracker.displayOperationTime(timeStart, "пошук елемента в List дати i часу");        
+        PerformanceTracker.displayOperationTime(timeStart, "пошук елемента в " + listName + " дати i часу");        
 
         if (position >= 0) {
-            System.out.println("Елемент '" + CharacterValueToSearch + "' знайдено в LinkedList за позицією: " + position);
+            System.out.println("Елемент '" + CharacterValueToSearch + "' знайдено в " + listName + " за позицією: " + position);
         } else {
-            System.out.println("Елемент '" + CharacterValueToSearch + "' відсутній в LinkedList.");
+            System.out.println("Елемент '" + CharacterValueToSearch + "' відсутній в " + listName + ".");
         }
     }
 
     /**
-     * Визначає найменше і найбільше значення в колекції LinkedList з датами.
+     * Двійковий пошук у відсортованому списку; для {@link CharArrayList} - без упаковки елементів.
+     */
+    private int binarySearchList(char value) {
+        if (charList instanceof CharArrayList) {
+            return ((CharArrayList) charList).binarySearch(value);
+        }
+        return Collections.binarySearch(charList, value);
+    }
+
+    /**
+     * Шукає пакет значень у відсортованому списку одним проходом ітератора.
+     */
+    void findBatchInList() {
+        BatchSearch.searchAndReport(charList, runOptions.getProbes(), listName);
+    }
+
+    /**
+     * Визначає найменше і найбільше значення в списку.
      */
     void locateMinMaxInList() {
         if (charList == null || charList.isEmpty()) {
-            System.out.println("Колекція LinkedList є пустою або не ініціалізованою.");
+            System.out.println("Колекція " + listName + " є пустою або не ініціалізованою.");
             return;
         }
 
         long timeStart = System.nanoTime();
 
-        Character minValue = Collections.min(charList);
-        Character maxValue = Collections.max(charList);
+        char minValue;
+        char maxValue;
+        if (charList instanceof CharArrayList) {
+            // примітивний список проходить свій масив char без упаковки елементів
+            minValue = ((CharArrayList) charList).min();
+            maxValue = ((CharArrayList) charList).max();
+        } else {
+            minValue = Collections.min(charList);
+            maxValue = Collections.max(charList);
+        }
 
-        PerformanceTracker.displayOperationTime(timeStart, "визначення мiнiмальної i максимальної дати в List");
+        PerformanceTracker.displayOperationTime(timeStart, "визначення мiнiмальної i максимальної дати в " + listName);
 
         System.out.println("Найменше значення в List: " + minValue);
         System.out.println("Найбільше значення в List: " + maxValue);
@@ -168,6 +229,6 @@ public class BasicDataOperationUsingList {
 
         Collections.sort(charList);
 
-        PerformanceTracker.displayOperationTime(timeStart, "упорядкування LinkedList дати i часу");
+        PerformanceTracker.displayOperationTime(timeStart, "упорядкування " + listName + " дати i часу");
     }
 }
\ No newline at end of file
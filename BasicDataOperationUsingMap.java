@@ -1,10 +1,9 @@
 import java.util.ArrayList;
-import java.util.Collections;
-import java.util.Comparator;
-import java.util.Hashtable;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 
 /**
  * Клас BasicDataOperationUsingMap реалізує операції з колекціями типу Map для зберігання пар ключ-значення.
@@ -20,53 +19,114 @@ import java.util.Map;
  *   <li>{@link #sortByKey()} - Сортує Map за ключами.</li>
  *   <li>{@link #sortByValue()} - Сортує Map за значеннями.</li>
  * </ul>
+ *
+ * <p>З параметром {@code --cache=<політика>[:<місткість>]} пошук власника за ключем іде через
+ * обмежений кеш {@link BoundedCache} перед кожною таблицею; додавання й видалення інвалідовують
+ * змінені ключі, а наприкінці виводиться статистика влучань кешу. З параметром
+ * {@code --latency[=<прогрів>:<вимірів>]} операції обох таблиць додатково вимірюються повторними
+ * запусками, і виводиться розподіл їхніх затримок ({@link PerformanceTracker#measureOperation}).</p>
  */
 public class BasicDataOperationUsingMap {
-    private final Python KEY_TO_SEARCH_AND_DELETE = new Python("Удавчик", 18);
-    private final Python KEY_TO_ADD = new Python("Василіск", 26);
+    static final String PATH_TO_DATA_FILE = "list/Python.data";
+    static final int DEFAULT_CACHE_CAPACITY_PERCENT = 10;
+
+    private static final String USAGE_MESSAGE = "Використання: java BasicDataOperationUsingMap [--cache=lru|clock|tinylfu[:<місткість>]] [--latency[=<прогрів>:<вимірів>]]\n" +
+            "Приклад:\n" +
+            "  java BasicDataOperationUsingMap --cache=tinylfu:100\n" +
+            "  java BasicDataOperationUsingMap --latency=20000:200000";
+
+    private final Python KEY_TO_SEARCH_AND_DELETE;
+    private final Python KEY_TO_ADD;
 
     private final String VALUE_TO_SEARCH_AND_DELETE = "Мирослава";
     private final String VALUE_TO_ADD = "Дар'я";
 
-    private Hashtable<Python, String> hashtable;
-    private LinkedHashMap<Python, String> linkedHashMap;
-
-    /**
-     * Компаратор для сортування Map.Entry за значеннями String.
-     * Використовує метод String.compareTo() для порівняння імен власників.
-     */
-    static class OwnerValueComparator implements Comparator<Map.Entry<Python, String>> {
-        @Override
-        public int compare(Map.Entry<Python, String> e1, Map.Entry<Python, String> e2) {
-            String v1 = e1.getValue();
-            String v2 = e2.getValue();
-            if (v1 == null && v2 == null) return 0;
-            if (v1 == null) return -1;
-            if (v2 == null) return 1;
-            return v1.compareTo(v2);
-        }
-    }
+    private IndexedPythonMap ownerMap;
+    private IndexedPythonMap linkedHashMap;
+    private final RunOptions runOptions;
+    // кеші пошуку власника за ключем; null, якщо кеш не задано
+    private final BoundedCache<Python, String> ownerMapCache;
+    private final BoundedCache<Python, String> linkedHashMapCache;
 
     /**
      * Внутрішній клас Python для зберігання інформації про пітона.
      * 
      * Реалізує Comparable<Python> для визначення природного порядку сортування.
      * Природний порядок: спочатку за кличкою (nickname) за спаданням, потім за кількістю плям (skinSpots) за зростанням.
+     * 
+     * Python - легковаговик: кличка зберігається в словнику {@link NameRegistry} (байти поза купою),
+     * а сам об'єкт містить лише посилання на словник, ідентифікатор клички та кількість плям як примітив int.
+     * Однакові клички різних пітонів одного словника займають пам'ять один раз.
+     * 
+     * Словник задає той, хто створює ключі: завантаження файлу, обробник чи тест продуктивності
+     * створює власний словник, і той звільняється разом з ключами. Ключі з різних словників
+     * рівні й упорядковуються за текстом кличок, але порівнюються повільніше.
      */
     public static class Python implements Comparable<Python> {
-        private final String nickname;
-        private final Integer skinSpots;
+        /**
+         * Словник для ключів, створених без явного словника. Він існує весь час роботи програми,
+         * і клички з нього не видаляються, тому для масового створення ключів слід передавати власний словник.
+         */
+        static final NameRegistry SHARED_NICKNAMES = new NameRegistry();
+        static final int NO_NICKNAME = -1;
 
+        private final NameRegistry nicknames;
+        private final int nicknameId;
+        private final int skinSpots;
+        private final boolean hasSkinSpots;
+        private final int hash;
+
+        /**
+         * Створює ключ, кличка якого зберігається в спільному словнику {@link #SHARED_NICKNAMES}.
+         */
         public Python(String nickname, Integer skinSpots) {
-            this.nickname = nickname;
-            this.skinSpots = skinSpots;
+            this(SHARED_NICKNAMES, nickname, skinSpots);
         }
 
+        /**
+         * @param nicknames Словник, у якому зберігається кличка.
+         */
+        public Python(NameRegistry nicknames, String nickname, Integer skinSpots) {
+            this.nicknames = nicknames;
+            this.nicknameId = nickname != null ? nicknames.intern(nickname) : NO_NICKNAME;
+            this.skinSpots = skinSpots != null ? skinSpots : 0;
+            this.hasSkinSpots = skinSpots != null;
+            this.hash = computeHashCode(nickname, skinSpots);
+        }
+
+        /**
+         * @return Кличка, декодована зі словника (новий об'єкт String при кожному виклику), або null.
+         */
         public String getNickname() { 
-            return nickname; 
+            return nicknameId != NO_NICKNAME ? nicknames.nameOf(nicknameId) : null; 
         }
 
         public Integer getSkinSpots() {
+            return hasSkinSpots ? Integer.valueOf(skinSpots) : null;
+        }
+
+        /**
+         * @return Словник, у якому зберігається кличка.
+         */
+        NameRegistry getNicknames() {
+            return nicknames;
+        }
+
+        /**
+         * @return Ідентифікатор клички в словнику {@link #getNicknames()} або NO_NICKNAME, якщо кличка дорівнює null.
+         */
+        int getNicknameId() {
+            return nicknameId;
+        }
+
+        boolean hasSkinSpots() {
+            return hasSkinSpots;
+        }
+
+        /**
+         * @return Кількість плям без упакування в Integer (0, якщо її не задано).
+         */
+        int getSkinSpotCount() {
             return skinSpots;
         }
 
@@ -83,8 +143,7 @@ public class BasicDataOperationUsingMap {
          * 
          * Цей метод використовується:
          * - TreeMap для автоматичного сортування ключів Python за nickname (спадання), потім за skinSpots (зростання)
-         * - Collections.sort() для сортування Map.Entry за ключами Python
-         * - Collections.binarySearch() для пошуку в відсортованих колекціях
+         * - PythonSortedIndex (B+-дерево) для впорядкованого обходу та діапазонних запитів у IndexedPythonMap
          */
         @Override
         public int compareTo(Python other) {
@@ -92,14 +151,18 @@ public class BasicDataOperationUsingMap {
             
             // Спочатку порівнюємо за кличкою (за спаданням - інвертуємо результат)
             int nicknameComparison = 0;
-            if (this.nickname == null && other.nickname == null) {
+            if (this.nicknames != other.nicknames) {
+                // ідентифікатори різних словників непорівнянні - порівнюються самі клички
+                nicknameComparison = compareNicknames(this.getNickname(), other.getNickname());
+            } else if (this.nicknameId == other.nicknameId) {
                 nicknameComparison = 0;
-            } else if (this.nickname == null) {
+            } else if (this.nicknameId == NO_NICKNAME) {
                 nicknameComparison = 1;  // null йде в кінець при спаданні
-            } else if (other.nickname == null) {
+            } else if (other.nicknameId == NO_NICKNAME) {
                 nicknameComparison = -1;
             } else {
-                nicknameComparison = other.nickname.compareTo(this.nickname);  // Інвертоване порівняння для спадання
+                // Словник порівнює клички в порядку String.compareTo без створення рядків; інвертоване порівняння для спадання
+                nicknameComparison = nicknames.compare(other.nicknameId, this.nicknameId);
             }
             
             // Якщо клички різні, повертаємо результат
@@ -108,10 +171,10 @@ public class BasicDataOperationUsingMap {
             }
             
             // Якщо клички однакові, порівнюємо за кількістю плям (за зростанням)
-            if (this.skinSpots == null && other.skinSpots == null) return 0;
-            if (this.skinSpots == null) return -1;
-            if (other.skinSpots == null) return 1;
-            return this.skinSpots.compareTo(other.skinSpots);
+            if (!this.hasSkinSpots && !other.hasSkinSpots) return 0;
+            if (!this.hasSkinSpots) return -1;
+            if (!other.hasSkinSpots) return 1;
+            return Integer.compare(this.skinSpots, other.skinSpots);
         }
 
         /**
@@ -131,9 +194,13 @@ public class BasicDataOperationUsingMap {
             if (this == obj) return true;
             if (obj == null || getClass() != obj.getClass()) return false;
             Python python = (Python) obj;
+            if (hash != python.hash) return false;
             
-            boolean nicknameEquals = nickname != null ? nickname.equals(python.nickname) : python.nickname == null;
-            boolean skinSpotsEquals = skinSpots != null ? skinSpots.equals(python.skinSpots) : python.skinSpots == null;
+            // Однакові клички мають однаковий ідентифікатор в одному словнику, тому рядки порівнюються лише для різних словників
+            boolean nicknameEquals = nicknames == python.nicknames
+                    ? nicknameId == python.nicknameId
+                    : Objects.equals(getNickname(), python.getNickname());
+            boolean skinSpotsEquals = hasSkinSpots == python.hasSkinSpots && skinSpots == python.skinSpots;
             
             return nicknameEquals && skinSpotsEquals;
         }
@@ -144,12 +211,27 @@ public class BasicDataOperationUsingMap {
          * @return хеш-код, обчислений на основі nickname та skinSpots
          * 
          * Базується на полях nickname та skinSpots для узгодженості з equals().
+         * Поля незмінні, тому хеш-код обчислюється один раз у конструкторі.
          * 
          * Важливо: узгоджений з equals() - якщо два Python рівні за equals()
          * (мають однакові nickname та skinSpots), вони матимуть однаковий hashCode().
          */
         @Override
         public int hashCode() {
+            return hash;
+        }
+
+        /**
+         * Порівнює клички за спаданням у порядку String.compareTo; null-кличка йде в кінець.
+         */
+        private static int compareNicknames(String first, String second) {
+            if (first == null || second == null) {
+                return first == second ? 0 : (first == null ? 1 : -1);
+            }
+            return second.compareTo(first);
+        }
+
+        private static int computeHashCode(String nickname, Integer skinSpots) {
             // Початкове значення: хеш-код поля nickname (або 0, якщо nickname == null)
             int result = nickname != null ? nickname.hashCode() : 0;
             
@@ -169,63 +251,114 @@ public class BasicDataOperationUsingMap {
          */
         @Override
         public String toString() {
-            return "Python{nickname='" + nickname + "', skinSpots=" + skinSpots + ", hashCode=" + hashCode() + "}";
+            return "Python{nickname='" + getNickname() + "', skinSpots=" + getSkinSpots() + ", hashCode=" + hashCode() + "}";
         }
     }
 
     /**
      * Конструктор, який ініціалізує об'єкт з готовими даними.
      * 
-     * @param hashtable Hashtable з початковими даними (ключ: Python, значення: ім'я власника)
+     * Обидві таблиці обгортаються в IndexedPythonMap, яка підтримує індекс за власником.
+     * 
+     * @param ownerMap PythonOwnerMap з початковими даними (ключ: Python, значення: ім'я власника)
      * @param linkedHashMap LinkedHashMap з початковими даними (ключ: Python, значення: ім'я власника)
+     * @param nicknames Словник кличок, у якому завантажено ключі обох таблиць
+     * @param runOptions Додаткові параметри запуску (кеш пошуку за ключем, виміри затримок)
      */
-    BasicDataOperationUsingMap(Hashtable<Python, String> hashtable, LinkedHashMap<Python, String> linkedHashMap) {
-        this.hashtable = hashtable;
-        this.linkedHashMap = linkedHashMap;
+    BasicDataOperationUsingMap(PythonOwnerMap ownerMap, LinkedHashMap<Python, String> linkedHashMap, NameRegistry nicknames,
+            RunOptions runOptions) {
+        // ключі для пошуку створюються в словнику завантажених даних, тому порівнюються за ідентифікаторами
+        this.KEY_TO_SEARCH_AND_DELETE = new Python(nicknames, "Удавчик", 18);
+        this.KEY_TO_ADD = new Python(nicknames, "Василіск", 26);
+        this.ownerMap = new IndexedPythonMap(ownerMap);
+        this.linkedHashMap = new IndexedPythonMap(linkedHashMap);
+        this.runOptions = runOptions;
+        this.ownerMapCache = createOwnerCache(this.ownerMap, runOptions);
+        this.linkedHashMapCache = createOwnerCache(this.linkedHashMap, runOptions);
+    }
+
+    /**
+     * Створює кеш пошуку власника перед таблицею; кожен промах читає саму таблицю.
+     * Без явної місткості кеш вміщує {@link #DEFAULT_CACHE_CAPACITY_PERCENT}% записів таблиці.
+     *
+     * @return Кеш або null, якщо його не задано в параметрах запуску.
+     */
+    private static BoundedCache<Python, String> createOwnerCache(IndexedPythonMap map, RunOptions runOptions) {
+        if (!runOptions.hasCache()) {
+            return null;
+        }
+        long capacity = runOptions.getCacheCapacity() > 0 ? runOptions.getCacheCapacity()
+                : Math.max(1, (long) map.size() * DEFAULT_CACHE_CAPACITY_PERCENT / 100);
+        return runOptions.getCachePolicy().createCache(capacity, capacity, (key, owner) -> 1, map::get);
+    }
+
+    /**
+     * @return Власник ключа через кеш, якщо він є, інакше безпосередньо з таблиці; null, якщо ключа немає.
+     */
+    private static String findOwner(IndexedPythonMap map, BoundedCache<Python, String> cache, Python key) {
+        return cache != null ? cache.get(key) : map.get(key);
+    }
+
+    /**
+     * Видаляє записи власника з таблиці та інвалідовує їхні ключі в кеші.
+     *
+     * @return Кількість видалених записів.
+     */
+    private static int removeAllOf(IndexedPythonMap map, BoundedCache<Python, String> cache, String owner) {
+        if (cache == null) {
+            return map.removeAllOf(owner);
+        }
+        List<Python> removedKeys = new ArrayList<Python>(map.keysOf(owner));
+        int removedCount = map.removeAllOf(owner);
+        for (Python key : removedKeys) {
+            cache.invalidate(key);
+        }
+        return removedCount;
     }
     
     /**
      * Виконує комплексні операції з Map.
      * 
-     * Метод виконує різноманітні операції з Map: пошук, додавання, видалення та сортування.
+     * Метод виконує різноманітні операції з Map: пошук, додавання, видалення та впорядкований обхід.
      */
     public void executeDataOperations() {
-        // Спочатку працюємо з Hashtable
-        System.out.println("========= Операції з Hashtable =========");
-        System.out.println("Початковий розмір Hashtable: " + hashtable.size());
+        // Спочатку працюємо з PythonOwnerMap
+        System.out.println("========= Операції з PythonOwnerMap =========");
+        System.out.println("Початковий розмір PythonOwnerMap: " + ownerMap.size());
         
-        // Пошук до сортування
-        findByKeyInHashtable();
-        findByValueInHashtable();
+        // Пошук
+        findByKeyInOwnerMap();
+        findByValueInOwnerMap();
 
-        printHashtable();
-        sortHashtable();
-        printHashtable();
+        printOwnerMap();
+        printOwnerMapSorted();
 
-        // Пошук після сортування
-        findByKeyInHashtable();
-        findByValueInHashtable();
+        // Повторний пошук
+        findByKeyInOwnerMap();
+        findByValueInOwnerMap();
 
-        addEntryToHashtable();
+        addEntryToOwnerMap();
         
-        removeByKeyFromHashtable();
-        removeByValueFromHashtable();
+        removeByKeyFromOwnerMap();
+        removeByValueFromOwnerMap();
                
-        System.out.println("Кінцевий розмір Hashtable: " + hashtable.size());
+        System.out.println("Кінцевий розмір PythonOwnerMap: " + ownerMap.size());
+        if (ownerMapCache != null) {
+            PerformanceTracker.displayCacheStatistics(ownerMapCache, "PythonOwnerMap");
+        }
 
         // Потім обробляємо LinkedHashMap
         System.out.println("\n\n========= Операції з LinkedHashMap =========");
         System.out.println("Початковий розмір LinkedHashMap: " + linkedHashMap.size());
         
-        // Пошук до сортування
+        // Пошук
         findByKeyInLinkedHashMap();
         findByValueInLinkedHashMap();
 
         printLinkedHashMap();
-        sortLinkedHashMap();
-        printLinkedHashMap();
+        printLinkedHashMapSorted();
 
-        // Пошук після сортування
+        // Повторний пошук
         findByKeyInLinkedHashMap();
         findByValueInLinkedHashMap();
         
@@ -235,146 +368,165 @@ public class BasicDataOperationUsingMap {
         removeByValueFromLinkedHashMap();
         
         System.out.println("Кінцевий розмір LinkedHashMap: " + linkedHashMap.size());
+        if (linkedHashMapCache != null) {
+            PerformanceTracker.displayCacheStatistics(linkedHashMapCache, "LinkedHashMap");
+        }
+
+        if (runOptions.measuresLatency()) {
+            measureOperationLatency(ownerMap, ownerMapCache, "PythonOwnerMap");
+            measureOperationLatency(linkedHashMap, linkedHashMapCache, "LinkedHashMap");
+            System.out.println("\n\n========= Розподіл затримок операцій з Map =========");
+            PerformanceTracker.displayLatencyReport();
+        }
     }
 
 
-    // ===== Методи для Hashtable =====
+    /**
+     * Вимірює операції таблиці повторними запусками з прогрівом (див. {@link PerformanceTracker#measureOperation}).
+     * Виконується після одноразових операцій, тому не змінює їхніх результатів і статистики кешу;
+     * додавання вимірюється в парі з видаленням, щоб кожен запуск залишав таблицю незмінною.
+     */
+    private void measureOperationLatency(IndexedPythonMap map, BoundedCache<Python, String> cache, String mapName) {
+        int warmupIterations = runOptions.getLatencyWarmupIterations();
+        int measurementIterations = runOptions.getLatencyMeasurementIterations();
+        // ключ уже видалено одноразовою операцією, тож пара додавання-видалення не зачіпає наявних записів
+        Python probeKey = KEY_TO_SEARCH_AND_DELETE;
+        PerformanceTracker.measureOperation("пошук за ключем в " + mapName, warmupIterations, measurementIterations,
+                () -> map.get(KEY_TO_ADD) != null ? 1 : 0);
+        if (cache != null) {
+            PerformanceTracker.measureOperation("пошук за ключем через кеш " + mapName, warmupIterations, measurementIterations,
+                    () -> cache.get(KEY_TO_ADD) != null ? 1 : 0);
+        }
+        PerformanceTracker.measureOperation("пошук за значенням через індекс власників в " + mapName, warmupIterations,
+                measurementIterations, () -> map.keysOf(VALUE_TO_ADD).size());
+        PerformanceTracker.measureOperation("додавання і видалення запису в " + mapName, warmupIterations, measurementIterations,
+                () -> {
+                    map.put(probeKey, VALUE_TO_ADD);
+                    return map.remove(probeKey) != null ? 1 : 0;
+                });
+        PerformanceTracker.measureOperation("обхід " + mapName + " за відсортованим індексом", warmupIterations,
+                measurementIterations, () -> {
+                    long count = 0;
+                    for (Python key : map.sortedKeys()) {
+                        count += key.hashCode();
+                    }
+                    return count;
+                });
+    }
+
+    // ===== Методи для PythonOwnerMap =====
 
     /**
-     * Виводить вміст Hashtable без сортування.
-     * Hashtable не гарантує жодного порядку елементів.
+     * Виводить вміст PythonOwnerMap без сортування.
+     * PythonOwnerMap не гарантує жодного порядку елементів.
      */
-    private void printHashtable() {
-        System.out.println("\n=== Пари ключ-значення в Hashtable ===");
+    private void printOwnerMap() {
+        System.out.println("\n=== Пари ключ-значення в PythonOwnerMap ===");
         long timeStart = System.nanoTime();
 
-        for (Map.Entry<Python, String> entry : hashtable.entrySet()) {
+        for (Map.Entry<Python, String> entry : ownerMap.entrySet()) {
             System.out.println("  " + entry.getKey() + " -> " + entry.getValue());
         }
 
-        PerformanceTracker.displayOperationTime(timeStart, "виведення пари ключ-значення в Hashtable");
+        PerformanceTracker.displayOperationTime(timeStart, "виведення пари ключ-значення в PythonOwnerMap");
     }
 
     /**
-     * Сортує Hashtable за ключами.
-     * Використовує Collections.sort() з природним порядком Python (Python.compareTo()).
-     * Перезаписує hashtable відсортованими даними.
+     * Виводить вміст PythonOwnerMap у природному порядку Python (Python.compareTo()).
+     * Порядок береться з відсортованого індексу IndexedPythonMap, який підтримується при кожній
+     * зміні, тому ключі не копіюються, не сортуються і таблиця не перебудовується.
      */
-    private void sortHashtable() {
+    private void printOwnerMapSorted() {
+        System.out.println("\n=== Пари ключ-значення в PythonOwnerMap за зростанням ключів ===");
         long timeStart = System.nanoTime();
 
-        // Створюємо список ключів і сортуємо за природним порядком Python
-        List<Python> sortedKeys = new ArrayList<>(hashtable.keySet());
-        Collections.sort(sortedKeys);
-        
-        // Створюємо нову Hashtable з відсортованими ключами
-        Hashtable<Python, String> sortedHashtable = new Hashtable<>();
-        for (Python key : sortedKeys) {
-            sortedHashtable.put(key, hashtable.get(key));
+        for (Python key : ownerMap.sortedKeys()) {
+            System.out.println("  " + key + " -> " + ownerMap.get(key));
         }
-        
-        // Перезаписуємо оригінальну hashtable
-        hashtable = sortedHashtable;
 
-        PerformanceTracker.displayOperationTime(timeStart, "сортування Hashtable за ключами");
+        PerformanceTracker.displayOperationTime(timeStart, "виведення пари ключ-значення в PythonOwnerMap за відсортованим індексом");
     }
 
     /**
-     * Сортує LinkedHashMap за ключами.
-     * Використовує Collections.sort() з природним порядком Python (Python.compareTo()).
-     * Перезаписує linkedHashMap відсортованими даними.
+     * Виводить вміст LinkedHashMap у природному порядку Python (Python.compareTo()).
+     * Порядок береться з відсортованого індексу IndexedPythonMap, який підтримується при кожній
+     * зміні, тому ключі не копіюються, не сортуються і таблиця не перебудовується.
      */
-    private void sortLinkedHashMap() {
+    private void printLinkedHashMapSorted() {
+        System.out.println("\n=== Пари ключ-значення в LinkedHashMap за зростанням ключів ===");
         long timeStart = System.nanoTime();
 
-        // Створюємо список ключів і сортуємо за природним порядком Python
-        List<Python> sortedKeys = new ArrayList<>(linkedHashMap.keySet());
-        Collections.sort(sortedKeys);
-        
-        // Створюємо нову LinkedHashMap з відсортованими ключами
-        LinkedHashMap<Python, String> sortedLinkedHashMap = new LinkedHashMap<>();
-        for (Python key : sortedKeys) {
-            sortedLinkedHashMap.put(key, linkedHashMap.get(key));
+        for (Python key : linkedHashMap.sortedKeys()) {
+            System.out.println("  " + key + " -> " + linkedHashMap.get(key));
         }
-        
-        // Перезаписуємо оригінальну linkedHashMap
-        linkedHashMap = sortedLinkedHashMap;
 
-        PerformanceTracker.displayOperationTime(timeStart, "сортування LinkedHashMap за ключами");
+        PerformanceTracker.displayOperationTime(timeStart, "виведення пар ключ-значення в LinkedHashMap за відсортованим індексом");
     }
 
     /**
-     * Здійснює пошук елемента за ключем в Hashtable.
-     * Використовує Python.hashCode() та Python.equals() для пошуку.
+     * Здійснює пошук елемента за ключем в PythonOwnerMap.
+     * Використовує Python.hashCode() та Python.equals() для пошуку; з --cache спершу звертається до кешу.
      */
-    void findByKeyInHashtable() {
+    void findByKeyInOwnerMap() {
         long timeStart = System.nanoTime();
 
-        boolean found = hashtable.containsKey(KEY_TO_SEARCH_AND_DELETE);
+        String value = findOwner(ownerMap, ownerMapCache, KEY_TO_SEARCH_AND_DELETE);
 
-        PerformanceTracker.displayOperationTime(timeStart, "пошук за ключем в Hashtable");
+        PerformanceTracker.displayOperationTime(timeStart, "пошук за ключем в PythonOwnerMap");
 
-        if (found) {
-            String value = hashtable.get(KEY_TO_SEARCH_AND_DELETE);
+        if (value != null) {
             System.out.println("Елемент з ключем '" + KEY_TO_SEARCH_AND_DELETE + "' знайдено. Власник: " + value);
         } else {
-            System.out.println("Елемент з ключем '" + KEY_TO_SEARCH_AND_DELETE + "' відсутній в Hashtable.");
+            System.out.println("Елемент з ключем '" + KEY_TO_SEARCH_AND_DELETE + "' відсутній в PythonOwnerMap.");
         }
     }
 
     /**
-     * Здійснює пошук елемента за значенням в Hashtable.
-     * Сортує список Map.Entry за значеннями та використовує бінарний пошук.
+     * Здійснює пошук елемента за значенням в PythonOwnerMap.
+     * Використовує індекс власників IndexedPythonMap: O(1) замість сортування всіх записів.
      */
-    void findByValueInHashtable() {
+    void findByValueInOwnerMap() {
         long timeStart = System.nanoTime();
 
-        // Створюємо список Entry та сортуємо за значеннями
-        List<Map.Entry<Python, String>> entries = new ArrayList<>(hashtable.entrySet());
-        OwnerValueComparator comparator = new OwnerValueComparator();
-        Collections.sort(entries, comparator);
+        Set<Python> found = ownerMap.keysOf(VALUE_TO_SEARCH_AND_DELETE);
 
-        // Створюємо тимчасовий Entry для пошуку
-        Map.Entry<Python, String> searchEntry = new Map.Entry<Python, String>() {
-            public Python getKey() { return null; }
-            public String getValue() { return VALUE_TO_SEARCH_AND_DELETE; }
-            public String setValue(String value) { return null; }
-        };
+        PerformanceTracker.displayOperationTime(timeStart, "пошук за значенням через індекс власників в PythonOwnerMap");
 
-        int position = Collections.binarySearch(entries, searchEntry, comparator);
-
-        PerformanceTracker.displayOperationTime(timeStart, "бінарний пошук за значенням в Hashtable");
-
-        if (position >= 0) {
-            Map.Entry<Python, String> foundEntry = entries.get(position);
-            System.out.println("Власника '" + VALUE_TO_SEARCH_AND_DELETE + "' знайдено. Python: " + foundEntry.getKey());
+        if (!found.isEmpty()) {
+            System.out.println("Власника '" + VALUE_TO_SEARCH_AND_DELETE + "' знайдено (записів: " + found.size() + "). Python: " + found.iterator().next());
         } else {
-            System.out.println("Власник '" + VALUE_TO_SEARCH_AND_DELETE + "' відсутній в Hashtable.");
+            System.out.println("Власник '" + VALUE_TO_SEARCH_AND_DELETE + "' відсутній в PythonOwnerMap.");
         }
     }
 
     /**
-     * Додає новий запис до Hashtable.
+     * Додає новий запис до PythonOwnerMap.
      */
-    void addEntryToHashtable() {
+    void addEntryToOwnerMap() {
         long timeStart = System.nanoTime();
 
-        hashtable.put(KEY_TO_ADD, VALUE_TO_ADD);
+        ownerMap.put(KEY_TO_ADD, VALUE_TO_ADD);
+        if (ownerMapCache != null) {
+            ownerMapCache.invalidate(KEY_TO_ADD);
+        }
 
-        PerformanceTracker.displayOperationTime(timeStart, "додавання запису до Hashtable");
+        PerformanceTracker.displayOperationTime(timeStart, "додавання запису до PythonOwnerMap");
 
         System.out.println("Додано новий запис: Python='" + KEY_TO_ADD + "', власник='" + VALUE_TO_ADD + "'");
     }
 
     /**
-     * Видаляє запис з Hashtable за ключем.
+     * Видаляє запис з PythonOwnerMap за ключем.
      */
-    void removeByKeyFromHashtable() {
+    void removeByKeyFromOwnerMap() {
         long timeStart = System.nanoTime();
 
-        String removedValue = hashtable.remove(KEY_TO_SEARCH_AND_DELETE);
+        String removedValue = ownerMap.remove(KEY_TO_SEARCH_AND_DELETE);
+        if (ownerMapCache != null) {
+            ownerMapCache.invalidate(KEY_TO_SEARCH_AND_DELETE);
+        }
 
-        PerformanceTracker.displayOperationTime(timeStart, "видалення за ключем з Hashtable");
+        PerformanceTracker.displayOperationTime(timeStart, "видалення за ключем з PythonOwnerMap");
 
         if (removedValue != null) {
             System.out.println("Видалено запис з ключем '" + KEY_TO_SEARCH_AND_DELETE + "'. Власник був: " + removedValue);
@@ -384,25 +536,17 @@ public class BasicDataOperationUsingMap {
     }
 
     /**
-     * Видаляє записи з Hashtable за значенням.
+     * Видаляє записи з PythonOwnerMap за значенням.
+     * Індекс власників дає ключі одразу, тому видалення виконується за O(k) без перебору таблиці.
      */
-    void removeByValueFromHashtable() {
+    void removeByValueFromOwnerMap() {
         long timeStart = System.nanoTime();
 
-        List<Python> keysToRemove = new ArrayList<>();
-        for (Map.Entry<Python, String> entry : hashtable.entrySet()) {
-            if (entry.getValue() != null && entry.getValue().equals(VALUE_TO_SEARCH_AND_DELETE)) {
-                keysToRemove.add(entry.getKey());
-            }
-        }
-        
-        for (Python key : keysToRemove) {
-            hashtable.remove(key);
-        }
+        int removedCount = removeAllOf(ownerMap, ownerMapCache, VALUE_TO_SEARCH_AND_DELETE);
 
-        PerformanceTracker.displayOperationTime(timeStart, "видалення за значенням з Hashtable");
+        PerformanceTracker.displayOperationTime(timeStart, "видалення за значенням з PythonOwnerMap");
 
-        System.out.println("Видалено " + keysToRemove.size() + " записів з власником '" + VALUE_TO_SEARCH_AND_DELETE + "'");
+        System.out.println("Видалено " + removedCount + " записів з власником '" + VALUE_TO_SEARCH_AND_DELETE + "'");
     }
 
     // ===== Методи для LinkedHashMap =====
@@ -424,17 +568,16 @@ public class BasicDataOperationUsingMap {
 
     /**
      * Здійснює пошук елемента за ключем в LinkedHashMap.
-     * Використовує Python.hashCode() та Python.equals() для пошуку.
+     * Використовує Python.hashCode() та Python.equals() для пошуку; з --cache спершу звертається до кешу.
      */
     void findByKeyInLinkedHashMap() {
         long timeStart = System.nanoTime();
 
-        boolean found = linkedHashMap.containsKey(KEY_TO_SEARCH_AND_DELETE);
+        String value = findOwner(linkedHashMap, linkedHashMapCache, KEY_TO_SEARCH_AND_DELETE);
 
         PerformanceTracker.displayOperationTime(timeStart, "пошук за ключем в LinkedHashMap");
 
-        if (found) {
-            String value = linkedHashMap.get(KEY_TO_SEARCH_AND_DELETE);
+        if (value != null) {
             System.out.println("Елемент з ключем '" + KEY_TO_SEARCH_AND_DELETE + "' знайдено. Власник: " + value);
         } else {
             System.out.println("Елемент з ключем '" + KEY_TO_SEARCH_AND_DELETE + "' відсутній в LinkedHashMap.");
@@ -443,30 +586,17 @@ public class BasicDataOperationUsingMap {
 
     /**
      * Здійснює пошук елемента за значенням в LinkedHashMap.
-     * Сортує список Map.Entry за значеннями та використовує бінарний пошук.
+     * Використовує індекс власників IndexedPythonMap: O(1) замість сортування всіх записів.
      */
     void findByValueInLinkedHashMap() {
         long timeStart = System.nanoTime();
 
-        // Створюємо список Entry та сортуємо за значеннями
-        List<Map.Entry<Python, String>> entries = new ArrayList<>(linkedHashMap.entrySet());
-        OwnerValueComparator comparator = new OwnerValueComparator();
-        Collections.sort(entries, comparator);
+        Set<Python> found = linkedHashMap.keysOf(VALUE_TO_SEARCH_AND_DELETE);
 
-        // Створюємо тимчасовий Entry для пошуку
-        Map.Entry<Python, String> searchEntry = new Map.Entry<Python, String>() {
-            public Python getKey() { return null; }
-            public String getValue() { return VALUE_TO_SEARCH_AND_DELETE; }
-            public String setValue(String value) { return null; }
-        };
+        PerformanceTracker.displayOperationTime(timeStart, "пошук за значенням через індекс власників в LinkedHashMap");
 
-        int position = Collections.binarySearch(entries, searchEntry, comparator);
-
-        PerformanceTracker.displayOperationTime(timeStart, "бінарний пошук за значенням в LinkedHashMap");
-
-        if (position >= 0) {
-            Map.Entry<Python, String> foundEntry = entries.get(position);
-            System.out.println("Власника '" + VALUE_TO_SEARCH_AND_DELETE + "' знайдено. Python: " + foundEntry.getKey());
+        if (!found.isEmpty()) {
+            System.out.println("Власника '" + VALUE_TO_SEARCH_AND_DELETE + "' знайдено (записів: " + found.size() + "). Python: " + found.iterator().next());
         } else {
             System.out.println("Власник '" + VALUE_TO_SEARCH_AND_DELETE + "' відсутній в LinkedHashMap.");
         }
@@ -479,6 +609,9 @@ public class BasicDataOperationUsingMap {
         long timeStart = System.nanoTime();
 
         linkedHashMap.put(KEY_TO_ADD, VALUE_TO_ADD);
+        if (linkedHashMapCache != null) {
+            linkedHashMapCache.invalidate(KEY_TO_ADD);
+        }
 
         PerformanceTracker.displayOperationTime(timeStart, "додавання запису до LinkedHashMap");
 
@@ -492,6 +625,9 @@ public class BasicDataOperationUsingMap {
         long timeStart = System.nanoTime();
 
         String removedValue = linkedHashMap.remove(KEY_TO_SEARCH_AND_DELETE);
+        if (linkedHashMapCache != null) {
+            linkedHashMapCache.invalidate(KEY_TO_SEARCH_AND_DELETE);
+        }
 
         PerformanceTracker.displayOperationTime(timeStart, "видалення за ключем з LinkedHashMap");
 
@@ -504,58 +640,40 @@ public class BasicDataOperationUsingMap {
 
     /**
      * Видаляє записи з LinkedHashMap за значенням.
+     * Індекс власників дає ключі одразу, тому видалення виконується за O(k) без перебору таблиці.
      */
     void removeByValueFromLinkedHashMap() {
         long timeStart = System.nanoTime();
 
-        List<Python> keysToRemove = new ArrayList<>();
-        for (Map.Entry<Python, String> entry : linkedHashMap.entrySet()) {
-            if (entry.getValue() != null && entry.getValue().equals(VALUE_TO_SEARCH_AND_DELETE)) {
-                keysToRemove.add(entry.getKey());
-            }
-        }
-        
-        for (Python key : keysToRemove) {
-            linkedHashMap.remove(key);
-        }
+        int removedCount = removeAllOf(linkedHashMap, linkedHashMapCache, VALUE_TO_SEARCH_AND_DELETE);
 
         PerformanceTracker.displayOperationTime(timeStart, "видалення за значенням з LinkedHashMap");
 
-        System.out.println("Видалено " + keysToRemove.size() + " записів з власником '" + VALUE_TO_SEARCH_AND_DELETE + "'");
+        System.out.println("Видалено " + removedCount + " записів з власником '" + VALUE_TO_SEARCH_AND_DELETE + "'");
     }
 
     /**
      * Головний метод для запуску програми.
      */
     public static void main(String[] args) {
-        // Створюємо початкові дані (ключ: Python, значення: ім'я власника)
-        Hashtable<Python, String> hashtable = new Hashtable<>();
-        hashtable.put(new Python("Змійка", 25), "Тарас");
-        hashtable.put(new Python("Удавчик", 18), "Оксана");
-        hashtable.put(new Python("Сиріус", 32), "Мирослава");
-        hashtable.put(new Python("Полоз", 22), "Борис");
-        hashtable.put(new Python("Удавчик", 15), "Лариса");
-        hashtable.put(new Python("Оріон", 28), "Мирослава");
-        hashtable.put(new Python("Нагайна", 20), "Всеволод");
-        hashtable.put(new Python("Медуза", 30), "Оксана");
-        hashtable.put(new Python("Кобра", 12), "Антон");
-        hashtable.put(new Python("Аспід", 35), "Соломія");
-
-        LinkedHashMap<Python, String> linkedHashMap = new LinkedHashMap<Python, String>() {{
-            put(new Python("Змійка", 25), "Тарас");
-            put(new Python("Удавчик", 18), "Оксана");
-            put(new Python("Сиріус", 32), "Мирослава");
-            put(new Python("Полоз", 22), "Борис");
-            put(new Python("Удавчик", 15), "Лариса");
-            put(new Python("Оріон", 28), "Мирослава");
-            put(new Python("Нагайна", 20), "Всеволод");
-            put(new Python("Медуза", 30), "Оксана");
-            put(new Python("Кобра", 12), "Антон");
-            put(new Python("Аспід", 35), "Соломія");
-        }};
+        RunOptions runOptions;
+        try {
+            runOptions = RunOptions.parse(args, 0);
+        } catch (IllegalArgumentException e) {
+            System.out.println("Помилка: " + e.getMessage());
+            System.out.println(USAGE_MESSAGE);
+            return;
+        }
+
+        // Завантажуємо початкові дані (ключ: Python, значення: ім'я власника) з файлу;
+        // обидві таблиці створюються під оцінену кількість записів і ділять один словник кличок, що звільняється разом з ними
+        NameRegistry nicknames = new NameRegistry();
+        PythonOwnerMap ownerMap = DataFileHandler.loadPythonOwnersFromFile(PATH_TO_DATA_FILE, PythonOwnerMap::new, nicknames);
+        LinkedHashMap<Python, String> linkedHashMap = DataFileHandler.loadPythonOwnersFromFile(PATH_TO_DATA_FILE,
+                expectedSize -> new LinkedHashMap<Python, String>((int) (expectedSize / 0.75f) + 1), nicknames);
 
         // Створюємо об'єкт і виконуємо операції
-        BasicDataOperationUsingMap operations = new BasicDataOperationUsingMap(hashtable, linkedHashMap);
+        BasicDataOperationUsingMap operations = new BasicDataOperationUsingMap(ownerMap, linkedHashMap, nicknames, runOptions);
         operations.executeDataOperations();
     }
 }
\ No newline at end of file
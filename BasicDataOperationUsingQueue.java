@@ -1,11 +1,10 @@
 /*import java.time.Character;*/
-import java.util.Queue;
 import java.util.Arrays;
-import java.util.Collections;
-import java.util.PriorityQueue;
 
 /**
  * Клас BasicDataOperationUsingQueue реалізує роботу з колекціями типу Queue для Character.
+ * Черга - двостороння черга з пріоритетом {@link MinMaxCharHeap}: обидва граничні значення
+ * доступні за O(1), а перевірка наявності виконується через таблицю кількостей.
  * 
  * <p>Основні функції класу:</p>
  * <ul>
@@ -13,27 +12,37 @@ import java.util.PriorityQueue;
  *   <li>{@link #performArraySorting()} - Упорядковує масив Character.</li>
  *   <li>{@link #findInArray()} - Пошук значення в масиві Character.</li>
  *   <li>{@link #locateMinMaxInArray()} - Знаходить мінімальне і максимальне значення в масиві.</li>
+ *   <li>{@link #findBatchInArray()} - Пакетний пошук значень у відсортованому масиві.</li>
+ *   <li>{@link #countRangeInArray()} - Підрахунок елементів масиву в діапазоні.</li>
+ *   <li>{@link #measureSearchLatency()} - Повторні виміри пошукових операцій з прогрівом (параметр --latency).</li>
  *   <li>{@link #findInQueue()} - Пошук значення в черзі Character.</li>
  *   <li>{@link #locateMinMaxInQueue()} - Знаходить граничні значення в черзі.</li>
- *   <li>{@link #performQueueOperations()} - Виконує операції peek і poll з чергою.</li>
+ *   <li>{@link #performQueueOperations()} - Виконує операції peek і poll з обома кінцями черги.</li>
+ *   <li>{@link #runConcurrentWorkload()} - Навантажувальний режим «виробники/споживачі» для потокобезпечних черг.</li>
  * </ul>
  * 
  */
 public class BasicDataOperationUsingQueue {
     private Character CharacterValueToSearch;
-    private Character[] charArray;
-    private Queue<Character> charQueue;
+    private CharDataset charDataset;
+    private RunOptions runOptions;
+    private char[] charArray;
+    private EytzingerIndex searchIndex;
+    private MinMaxCharHeap charQueue;
 
     /**
      * Конструктор, який iнiцiалiзує об'єкт з готовими даними.
      * 
      * @param CharacterValueToSearch Значення для пошуку
-     * @param charArray Масив Character
+     * @param charDataset Спільний набір символів
+     * @param runOptions Додаткові параметри запуску (пакетний пошук)
      */
-    BasicDataOperationUsingQueue(Character CharacterValueToSearch, Character[] charArray) {
+    BasicDataOperationUsingQueue(Character CharacterValueToSearch, CharDataset charDataset, RunOptions runOptions) {
         this.CharacterValueToSearch = CharacterValueToSearch;
-        this.charArray = charArray;
-        this.charQueue = new PriorityQueue<Character>(Arrays.asList(charArray));
+        this.charDataset = charDataset;
+        this.runOptions = runOptions;
+        this.charArray = charDataset.values();
+        this.charQueue = new MinMaxCharHeap(charArray);
     }
     
     /**
@@ -46,6 +55,9 @@ public class BasicDataOperationUsingQueue {
         findInQueue();
         locateMinMaxInQueue();
         performQueueOperations();
+        if (runOptions.hasQueueWorkload()) {
+            runConcurrentWorkload();
+        }
 
         // потім працюємо з масивом
         findInArray();
@@ -55,9 +67,18 @@ public class BasicDataOperationUsingQueue {
 
         findInArray();
         locateMinMaxInArray();
+        if (runOptions.hasProbes()) {
+            findBatchInArray();
+        }
+        if (runOptions.hasRange()) {
+            countRangeInArray();
+        }
+        if (runOptions.measuresLatency()) {
+            measureSearchLatency();
+        }
 
         // зберігаємо відсортований масив до файлу
-        DataFileHandler.writeArrayToFile(charArray, BasicDataOperation.PATH_TO_DATA_FILE + ".sorted");
+        charDataset.saveSorted(BasicDataOperation.PATH_TO_DATA_FILE + ".sorted");
     }
 
     /**
@@ -68,7 +89,10 @@ public class BasicDataOperationUsingQueue {
         // вимірюємо тривалість упорядкування масиву дати та часу
         long timeStart = System.nanoTime();
 
-        Arrays.sort(charArray);
+        charArray = charDataset.sortedValues();
+        if (runOptions.usesEytzingerSearch()) {
+            searchIndex = charDataset.eytzingerIndex();
+        }
 
         PerformanceTracker.displayOperationTime(timeStart, "упорядкування масиву дати i часу");
     }
@@ -80,7 +104,10 @@ public class BasicDataOperationUsingQueue {
         // відстежуємо час виконання пошуку в масиві
         long timeStart = System.nanoTime();
         
-        int position = Arrays.binarySearch(this.charArray, CharacterValueToSearch);
+        // індекс Ейтцінгера доступний лише після сортування; до того - звичайний двійковий пошук
+        int position = searchIndex != null
+                ? searchIndex.search(CharacterValueToSearch)
+                : Arrays.binarySearch(this.charArray, CharacterValueToSearch);
         
         PerformanceTracker.displayOperationTime(timeStart, "пошук елемента в масивi дати i часу");
 
@@ -92,33 +119,38 @@ public class BasicDataOperationUsingQueue {
     }
 
     /**
-     * Визначає найменше та найбільше значення в масиві Character.
+     * Шукає пакет значень у відсортованому масиві за один прохід.
      */
-    private void locateMinMaxInArray() {
-        if (charArray == null || charArray.length == 0) {
-            System.out.println("Масив є пустим або не ініціалізованим.");
-            return;
-        }
-
-        // відстежуємо час на визначення граничних значень
-        long timeStart = System.nanoTime();
-
-        Character minValue = charArray[0];
-        Character maxValue = charArray[0];
+    private void findBatchInArray() {
+        BatchSearch.searchAndReport(charArray, runOptions.getProbes(), "масивi");
+    }
 
-        for (Character currentchar : charArray) {
-            if (currentchar.charValue() < minValue.charValue()) {
-                minValue = currentchar;
-            }
-            if (currentchar.charValue() > maxValue.charValue()) {
-                maxValue = currentchar;
-            }
-        }
+    /**
+     * Підраховує елементи відсортованого масиву в діапазоні через нижню та верхню межі.
+     */
+    private void countRangeInArray() {
+        SortedRangeIndex.countCharRange(charDataset, runOptions.getRangeFrom(), runOptions.getRangeTo(), "масивi");
+    }
 
-        PerformanceTracker.displayOperationTime(timeStart, "визначення мiнiмальної i максимальної дати в масивi");
+    /**
+     * Визначає найменше та найбільше значення в масиві Character.
+     */
+    private void locateMinMaxInArray() {
+        charDataset.printStatistics();
+    }
 
-        System.out.println("Найменше значення в масивi: " + minValue);
-        System.out.println("Найбільше значення в масивi: " + maxValue);
+    /**
+     * Вимірює пошук у відсортованому масиві та в черзі повторними запусками з прогрівом
+     * (див. {@link PerformanceTracker#measureOperation}); звіт про затримки виводить {@link BasicDataOperation}.
+     */
+    private void measureSearchLatency() {
+        char value = CharacterValueToSearch;
+        int warmupIterations = runOptions.getLatencyWarmupIterations();
+        int measurementIterations = runOptions.getLatencyMeasurementIterations();
+        PerformanceTracker.measureOperation("пошук елемента у відсортованому масивi", warmupIterations, measurementIterations,
+                () -> searchIndex != null ? searchIndex.search(value) : Arrays.binarySearch(charArray, value));
+        PerformanceTracker.measureOperation("пошук елемента в Queue", warmupIterations, measurementIterations,
+                () -> charQueue.contains(value) ? 1 : 0);
     }
 
     /**
@@ -128,7 +160,7 @@ public class BasicDataOperationUsingQueue {
         // вимірюємо час пошуку в черзі
         long timeStart = System.nanoTime();
 
-        boolean elementExists = this.charQueue.contains(CharacterValueToSearch);
+        boolean elementExists = this.charQueue.contains(CharacterValueToSearch.charValue());
 
         PerformanceTracker.displayOperationTime(timeStart, "пошук елемента в Queue дати i часу");
 
@@ -151,8 +183,9 @@ public class BasicDataOperationUsingQueue {
         // відстежуємо час пошуку граничних значень
         long timeStart = System.nanoTime();
 
-        Character minValue = Collections.min(charQueue);
-        Character maxValue = Collections.max(charQueue);
+        // найменше значення - корінь купи, найбільше - один з його нащадків
+        char minValue = charQueue.peekMin();
+        char maxValue = charQueue.peekMax();
 
         PerformanceTracker.displayOperationTime(timeStart, "визначення мiнiмальної i максимальної дати в Queue");
 
@@ -161,7 +194,7 @@ public class BasicDataOperationUsingQueue {
     }
 
     /**
-     * Виконує операції peek і poll з чергою Character.
+     * Виконує операції peek і poll з чергою Character з боку найменших і найбільших значень.
      */
     private void performQueueOperations() {
         if (charQueue == null || charQueue.isEmpty()) {
@@ -177,5 +210,37 @@ public class BasicDataOperationUsingQueue {
 
         headElement = charQueue.peek();
         System.out.println("Новий головний елемент черги: " + headElement);
+
+        if (charQueue.isEmpty()) {
+            return;
+        }
+
+        char tailElement = charQueue.peekMax();
+        System.out.println("Найбільший елемент черги (peekMax): " + tailElement);
+
+        tailElement = charQueue.pollMax();
+        System.out.println("Видалений найбільший елемент черги (pollMax): " + tailElement);
+
+        if (!charQueue.isEmpty()) {
+            System.out.println("Новий найбільший елемент черги: " + charQueue.peekMax());
+        }
+    }
+
+    /**
+     * Передає записи набору даних від кількох виробників до кількох споживачів через обрані
+     * потокобезпечні черги та виводить пропускну здатність, затримки і конкуренцію.
+     */
+    private void runConcurrentWorkload() {
+        if (charArray == null || charArray.length == 0) {
+            System.out.println("Масив є пустим або не ініціалізованим.");
+            return;
+        }
+
+        long timeStart = System.nanoTime();
+
+        QueueWorkloadDriver.printScalingTable(charDataset.values(), runOptions.getQueueWorkloadBackends(),
+                runOptions.getQueueThreads(), QueueWorkloadDriver.DEFAULT_RECORD_COUNT);
+
+        PerformanceTracker.displayOperationTime(timeStart, "навантажувальний режим черги");
     }
 }
\ No newline at end of file
@@ -1,11 +1,9 @@
 /*import java.time.Character;*/
 import java.util.Arrays;
-import java.util.Collections;
-import java.util.HashSet;
-import java.util.Set;
 
 /**
- * Клас BasicDataOperationUsingSet реалізує операції з множиною HashSet для Character.
+ * Клас BasicDataOperationUsingSet реалізує операції з множиною Character у вигляді
+ * бітової карти присутності {@link CharBitmap} (65536 бітів замість HashSet з упакованими ключами).
  * 
  * <p>Методи класу:</p>
  * <ul>
@@ -13,30 +11,40 @@ import java.util.Set;
  *   <li>{@link #performArraySorting()} - Упорядковує масив Character.</li>
  *   <li>{@link #findInArray()} - Пошук значення в масиві Character.</li>
  *   <li>{@link #locateMinMaxInArray()} - Знаходить граничні значення в масиві.</li>
+ *   <li>{@link #findBatchInArray()} - Пакетний пошук значень у відсортованому масиві.</li>
+ *   <li>{@link #countRangeInArray()} - Підрахунок елементів масиву в діапазоні.</li>
+ *   <li>{@link #measureSearchLatency()} - Повторні виміри пошукових операцій з прогрівом (параметр --latency).</li>
  *   <li>{@link #findInSet()} - Пошук значення в множині Character.</li>
  *   <li>{@link #locateMinMaxInSet()} - Знаходить мінімальне і максимальне значення в множині.</li>
+ *   <li>{@link #findBatchInSet()} - Пакетна перевірка наявності значень у множині.</li>
  *   <li>{@link #analyzeArrayAndSet()} - Аналізує елементи масиву та множини.</li>
  * </ul>
  */
 public class BasicDataOperationUsingSet {
     Character CharacterValueToSearch;
-    Character[] charArray;
-    Set<Character> charSet = new HashSet<Character>();
+    CharDataset charDataset;
+    RunOptions runOptions;
+    char[] charArray;
+    EytzingerIndex searchIndex;
+    CharBitmap charSet;
 
     /**
      * Конструктор, який iнiцiалiзує об'єкт з готовими даними.
      * 
      * @param CharacterValueToSearch Значення для пошуку
-     * @param charArray Масив Character
+     * @param charDataset Спільний набір символів
+     * @param runOptions Додаткові параметри запуску (пакетний пошук)
      */
-    BasicDataOperationUsingSet(Character CharacterValueToSearch, Character[] charArray) {
+    BasicDataOperationUsingSet(Character CharacterValueToSearch, CharDataset charDataset, RunOptions runOptions) {
         this.CharacterValueToSearch = CharacterValueToSearch;
-        this.charArray = charArray;
-        this.charSet = new HashSet<Character>(Arrays.asList(charArray));
+        this.charDataset = charDataset;
+        this.runOptions = runOptions;
+        this.charArray = charDataset.values();
+        this.charSet = CharBitmap.of(charArray);
     }
     
     /**
-     * Запускає комплексний аналіз даних з використанням множини HashSet.
+     * Запускає комплексний аналіз даних з використанням множини CharBitmap.
      * 
      * Метод завантажує дані, виконує операції з множиною та масивом Character.
      */
@@ -45,6 +53,9 @@ public class BasicDataOperationUsingSet {
         findInSet();
         locateMinMaxInSet();
         analyzeArrayAndSet();
+        if (runOptions.hasProbes()) {
+            findBatchInSet();
+        }
 
         // потім обробляємо масив
         findInArray();
@@ -54,9 +65,18 @@ public class BasicDataOperationUsingSet {
 
         findInArray();
         locateMinMaxInArray();
+        if (runOptions.hasProbes()) {
+            findBatchInArray();
+        }
+        if (runOptions.hasRange()) {
+            countRangeInArray();
+        }
+        if (runOptions.measuresLatency()) {
+            measureSearchLatency();
+        }
 
         // зберігаємо відсортований масив до файлу
-        DataFileHandler.writeArrayToFile(charArray, BasicDataOperation.PATH_TO_DATA_FILE + ".sorted");
+        charDataset.saveSorted(BasicDataOperation.PATH_TO_DATA_FILE + ".sorted");
     }
 
     /**
@@ -66,7 +86,10 @@ public class BasicDataOperationUsingSet {
     private void performArraySorting() {
         long timeStart = System.nanoTime();
 
-        Arrays.sort(charArray);
+        charArray = charDataset.sortedValues();
+        if (runOptions.usesEytzingerSearch()) {
+            searchIndex = charDataset.eytzingerIndex();
+        }
 
         PerformanceTracker.displayOperationTime(timeStart, "упорядкування масиву дати i часу");
     }
@@ -77,7 +100,10 @@ public class BasicDataOperationUsingSet {
     private void findInArray() {
         long timeStart = System.nanoTime();
 
-        int position = Arrays.binarySearch(this.charArray, CharacterValueToSearch);
+        // індекс Ейтцінгера доступний лише після сортування; до того - звичайний двійковий пошук
+        int position = searchIndex != null
+                ? searchIndex.search(CharacterValueToSearch)
+                : Arrays.binarySearch(this.charArray, CharacterValueToSearch);
 
         PerformanceTracker.displayOperationTime(timeStart, "пошук елемента в масивi дати i часу");
 
@@ -89,32 +115,38 @@ public class BasicDataOperationUsingSet {
     }
 
     /**
-     * Визначає найменше та найбільше значення в масиві Character.
+     * Шукає пакет значень у відсортованому масиві за один прохід.
      */
-    private void locateMinMaxInArray() {
-        if (charArray == null || charArray.length == 0) {
-            System.out.println("Масив є пустим або не ініціалізованим.");
-            return;
-        }
-
-        long timeStart = System.nanoTime();
-
-        Character minValue = charArray[0];
-        Character maxValue = charArray[0];
+    private void findBatchInArray() {
+        BatchSearch.searchAndReport(charArray, runOptions.getProbes(), "масивi");
+    }
 
-        for (Character currentchar : charArray) {
-            if (currentchar.charValue() < minValue.charValue()) {
-                minValue = currentchar;
-            }
-            if (currentchar.charValue() > maxValue.charValue()) {
-                maxValue = currentchar;
-            }
-        }
+    /**
+     * Підраховує елементи відсортованого масиву в діапазоні через нижню та верхню межі.
+     */
+    private void countRangeInArray() {
+        SortedRangeIndex.countCharRange(charDataset, runOptions.getRangeFrom(), runOptions.getRangeTo(), "масивi");
+    }
 
-        PerformanceTracker.displayOperationTime(timeStart, "визначення мiнiмальної i максимальної дати в масивi");
+    /**
+     * Визначає найменше та найбільше значення в масиві Character.
+     */
+    private void locateMinMaxInArray() {
+        charDataset.printStatistics();
+    }
 
-        System.out.println("Найменше значення в масивi: " + minValue);
-        System.out.println("Найбільше значення в масивi: " + maxValue);
+    /**
+     * Вимірює пошук у відсортованому масиві та в CharBitmap повторними запусками з прогрівом
+     * (див. {@link PerformanceTracker#measureOperation}); звіт про затримки виводить {@link BasicDataOperation}.
+     */
+    private void measureSearchLatency() {
+        char value = CharacterValueToSearch;
+        int warmupIterations = runOptions.getLatencyWarmupIterations();
+        int measurementIterations = runOptions.getLatencyMeasurementIterations();
+        PerformanceTracker.measureOperation("пошук елемента у відсортованому масивi", warmupIterations, measurementIterations,
+                () -> searchIndex != null ? searchIndex.search(value) : Arrays.binarySearch(charArray, value));
+        PerformanceTracker.measureOperation("пошук елемента в CharBitmap", warmupIterations, measurementIterations,
+                () -> charSet.contains(value) ? 1 : 0);
     }
 
     /**
@@ -123,35 +155,53 @@ public class BasicDataOperationUsingSet {
     private void findInSet() {
         long timeStart = System.nanoTime();
 
-        boolean elementExists = this.charSet.contains(CharacterValueToSearch);
+        boolean elementExists = this.charSet.contains(CharacterValueToSearch.charValue());
 
-        PerformanceTracker.displayOperationTime(timeStart, "пошук елемента в HashSet дати i часу");
+        PerformanceTracker.displayOperationTime(timeStart, "пошук елемента в CharBitmap дати i часу");
 
         if (elementExists) {
-            System.out.println("Елемент '" + CharacterValueToSearch + "' знайдено в HashSet");
+            System.out.println("Елемент '" + CharacterValueToSearch + "' знайдено в CharBitmap");
         } else {
-            System.out.println("Елемент '" + CharacterValueToSearch + "' відсутній в HashSet.");
+            System.out.println("Елемент '" + CharacterValueToSearch + "' відсутній в CharBitmap.");
         }
     }
 
+    /**
+     * Перевіряє наявність пакета значень у множині CharBitmap.
+     */
+    private void findBatchInSet() {
+        char[] probes = runOptions.getProbes();
+        BatchSearch.Report report = new BatchSearch.Report(probes.length);
+        long timeStart = System.nanoTime();
+
+        for (char probe : BatchSearch.sortedProbes(probes)) {
+            report.acceptMembership(probe, charSet.contains(probe));
+        }
+
+        PerformanceTracker.displayOperationRate(timeStart, probes.length, "пакетний пошук в CharBitmap");
+
+        report.print("CharBitmap");
+    }
+
     /**
      * Визначає найменше та найбільше значення в множині Character.
      */
     private void locateMinMaxInSet() {
         if (charSet == null || charSet.isEmpty()) {
-            System.out.println("HashSet є пустим або не ініціалізованим.");
+            System.out.println("CharBitmap є пустим або не ініціалізованим.");
             return;
         }
 
         long timeStart = System.nanoTime();
 
-        Character minValue = Collections.min(charSet);
-        Character maxValue = Collections.max(charSet);
+        // граничні значення - перший і останній встановлені біти
+        char minValue = charSet.min();
+        char maxValue = charSet.max();
 
-        PerformanceTracker.displayOperationTime(timeStart, "визначення мiнiмальної i максимальної дати в HashSet");
+        PerformanceTracker.displayOperationTime(timeStart, "визначення мiнiмальної i максимальної дати в CharBitmap");
 
-        System.out.println("Найменше значення в HashSet: " + minValue);
-        System.out.println("Найбільше значення в HashSet: " + maxValue);
+        System.out.println("Найменше значення в CharBitmap: " + minValue);
+        System.out.println("Найбільше значення в CharBitmap: " + maxValue);
     }
 
     /**
@@ -159,10 +209,10 @@ public class BasicDataOperationUsingSet {
      */
     private void analyzeArrayAndSet() {
         System.out.println("Кiлькiсть елементiв в масивi: " + charArray.length);
-        System.out.println("Кiлькiсть елементiв в HashSet: " + charSet.size());
+        System.out.println("Кiлькiсть елементiв в CharBitmap: " + charSet.size());
 
         boolean allElementsPresent = true;
-        for (Character charElement : charArray) {
+        for (char charElement : charArray) {
             if (!charSet.contains(charElement)) {
                 allElementsPresent = false;
                 break;
@@ -170,9 +220,9 @@ public class BasicDataOperationUsingSet {
         }
 
         if (allElementsPresent) {
-            System.out.println("Всi елементи масиву наявні в HashSet.");
+            System.out.println("Всi елементи масиву наявні в CharBitmap.");
         } else {
-            System.out.println("Не всi елементи масиву наявні в HashSet.");
+            System.out.println("Не всi елементи масиву наявні в CharBitmap.");
         }
     }
 }
\ No newline at end of file
@@ -0,0 +1,226 @@
+import java.util.Arrays;
+import java.util.Iterator;
+
+/**
+ * Клас BatchSearch шукає пакет значень у відсортованих даних за один прохід.
+ *
+ * <p>Значення для пошуку спочатку впорядковуються, після чого всі вони обробляються
+ * одним проходом по даних: лінійним злиттям, якщо значень багато, або галопуючим
+ * (експоненційним) пошуком від попередньої позиції, якщо їх мало порівняно з розміром даних.
+ * Результати передаються до {@link ResultConsumer} у порядку зростання значень.</p>
+ *
+ * <p>Позиція результату - індекс першого входження значення або, як і в
+ * {@link Arrays#binarySearch(char[], char)}, {@code -(точка вставки) - 1}, якщо значення відсутнє.
+ * На відміну від Arrays.binarySearch, який серед однакових значень може повернути будь-яке,
+ * тут завжди повертається перше.</p>
+ *
+ * <p>{@link #searchAndReport} вимірює лише сам пошук: результати збираються в {@link Report}
+ * і виводяться після зупинки таймера, тож швидкість не залежить від виводу в консоль.</p>
+ */
+public class BatchSearch {
+    /**
+     * Приймач результатів пакетного пошуку.
+     */
+    @FunctionalInterface
+    public interface ResultConsumer {
+        void accept(char probe, int position);
+    }
+
+    /**
+     * Повертає впорядковану копію значень для пошуку.
+     */
+    public static char[] sortedProbes(char[] probes) {
+        char[] sorted = probes.clone();
+        DataSorter.sort(sorted);
+        return sorted;
+    }
+
+    /**
+     * Шукає впорядковані значення у відсортованому масиві.
+     *
+     * @param sortedValues Відсортований масив символів.
+     * @param sortedProbes Впорядковані значення для пошуку (див. {@link #sortedProbes(char[])}).
+     * @param consumer Приймач результатів.
+     */
+    public static void search(char[] sortedValues, char[] sortedProbes, ResultConsumer consumer) {
+        if (prefersGalloping(sortedValues.length, sortedProbes.length)) {
+            gallopingSearch(sortedValues, sortedProbes, consumer);
+        } else {
+            mergeSearch(sortedValues, sortedProbes, consumer);
+        }
+    }
+
+    /**
+     * Шукає впорядковані значення у відсортованій послідовності одним проходом ітератора.
+     * Підходить для колекцій без швидкого доступу за індексом, наприклад LinkedList.
+     *
+     * @param sortedValues Відсортована послідовність символів.
+     * @param sortedProbes Впорядковані значення для пошуку.
+     * @param consumer Приймач результатів.
+     */
+    public static void search(Iterable<Character> sortedValues, char[] sortedProbes, ResultConsumer consumer) {
+        Iterator<Character> iterator = sortedValues.iterator();
+        int index = 0;
+        boolean hasCurrent = iterator.hasNext();
+        char current = hasCurrent ? iterator.next() : 0;
+
+        for (char probe : sortedProbes) {
+            while (hasCurrent && current < probe) {
+                index++;
+                hasCurrent = iterator.hasNext();
+                if (hasCurrent) {
+                    current = iterator.next();
+                }
+            }
+            consumer.accept(probe, hasCurrent && current == probe ? index : -index - 1);
+        }
+    }
+
+    /**
+     * Шукає пакет значень у відсортованому масиві, потім виводить тривалість, кожен результат і підсумок.
+     *
+     * @param sortedValues Відсортований масив символів.
+     * @param probes Значення для пошуку в довільному порядку.
+     * @param structureName Назва структури даних для виводу.
+     */
+    public static void searchAndReport(char[] sortedValues, char[] probes, String structureName) {
+        Report report = new Report(probes.length);
+        long timeStart = System.nanoTime();
+
+        search(sortedValues, sortedProbes(probes), report);
+
+        PerformanceTracker.displayOperationRate(timeStart, probes.length, "пакетний пошук в " + structureName);
+        report.print(structureName);
+    }
+
+    /**
+     * Те саме, що {@link #searchAndReport(char[], char[], String)}, для відсортованої послідовності.
+     */
+    public static void searchAndReport(Iterable<Character> sortedValues, char[] probes, String structureName) {
+        Report report = new Report(probes.length);
+        long timeStart = System.nanoTime();
+
+        search(sortedValues, sortedProbes(probes), report);
+
+        PerformanceTracker.displayOperationRate(timeStart, probes.length, "пакетний пошук в " + structureName);
+        report.print(structureName);
+    }
+
+    /**
+     * Галопуючий пошук вигідніший, коли m * log2(n) менше за n.
+     */
+    static boolean prefersGalloping(int valueCount, int probeCount) {
+        int logarithm = Integer.SIZE - Integer.numberOfLeadingZeros(valueCount);
+        return (long) probeCount * logarithm < valueCount;
+    }
+
+    static void mergeSearch(char[] sortedValues, char[] sortedProbes, ResultConsumer consumer) {
+        int index = 0;
+        for (char probe : sortedProbes) {
+            while (index < sortedValues.length && sortedValues[index] < probe) {
+                index++;
+            }
+            consumer.accept(probe, toPosition(sortedValues, index, probe));
+        }
+    }
+
+    static void gallopingSearch(char[] sortedValues, char[] sortedProbes, ResultConsumer consumer) {
+        int index = 0;
+        for (char probe : sortedProbes) {
+            index = gallop(sortedValues, index, probe);
+            consumer.accept(probe, toPosition(sortedValues, index, probe));
+        }
+    }
+
+    /**
+     * Знаходить першу позицію не меншу за from, значення в якій не менше за key:
+     * спочатку кроками 1, 2, 4, ..., потім двійковим пошуком в останньому проміжку.
+     */
+    private static int gallop(char[] sortedValues, int from, char key) {
+        int length = sortedValues.length;
+        int low = from;
+        int high = from;
+        int step = 1;
+        while (high < length && sortedValues[high] < key) {
+            low = high + 1;
+            high = from + step;
+            step <<= 1;
+        }
+        return lowerBound(sortedValues, low, Math.min(high, length), key);
+    }
+
+    private static int lowerBound(char[] sortedValues, int from, int to, char key) {
+        int low = from;
+        int high = to;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (sortedValues[middle] < key) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    private static int toPosition(char[] sortedValues, int index, char probe) {
+        return index < sortedValues.length && sortedValues[index] == probe ? index : -index - 1;
+    }
+
+    /**
+     * Збирає результати пакетного пошуку без виводу, щоб вимірюваний пошук не включав консольний
+     * вивід; {@link #print(String)} виводить їх після зупинки таймера.
+     */
+    public static class Report implements ResultConsumer {
+        // позиція для результатів перевірки наявності, де позиції немає
+        private static final int FOUND_WITHOUT_POSITION = Integer.MAX_VALUE;
+
+        private final char[] probes;
+        private final int[] positions;
+        private int resultCount;
+        private int foundCount;
+
+        /**
+         * @param capacity Кількість значень у пакеті; масиви результатів виділяються наперед.
+         */
+        public Report(int capacity) {
+            probes = new char[capacity];
+            positions = new int[capacity];
+        }
+
+        @Override
+        public void accept(char probe, int position) {
+            if (position >= 0) {
+                foundCount++;
+            }
+            probes[resultCount] = probe;
+            positions[resultCount++] = position;
+        }
+
+        /**
+         * Враховує результат перевірки наявності для структур без позицій (наприклад, Set).
+         */
+        public void acceptMembership(char probe, boolean found) {
+            accept(probe, found ? FOUND_WITHOUT_POSITION : -1);
+        }
+
+        /**
+         * Виводить кожен результат у порядку надходження і підсумок пошуку.
+         *
+         * @param structureName Назва структури даних, у якій виконувався пошук.
+         */
+        public void print(String structureName) {
+            for (int i = 0; i < resultCount; i++) {
+                if (positions[i] == FOUND_WITHOUT_POSITION) {
+                    System.out.println("Елемент '" + probes[i] + "' знайдено.");
+                } else if (positions[i] >= 0) {
+                    System.out.println("Елемент '" + probes[i] + "' знайдено за позицією: " + positions[i]);
+                } else {
+                    System.out.println("Елемент '" + probes[i] + "' відсутній.");
+                }
+            }
+            System.out.println("Пакетний пошук в " + structureName + ": знайдено " + foundCount
+                    + ", відсутніх " + (resultCount - foundCount));
+        }
+    }
+}
@@ -0,0 +1,244 @@
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Клас BitmapSetBenchmark порівнює {@link CompressedIntBitmap} з HashSet&lt;Integer&gt; на файлах даних
+ * типів, які завантажуються в масив int: int, LocalDate (дні від 1970-01-01) та LocalTime (секунди доби).
+ *
+ * <p>Для кожного файлу вимірюються побудова множини, перевірка наявності всіх значень усіх файлів,
+ * мінімум і максимум та видалення кожного другого значення. Для кожної пари файлів вимірюються
+ * об'єднання, перетин і різниця. Результати бітової карти звіряються з HashSet. Кожен вимір
+ * повторюється кілька разів, виводиться найкращий час.</p>
+ *
+ * <p>Приклад використання (файли через кому, кількість повторів):</p>
+ * <pre>
+ * {@code
+ * java BitmapSetBenchmark
+ * java BitmapSetBenchmark list/int.data,list/LocalDate.data 100
+ * }
+ * </pre>
+ */
+public class BitmapSetBenchmark {
+    private static final String DEFAULT_FILES = "list/int.data,list/LocalDate.data,list/LocalTime.data";
+    private static final int DEFAULT_REPETITIONS = 200;
+    private static final List<DataType> INT_TYPES = Arrays.asList(DataType.INT, DataType.LOCAL_DATE, DataType.LOCAL_TIME);
+
+    private static final String USAGE_MESSAGE = "Використання: java BitmapSetBenchmark [файли-через-кому] [повторів]\n" +
+            "Приклад:\n" +
+            "  java BitmapSetBenchmark list/int.data,list/LocalDate.data 100";
+
+    private static long checksum;
+
+    /**
+     * Вимірювана операція; результат додається до контрольної суми.
+     */
+    @FunctionalInterface
+    private interface Measured {
+        long run();
+    }
+
+    public static void runBenchmark(String[] filePaths, int repetitions) {
+        int[][] values = new int[filePaths.length][];
+        for (int i = 0; i < filePaths.length; i++) {
+            DataType type = DataType.fromFileName(filePaths[i]);
+            if (!INT_TYPES.contains(type)) {
+                throw new IllegalArgumentException("Файл " + filePaths[i] + " містить дані типу " + type
+                        + ", а порівняння підтримує лише int, LocalDate та LocalTime");
+            }
+            values[i] = (int[]) TypedDataLoader.load(filePaths[i], type);
+        }
+        int[] allValues = concatenate(values);
+
+        System.out.printf("%-24s %-22s %16s %20s%n", "файл", "операція", "HashSet, нс", "CompressedIntBitmap, нс");
+        Set<Integer>[] hashSets = newHashSetArray(filePaths.length);
+        CompressedIntBitmap[] bitmaps = new CompressedIntBitmap[filePaths.length];
+        for (int i = 0; i < filePaths.length; i++) {
+            int[] fileValues = values[i];
+            hashSets[i] = toHashSet(fileValues);
+            bitmaps[i] = CompressedIntBitmap.of(fileValues);
+            Set<Integer> hashSet = hashSets[i];
+            CompressedIntBitmap bitmap = bitmaps[i];
+            verify(filePaths[i], hashSet, bitmap);
+            Set<Integer> halfSet = toHashSet(fileValues);
+            CompressedIntBitmap halfBitmap = CompressedIntBitmap.of(fileValues);
+            removeEverySecond(halfSet, fileValues);
+            removeEverySecond(halfBitmap, fileValues);
+            verify(filePaths[i] + " після видалення", halfSet, halfBitmap);
+
+            report(filePaths[i], "побудова", repetitions,
+                    () -> toHashSet(fileValues).size(),
+                    () -> CompressedIntBitmap.of(fileValues).cardinality());
+            report(filePaths[i], "наявність", repetitions,
+                    () -> countContained(hashSet, allValues),
+                    () -> countContained(bitmap, allValues));
+            if (!hashSet.isEmpty()) {
+                report(filePaths[i], "мінімум і максимум", repetitions,
+                        () -> (long) Collections.min(hashSet) + Collections.max(hashSet),
+                        () -> (long) bitmap.min() + bitmap.max());
+            }
+            report(filePaths[i], "видалення половини", repetitions,
+                    () -> removeEverySecond(toHashSet(fileValues), fileValues),
+                    () -> removeEverySecond(CompressedIntBitmap.of(fileValues), fileValues));
+            System.out.printf("%-24s %-22s %16s %20s%n", filePaths[i], "пам'ять, байт", "-", bitmap.sizeInBytes());
+        }
+
+        for (int i = 0; i < filePaths.length; i++) {
+            for (int j = i + 1; j < filePaths.length; j++) {
+                Set<Integer> left = hashSets[i];
+                Set<Integer> right = hashSets[j];
+                CompressedIntBitmap leftBitmap = bitmaps[i];
+                CompressedIntBitmap rightBitmap = bitmaps[j];
+                String pair = fileName(filePaths[i]) + " / " + fileName(filePaths[j]);
+
+                Set<Integer> union = new HashSet<Integer>(left);
+                union.addAll(right);
+                verify(pair + " об'єднання", union, leftBitmap.union(rightBitmap));
+                Set<Integer> intersection = new HashSet<Integer>(left);
+                intersection.retainAll(right);
+                verify(pair + " перетин", intersection, leftBitmap.intersection(rightBitmap));
+                Set<Integer> difference = new HashSet<Integer>(left);
+                difference.removeAll(right);
+                verify(pair + " різниця", difference, leftBitmap.difference(rightBitmap));
+
+                report(pair, "об'єднання", repetitions, () -> {
+                    Set<Integer> result = new HashSet<Integer>(left);
+                    result.addAll(right);
+                    return result.size();
+                }, () -> leftBitmap.union(rightBitmap).cardinality());
+                report(pair, "перетин", repetitions, () -> {
+                    Set<Integer> result = new HashSet<Integer>(left);
+                    result.retainAll(right);
+                    return result.size();
+                }, () -> leftBitmap.intersection(rightBitmap).cardinality());
+                report(pair, "різниця", repetitions, () -> {
+                    Set<Integer> result = new HashSet<Integer>(left);
+                    result.removeAll(right);
+                    return result.size();
+                }, () -> leftBitmap.difference(rightBitmap).cardinality());
+            }
+        }
+
+        PerformanceTracker.consume(checksum);
+    }
+
+    private static void report(String subject, String operation, int repetitions, Measured hashSet, Measured bitmap) {
+        long bestHashSet = Long.MAX_VALUE;
+        long bestBitmap = Long.MAX_VALUE;
+        for (int repetition = 0; repetition < repetitions; repetition++) {
+            long timeStart = System.nanoTime();
+            checksum += hashSet.run();
+            bestHashSet = Math.min(bestHashSet, System.nanoTime() - timeStart);
+
+            timeStart = System.nanoTime();
+            checksum += bitmap.run();
+            bestBitmap = Math.min(bestBitmap, System.nanoTime() - timeStart);
+        }
+        System.out.printf("%-24s %-22s %16d %20d%n", subject, operation, bestHashSet, bestBitmap);
+    }
+
+    /**
+     * Перевіряє, що бітова карта містить ті самі значення, що й HashSet.
+     */
+    private static void verify(String subject, Set<Integer> expected, CompressedIntBitmap actual) {
+        if (expected.size() != actual.cardinality()) {
+            throw new IllegalStateException(subject + ": CompressedIntBitmap містить " + actual.cardinality()
+                    + " значень замість " + expected.size());
+        }
+        actual.forEach(value -> {
+            if (!expected.contains(value)) {
+                throw new IllegalStateException(subject + ": CompressedIntBitmap містить зайве значення " + value);
+            }
+        });
+    }
+
+    private static long countContained(Set<Integer> set, int[] values) {
+        long count = 0;
+        for (int value : values) {
+            if (set.contains(value)) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private static long countContained(CompressedIntBitmap bitmap, int[] values) {
+        long count = 0;
+        for (int value : values) {
+            if (bitmap.contains(value)) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private static long removeEverySecond(Set<Integer> set, int[] values) {
+        for (int i = 0; i < values.length; i += 2) {
+            set.remove(values[i]);
+        }
+        return set.size();
+    }
+
+    private static long removeEverySecond(CompressedIntBitmap bitmap, int[] values) {
+        for (int i = 0; i < values.length; i += 2) {
+            bitmap.remove(values[i]);
+        }
+        return bitmap.cardinality();
+    }
+
+    private static Set<Integer> toHashSet(int[] values) {
+        Set<Integer> set = new HashSet<Integer>();
+        for (int value : values) {
+            set.add(value);
+        }
+        return set;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Set<Integer>[] newHashSetArray(int length) {
+        return (Set<Integer>[]) new Set<?>[length];
+    }
+
+    private static int[] concatenate(int[][] arrays) {
+        int length = 0;
+        for (int[] array : arrays) {
+            length += array.length;
+        }
+        int[] result = new int[length];
+        int position = 0;
+        for (int[] array : arrays) {
+            System.arraycopy(array, 0, result, position, array.length);
+            position += array.length;
+        }
+        return result;
+    }
+
+    private static String fileName(String filePath) {
+        return filePath.substring(filePath.lastIndexOf('/') + 1);
+    }
+
+    public static void main(String[] args) {
+        if (args.length > 2) {
+            System.out.println(USAGE_MESSAGE);
+            return;
+        }
+
+        try {
+            String[] filePaths = (args.length > 0 ? args[0] : DEFAULT_FILES).split(",");
+            for (int i = 0; i < filePaths.length; i++) {
+                filePaths[i] = filePaths[i].trim();
+            }
+            int repetitions = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_REPETITIONS;
+            if (repetitions < 1) {
+                throw new IllegalArgumentException("Кількість повторів має бути додатною: " + repetitions);
+            }
+
+            runBenchmark(filePaths, repetitions);
+        } catch (RuntimeException exception) {
+            System.out.println("❌ Помилка порівняння множин: " + exception.getMessage());
+            exception.printStackTrace();
+        }
+    }
+}
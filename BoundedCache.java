@@ -0,0 +1,261 @@
+import java.util.HashMap;
+import java.util.function.Function;
+import java.util.function.ToIntBiFunction;
+
+/**
+ * Клас BoundedCache - основа обмеженого кешу перед повільним сховищем (наприклад, пошуку власника
+ * пітона). Реалізації відрізняються лише політикою витіснення ({@link CachePolicy}):
+ * {@link LruCache}, {@link ClockCache} і {@link TinyLfuCache}.
+ *
+ * <p>Обмеження задається сумарною вагою записів: вагу кожного запису визначає функція weigher
+ * (для обмеження за кількістю записів вона повертає 1). Якщо ключа немає в кеші, {@link #get}
+ * викликає функцію-завантажувач, кладе результат у кеш і витісняє записи, доки сумарна вага
+ * не повернеться в межі. Запис, важчий за всю місткість, повертається, але не кешується.</p>
+ *
+ * <p>Кеш потокобезпечний: звернення до структур кешу виконуються під монітором об'єкта, а
+ * завантажувач викликається поза ним, щоб повільне сховище не блокувало влучання інших потоків.
+ * Тому два потоки можуть одночасно завантажити той самий ключ; у кеші залишиться пізніший результат.
+ * Якщо під час завантаження ключ інвалідовано ({@link #invalidate}) або замінено ({@link #put}),
+ * завантажене значення повертається викликачу, але не кешується, бо могло застаріти.
+ * Лічильники влучань, промахів і витіснень виводить {@link PerformanceTracker#displayCacheStatistics}.</p>
+ *
+ * @param <K> Тип ключів.
+ * @param <V> Тип значень.
+ */
+public abstract class BoundedCache<K, V> {
+    private final long maximumWeight;
+    private final ToIntBiFunction<? super K, ? super V> weigher;
+    private final Function<? super K, ? extends V> loader;
+
+    // незавершені завантаження за ключем; invalidate і put позначають їх застарілими
+    private final HashMap<K, PendingLoad> pendingLoads = new HashMap<K, PendingLoad>();
+
+    private long weightedSize;
+    private long hitCount;
+    private long missCount;
+    private long evictionCount;
+
+    /**
+     * Завантаження ключа, розпочате одним чи кількома потоками після промаху.
+     */
+    private static final class PendingLoad {
+        int loaders;
+        boolean stale;
+    }
+
+    /**
+     * @param maximumWeight Найбільша сумарна вага записів.
+     * @param weigher Вага запису (невід'ємна).
+     * @param loader Завантаження значення з повільного сховища; null означає, що значення немає.
+     */
+    protected BoundedCache(long maximumWeight, ToIntBiFunction<? super K, ? super V> weigher, Function<? super K, ? extends V> loader) {
+        if (maximumWeight < 1) {
+            throw new IllegalArgumentException("Місткість кешу має бути додатною: " + maximumWeight);
+        }
+        if (weigher == null || loader == null) {
+            throw new NullPointerException("Функції ваги та завантаження обов'язкові");
+        }
+        this.maximumWeight = maximumWeight;
+        this.weigher = weigher;
+        this.loader = loader;
+    }
+
+    /**
+     * Повертає значення з кешу, а за його відсутності - завантажене зі сховища (і кешує його).
+     *
+     * @return Значення або null, якщо сховище його не має (відсутність не кешується).
+     * @throws IllegalArgumentException якщо функція ваги повернула від'ємне число.
+     */
+    public V get(K key) {
+        if (key == null) {
+            throw new NullPointerException("Ключ кешу не може бути null");
+        }
+        PendingLoad load;
+        synchronized (this) {
+            V value = lookup(key);
+            if (value != null) {
+                hitCount++;
+                return value;
+            }
+            missCount++;
+            load = pendingLoads.get(key);
+            if (load == null) {
+                load = new PendingLoad();
+                pendingLoads.put(key, load);
+            }
+            load.loaders++;
+        }
+
+        V loaded = null;
+        int weight = -1;
+        try {
+            loaded = loader.apply(key);
+            if (loaded != null) {
+                weight = weigh(key, loaded);
+            }
+        } finally {
+            // лічильник завантаження зменшується й тоді, коли завантажувач чи функція ваги кинули виняток
+            synchronized (this) {
+                if (--load.loaders == 0 && pendingLoads.get(key) == load) {
+                    pendingLoads.remove(key);
+                }
+                if (weight >= 0 && !load.stale) {
+                    storeOrDiscard(key, loaded, weight);
+                }
+            }
+        }
+        return loaded;
+    }
+
+    /**
+     * @return Значення з кешу без звернення до сховища або null; враховується як влучання чи промах.
+     */
+    public synchronized V getIfPresent(K key) {
+        V value = key != null ? lookup(key) : null;
+        if (value != null) {
+            hitCount++;
+        } else {
+            missCount++;
+        }
+        return value;
+    }
+
+    /**
+     * Кладе значення в кеш (замінюючи наявне) і витісняє записи, якщо перевищено місткість.
+     */
+    public void put(K key, V value) {
+        if (key == null || value == null) {
+            throw new NullPointerException("Кеш не допускає null-ключів і null-значень");
+        }
+        int weight = weigh(key, value);
+        synchronized (this) {
+            markLoadStale(key);
+            storeOrDiscard(key, value, weight);
+        }
+    }
+
+    /**
+     * Видаляє запис з кешу (наприклад, коли значення у сховищі змінилося); не є витісненням.
+     * Незавершене завантаження цього ключа вже не потрапить у кеш.
+     */
+    public synchronized void invalidate(K key) {
+        if (key != null) {
+            markLoadStale(key);
+            discard(key);
+        }
+    }
+
+    private int weigh(K key, V value) {
+        int weight = weigher.applyAsInt(key, value);
+        if (weight < 0) {
+            throw new IllegalArgumentException("Вага запису не може бути від'ємною: " + weight);
+        }
+        return weight;
+    }
+
+    /**
+     * Позначає незавершене завантаження ключа застарілим; наступний промах почне нове.
+     * Викликається під монітором кешу.
+     */
+    private void markLoadStale(K key) {
+        PendingLoad load = pendingLoads.remove(key);
+        if (load != null) {
+            load.stale = true;
+        }
+    }
+
+    /**
+     * Кешує запис або, якщо він важчий за всю місткість, лише видаляє стару версію.
+     * Викликається під монітором кешу.
+     */
+    private void storeOrDiscard(K key, V value, int weight) {
+        if (weight > maximumWeight) {
+            // запис не вміститься навіть у порожній кеш; стара версія теж стає недійсною
+            discard(key);
+            return;
+        }
+        store(key, value, weight);
+    }
+
+    public synchronized int size() {
+        return entryCount();
+    }
+
+    public synchronized long getWeightedSize() {
+        return weightedSize;
+    }
+
+    public long getMaximumWeight() {
+        return maximumWeight;
+    }
+
+    public synchronized long getHitCount() {
+        return hitCount;
+    }
+
+    public synchronized long getMissCount() {
+        return missCount;
+    }
+
+    public synchronized long getEvictionCount() {
+        return evictionCount;
+    }
+
+    /**
+     * @return Частка влучань від 0 до 1 (0, якщо звернень ще не було).
+     */
+    public synchronized double getHitRate() {
+        long requests = hitCount + missCount;
+        return requests == 0 ? 0 : (double) hitCount / requests;
+    }
+
+    /**
+     * Обнуляє лічильники влучань, промахів і витіснень; вміст кешу не змінюється.
+     */
+    public synchronized void resetStatistics() {
+        hitCount = 0;
+        missCount = 0;
+        evictionCount = 0;
+    }
+
+    // ===== Методи політики витіснення; викликаються під монітором кешу =====
+
+    /**
+     * @return Значення ключа (з позначкою звернення для політики) або null.
+     */
+    protected abstract V lookup(K key);
+
+    /**
+     * Додає або замінює запис і витісняє інші записи, доки {@link #isOverweight()} не стане false.
+     * Щойно доданий запис не витісняється.
+     */
+    protected abstract void store(K key, V value, int weight);
+
+    /**
+     * Видаляє запис, якщо він є, і зменшує сумарну вагу.
+     */
+    protected abstract void discard(K key);
+
+    protected abstract int entryCount();
+
+    protected final void addWeight(long delta) {
+        weightedSize += delta;
+    }
+
+    protected final boolean isOverweight() {
+        return weightedSize > maximumWeight;
+    }
+
+    /**
+     * Враховує витіснення запису з вагою weight.
+     */
+    protected final void recordEviction(int weight) {
+        weightedSize -= weight;
+        evictionCount++;
+    }
+
+    @Override
+    public synchronized String toString() {
+        return getClass().getSimpleName() + "[size=" + entryCount() + ", weight=" + weightedSize + "/" + maximumWeight + "]";
+    }
+}
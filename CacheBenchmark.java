@@ -0,0 +1,168 @@
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Клас CacheBenchmark порівнює політики кешу {@link CachePolicy} перед повільним сховищем
+ * власників пітонів на потоці запитів із розподілом Зіпфа: ключ рангу r запитується з
+ * імовірністю, пропорційною 1 / r^s, тож невелика частка ключів отримує більшість запитів.
+ *
+ * <p>Сховище - {@link PythonOwnerMap} з усіма ключами, кожне звернення до якого додатково
+ * затримується активним очікуванням (імітація мережевого чи дискового запиту). Для кожної
+ * політики й місткості кешу виводяться тривалість і швидкість обробки запитів, а також
+ * лічильники влучань, промахів і витіснень ({@link PerformanceTracker#displayCacheStatistics}).
+ * Потік запитів генерується заздалегідь і однаковий для всіх політик.</p>
+ *
+ * <p>Приклад використання (політика або all, ключів, запитів, показник s, місткості у відсотках від кількості ключів):</p>
+ * <pre>
+ * {@code
+ * java CacheBenchmark
+ * java CacheBenchmark all 1000000 10000000 0.8 1,10
+ * }
+ * </pre>
+ */
+public class CacheBenchmark {
+    public static final int DEFAULT_KEY_COUNT = 100_000;
+    public static final int DEFAULT_REQUEST_COUNT = 2_000_000;
+    public static final double DEFAULT_SKEW = 0.99;
+    public static final String DEFAULT_CAPACITY_PERCENTS = "1,5,20";
+    public static final long LOAD_DELAY_NANOS = 1_000;
+
+    private static final String USAGE_MESSAGE = "Використання: java CacheBenchmark [lru|clock|tinylfu|all] [ключів] [запитів] [s] [місткості-у-%]\n" +
+            "Приклад:\n" +
+            "  java CacheBenchmark all 1000000 10000000 0.8 1,10";
+    private static final String[] NICKNAMES = {"Удавчик", "Змійка", "Сиріус", "Полоз", "Оріон", "Нагайна", "Медуза", "Кобра", "Аспід", "Василіск"};
+    private static final String[] OWNERS = {"Тарас", "Оксана", "Мирослава", "Борис", "Лариса", "Всеволод", "Антон", "Соломія", "Дар'я"};
+
+    /**
+     * Генератор рангів 0..n - 1 з розподілом Зіпфа: двійковий пошук у масиві накопичених імовірностей.
+     */
+    static class ZipfianGenerator {
+        private final double[] cumulative;
+
+        /**
+         * @param count Кількість рангів.
+         * @param skew Показник s (0 - рівномірний розподіл; чим більший, тим асиметричніший).
+         */
+        ZipfianGenerator(int count, double skew) {
+            if (count < 1 || skew < 0) {
+                throw new IllegalArgumentException("Потрібен принаймні один ключ і невід'ємний показник s");
+            }
+            cumulative = new double[count];
+            double sum = 0;
+            for (int rank = 0; rank < count; rank++) {
+                sum += 1 / Math.pow(rank + 1, skew);
+                cumulative[rank] = sum;
+            }
+        }
+
+        int nextRank(SplittableRandom random) {
+            double target = random.nextDouble() * cumulative[cumulative.length - 1];
+            int index = Arrays.binarySearch(cumulative, target);
+            return Math.min(cumulative.length - 1, index >= 0 ? index : -index - 1);
+        }
+    }
+
+    /**
+     * Запускає всі політики на одному потоці запитів для кожної місткості кешу.
+     */
+    public static void runBenchmark(List<CachePolicy> policies, int keyCount, int requestCount, double skew, int[] capacityPercents) {
+        BasicDataOperationUsingMap.Python[] keys = createKeys(keyCount);
+        PythonOwnerMap store = new PythonOwnerMap(keyCount);
+        SplittableRandom random = new SplittableRandom(keyCount);
+        for (BasicDataOperationUsingMap.Python key : keys) {
+            store.put(key, OWNERS[random.nextInt(OWNERS.length)]);
+        }
+
+        // ранги відображаються на ключі через випадкову перестановку, щоб популярні ключі не йшли підряд
+        int[] keyOfRank = new int[keyCount];
+        for (int i = 0; i < keyCount; i++) {
+            int j = random.nextInt(i + 1);
+            keyOfRank[i] = keyOfRank[j];
+            keyOfRank[j] = i;
+        }
+        ZipfianGenerator generator = new ZipfianGenerator(keyCount, skew);
+        int[] requests = new int[requestCount];
+        for (int i = 0; i < requestCount; i++) {
+            requests[i] = keyOfRank[generator.nextRank(random)];
+        }
+
+        for (int percent : capacityPercents) {
+            long capacity = Math.max(1, (long) keyCount * percent / 100);
+            for (CachePolicy policy : policies) {
+                String name = policy.getDisplayName() + ", місткість " + capacity + " (" + percent + "%), s=" + skew;
+                BoundedCache<BasicDataOperationUsingMap.Python, String> cache = policy.createCache(capacity, capacity, (key, owner) -> 1,
+                        key -> loadSlowly(store, key));
+
+                long checksum = 0;
+                long timeStart = System.nanoTime();
+                for (int request : requests) {
+                    checksum += cache.get(keys[request]).length();
+                }
+                PerformanceTracker.displayOperationRate(timeStart, requestCount, "запити через кеш " + name);
+                PerformanceTracker.displayCacheStatistics(cache, name);
+
+                if (cache.getWeightedSize() > capacity) {
+                    throw new IllegalStateException(name + ": вага " + cache.getWeightedSize() + " перевищує місткість " + capacity);
+                }
+                PerformanceTracker.consume(checksum);
+            }
+        }
+    }
+
+    /**
+     * Звернення до повільного сховища: пошук у таблиці плюс активне очікування LOAD_DELAY_NANOS.
+     */
+    private static String loadSlowly(PythonOwnerMap store, BasicDataOperationUsingMap.Python key) {
+        long deadline = System.nanoTime() + LOAD_DELAY_NANOS;
+        while (System.nanoTime() < deadline) {
+            Thread.onSpinWait();
+        }
+        return store.get(key);
+    }
+
+    private static BasicDataOperationUsingMap.Python[] createKeys(int count) {
+        BasicDataOperationUsingMap.Python[] keys = new BasicDataOperationUsingMap.Python[count];
+        // окремий словник кличок звільняється разом із ключами після порівняння
+        NameRegistry nicknames = new NameRegistry();
+        SplittableRandom random = new SplittableRandom(count);
+        for (int i = 0; i < count; i++) {
+            keys[i] = new BasicDataOperationUsingMap.Python(nicknames, NICKNAMES[random.nextInt(NICKNAMES.length)] + "-" + i, random.nextInt(100));
+        }
+        return keys;
+    }
+
+    static List<CachePolicy> parsePolicies(String value) {
+        if (value.equalsIgnoreCase("all")) {
+            return Arrays.asList(CachePolicy.values());
+        }
+        return Arrays.asList(CachePolicy.fromOptionValue(value));
+    }
+
+    public static void main(String[] args) {
+        if (args.length > 5) {
+            System.out.println(USAGE_MESSAGE);
+            return;
+        }
+
+        try {
+            List<CachePolicy> policies = parsePolicies(args.length > 0 ? args[0] : "all");
+            int keyCount = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_KEY_COUNT;
+            int requestCount = args.length > 2 ? Integer.parseInt(args[2]) : DEFAULT_REQUEST_COUNT;
+            double skew = args.length > 3 ? Double.parseDouble(args[3]) : DEFAULT_SKEW;
+            String[] percents = (args.length > 4 ? args[4] : DEFAULT_CAPACITY_PERCENTS).split(",");
+            int[] capacityPercents = new int[percents.length];
+            for (int i = 0; i < percents.length; i++) {
+                capacityPercents[i] = Integer.parseInt(percents[i].trim());
+                if (capacityPercents[i] < 1 || capacityPercents[i] > 100) {
+                    throw new IllegalArgumentException("Місткість кешу задається у відсотках від 1 до 100: " + percents[i]);
+                }
+            }
+
+            runBenchmark(policies, keyCount, requestCount, skew, capacityPercents);
+        } catch (RuntimeException exception) {
+            System.out.println("❌ Помилка порівняння кешів: " + exception.getMessage());
+            exception.printStackTrace();
+        }
+    }
+}
@@ -0,0 +1,67 @@
+import java.util.function.Function;
+import java.util.function.ToIntBiFunction;
+
+/**
+ * Політика витіснення обмеженого кешу {@link BoundedCache}.
+ *
+ * <ul>
+ *   <li>{@link #LRU} - {@link LruCache}: LinkedHashMap з порядком доступу, витісняється найдавніше використаний запис;</li>
+ *   <li>{@link #CLOCK} - {@link ClockCache}: наближення LRU з бітом звернення, влучання не переставляє записів;</li>
+ *   <li>{@link #TINY_LFU} - {@link TinyLfuCache}: W-TinyLFU, допуск до основної частини за оцінкою частоти звернень.</li>
+ * </ul>
+ */
+public enum CachePolicy {
+    LRU("lru", "LRU"),
+    CLOCK("clock", "CLOCK"),
+    TINY_LFU("tinylfu", "W-TinyLFU");
+
+    private final String optionValue;
+    private final String displayName;
+
+    CachePolicy(String optionValue, String displayName) {
+        this.optionValue = optionValue;
+        this.displayName = displayName;
+    }
+
+    public String getOptionValue() {
+        return optionValue;
+    }
+
+    public String getDisplayName() {
+        return displayName;
+    }
+
+    /**
+     * @param maximumWeight Найбільша сумарна вага записів.
+     * @param expectedEntries Очікувана кількість записів у заповненому кеші; для ваги 1 дорівнює maximumWeight.
+     *                        Її використовує лише {@link TinyLfuCache} для розміру оцінювача частот.
+     * @param weigher Вага запису; для обмеження за кількістю записів - (key, value) -> 1.
+     * @param loader Завантаження значення з повільного сховища.
+     * @return Новий порожній кеш обраної політики.
+     */
+    public <K, V> BoundedCache<K, V> createCache(long maximumWeight, long expectedEntries, ToIntBiFunction<? super K, ? super V> weigher,
+            Function<? super K, ? extends V> loader) {
+        switch (this) {
+            case LRU:
+                return new LruCache<K, V>(maximumWeight, weigher, loader);
+            case CLOCK:
+                return new ClockCache<K, V>(maximumWeight, weigher, loader);
+            default:
+                return new TinyLfuCache<K, V>(maximumWeight, expectedEntries, weigher, loader);
+        }
+    }
+
+    /**
+     * Визначає політику за значенням параметра командного рядка (lru, clock, tinylfu).
+     *
+     * @throws IllegalArgumentException якщо значення невідоме.
+     */
+    public static CachePolicy fromOptionValue(String value) {
+        for (CachePolicy policy : values()) {
+            if (policy.optionValue.equalsIgnoreCase(value)) {
+                return policy;
+            }
+        }
+        throw new IllegalArgumentException("Невідома політика кешу: " + value + " (lru, clock, tinylfu)");
+    }
+}
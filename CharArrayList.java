@@ -0,0 +1,192 @@
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.NoSuchElementException;
+import java.util.RandomAccess;
+
+/**
+ * Клас CharArrayList - список Character поверх примітивного масиву char.
+ *
+ * <p>Кожен елемент займає 2 байти замість вузла LinkedList з упакованим Character
+ * (близько 40 байтів), а доступ за індексом виконується за O(1), тому
+ * {@link java.util.Collections#binarySearch} працює за O(log n). Сортування в природному
+ * порядку виконується підрахунком через {@link DataSorter}.</p>
+ */
+public class CharArrayList extends AbstractList<Character> implements RandomAccess {
+    private static final int DEFAULT_CAPACITY = 16;
+
+    private char[] values;
+    private int size;
+
+    public CharArrayList() {
+        this.values = new char[DEFAULT_CAPACITY];
+    }
+
+    /**
+     * Створює список з копією масиву.
+     *
+     * @param values Масив символів.
+     */
+    public CharArrayList(char[] values) {
+        this.values = values.clone();
+        this.size = values.length;
+    }
+
+    @Override
+    public Character get(int index) {
+        return getChar(index);
+    }
+
+    public char getChar(int index) {
+        checkIndex(index);
+        return values[index];
+    }
+
+    @Override
+    public Character set(int index, Character value) {
+        checkIndex(index);
+        char previous = values[index];
+        values[index] = value;
+        return previous;
+    }
+
+    @Override
+    public boolean add(Character value) {
+        addChar(value);
+        return true;
+    }
+
+    public void addChar(char value) {
+        if (size == values.length) {
+            values = Arrays.copyOf(values, Math.max(DEFAULT_CAPACITY, size * 2));
+        }
+        values[size++] = value;
+        modCount++;
+    }
+
+    @Override
+    public void add(int index, Character value) {
+        if (index < 0 || index > size) {
+            throw new IndexOutOfBoundsException("Індекс " + index + " поза межами 0.." + size);
+        }
+        if (size == values.length) {
+            values = Arrays.copyOf(values, Math.max(DEFAULT_CAPACITY, size * 2));
+        }
+        System.arraycopy(values, index, values, index + 1, size - index);
+        values[index] = value;
+        size++;
+        modCount++;
+    }
+
+    @Override
+    public Character remove(int index) {
+        checkIndex(index);
+        char previous = values[index];
+        System.arraycopy(values, index + 1, values, index, size - index - 1);
+        size--;
+        modCount++;
+        return previous;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public void clear() {
+        size = 0;
+        modCount++;
+    }
+
+    @Override
+    public int indexOf(Object value) {
+        if (!(value instanceof Character)) {
+            return -1;
+        }
+        char key = (Character) value;
+        for (int i = 0; i < size; i++) {
+            if (values[i] == key) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public boolean contains(Object value) {
+        return indexOf(value) >= 0;
+    }
+
+    /**
+     * Сортує список. Для природного порядку (comparator == null) використовується
+     * сортування підрахунком на примітивному масиві без упаковки елементів.
+     */
+    @Override
+    public void sort(Comparator<? super Character> comparator) {
+        if (comparator == null) {
+            char[] sorted = Arrays.copyOf(values, size);
+            DataSorter.sort(sorted);
+            System.arraycopy(sorted, 0, values, 0, size);
+        } else {
+            super.sort(comparator);
+        }
+        modCount++;
+    }
+
+    /**
+     * Двійковий пошук у відсортованому списку без упаковки елементів.
+     *
+     * @return Позиція за правилами {@link Arrays#binarySearch(char[], char)}.
+     */
+    public int binarySearch(char key) {
+        return Arrays.binarySearch(values, 0, size, key);
+    }
+
+    /**
+     * @return Найменший символ.
+     * @throws NoSuchElementException якщо список порожній.
+     */
+    public char min() {
+        if (size == 0) {
+            throw new NoSuchElementException("Список порожній");
+        }
+        char min = values[0];
+        for (int i = 1; i < size; i++) {
+            if (values[i] < min) {
+                min = values[i];
+            }
+        }
+        return min;
+    }
+
+    /**
+     * @return Найбільший символ.
+     * @throws NoSuchElementException якщо список порожній.
+     */
+    public char max() {
+        if (size == 0) {
+            throw new NoSuchElementException("Список порожній");
+        }
+        char max = values[0];
+        for (int i = 1; i < size; i++) {
+            if (values[i] > max) {
+                max = values[i];
+            }
+        }
+        return max;
+    }
+
+    /**
+     * @return Копія елементів у вигляді масиву char.
+     */
+    public char[] toCharArray() {
+        return Arrays.copyOf(values, size);
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Індекс " + index + " поза межами 0.." + (size - 1));
+        }
+    }
+}
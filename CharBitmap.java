@@ -0,0 +1,280 @@
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Клас CharBitmap - множина символів у вигляді бітової карти присутності на 65536 бітів (8 КБ).
+ *
+ * <p>На відміну від HashSet&lt;Character&gt;, елементи не упаковуються в об'єкти і не потребують
+ * вузлів хеш-таблиці: перевірка наявності, додавання та видалення - це одна операція з бітом.
+ * Мінімум і максимум знаходяться через {@link #nextSetBit(int)} та {@link #previousSetBit(int)},
+ * а об'єднання, перетин і різниця виконуються пословно (64 символи за операцію).</p>
+ *
+ * <p>Клас реалізує {@link java.util.Set}, тому може використовуватися там, де очікується
+ * Set&lt;Character&gt;; для швидкодії слід викликати примітивні методи з параметром char.</p>
+ */
+public class CharBitmap extends AbstractSet<Character> {
+    private static final int WORD_COUNT = (1 << Character.SIZE) / Long.SIZE;
+
+    private final long[] words;
+    private int cardinality;
+    private int modificationCount;
+
+    public CharBitmap() {
+        this.words = new long[WORD_COUNT];
+    }
+
+    private CharBitmap(long[] words) {
+        this.words = words;
+        this.cardinality = countBits(words);
+    }
+
+    /**
+     * Будує бітову карту з масиву символів.
+     *
+     * @param values Масив символів (повтори допускаються).
+     * @return Бітова карта присутності.
+     */
+    public static CharBitmap of(char[] values) {
+        long[] words = new long[WORD_COUNT];
+        for (char value : values) {
+            words[value >>> 6] |= 1L << value;
+        }
+        return new CharBitmap(words);
+    }
+
+    public boolean contains(char value) {
+        return (words[value >>> 6] & (1L << value)) != 0;
+    }
+
+    @Override
+    public boolean contains(Object value) {
+        return value instanceof Character && contains(((Character) value).charValue());
+    }
+
+    /**
+     * @return true, якщо символ був відсутній.
+     */
+    public boolean add(char value) {
+        int index = value >>> 6;
+        long word = words[index];
+        long updated = word | (1L << value);
+        if (updated == word) {
+            return false;
+        }
+        words[index] = updated;
+        cardinality++;
+        modificationCount++;
+        return true;
+    }
+
+    @Override
+    public boolean add(Character value) {
+        return add(value.charValue());
+    }
+
+    /**
+     * @return true, якщо символ був присутній.
+     */
+    public boolean remove(char value) {
+        int index = value >>> 6;
+        long word = words[index];
+        long updated = word & ~(1L << value);
+        if (updated == word) {
+            return false;
+        }
+        words[index] = updated;
+        cardinality--;
+        modificationCount++;
+        return true;
+    }
+
+    @Override
+    public boolean remove(Object value) {
+        return value instanceof Character && remove(((Character) value).charValue());
+    }
+
+    @Override
+    public int size() {
+        return cardinality;
+    }
+
+    @Override
+    public void clear() {
+        Arrays.fill(words, 0);
+        cardinality = 0;
+        modificationCount++;
+    }
+
+    /**
+     * Повертає найменший присутній символ, не менший за fromIndex.
+     *
+     * @param fromIndex Початкова позиція (0..65535); від'ємні значення трактуються як 0.
+     * @return Код символу або -1, якщо такого немає.
+     */
+    public int nextSetBit(int fromIndex) {
+        int index = Math.max(0, fromIndex);
+        if (index >= WORD_COUNT * Long.SIZE) {
+            return -1;
+        }
+        int wordIndex = index >>> 6;
+        long word = words[wordIndex] & (-1L << index);
+        while (word == 0) {
+            if (++wordIndex == WORD_COUNT) {
+                return -1;
+            }
+            word = words[wordIndex];
+        }
+        return (wordIndex << 6) + Long.numberOfTrailingZeros(word);
+    }
+
+    /**
+     * Повертає найбільший присутній символ, не більший за fromIndex.
+     *
+     * @param fromIndex Початкова позиція; значення понад 65535 трактуються як 65535.
+     * @return Код символу або -1, якщо такого немає.
+     */
+    public int previousSetBit(int fromIndex) {
+        if (fromIndex < 0) {
+            return -1;
+        }
+        int index = Math.min(fromIndex, WORD_COUNT * Long.SIZE - 1);
+        int wordIndex = index >>> 6;
+        long word = words[wordIndex] & (-1L >>> (Long.SIZE - 1 - (index & 63)));
+        while (word == 0) {
+            if (--wordIndex < 0) {
+                return -1;
+            }
+            word = words[wordIndex];
+        }
+        return (wordIndex << 6) + Long.SIZE - 1 - Long.numberOfLeadingZeros(word);
+    }
+
+    /**
+     * @return Найменший символ.
+     * @throws NoSuchElementException якщо множина порожня.
+     */
+    public char min() {
+        int value = nextSetBit(0);
+        if (value < 0) {
+            throw new NoSuchElementException("Бітова карта порожня");
+        }
+        return (char) value;
+    }
+
+    /**
+     * @return Найбільший символ.
+     * @throws NoSuchElementException якщо множина порожня.
+     */
+    public char max() {
+        int value = previousSetBit(Character.MAX_VALUE);
+        if (value < 0) {
+            throw new NoSuchElementException("Бітова карта порожня");
+        }
+        return (char) value;
+    }
+
+    /**
+     * @return Нова бітова карта з символами, присутніми хоча б в одній з множин.
+     */
+    public CharBitmap union(CharBitmap other) {
+        long[] result = new long[WORD_COUNT];
+        for (int i = 0; i < WORD_COUNT; i++) {
+            result[i] = words[i] | other.words[i];
+        }
+        return new CharBitmap(result);
+    }
+
+    /**
+     * @return Нова бітова карта з символами, присутніми в обох множинах.
+     */
+    public CharBitmap intersection(CharBitmap other) {
+        long[] result = new long[WORD_COUNT];
+        for (int i = 0; i < WORD_COUNT; i++) {
+            result[i] = words[i] & other.words[i];
+        }
+        return new CharBitmap(result);
+    }
+
+    /**
+     * @return Нова бітова карта з символами цієї множини, відсутніми в іншій.
+     */
+    public CharBitmap difference(CharBitmap other) {
+        long[] result = new long[WORD_COUNT];
+        for (int i = 0; i < WORD_COUNT; i++) {
+            result[i] = words[i] & ~other.words[i];
+        }
+        return new CharBitmap(result);
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        if (other instanceof CharBitmap) {
+            return Arrays.equals(words, ((CharBitmap) other).words);
+        }
+        return super.equals(other);
+    }
+
+    @Override
+    public int hashCode() {
+        // сума кодів символів, як вимагає контракт Set.hashCode()
+        int hash = 0;
+        for (int value = nextSetBit(0); value >= 0; value = nextSetBit(value + 1)) {
+            hash += value;
+        }
+        return hash;
+    }
+
+    /**
+     * Ітератор у порядку зростання символів.
+     */
+    @Override
+    public Iterator<Character> iterator() {
+        return new Iterator<Character>() {
+            private int next = nextSetBit(0);
+            private int last = -1;
+            private int expectedModificationCount = modificationCount;
+
+            @Override
+            public boolean hasNext() {
+                return next >= 0;
+            }
+
+            @Override
+            public Character next() {
+                if (next < 0) {
+                    throw new NoSuchElementException();
+                }
+                if (expectedModificationCount != modificationCount) {
+                    throw new ConcurrentModificationException();
+                }
+                last = next;
+                next = nextSetBit(next + 1);
+                return (char) last;
+            }
+
+            @Override
+            public void remove() {
+                if (last < 0) {
+                    throw new IllegalStateException();
+                }
+                if (expectedModificationCount != modificationCount) {
+                    throw new ConcurrentModificationException();
+                }
+                CharBitmap.this.remove((char) last);
+                expectedModificationCount = modificationCount;
+                last = -1;
+            }
+        };
+    }
+
+    private static int countBits(long[] words) {
+        int count = 0;
+        for (long word : words) {
+            count += Long.bitCount(word);
+        }
+        return count;
+    }
+}
@@ -0,0 +1,165 @@
+import java.util.IntSummaryStatistics;
+import java.util.NoSuchElementException;
+
+/**
+ * Клас CharDataset зберігає завантажений масив символів, спільний для обробників List, Queue та Set.
+ *
+ * <p>Вихідний масив не змінюється. Відсортоване представлення обчислюється один раз
+ * при першому зверненні (сортування підрахунком через {@link FrequencyTable}) і далі
+ * лише читається. Мінімум, максимум і сума обчислюються одним послідовним скалярним проходом
+ * {@link StatisticsKernels} без побудови таблиці частот, а файл .sorted записується
+ * не більше одного разу і лише тоді, коли його вміст змінився.</p>
+ *
+ * <p>Масиви, які повертають {@link #values()} і {@link #sortedValues()}, спільні для всіх
+ * обробників і індексів набору даних, тому їх не можна змінювати: обробник, якому потрібен
+ * змінюваний масив, має скопіювати його сам.</p>
+ */
+public class CharDataset {
+    private final char[] values;
+    private FrequencyTable frequencyTable;
+    private IntSummaryStatistics statistics;
+    private char[] sortedValues;
+    private EytzingerIndex eytzingerIndex;
+    private SortedRangeIndex rangeIndex;
+    private String savedSortedFilePath;
+
+    /**
+     * @param values Масив символів у порядку файлу; набір даних стає його власником.
+     */
+    public CharDataset(char[] values) {
+        this.values = values;
+    }
+
+    public int size() {
+        return values.length;
+    }
+
+    public boolean isEmpty() {
+        return values.length == 0;
+    }
+
+    /**
+     * @return Вихідний масив у порядку файлу (лише для читання).
+     */
+    public char[] values() {
+        return values;
+    }
+
+    /**
+     * @return Відсортований масив (лише для читання); сортування виконується лише при першому виклику.
+     */
+    public synchronized char[] sortedValues() {
+        return sorted();
+    }
+
+    private char[] sorted() {
+        if (sortedValues == null) {
+            char[] sorted = new char[values.length];
+            frequencyTable().writeSortedChars(sorted);
+            sortedValues = sorted;
+        }
+        return sortedValues;
+    }
+
+    /**
+     * @return Пошуковий індекс у порядку Ейтцінгера над відсортованим масивом; будується при першому виклику.
+     */
+    public synchronized EytzingerIndex eytzingerIndex() {
+        if (eytzingerIndex == null) {
+            eytzingerIndex = EytzingerIndex.of(sorted());
+        }
+        return eytzingerIndex;
+    }
+
+    /**
+     * @return Індекс запитів діапазону над відсортованим масивом; будується при першому виклику.
+     */
+    public synchronized SortedRangeIndex rangeIndex() {
+        if (rangeIndex == null) {
+            rangeIndex = SortedRangeIndex.of(sorted(), DataType.CHARACTER);
+        }
+        return rangeIndex;
+    }
+
+    /**
+     * @return Таблиця частот; будується за один прохід при першому виклику.
+     */
+    public synchronized FrequencyTable frequencyTable() {
+        if (frequencyTable == null) {
+            frequencyTable = FrequencyTable.ofChars(values);
+        }
+        return frequencyTable;
+    }
+
+    /**
+     * @return Кількість, мінімум, максимум, сума та середнє кодів символів; обчислюються при першому виклику.
+     */
+    public synchronized IntSummaryStatistics statistics() {
+        if (statistics == null) {
+            statistics = StatisticsKernels.of(values);
+        }
+        return statistics;
+    }
+
+    /**
+     * @return Найменший символ.
+     * @throws NoSuchElementException якщо набір даних порожній.
+     */
+    public char min() {
+        checkNotEmpty();
+        return (char) statistics().getMin();
+    }
+
+    /**
+     * @return Найбільший символ.
+     * @throws NoSuchElementException якщо набір даних порожній.
+     */
+    public char max() {
+        checkNotEmpty();
+        return (char) statistics().getMax();
+    }
+
+    /**
+     * Визначає та виводить найменше і найбільше значення, суму кодів символів і середнє.
+     * Усі обробники показують ту саму статистику спільного масиву, обчислену один раз.
+     */
+    public void printStatistics() {
+        if (isEmpty()) {
+            System.out.println("Масив є пустим або не ініціалізованим.");
+            return;
+        }
+
+        long timeStart = System.nanoTime();
+
+        IntSummaryStatistics statistics = statistics();
+        char minValue = min();
+        char maxValue = max();
+
+        PerformanceTracker.displayOperationTime(timeStart, "визначення мiнiмальної i максимальної дати в масивi");
+
+        System.out.println("Найменше значення в масивi: " + minValue);
+        System.out.println("Найбільше значення в масивi: " + maxValue);
+        System.out.println("Сума кодів символів у масивi: " + statistics.getSum()
+                + ", середнє: " + String.format("%.2f", statistics.getAverage()));
+    }
+
+    private void checkNotEmpty() {
+        if (values.length == 0) {
+            throw new NoSuchElementException("Набір даних порожній");
+        }
+    }
+
+    /**
+     * Зберігає відсортований масив у файл. Повторні виклики з тим самим шляхом нічого не роблять,
+     * а наявний файл з тим самим вмістом не перезаписується.
+     *
+     * @param filePath Шлях до файлу для збереження.
+     */
+    public synchronized void saveSorted(String filePath) {
+        if (filePath.equals(savedSortedFilePath)) {
+            return;
+        }
+        DataFileHandler.writeArrayToFileIfChanged(sorted(), DataType.CHARACTER, filePath);
+        savedSortedFilePath = filePath;
+    }
+}
@@ -0,0 +1,137 @@
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.function.Function;
+import java.util.function.ToIntBiFunction;
+
+/**
+ * Клас ClockCache - обмежений кеш з алгоритмом CLOCK (наближення LRU «другий шанс»).
+ *
+ * <p>Записи лежать у кільці комірок, і кожна має біт звернення. Влучання лише встановлює цей біт,
+ * не переставляючи записів, тому воно дешевше, ніж перенесення в кінець списку в {@link LruCache}.
+ * Під час витіснення «стрілка» обходить кільце: запис з установленим бітом отримує другий шанс
+ * (біт скидається), а перший запис зі скинутим бітом витісняється.</p>
+ *
+ * <p>Кільце зберігається в паралельних масивах ключів, значень, ваг і бітів звернення; комірки
+ * витіснених записів повторно використовуються через стек вільних комірок, а кільце подвоюється,
+ * коли вільних комірок немає.</p>
+ *
+ * @param <K> Тип ключів.
+ * @param <V> Тип значень.
+ */
+public class ClockCache<K, V> extends BoundedCache<K, V> {
+    private static final int INITIAL_SLOTS = 16;
+
+    private final HashMap<K, Integer> slotOf = new HashMap<K, Integer>();
+    private K[] keys;
+    private V[] values;
+    private int[] weights;
+    private boolean[] referenced;
+    private int[] freeSlots;
+    private int freeCount;
+    private int usedSlots;
+    private int hand;
+
+    @SuppressWarnings("unchecked")
+    public ClockCache(long maximumWeight, ToIntBiFunction<? super K, ? super V> weigher, Function<? super K, ? extends V> loader) {
+        super(maximumWeight, weigher, loader);
+        keys = (K[]) new Object[INITIAL_SLOTS];
+        values = (V[]) new Object[INITIAL_SLOTS];
+        weights = new int[INITIAL_SLOTS];
+        referenced = new boolean[INITIAL_SLOTS];
+        freeSlots = new int[INITIAL_SLOTS];
+    }
+
+    @Override
+    protected V lookup(K key) {
+        Integer slot = slotOf.get(key);
+        if (slot == null) {
+            return null;
+        }
+        referenced[slot] = true;
+        return values[slot];
+    }
+
+    @Override
+    protected void store(K key, V value, int weight) {
+        Integer existing = slotOf.get(key);
+        int slot;
+        if (existing != null) {
+            slot = existing;
+            addWeight(weight - weights[slot]);
+        } else {
+            slot = allocateSlot();
+            keys[slot] = key;
+            slotOf.put(key, slot);
+            addWeight(weight);
+        }
+        values[slot] = value;
+        weights[slot] = weight;
+        referenced[slot] = true;
+
+        while (isOverweight()) {
+            evictAtHand(slot);
+        }
+    }
+
+    /**
+     * Просуває стрілку до першого запису зі скинутим бітом звернення і витісняє його.
+     * Біт звернення протягом одного оберту скидається в усіх записах, тому цикл завершується
+     * не більше ніж за два оберти.
+     *
+     * @param protectedSlot Комірка щойно доданого запису, яка не витісняється.
+     */
+    private void evictAtHand(int protectedSlot) {
+        while (true) {
+            int slot = hand;
+            hand = hand + 1 < usedSlots ? hand + 1 : 0;
+            if (keys[slot] == null || slot == protectedSlot) {
+                continue;
+            }
+            if (referenced[slot]) {
+                referenced[slot] = false;
+                continue;
+            }
+            int weight = weights[slot];
+            releaseSlot(slot);
+            recordEviction(weight);
+            return;
+        }
+    }
+
+    @Override
+    protected void discard(K key) {
+        Integer slot = slotOf.get(key);
+        if (slot != null) {
+            addWeight(-weights[slot]);
+            releaseSlot(slot);
+        }
+    }
+
+    @Override
+    protected int entryCount() {
+        return slotOf.size();
+    }
+
+    private int allocateSlot() {
+        if (freeCount > 0) {
+            return freeSlots[--freeCount];
+        }
+        if (usedSlots == keys.length) {
+            int capacity = 2 * keys.length;
+            keys = Arrays.copyOf(keys, capacity);
+            values = Arrays.copyOf(values, capacity);
+            weights = Arrays.copyOf(weights, capacity);
+            referenced = Arrays.copyOf(referenced, capacity);
+            freeSlots = Arrays.copyOf(freeSlots, capacity);
+        }
+        return usedSlots++;
+    }
+
+    private void releaseSlot(int slot) {
+        slotOf.remove(keys[slot]);
+        keys[slot] = null;
+        values[slot] = null;
+        referenced[slot] = false;
+        freeSlots[freeCount++] = slot;
+    }
+}
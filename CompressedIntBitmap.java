@@ -0,0 +1,586 @@
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.function.IntConsumer;
+
+/**
+ * Клас CompressedIntBitmap - стиснена бітова карта для 32-бітових значень за схемою Roaring.
+ *
+ * <p>Значення ділиться на старші 16 бітів (ключ контейнера) і молодші 16 бітів.
+ * Розріджений контейнер зберігає молодші біти відсортованим масивом char (до 4096 значень),
+ * щільний - бітовою картою на 65536 бітів (8 КБ). Тому пам'ять пропорційна кількості
+ * значень для розріджених даних і не перевищує 8 КБ на 65536 значень для щільних.</p>
+ *
+ * <p>Знаковий біт інвертується перед розбиттям, тому порядок контейнерів збігається з
+ * порядком чисел зі знаком і мінімум/максимум відповідають int (а також LocalDate і
+ * LocalTime у представленні {@link DataType}).</p>
+ *
+ * <p>{@link BitmapSetBenchmark} порівнює її з HashSet&lt;Integer&gt; на файлах даних цих типів.</p>
+ */
+public class CompressedIntBitmap {
+    /** Найбільша кількість значень у розрідженому контейнері (8 КБ, як і щільний контейнер). */
+    static final int ARRAY_CONTAINER_LIMIT = 4096;
+    private static final int WORD_COUNT = (1 << 16) / Long.SIZE;
+
+    private char[] keys = new char[4];
+    private Container[] containers = new Container[4];
+    private int containerCount;
+    private long cardinality;
+
+    /**
+     * Будує бітову карту з масиву значень.
+     *
+     * @param values Масив int (повтори допускаються).
+     * @return Стиснена бітова карта.
+     */
+    public static CompressedIntBitmap of(int[] values) {
+        CompressedIntBitmap bitmap = new CompressedIntBitmap();
+        for (int value : values) {
+            bitmap.add(value);
+        }
+        return bitmap;
+    }
+
+    /**
+     * @return true, якщо значення було відсутнє.
+     */
+    public boolean add(int value) {
+        int unsigned = value ^ Integer.MIN_VALUE;
+        char key = (char) (unsigned >>> 16);
+        char low = (char) unsigned;
+
+        int index = findContainer(key);
+        if (index < 0) {
+            insertContainer(-index - 1, key, new ArrayContainer().add(low));
+            cardinality++;
+            return true;
+        }
+        Container container = containers[index];
+        if (container.contains(low)) {
+            return false;
+        }
+        containers[index] = container.add(low);
+        cardinality++;
+        return true;
+    }
+
+    /**
+     * @return true, якщо значення було присутнє.
+     */
+    public boolean remove(int value) {
+        int unsigned = value ^ Integer.MIN_VALUE;
+        char low = (char) unsigned;
+
+        int index = findContainer((char) (unsigned >>> 16));
+        if (index < 0 || !containers[index].contains(low)) {
+            return false;
+        }
+        Container container = containers[index].remove(low);
+        if (container == null) {
+            removeContainer(index);
+        } else {
+            containers[index] = container;
+        }
+        cardinality--;
+        return true;
+    }
+
+    public boolean contains(int value) {
+        int unsigned = value ^ Integer.MIN_VALUE;
+        int index = findContainer((char) (unsigned >>> 16));
+        return index >= 0 && containers[index].contains((char) unsigned);
+    }
+
+    /**
+     * @return Кількість різних значень.
+     */
+    public long cardinality() {
+        return cardinality;
+    }
+
+    public boolean isEmpty() {
+        return cardinality == 0;
+    }
+
+    /**
+     * @return Найменше значення.
+     * @throws NoSuchElementException якщо бітова карта порожня.
+     */
+    public int min() {
+        if (containerCount == 0) {
+            throw new NoSuchElementException("Бітова карта порожня");
+        }
+        return decode(keys[0], containers[0].first());
+    }
+
+    /**
+     * @return Найбільше значення.
+     * @throws NoSuchElementException якщо бітова карта порожня.
+     */
+    public int max() {
+        if (containerCount == 0) {
+            throw new NoSuchElementException("Бітова карта порожня");
+        }
+        int last = containerCount - 1;
+        return decode(keys[last], containers[last].last());
+    }
+
+    /**
+     * Передає всі значення у порядку зростання.
+     */
+    public void forEach(IntConsumer action) {
+        for (int i = 0; i < containerCount; i++) {
+            int high = keys[i] << 16;
+            containers[i].forEach(low -> action.accept((high | low) ^ Integer.MIN_VALUE));
+        }
+    }
+
+    /**
+     * @return Нова бітова карта зі значеннями, присутніми хоча б в одній з карт.
+     */
+    public CompressedIntBitmap union(CompressedIntBitmap other) {
+        CompressedIntBitmap result = new CompressedIntBitmap();
+        int i = 0;
+        int j = 0;
+        while (i < containerCount || j < other.containerCount) {
+            if (j == other.containerCount || (i < containerCount && keys[i] < other.keys[j])) {
+                result.appendContainer(keys[i], containers[i].copy());
+                i++;
+            } else if (i == containerCount || other.keys[j] < keys[i]) {
+                result.appendContainer(other.keys[j], other.containers[j].copy());
+                j++;
+            } else {
+                result.appendContainer(keys[i], containers[i].or(other.containers[j]));
+                i++;
+                j++;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * @return Нова бітова карта зі значеннями, присутніми в обох картах.
+     */
+    public CompressedIntBitmap intersection(CompressedIntBitmap other) {
+        CompressedIntBitmap result = new CompressedIntBitmap();
+        int i = 0;
+        int j = 0;
+        while (i < containerCount && j < other.containerCount) {
+            if (keys[i] < other.keys[j]) {
+                i++;
+            } else if (other.keys[j] < keys[i]) {
+                j++;
+            } else {
+                result.appendContainer(keys[i], containers[i].and(other.containers[j]));
+                i++;
+                j++;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * @return Нова бітова карта зі значеннями цієї карти, відсутніми в іншій.
+     */
+    public CompressedIntBitmap difference(CompressedIntBitmap other) {
+        CompressedIntBitmap result = new CompressedIntBitmap();
+        int j = 0;
+        for (int i = 0; i < containerCount; i++) {
+            while (j < other.containerCount && other.keys[j] < keys[i]) {
+                j++;
+            }
+            if (j < other.containerCount && other.keys[j] == keys[i]) {
+                result.appendContainer(keys[i], containers[i].andNot(other.containers[j]));
+            } else {
+                result.appendContainer(keys[i], containers[i].copy());
+            }
+        }
+        return result;
+    }
+
+    /**
+     * @return Приблизний обсяг пам'яті контейнерів у байтах.
+     */
+    public long sizeInBytes() {
+        long bytes = (long) keys.length * Character.BYTES;
+        for (int i = 0; i < containerCount; i++) {
+            bytes += containers[i].sizeInBytes();
+        }
+        return bytes;
+    }
+
+    private static int decode(char key, char low) {
+        return ((key << 16) | low) ^ Integer.MIN_VALUE;
+    }
+
+    private int findContainer(char key) {
+        return Arrays.binarySearch(keys, 0, containerCount, key);
+    }
+
+    private void insertContainer(int index, char key, Container container) {
+        if (containerCount == keys.length) {
+            keys = Arrays.copyOf(keys, containerCount * 2);
+            containers = Arrays.copyOf(containers, containerCount * 2);
+        }
+        System.arraycopy(keys, index, keys, index + 1, containerCount - index);
+        System.arraycopy(containers, index, containers, index + 1, containerCount - index);
+        keys[index] = key;
+        containers[index] = container;
+        containerCount++;
+    }
+
+    private void removeContainer(int index) {
+        containerCount--;
+        System.arraycopy(keys, index + 1, keys, index, containerCount - index);
+        System.arraycopy(containers, index + 1, containers, index, containerCount - index);
+        containers[containerCount] = null;
+    }
+
+    /**
+     * Додає контейнер у кінець (ключі надходять у порядку зростання). Порожні контейнери
+     * (null після перетину або різниці) пропускаються. Контейнери операндів передаються
+     * копіями, бо їх можна змінювати подальшими викликами {@link #add(int)}.
+     */
+    private void appendContainer(char key, Container container) {
+        if (container == null) {
+            return;
+        }
+        insertContainer(containerCount, key, container);
+        cardinality += container.cardinality();
+    }
+
+    /**
+     * Контейнер молодших 16 бітів значень з однаковим ключем.
+     */
+    abstract static class Container {
+        abstract boolean contains(char low);
+
+        /** Додає відсутнє значення; повертає цей або перетворений контейнер. */
+        abstract Container add(char low);
+
+        /** Видаляє присутнє значення; повертає цей або перетворений контейнер, null - якщо він спорожнів. */
+        abstract Container remove(char low);
+
+        abstract int cardinality();
+
+        abstract char first();
+
+        abstract char last();
+
+        abstract void forEach(IntConsumer action);
+
+        abstract Container copy();
+
+        abstract long sizeInBytes();
+
+        /** Встановлює біти цього контейнера в масиві слів. */
+        abstract void setBitsIn(long[] words);
+
+        /** Скидає біти цього контейнера в масиві слів. */
+        abstract void clearBitsIn(long[] words);
+
+        Container or(Container other) {
+            if (this instanceof ArrayContainer && other instanceof ArrayContainer) {
+                return ((ArrayContainer) this).merge((ArrayContainer) other);
+            }
+            long[] words = new long[WORD_COUNT];
+            setBitsIn(words);
+            other.setBitsIn(words);
+            return fromWords(words);
+        }
+
+        Container and(Container other) {
+            if (this instanceof ArrayContainer) {
+                return ((ArrayContainer) this).filter(other, true);
+            }
+            if (other instanceof ArrayContainer) {
+                return ((ArrayContainer) other).filter(this, true);
+            }
+            long[] words = ((BitmapContainer) this).words.clone();
+            long[] otherWords = ((BitmapContainer) other).words;
+            for (int i = 0; i < WORD_COUNT; i++) {
+                words[i] &= otherWords[i];
+            }
+            return fromWords(words);
+        }
+
+        Container andNot(Container other) {
+            if (this instanceof ArrayContainer) {
+                return ((ArrayContainer) this).filter(other, false);
+            }
+            long[] words = ((BitmapContainer) this).words.clone();
+            other.clearBitsIn(words);
+            return fromWords(words);
+        }
+
+        /**
+         * Обирає тип контейнера за кількістю встановлених бітів; null для порожнього.
+         */
+        static Container fromWords(long[] words) {
+            int count = 0;
+            for (long word : words) {
+                count += Long.bitCount(word);
+            }
+            if (count == 0) {
+                return null;
+            }
+            if (count > ARRAY_CONTAINER_LIMIT) {
+                return new BitmapContainer(words, count);
+            }
+            char[] values = new char[count];
+            int position = 0;
+            for (int i = 0; i < WORD_COUNT; i++) {
+                long word = words[i];
+                while (word != 0) {
+                    values[position++] = (char) ((i << 6) + Long.numberOfTrailingZeros(word));
+                    word &= word - 1;
+                }
+            }
+            return new ArrayContainer(values, count);
+        }
+    }
+
+    /**
+     * Розріджений контейнер: відсортований масив молодших 16 бітів.
+     */
+    static final class ArrayContainer extends Container {
+        private char[] values;
+        private int size;
+
+        ArrayContainer() {
+            this.values = new char[4];
+        }
+
+        ArrayContainer(char[] values, int size) {
+            this.values = values;
+            this.size = size;
+        }
+
+        @Override
+        boolean contains(char low) {
+            return Arrays.binarySearch(values, 0, size, low) >= 0;
+        }
+
+        @Override
+        Container add(char low) {
+            if (size == ARRAY_CONTAINER_LIMIT) {
+                BitmapContainer bitmap = toBitmap();
+                return bitmap.add(low);
+            }
+            int index = -Arrays.binarySearch(values, 0, size, low) - 1;
+            if (size == values.length) {
+                values = Arrays.copyOf(values, Math.min(ARRAY_CONTAINER_LIMIT, size * 2));
+            }
+            System.arraycopy(values, index, values, index + 1, size - index);
+            values[index] = low;
+            size++;
+            return this;
+        }
+
+        @Override
+        Container remove(char low) {
+            if (size == 1) {
+                return null;
+            }
+            int index = Arrays.binarySearch(values, 0, size, low);
+            System.arraycopy(values, index + 1, values, index, size - index - 1);
+            size--;
+            return this;
+        }
+
+        @Override
+        int cardinality() {
+            return size;
+        }
+
+        @Override
+        char first() {
+            return values[0];
+        }
+
+        @Override
+        char last() {
+            return values[size - 1];
+        }
+
+        @Override
+        void forEach(IntConsumer action) {
+            for (int i = 0; i < size; i++) {
+                action.accept(values[i]);
+            }
+        }
+
+        @Override
+        Container copy() {
+            return new ArrayContainer(Arrays.copyOf(values, size), size);
+        }
+
+        @Override
+        long sizeInBytes() {
+            return (long) values.length * Character.BYTES;
+        }
+
+        @Override
+        void setBitsIn(long[] words) {
+            for (int i = 0; i < size; i++) {
+                char value = values[i];
+                words[value >>> 6] |= 1L << value;
+            }
+        }
+
+        @Override
+        void clearBitsIn(long[] words) {
+            for (int i = 0; i < size; i++) {
+                char value = values[i];
+                words[value >>> 6] &= ~(1L << value);
+            }
+        }
+
+        /**
+         * Об'єднує два відсортовані масиви злиттям.
+         */
+        Container merge(ArrayContainer other) {
+            char[] merged = new char[size + other.size];
+            int i = 0;
+            int j = 0;
+            int count = 0;
+            while (i < size && j < other.size) {
+                char left = values[i];
+                char right = other.values[j];
+                if (left < right) {
+                    merged[count++] = left;
+                    i++;
+                } else if (right < left) {
+                    merged[count++] = right;
+                    j++;
+                } else {
+                    merged[count++] = left;
+                    i++;
+                    j++;
+                }
+            }
+            while (i < size) {
+                merged[count++] = values[i++];
+            }
+            while (j < other.size) {
+                merged[count++] = other.values[j++];
+            }
+            if (count > ARRAY_CONTAINER_LIMIT) {
+                long[] words = new long[WORD_COUNT];
+                new ArrayContainer(merged, count).setBitsIn(words);
+                return new BitmapContainer(words, count);
+            }
+            return new ArrayContainer(merged, count);
+        }
+
+        /**
+         * Залишає значення, наявність яких в іншому контейнері дорівнює keepPresent.
+         */
+        Container filter(Container other, boolean keepPresent) {
+            char[] filtered = new char[size];
+            int count = 0;
+            for (int i = 0; i < size; i++) {
+                if (other.contains(values[i]) == keepPresent) {
+                    filtered[count++] = values[i];
+                }
+            }
+            return count == 0 ? null : new ArrayContainer(filtered, count);
+        }
+
+        private BitmapContainer toBitmap() {
+            long[] words = new long[WORD_COUNT];
+            setBitsIn(words);
+            return new BitmapContainer(words, size);
+        }
+    }
+
+    /**
+     * Щільний контейнер: бітова карта на 65536 бітів.
+     */
+    static final class BitmapContainer extends Container {
+        private final long[] words;
+        private int cardinality;
+
+        BitmapContainer(long[] words, int cardinality) {
+            this.words = words;
+            this.cardinality = cardinality;
+        }
+
+        @Override
+        boolean contains(char low) {
+            return (words[low >>> 6] & (1L << low)) != 0;
+        }
+
+        @Override
+        Container add(char low) {
+            words[low >>> 6] |= 1L << low;
+            cardinality++;
+            return this;
+        }
+
+        @Override
+        Container remove(char low) {
+            words[low >>> 6] &= ~(1L << low);
+            cardinality--;
+            // як і після перетину чи різниці, щільний контейнер стає розрідженим, коли той менший
+            return cardinality > ARRAY_CONTAINER_LIMIT ? this : fromWords(words);
+        }
+
+        @Override
+        int cardinality() {
+            return cardinality;
+        }
+
+        @Override
+        char first() {
+            int i = 0;
+            while (words[i] == 0) {
+                i++;
+            }
+            return (char) ((i << 6) + Long.numberOfTrailingZeros(words[i]));
+        }
+
+        @Override
+        char last() {
+            int i = WORD_COUNT - 1;
+            while (words[i] == 0) {
+                i--;
+            }
+            return (char) ((i << 6) + Long.SIZE - 1 - Long.numberOfLeadingZeros(words[i]));
+        }
+
+        @Override
+        void forEach(IntConsumer action) {
+            for (int i = 0; i < WORD_COUNT; i++) {
+                long word = words[i];
+                while (word != 0) {
+                    action.accept((i << 6) + Long.numberOfTrailingZeros(word));
+                    word &= word - 1;
+                }
+            }
+        }
+
+        @Override
+        Container copy() {
+            return new BitmapContainer(words.clone(), cardinality);
+        }
+
+        @Override
+        long sizeInBytes() {
+            return (long) WORD_COUNT * Long.BYTES;
+        }
+
+        @Override
+        void setBitsIn(long[] target) {
+            for (int i = 0; i < WORD_COUNT; i++) {
+                target[i] |= words[i];
+            }
+        }
+
+        @Override
+        void clearBitsIn(long[] target) {
+            for (int i = 0; i < WORD_COUNT; i++) {
+                target[i] &= ~words[i];
+            }
+        }
+    }
+}
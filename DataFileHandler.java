@@ -1,60 +1,528 @@
-import java.io.BufferedReader;
-import java.io.BufferedWriter;
-import java.io.FileReader;
-import java.io.FileWriter;
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.IntFunction;
 /*import java.time.Character;*/
 /*import java.time.format.charFormatter;*/
 
 /**
- * Клас DataFileHandler управляє роботою з файлами даних Character.
+ * Клас DataFileHandler управляє роботою з файлами даних Character та записами Python.
  */
 public class DataFileHandler {
+    /**
+     * Розмір вікна відображення файлу в пам'ять (256 МБ).
+     * Великі файли відображаються послідовними вікнами, тому їх розмір не обмежений 2 ГБ.
+     */
+    private static final long MAPPING_WINDOW_SIZE = 1L << 28;
+
+    /**
+     * Найбільша довжина масиву, яку гарантовано може виділити JVM.
+     */
+    private static final int MAX_ARRAY_LENGTH = Integer.MAX_VALUE - 8;
+
+    /**
+     * Кількість записів Python, які передаються в таблицю одним викликом putAll.
+     */
+    static final int PYTHON_BATCH_SIZE = 4096;
+
+    /**
+     * Розмір початкового фрагмента файлу, за яким оцінюється кількість рядків (64 КБ).
+     */
+    private static final int LINE_COUNT_SAMPLE_SIZE = 1 << 16;
+
     /**
      * Завантажує масив об'єктів Character з файлу.
-     * 
+     *
      * @param filePath Шлях до файлу з даними.
      * @return Масив об'єктів Character.
      */
     public static Character[] loadArrayFromFile(String filePath) {
-        /*charFormatter timeFormatter = charFormatter.ISO_DATE_TIME; */
-        Character[] temporaryArray = new Character[1000];
-        int currentIndex = 0;
-
-        try (BufferedReader fileReader = new BufferedReader(new FileReader(filePath))) {
-            String currentLine;
-            while ((currentLine = fileReader.readLine()) != null) {
-                // Видаляємо можливі невидимі символи та BOM
-                currentLine = currentLine.trim().replaceAll("^\\uFEFF", "");
-                if (!currentLine.isEmpty()) {
-                    Character parsedchar = currentLine.charAt(0);
-                    temporaryArray[currentIndex++] = parsedchar;
-                }
+        char[] charValues = (char[]) loadCachedArray(filePath, DataType.CHARACTER);
+
+        Character[] resultArray = new Character[charValues.length];
+        for (int i = 0; i < charValues.length; i++) {
+            resultArray[i] = charValues[i];
+        }
+
+        return resultArray;
+    }
+
+    /**
+     * Завантажує примітивний масив з бінарного знімка файлу даних або, якщо знімок
+     * відсутній чи застарів, розбирає текстовий файл і записує новий знімок поруч з ним.
+     *
+     * @param filePath Шлях до файлу з даними.
+     * @param type Тип даних у файлі.
+     * @return Масив відповідного примітивного типу (див. {@link TypedDataLoader#load(String, DataType)}).
+     */
+    public static Object loadCachedArray(String filePath, DataType type) {
+        Object snapshotArray = DataSnapshot.read(filePath, type);
+        if (snapshotArray != null) {
+            return snapshotArray;
+        }
+
+        BasicFileAttributes sourceAttributes;
+        try {
+            // атрибути читаємо до розбору, щоб зміна файлу під час розбору зробила знімок застарілим
+            sourceAttributes = Files.readAttributes(Paths.get(filePath), BasicFileAttributes.class);
+        } catch (IOException ioException) {
+            ioException.printStackTrace();
+            return TypedDataLoader.newArray(type, 0);
+        }
+
+        Object array;
+        try {
+            array = type == DataType.CHARACTER
+                    ? readCharArrayFromFile(filePath)
+                    : TypedDataLoader.loadOrThrow(filePath, type);
+        } catch (IOException ioException) {
+            // розбір не завершився: неповний масив не можна записати у знімок як цілий набір даних
+            ioException.printStackTrace();
+            return TypedDataLoader.newArray(type, 0);
+        }
+        DataSnapshot.write(filePath, type, array, sourceAttributes);
+
+        return array;
+    }
+
+    /**
+     * Завантажує масив символів char з файлу, відображеного в пам'ять.
+     *
+     * <p>Байти UTF-8 декодуються безпосередньо з {@link MappedByteBuffer} без створення
+     * рядків для кожного рядка файлу. З кожного непорожнього рядка береться перший символ
+     * після пробільних символів; BOM на початку файлу пропускається один раз.
+     * Виводить пропускну здатність завантаження в МБ/с.</p>
+     *
+     * @param filePath Шлях до файлу з даними.
+     * @return Масив символів char у порядку рядків файлу.
+     */
+    public static char[] loadCharArrayFromFile(String filePath) {
+        try {
+            return readCharArrayFromFile(filePath);
+        } catch (IOException ioException) {
+            ioException.printStackTrace();
+            return new char[0];
+        }
+    }
+
+    /**
+     * Те саме, що {@link #loadCharArrayFromFile(String)}, але помилка читання передається викликачу
+     * замість повернення неповного масиву.
+     *
+     * @throws IOException якщо файл не вдалося прочитати повністю.
+     */
+    static char[] readCharArrayFromFile(String filePath) throws IOException {
+        long timeStart = System.nanoTime();
+        long fileSize = 0;
+
+        try (FileChannel fileChannel = FileChannel.open(Paths.get(filePath), StandardOpenOption.READ)) {
+            fileSize = fileChannel.size();
+            CharLineDecoder decoder = new CharLineDecoder(fileSize);
+
+            for (long position = 0; position < fileSize; position += MAPPING_WINDOW_SIZE) {
+                long windowSize = Math.min(MAPPING_WINDOW_SIZE, fileSize - position);
+                MappedByteBuffer window = fileChannel.map(FileChannel.MapMode.READ_ONLY, position, windowSize);
+                decoder.decode(window, position == 0);
+            }
+            decoder.finish();
+            return decoder.toArray();
+        } finally {
+            PerformanceTracker.displayThroughput(timeStart, fileSize, "завантаження " + filePath);
+        }
+    }
+
+    /**
+     * Потоково завантажує записи {@code кличка;кількість плям;власник} у таблицю «пітон - ім'я власника».
+     *
+     * <p>Таблиця створюється фабрикою з очікуваною кількістю записів, оціненою за початковим
+     * фрагментом файлу, тому під час завантаження вона не перехешовується раз у раз. Файл
+     * читається вікнами, відображеними в пам'ять і вирівняними по межах рядків; поля виділяються
+     * пошуком роздільника ';' у байтах, а кількість плям розбирається без створення рядка.
+     * Записи передаються в таблицю пакетами по {@link #PYTHON_BATCH_SIZE} через putAll.
+     * Якщо ключ повторюється, діє останній запис, як і при послідовних put.</p>
+     *
+     * @param filePath Шлях до файлу з даними.
+     * @param mapFactory Створює порожню таблицю за очікуваною кількістю записів.
+     * @return Заповнена таблиця; клички ключів зберігаються в новому словнику, спільному лише для цього завантаження.
+     * @throws NumberFormatException якщо рядок файлу не відповідає формату запису.
+     */
+    public static <M extends Map<BasicDataOperationUsingMap.Python, String>> M loadPythonOwnersFromFile(
+            String filePath, IntFunction<M> mapFactory) {
+        return loadPythonOwnersFromFile(filePath, mapFactory, new NameRegistry());
+    }
+
+    /**
+     * Те саме, що {@link #loadPythonOwnersFromFile(String, IntFunction)}, але клички ключів
+     * зберігаються в заданому словнику (наприклад, спільному для кількох таблиць з тих самих даних).
+     *
+     * @param nicknames Словник кличок ключів.
+     */
+    public static <M extends Map<BasicDataOperationUsingMap.Python, String>> M loadPythonOwnersFromFile(
+            String filePath, IntFunction<M> mapFactory, NameRegistry nicknames) {
+        long timeStart = System.nanoTime();
+        long fileSize = 0;
+        M map = null;
+
+        try (FileChannel fileChannel = FileChannel.open(Paths.get(filePath), StandardOpenOption.READ)) {
+            fileSize = fileChannel.size();
+            map = mapFactory.apply(estimateLineCount(fileChannel, fileSize));
+            PythonRecordParser parser = new PythonRecordParser(map, nicknames);
+
+            long position = 0;
+            while (position < fileSize) {
+                // вікно закінчується на межі рядка, тому запис ніколи не розрізається між вікнами
+                long windowEnd = position + MAPPING_WINDOW_SIZE >= fileSize
+                        ? fileSize
+                        : TypedDataLoader.findNextLineStart(fileChannel, position + MAPPING_WINDOW_SIZE, fileSize);
+                MappedByteBuffer window = fileChannel.map(FileChannel.MapMode.READ_ONLY, position, windowEnd - position);
+                parser.parse(window, position == 0);
+                position = windowEnd;
             }
+            parser.flush();
         } catch (IOException ioException) {
             ioException.printStackTrace();
         }
 
-        Character[] resultArray = new Character[currentIndex];
-        System.arraycopy(temporaryArray, 0, resultArray, 0, currentIndex);
+        PerformanceTracker.displayThroughput(timeStart, fileSize, "потокове завантаження " + filePath);
 
-        return resultArray;
+        return map == null ? mapFactory.apply(0) : map;
+    }
+
+    /**
+     * Оцінює кількість рядків файлу за кількістю символів нового рядка в його початковому фрагменті.
+     */
+    private static int estimateLineCount(FileChannel fileChannel, long fileSize) throws IOException {
+        ByteBuffer sample = ByteBuffer.allocate((int) Math.min(LINE_COUNT_SAMPLE_SIZE, fileSize));
+        while (sample.hasRemaining() && fileChannel.read(sample, sample.position()) > 0) {
+            // читаємо, доки фрагмент не заповниться
+        }
+        int sampledBytes = sample.position();
+        if (sampledBytes == 0) {
+            return 0;
+        }
+        long lineCount = 0;
+        for (int i = 0; i < sampledBytes; i++) {
+            if (sample.get(i) == '\n') {
+                lineCount++;
+            }
+        }
+        if (sampledBytes == fileSize) {
+            // файл прочитано повністю: останній рядок може не мати символу нового рядка
+            return (int) lineCount + (sample.get(sampledBytes - 1) == '\n' ? 0 : 1);
+        }
+        long estimate = (Math.max(1, lineCount) * fileSize + sampledBytes - 1) / sampledBytes;
+        return (int) Math.min(estimate, MAX_ARRAY_LENGTH);
     }
 
     /**
      * Зберігає масив об'єктів Character у файл.
-     * 
+     *
      * @param charArray Масив об'єктів Character.
      * @param filePath Шлях до файлу для збереження.
      */
     public static void writeArrayToFile(Character[] charArray, String filePath) {
-        try (BufferedWriter fileWriter = new BufferedWriter(new FileWriter(filePath))) {
-            for (Character charElement : charArray) {
-                fileWriter.write(charElement.toString());
-                fileWriter.newLine();
+        char[] charValues = new char[charArray.length];
+        for (int i = 0; i < charArray.length; i++) {
+            charValues[i] = charArray[i];
+        }
+        writeArrayToFile(charValues, filePath);
+    }
+
+    /**
+     * Зберігає масив символів char у файл.
+     *
+     * @param charArray Масив символів char.
+     * @param filePath Шлях до файлу для збереження.
+     */
+    public static void writeArrayToFile(char[] charArray, String filePath) {
+        writeArrayToFile(charArray, DataType.CHARACTER, filePath, SortedDataWriter.DEFAULT_FSYNC_POLICY);
+    }
+
+    /**
+     * Зберігає масив у текстовий файл, по одному значенню в рядку.
+     *
+     * <p>Файл записується у тимчасовий файл і атомарно перейменовується,
+     * тому збій під час запису не залишає обрізаного файлу.</p>
+     *
+     * @param array Примітивний масив відповідно до типу даних.
+     * @param type Тип даних масиву.
+     * @param filePath Шлях до файлу для збереження.
+     * @param fsyncPolicy Політика синхронізації файлу з диском.
+     */
+    public static void writeArrayToFile(Object array, DataType type, String filePath, SortedDataWriter.FsyncPolicy fsyncPolicy) {
+        try {
+            SortedDataWriter.writeArray(array, type, filePath, fsyncPolicy);
+        } catch (IOException ioException) {
+            ioException.printStackTrace();
+        }
+    }
+
+    /**
+     * Зберігає масив у текстовий файл лише тоді, коли вміст наявного файлу відрізняється.
+     *
+     * @param array Примітивний масив відповідно до типу даних.
+     * @param type Тип даних масиву.
+     * @param filePath Шлях до файлу для збереження.
+     */
+    public static void writeArrayToFileIfChanged(Object array, DataType type, String filePath) {
+        try {
+            long timeStart = System.nanoTime();
+            boolean unchanged = SortedDataComparator.matchesFile(array, type, filePath);
+            PerformanceTracker.displayOperationTime(timeStart, "порівняння з наявним файлом " + filePath);
+
+            if (unchanged) {
+                System.out.println("Файл " + filePath + " не змінився, запис пропущено.");
+                return;
             }
+            SortedDataWriter.writeArray(array, type, filePath, SortedDataWriter.DEFAULT_FSYNC_POLICY);
         } catch (IOException ioException) {
             ioException.printStackTrace();
         }
     }
+
+    /**
+     * Розбирач записів {@code кличка;кількість плям;власник}, який накопичує їх у пакет
+     * і передає в таблицю одним putAll.
+     *
+     * <p>Кличкою вважається все до першого ';', власником - усе після останнього, тому поля
+     * не можуть містити ';'. Пробільні байти навколо полів відкидаються. Клички
+     * кодуються словником {@link NameRegistry}, переданим при завантаженні, а однакові імена власників
+     * замінюються одним спільним об'єктом String.</p>
+     */
+    private static final class PythonRecordParser {
+        private final Map<BasicDataOperationUsingMap.Python, String> target;
+        private final NameRegistry nicknames;
+        // LinkedHashMap зберігає порядок записів файлу для таблиць, чутливих до порядку вставлення
+        private final Map<BasicDataOperationUsingMap.Python, String> batch =
+                new LinkedHashMap<BasicDataOperationUsingMap.Python, String>(2 * PYTHON_BATCH_SIZE);
+        // однакові імена власників зберігаються в таблиці одним об'єктом String
+        private final Map<String, String> owners = new HashMap<String, String>();
+
+        PythonRecordParser(Map<BasicDataOperationUsingMap.Python, String> target, NameRegistry nicknames) {
+            this.target = target;
+            this.nicknames = nicknames;
+        }
+
+        /**
+         * Розбирає всі рядки вікна; вікно має починатися й закінчуватися на межі рядка.
+         *
+         * @param window Відображене вікно файлу.
+         * @param firstWindow Чи є вікно початком файлу (для пропуску BOM).
+         */
+        void parse(ByteBuffer window, boolean firstWindow) {
+            int position = window.position();
+            int limit = window.limit();
+            if (firstWindow && limit - position >= 3
+                    && (window.get(position) & 0xFF) == 0xEF
+                    && (window.get(position + 1) & 0xFF) == 0xBB
+                    && (window.get(position + 2) & 0xFF) == 0xBF) {
+                position += 3;
+            }
+
+            while (position < limit) {
+                int lineEnd = position;
+                while (lineEnd < limit && window.get(lineEnd) != '\n') {
+                    lineEnd++;
+                }
+                int from = skipBlankForward(window, position, lineEnd);
+                int to = skipBlankBackward(window, from, lineEnd);
+                if (from < to) {
+                    parseRecord(window, from, to);
+                }
+                position = lineEnd + 1;
+            }
+        }
+
+        /**
+         * Передає в таблицю записи, що залишилися в пакеті.
+         */
+        void flush() {
+            if (!batch.isEmpty()) {
+                target.putAll(batch);
+                batch.clear();
+            }
+        }
+
+        private void parseRecord(ByteBuffer buffer, int from, int to) {
+            int firstSeparator = -1;
+            int lastSeparator = -1;
+            for (int i = from; i < to; i++) {
+                if (buffer.get(i) == ';') {
+                    if (firstSeparator < 0) {
+                        firstSeparator = i;
+                    }
+                    lastSeparator = i;
+                }
+            }
+            int spotsFrom = firstSeparator < 0 ? to : skipBlankForward(buffer, firstSeparator + 1, lastSeparator);
+            int spotsTo = skipBlankBackward(buffer, spotsFrom, lastSeparator);
+            if (firstSeparator == lastSeparator || spotsFrom == spotsTo) {
+                throw new NumberFormatException("Некоректний запис у файлі даних: '" + TypedDataLoader.decodeText(buffer, from, to)
+                        + "' (очікується кличка;кількість плям;власник)");
+            }
+
+            int skinSpots = (int) TypedDataLoader.parseIntegral(buffer, spotsFrom, spotsTo, Integer.MIN_VALUE, Integer.MAX_VALUE);
+            String nickname = TypedDataLoader.decodeText(buffer, from, skipBlankBackward(buffer, from, firstSeparator));
+            String owner = TypedDataLoader.decodeText(buffer, skipBlankForward(buffer, lastSeparator + 1, to), to);
+            String sharedOwner = owners.putIfAbsent(owner, owner);
+            if (sharedOwner != null) {
+                owner = sharedOwner;
+            }
+
+            batch.put(new BasicDataOperationUsingMap.Python(nicknames, nickname, skinSpots), owner);
+            if (batch.size() == PYTHON_BATCH_SIZE) {
+                flush();
+            }
+        }
+
+        private static int skipBlankForward(ByteBuffer buffer, int from, int to) {
+            while (from < to && (buffer.get(from) & 0xFF) <= ' ') {
+                from++;
+            }
+            return from;
+        }
+
+        private static int skipBlankBackward(ByteBuffer buffer, int from, int to) {
+            while (to > from && (buffer.get(to - 1) & 0xFF) <= ' ') {
+                to--;
+            }
+            return to;
+        }
+    }
+
+    /**
+     * Потоковий декодер UTF-8, який виділяє перший символ кожного рядка.
+     *
+     * <p>Стан зберігається між вікнами відображення, тому рядок або багатобайтовий
+     * символ може перетинати межу вікна.</p>
+     */
+    private static final class CharLineDecoder {
+        private static final int LINE_START = 0;
+        private static final int IN_CHARACTER = 1;
+        private static final int SKIP_TO_LINE_END = 2;
+
+        private char[] values;
+        private int size;
+
+        private int state = LINE_START;
+        private int pendingBytes;
+        private int minCodePoint;
+        private int codePoint;
+
+        CharLineDecoder(long fileSize) {
+            // кожен непорожній рядок займає щонайменше два байти разом із символом нового рядка
+            this.values = new char[(int) Math.min(fileSize / 2 + 1, 1 << 20)];
+        }
+
+        /**
+         * Декодує одне вікно файлу.
+         *
+         * @param window Відображене вікно файлу.
+         * @param firstWindow Чи є вікно початком файлу (для пропуску BOM).
+         */
+        void decode(ByteBuffer window, boolean firstWindow) {
+            int index = window.position();
+            int limit = window.limit();
+
+            if (firstWindow && limit - index >= 3
+                    && (window.get(index) & 0xFF) == 0xEF
+                    && (window.get(index + 1) & 0xFF) == 0xBB
+                    && (window.get(index + 2) & 0xFF) == 0xBF) {
+                index += 3;
+            }
+
+            for (; index < limit; index++) {
+                int currentByte = window.get(index) & 0xFF;
+
+                if (state == SKIP_TO_LINE_END) {
+                    if (currentByte == '\n') {
+                        state = LINE_START;
+                    }
+                } else if (state == LINE_START) {
+                    if (currentByte > ' ') {
+                        startCharacter(currentByte);
+                    }
+                } else if ((currentByte & 0xC0) == 0x80) {
+                    codePoint = (codePoint << 6) | (currentByte & 0x3F);
+                    if (--pendingBytes == 0) {
+                        completeCharacter();
+                    }
+                } else {
+                    // обірвана послідовність: байт належить вже наступному символу або рядку
+                    append('\uFFFD');
+                    state = currentByte == '\n' ? LINE_START : SKIP_TO_LINE_END;
+                }
+            }
+        }
+
+        /**
+         * Завершує декодування після останнього вікна.
+         */
+        void finish() {
+            if (state == IN_CHARACTER) {
+                append('\uFFFD');
+            }
+            state = LINE_START;
+        }
+
+        char[] toArray() {
+            return Arrays.copyOf(values, size);
+        }
+
+        private void startCharacter(int leadByte) {
+            if (leadByte < 0x80) {
+                append((char) leadByte);
+                state = SKIP_TO_LINE_END;
+            } else if (leadByte >= 0xC2 && leadByte <= 0xDF) {
+                beginSequence(leadByte & 0x1F, 1, 0x80);
+            } else if (leadByte >= 0xE0 && leadByte <= 0xEF) {
+                beginSequence(leadByte & 0x0F, 2, 0x800);
+            } else if (leadByte >= 0xF0 && leadByte <= 0xF4) {
+                beginSequence(leadByte & 0x07, 3, 0x10000);
+            } else {
+                append('\uFFFD');
+                state = SKIP_TO_LINE_END;
+            }
+        }
+
+        private void beginSequence(int initialBits, int continuationBytes, int minimum) {
+            codePoint = initialBits;
+            pendingBytes = continuationBytes;
+            minCodePoint = minimum;
+            state = IN_CHARACTER;
+        }
+
+        private void completeCharacter() {
+            if (codePoint < minCodePoint || codePoint > Character.MAX_CODE_POINT
+                    || (codePoint >= Character.MIN_SURROGATE && codePoint <= Character.MAX_SURROGATE)) {
+                append('\uFFFD');
+            } else if (codePoint >= Character.MIN_SUPPLEMENTARY_CODE_POINT) {
+                // як і String.charAt(0), повертаємо першу половину сурогатної пари
+                append(Character.highSurrogate(codePoint));
+            } else {
+                append((char) codePoint);
+            }
+            state = SKIP_TO_LINE_END;
+        }
+
+        private void append(char value) {
+            if (size == values.length) {
+                if (size == MAX_ARRAY_LENGTH) {
+                    throw new IllegalStateException("Кількість рядків перевищує максимальний розмір масиву");
+                }
+                int newCapacity = (int) Math.min((long) size + (size >> 1) + 1, MAX_ARRAY_LENGTH);
+                values = Arrays.copyOf(values, newCapacity);
+            }
+            values[size++] = value;
+        }
+    }
 }
@@ -0,0 +1,250 @@
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+
+/**
+ * Клас DataLineEncoder кодує значення у текстовий формат файлів даних - одне значення в рядку,
+ * UTF-8 - у великий прямий {@link ByteBuffer}.
+ *
+ * <p>Заповнений буфер передається підкласу через {@link #drain(ByteBuffer)}: {@link SortedDataWriter}
+ * записує його у файл, а {@link SortedDataComparator} звіряє з наявним файлом. Так обидва
+ * отримують однакові байти з одного коду кодування.</p>
+ */
+abstract class DataLineEncoder {
+    static final int ENCODER_BUFFER_SIZE = 1 << 22;
+    private static final int MAX_NUMBER_LENGTH = 20;
+    private static final int SECONDS_PER_DAY = 86_400;
+    private static final byte[] LINE_SEPARATOR = System.lineSeparator().getBytes(StandardCharsets.US_ASCII);
+
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(ENCODER_BUFFER_SIZE);
+    private final byte[] digits = new byte[MAX_NUMBER_LENGTH];
+    private long bytesDrained;
+
+    /**
+     * Приймає закодовані байти від position до limit буфера; після виклику буфер очищується.
+     */
+    protected abstract void drain(ByteBuffer encoded) throws IOException;
+
+    /**
+     * Записує всі елементи масиву заданого типу.
+     */
+    public void writeAll(Object array, DataType type) throws IOException {
+        switch (type) {
+            case CHARACTER:
+                for (char value : (char[]) array) {
+                    writeChar(value);
+                }
+                break;
+            case BYTE:
+                for (byte value : (byte[]) array) {
+                    writeLong(value);
+                }
+                break;
+            case SHORT:
+                for (short value : (short[]) array) {
+                    writeLong(value);
+                }
+                break;
+            case INT:
+                for (int value : (int[]) array) {
+                    writeLong(value);
+                }
+                break;
+            case LONG:
+                for (long value : (long[]) array) {
+                    writeLong(value);
+                }
+                break;
+            case FLOAT:
+                for (float value : (float[]) array) {
+                    writeFloat(value);
+                }
+                break;
+            case DOUBLE:
+                for (double value : (double[]) array) {
+                    writeDouble(value);
+                }
+                break;
+            case LOCAL_DATE:
+                for (int value : (int[]) array) {
+                    writeLocalDate(value);
+                }
+                break;
+            case LOCAL_TIME:
+                for (int value : (int[]) array) {
+                    writeLocalTime(value);
+                }
+                break;
+            case LOCAL_DATE_TIME:
+                for (long value : (long[]) array) {
+                    writeLocalDateTime(value);
+                }
+                break;
+            default:
+                for (String value : (String[]) array) {
+                    writeText(value);
+                }
+                break;
+        }
+    }
+
+    /**
+     * Записує символ у кодуванні UTF-8. Непарний сурогат записується як '?', як це робить FileWriter.
+     */
+    public void writeChar(char value) throws IOException {
+        ensureCapacity(3 + LINE_SEPARATOR.length);
+        if (value < 0x80) {
+            buffer.put((byte) value);
+        } else if (value < 0x800) {
+            buffer.put((byte) (0xC0 | (value >> 6)));
+            buffer.put((byte) (0x80 | (value & 0x3F)));
+        } else if (Character.isSurrogate(value)) {
+            buffer.put((byte) '?');
+        } else {
+            buffer.put((byte) (0xE0 | (value >> 12)));
+            buffer.put((byte) (0x80 | ((value >> 6) & 0x3F)));
+            buffer.put((byte) (0x80 | (value & 0x3F)));
+        }
+        buffer.put(LINE_SEPARATOR);
+    }
+
+    /**
+     * Записує десяткове ціле число.
+     */
+    public void writeLong(long value) throws IOException {
+        ensureCapacity(MAX_NUMBER_LENGTH + LINE_SEPARATOR.length);
+        putDecimal(value, 1);
+        buffer.put(LINE_SEPARATOR);
+    }
+
+    public void writeFloat(float value) throws IOException {
+        writeText(Float.toString(value));
+    }
+
+    public void writeDouble(double value) throws IOException {
+        writeText(Double.toString(value));
+    }
+
+    /**
+     * Записує дату у форматі yyyy-MM-dd.
+     *
+     * @param epochDay Кількість днів від 1970-01-01.
+     */
+    public void writeLocalDate(int epochDay) throws IOException {
+        ensureCapacity(MAX_NUMBER_LENGTH + LINE_SEPARATOR.length);
+        putDate(epochDay);
+        buffer.put(LINE_SEPARATOR);
+    }
+
+    /**
+     * Записує час у форматі HH:mm:ss.
+     *
+     * @param secondOfDay Кількість секунд від початку доби.
+     */
+    public void writeLocalTime(int secondOfDay) throws IOException {
+        ensureCapacity(8 + LINE_SEPARATOR.length);
+        putTime(secondOfDay);
+        buffer.put(LINE_SEPARATOR);
+    }
+
+    /**
+     * Записує дату-час у форматі yyyy-MM-dd'T'HH:mm:ss.
+     *
+     * @param epochSecond Кількість секунд від 1970-01-01T00:00:00 (UTC).
+     */
+    public void writeLocalDateTime(long epochSecond) throws IOException {
+        ensureCapacity(MAX_NUMBER_LENGTH + 9 + LINE_SEPARATOR.length);
+        putDate((int) Math.floorDiv(epochSecond, SECONDS_PER_DAY));
+        buffer.put((byte) 'T');
+        putTime(Math.floorMod(epochSecond, SECONDS_PER_DAY));
+        buffer.put(LINE_SEPARATOR);
+    }
+
+    /**
+     * Записує рядок тексту у кодуванні UTF-8.
+     */
+    public void writeText(String value) throws IOException {
+        byte[] encoded = value.getBytes(StandardCharsets.UTF_8);
+        int offset = 0;
+        while (offset < encoded.length) {
+            if (!buffer.hasRemaining()) {
+                flushBuffer();
+            }
+            int length = Math.min(buffer.remaining(), encoded.length - offset);
+            buffer.put(encoded, offset, length);
+            offset += length;
+        }
+        ensureCapacity(LINE_SEPARATOR.length);
+        buffer.put(LINE_SEPARATOR);
+    }
+
+    /**
+     * @return Кількість закодованих байтів на цей момент.
+     */
+    public long getBytesWritten() {
+        return bytesDrained + buffer.position();
+    }
+
+    /**
+     * Передає накопичені байти в {@link #drain(ByteBuffer)}.
+     */
+    protected void flushBuffer() throws IOException {
+        buffer.flip();
+        bytesDrained += buffer.remaining();
+        drain(buffer);
+        buffer.clear();
+    }
+
+    private void ensureCapacity(int bytes) throws IOException {
+        if (buffer.remaining() < bytes) {
+            flushBuffer();
+        }
+    }
+
+    /**
+     * Кодує число десятковими цифрами, доповнюючи нулями до мінімальної ширини.
+     */
+    private void putDecimal(long value, int minWidth) {
+        if (value == Long.MIN_VALUE) {
+            buffer.put("-9223372036854775808".getBytes(StandardCharsets.US_ASCII));
+            return;
+        }
+        if (value < 0) {
+            buffer.put((byte) '-');
+            value = -value;
+        }
+
+        int position = digits.length;
+        do {
+            digits[--position] = (byte) ('0' + value % 10);
+            value /= 10;
+        } while (value != 0);
+        while (digits.length - position < minWidth) {
+            digits[--position] = '0';
+        }
+        buffer.put(digits, position, digits.length - position);
+    }
+
+    private void putDate(int epochDay) {
+        LocalDate date = LocalDate.ofEpochDay(epochDay);
+        if (date.getYear() < 0 || date.getYear() > 9999) {
+            // рік поза чотирма цифрами записуємо у форматі ISO зі знаком
+            buffer.put(date.toString().getBytes(StandardCharsets.US_ASCII));
+            return;
+        }
+        putDecimal(date.getYear(), 4);
+        buffer.put((byte) '-');
+        putDecimal(date.getMonthValue(), 2);
+        buffer.put((byte) '-');
+        putDecimal(date.getDayOfMonth(), 2);
+    }
+
+    private void putTime(int secondOfDay) {
+        putDecimal(secondOfDay / 3600, 2);
+        buffer.put((byte) ':');
+        putDecimal((secondOfDay / 60) % 60, 2);
+        buffer.put((byte) ':');
+        putDecimal(secondOfDay % 60, 2);
+    }
+}
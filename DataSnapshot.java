@@ -0,0 +1,248 @@
+import java.io.IOException;
+import java.lang.reflect.Array;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.zip.CRC32C;
+
+/**
+ * Клас DataSnapshot зберігає та читає бінарні знімки (.bin) примітивних масивів,
+ * розібраних з текстових файлів даних.
+ *
+ * <p>Формат знімка (little-endian):</p>
+ * <ul>
+ *   <li>магічне число "BDOS" (4 байти) та версія формату (2 байти);</li>
+ *   <li>тег типу {@link DataType} (1 байт) та резервний байт;</li>
+ *   <li>кількість елементів (8 байтів);</li>
+ *   <li>час останньої зміни та розмір вихідного файлу (по 8 байтів);</li>
+ *   <li>контрольна сума CRC32C корисного навантаження (8 байтів);</li>
+ *   <li>корисне навантаження - елементи масиву у примітивному представленні.</li>
+ * </ul>
+ *
+ * <p>Знімок вважається застарілим, якщо час зміни або розмір вихідного файлу
+ * відрізняються від записаних у заголовку.</p>
+ */
+public class DataSnapshot {
+    static final String SNAPSHOT_EXTENSION = ".bin";
+
+    private static final int MAGIC = 0x534F4442;
+    private static final short FORMAT_VERSION = 1;
+    private static final int HEADER_SIZE = 40;
+    private static final int WRITE_BUFFER_SIZE = 1 << 20;
+    private static final long MAPPING_WINDOW_SIZE = 1L << 28;
+
+    /**
+     * Повертає шлях до знімка для файлу даних.
+     *
+     * @param dataFilePath Шлях до текстового файлу даних.
+     * @return Шлях до файлу знімка поруч з ним.
+     */
+    public static String snapshotPathFor(String dataFilePath) {
+        return dataFilePath + SNAPSHOT_EXTENSION;
+    }
+
+    /**
+     * Читає актуальний знімок файлу даних, відображаючи його в пам'ять.
+     *
+     * @param dataFilePath Шлях до текстового файлу даних.
+     * @param type Тип даних у файлі.
+     * @return Масив з даними або null, якщо знімок відсутній, застарілий чи пошкоджений
+     *         або вихідного файлу немає (про відсутній файл повідомляє завантажувач, що читає його далі).
+     */
+    public static Object read(String dataFilePath, DataType type) {
+        Path snapshotPath = Paths.get(snapshotPathFor(dataFilePath));
+        if (!type.isPrimitive() || !Files.isRegularFile(snapshotPath) || !Files.isRegularFile(Paths.get(dataFilePath))) {
+            return null;
+        }
+
+        long timeStart = System.nanoTime();
+        try (FileChannel fileChannel = FileChannel.open(snapshotPath, StandardOpenOption.READ)) {
+            BasicFileAttributes sourceAttributes = Files.readAttributes(Paths.get(dataFilePath), BasicFileAttributes.class);
+            long snapshotSize = fileChannel.size();
+            if (snapshotSize < HEADER_SIZE) {
+                return null;
+            }
+
+            ByteBuffer header = fileChannel.map(FileChannel.MapMode.READ_ONLY, 0, HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+            if (header.getInt() != MAGIC
+                    || header.getShort() != FORMAT_VERSION
+                    || header.get() != type.getTag()) {
+                return null;
+            }
+            header.get();
+            long elementCount = header.getLong();
+            long sourceModified = header.getLong();
+            long sourceSize = header.getLong();
+            long storedChecksum = header.getLong();
+
+            if (sourceModified != sourceAttributes.lastModifiedTime().toMillis()
+                    || sourceSize != sourceAttributes.size()
+                    || elementCount < 0 || elementCount > Integer.MAX_VALUE - 8
+                    || snapshotSize != HEADER_SIZE + elementCount * type.getElementSize()) {
+                return null;
+            }
+
+            int length = (int) elementCount;
+            Object array = TypedDataLoader.newArray(type, length);
+            CRC32C checksum = new CRC32C();
+            int elementsPerWindow = (int) (MAPPING_WINDOW_SIZE / type.getElementSize());
+
+            for (int from = 0; from < length; from += elementsPerWindow) {
+                int count = Math.min(elementsPerWindow, length - from);
+                long windowStart = HEADER_SIZE + (long) from * type.getElementSize();
+                ByteBuffer window = fileChannel.map(FileChannel.MapMode.READ_ONLY, windowStart, (long) count * type.getElementSize())
+                        .order(ByteOrder.LITTLE_ENDIAN);
+                checksum.update(window);
+                window.rewind();
+                getElements(window, array, type, from, count);
+            }
+
+            if (checksum.getValue() != storedChecksum) {
+                return null;
+            }
+
+            PerformanceTracker.displayThroughput(timeStart, snapshotSize, "завантаження знімка " + snapshotPath);
+            return array;
+        } catch (IOException ioException) {
+            ioException.printStackTrace();
+            return null;
+        }
+    }
+
+    /**
+     * Записує знімок масиву поруч з файлом даних.
+     *
+     * <p>Знімок спочатку записується у тимчасовий файл, який потім атомарно
+     * перейменовується, тому читач ніколи не побачить частково записаний знімок.</p>
+     *
+     * @param dataFilePath Шлях до текстового файлу даних.
+     * @param type Тип даних у файлі.
+     * @param array Масив, розібраний з файлу даних.
+     * @param sourceAttributes Атрибути файлу даних, прочитані до початку розбору.
+     * @return true, якщо знімок успішно записано.
+     */
+    public static boolean write(String dataFilePath, DataType type, Object array, BasicFileAttributes sourceAttributes) {
+        if (!type.isPrimitive()) {
+            return false;
+        }
+
+        Path snapshotPath = Paths.get(snapshotPathFor(dataFilePath));
+        Path temporaryPath = snapshotPath.resolveSibling(snapshotPath.getFileName() + ".tmp");
+        int length = Array.getLength(array);
+
+        try {
+            try (FileChannel fileChannel = FileChannel.open(temporaryPath,
+                    StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+                ByteBuffer buffer = ByteBuffer.allocateDirect(WRITE_BUFFER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+                CRC32C checksum = new CRC32C();
+                int elementsPerBuffer = WRITE_BUFFER_SIZE / type.getElementSize();
+                long position = HEADER_SIZE;
+
+                for (int from = 0; from < length; from += elementsPerBuffer) {
+                    int count = Math.min(elementsPerBuffer, length - from);
+                    buffer.clear();
+                    putElements(buffer, array, type, from, count);
+                    buffer.flip();
+                    checksum.update(buffer);
+                    buffer.rewind();
+                    while (buffer.hasRemaining()) {
+                        position += fileChannel.write(buffer, position);
+                    }
+                }
+
+                ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+                header.putInt(MAGIC)
+                        .putShort(FORMAT_VERSION)
+                        .put(type.getTag())
+                        .put((byte) 0)
+                        .putLong(length)
+                        .putLong(sourceAttributes.lastModifiedTime().toMillis())
+                        .putLong(sourceAttributes.size())
+                        .putLong(checksum.getValue());
+                header.flip();
+                while (header.hasRemaining()) {
+                    fileChannel.write(header, header.position());
+                }
+            }
+            Files.move(temporaryPath, snapshotPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            return true;
+        } catch (IOException ioException) {
+            ioException.printStackTrace();
+            try {
+                Files.deleteIfExists(temporaryPath);
+            } catch (IOException ignored) {
+                // тимчасовий файл буде перезаписано під час наступної спроби
+            }
+            return false;
+        }
+    }
+
+    private static void putElements(ByteBuffer buffer, Object array, DataType type, int from, int count) {
+        switch (type) {
+            case CHARACTER:
+                buffer.asCharBuffer().put((char[]) array, from, count);
+                break;
+            case BYTE:
+                buffer.put((byte[]) array, from, count);
+                return;
+            case SHORT:
+                buffer.asShortBuffer().put((short[]) array, from, count);
+                break;
+            case INT:
+            case LOCAL_DATE:
+            case LOCAL_TIME:
+                buffer.asIntBuffer().put((int[]) array, from, count);
+                break;
+            case LONG:
+            case LOCAL_DATE_TIME:
+                buffer.asLongBuffer().put((long[]) array, from, count);
+                break;
+            case FLOAT:
+                buffer.asFloatBuffer().put((float[]) array, from, count);
+                break;
+            case DOUBLE:
+                buffer.asDoubleBuffer().put((double[]) array, from, count);
+                break;
+            default:
+                throw new IllegalArgumentException("Тип " + type + " не має примітивного представлення");
+        }
+        buffer.position(buffer.position() + count * type.getElementSize());
+    }
+
+    private static void getElements(ByteBuffer buffer, Object array, DataType type, int from, int count) {
+        switch (type) {
+            case CHARACTER:
+                buffer.asCharBuffer().get((char[]) array, from, count);
+                break;
+            case BYTE:
+                buffer.get((byte[]) array, from, count);
+                break;
+            case SHORT:
+                buffer.asShortBuffer().get((short[]) array, from, count);
+                break;
+            case INT:
+            case LOCAL_DATE:
+            case LOCAL_TIME:
+                buffer.asIntBuffer().get((int[]) array, from, count);
+                break;
+            case LONG:
+            case LOCAL_DATE_TIME:
+                buffer.asLongBuffer().get((long[]) array, from, count);
+                break;
+            case FLOAT:
+                buffer.asFloatBuffer().get((float[]) array, from, count);
+                break;
+            case DOUBLE:
+                buffer.asDoubleBuffer().get((double[]) array, from, count);
+                break;
+            default:
+                throw new IllegalArgumentException("Тип " + type + " не має примітивного представлення");
+        }
+    }
+}
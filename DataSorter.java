@@ -0,0 +1,134 @@
+import java.util.Arrays;
+
+/**
+ * Клас DataSorter обирає алгоритм сортування за типом даних.
+ *
+ * <ul>
+ *   <li>char, byte, short - сортування підрахунком через {@link FrequencyTable};</li>
+ *   <li>int, long, float, double та типи дати-часу - паралельне порозрядне сортування {@link RadixSort};</li>
+ *   <li>String - {@link Arrays#parallelSort(Object[])}.</li>
+ * </ul>
+ */
+public class DataSorter {
+    /**
+     * Упорядковує масив символів за зростанням.
+     *
+     * @param values Масив символів, який сортується на місці.
+     * @return Таблиця частот, побудована під час сортування (мінімум, максимум, наявність за O(1)).
+     */
+    public static FrequencyTable sort(char[] values) {
+        FrequencyTable frequencyTable = FrequencyTable.ofChars(values);
+        frequencyTable.writeSortedChars(values);
+        return frequencyTable;
+    }
+
+    /**
+     * Упорядковує масив за зростанням на місці.
+     *
+     * @param array Масив у представленні відповідного {@link DataType}.
+     * @param type Тип даних масиву.
+     */
+    public static void sort(Object array, DataType type) {
+        switch (type) {
+            case CHARACTER:
+                sort((char[]) array);
+                break;
+            case BYTE: {
+                byte[] values = (byte[]) array;
+                FrequencyTable.ofBytes(values).writeSortedBytes(values);
+                break;
+            }
+            case SHORT: {
+                short[] values = (short[]) array;
+                FrequencyTable.ofShorts(values).writeSortedShorts(values);
+                break;
+            }
+            case INT:
+            case LOCAL_DATE:
+            case LOCAL_TIME:
+                RadixSort.sort((int[]) array);
+                break;
+            case LONG:
+            case LOCAL_DATE_TIME:
+                RadixSort.sort((long[]) array);
+                break;
+            case FLOAT:
+                RadixSort.sort((float[]) array);
+                break;
+            case DOUBLE:
+                RadixSort.sort((double[]) array);
+                break;
+            default:
+                Arrays.parallelSort((String[]) array);
+                break;
+        }
+    }
+
+    /**
+     * Перетворює масив на ключі long, порядок яких збігається з порядком значень
+     * (float і double - через {@link RadixSort#floatToSortableInt}/{@link RadixSort#doubleToSortableLong}).
+     *
+     * @param values Примітивний масив відповідно до типу даних.
+     * @param type Тип даних масиву (крім String).
+     * @return Новий масив ключів; для long і LocalDateTime - той самий масив.
+     */
+    public static long[] toSortableKeys(Object values, DataType type) {
+        switch (type) {
+            case CHARACTER: {
+                char[] array = (char[]) values;
+                long[] keys = new long[array.length];
+                for (int i = 0; i < array.length; i++) {
+                    keys[i] = array[i];
+                }
+                return keys;
+            }
+            case BYTE: {
+                byte[] array = (byte[]) values;
+                long[] keys = new long[array.length];
+                for (int i = 0; i < array.length; i++) {
+                    keys[i] = array[i];
+                }
+                return keys;
+            }
+            case SHORT: {
+                short[] array = (short[]) values;
+                long[] keys = new long[array.length];
+                for (int i = 0; i < array.length; i++) {
+                    keys[i] = array[i];
+                }
+                return keys;
+            }
+            case INT:
+            case LOCAL_DATE:
+            case LOCAL_TIME: {
+                int[] array = (int[]) values;
+                long[] keys = new long[array.length];
+                for (int i = 0; i < array.length; i++) {
+                    keys[i] = array[i];
+                }
+                return keys;
+            }
+            case FLOAT: {
+                float[] array = (float[]) values;
+                long[] keys = new long[array.length];
+                for (int i = 0; i < array.length; i++) {
+                    keys[i] = RadixSort.floatToSortableInt(array[i]);
+                }
+                return keys;
+            }
+            case DOUBLE: {
+                double[] array = (double[]) values;
+                long[] keys = new long[array.length];
+                for (int i = 0; i < array.length; i++) {
+                    keys[i] = RadixSort.doubleToSortableLong(array[i]);
+                }
+                return keys;
+            }
+            case LONG:
+            case LOCAL_DATE_TIME:
+                return (long[]) values;
+            default:
+                throw new IllegalArgumentException("Тип " + type + " не має впорядкованого ключа long");
+        }
+    }
+}
@@ -0,0 +1,107 @@
+/**
+ * Перелік DataType описує типи даних, що зберігаються у файлах каталогу list/.
+ *
+ * <p>Кожен тип має числовий тег (для бінарних форматів), розмір одного елемента
+ * в байтах у примітивному представленні та ім'я файлу без розширення.</p>
+ *
+ * <p>Примітивні представлення типів дати та часу:</p>
+ * <ul>
+ *   <li>{@link #LOCAL_DATE} - int, кількість днів від 1970-01-01 (epoch day).</li>
+ *   <li>{@link #LOCAL_TIME} - int, кількість секунд від початку доби.</li>
+ *   <li>{@link #LOCAL_DATE_TIME} - long, кількість секунд від 1970-01-01T00:00:00 (UTC).</li>
+ * </ul>
+ */
+public enum DataType {
+    CHARACTER(1, Character.BYTES, "Character"),
+    BYTE(2, Byte.BYTES, "byte"),
+    SHORT(3, Short.BYTES, "short"),
+    INT(4, Integer.BYTES, "int"),
+    LONG(5, Long.BYTES, "long"),
+    FLOAT(6, Float.BYTES, "float"),
+    DOUBLE(7, Double.BYTES, "double"),
+    LOCAL_DATE(8, Integer.BYTES, "LocalDate"),
+    LOCAL_TIME(9, Integer.BYTES, "LocalTime"),
+    LOCAL_DATE_TIME(10, Long.BYTES, "LocalDateTime"),
+    STRING(11, 0, "String");
+
+    private final byte tag;
+    private final int elementSize;
+    private final String fileBaseName;
+
+    DataType(int tag, int elementSize, String fileBaseName) {
+        this.tag = (byte) tag;
+        this.elementSize = elementSize;
+        this.fileBaseName = fileBaseName;
+    }
+
+    /**
+     * @return Числовий тег типу для бінарних форматів.
+     */
+    public byte getTag() {
+        return tag;
+    }
+
+    /**
+     * @return Розмір одного елемента в байтах або 0 для типів змінної довжини.
+     */
+    public int getElementSize() {
+        return elementSize;
+    }
+
+    /**
+     * @return Ім'я файлу даних без розширення (наприклад, "int" для list/int.data).
+     */
+    public String getFileBaseName() {
+        return fileBaseName;
+    }
+
+    /**
+     * @return true, якщо елементи типу мають фіксований розмір і зберігаються як примітиви.
+     */
+    public boolean isPrimitive() {
+        return elementSize > 0;
+    }
+
+    /**
+     * @return true, якщо примітивне представлення є числом з плаваючою комою.
+     */
+    public boolean isFloatingPoint() {
+        return this == FLOAT || this == DOUBLE;
+    }
+
+    /**
+     * Знаходить тип за числовим тегом.
+     *
+     * @param tag Числовий тег.
+     * @return Відповідний тип даних.
+     * @throws IllegalArgumentException якщо тег невідомий.
+     */
+    public static DataType fromTag(byte tag) {
+        for (DataType type : values()) {
+            if (type.tag == tag) {
+                return type;
+            }
+        }
+        throw new IllegalArgumentException("Невідомий тег типу даних: " + tag);
+    }
+
+    /**
+     * Визначає тип даних за шляхом до файлу (наприклад, "list/int.data" або "list/LocalDate.data.sorted").
+     *
+     * @param filePath Шлях до файлу з даними.
+     * @return Відповідний тип даних.
+     * @throws IllegalArgumentException якщо ім'я файлу не відповідає жодному типу.
+     */
+    public static DataType fromFileName(String filePath) {
+        String fileName = filePath.substring(Math.max(filePath.lastIndexOf('/'), filePath.lastIndexOf('\\')) + 1);
+        int extensionStart = fileName.indexOf('.');
+        String baseName = extensionStart < 0 ? fileName : fileName.substring(0, extensionStart);
+
+        for (DataType type : values()) {
+            if (type.fileBaseName.equals(baseName)) {
+                return type;
+            }
+        }
+        throw new IllegalArgumentException("Невідомий тип даних для файлу: " + filePath);
+    }
+}
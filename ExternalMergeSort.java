@@ -0,0 +1,348 @@
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Клас ExternalMergeSort сортує файл даних довільного розміру у відповідний файл .sorted,
+ * використовуючи обмежений обсяг пам'яті.
+ *
+ * <p>Алгоритм:</p>
+ * <ul>
+ *   <li>файл ділиться на серії по межах рядків так, щоб розібрана серія вміщувалась у бюджет пам'яті;</li>
+ *   <li>кожна серія паралельно розбирається ({@link TypedDataLoader}) і сортується ({@link DataSorter}),
+ *       після чого скидається у тимчасовий двійковий файл як послідовність впорядкованих ключів long;</li>
+ *   <li>серії зливаються купою ({@link PriorityQueue}) над буферизованими читачами; якщо серій більше,
+ *       ніж допустимий коефіцієнт злиття, виконуються проміжні проходи злиття.</li>
+ * </ul>
+ *
+ * <p>Приклад використання:</p>
+ * <pre>
+ * {@code
+ * java ExternalMergeSort list/LocalDateTime.data
+ * java ExternalMergeSort list/long.data 512 32
+ * }
+ * </pre>
+ */
+public class ExternalMergeSort {
+    public static final long DEFAULT_MEMORY_BUDGET = 256L << 20;
+    public static final int DEFAULT_MERGE_FAN_IN = 64;
+
+    /**
+     * Оцінка кількості байтів пам'яті на один байт тексту серії: найкоротший рядок займає 2 байти,
+     * а на елемент припадають проміжний, підсумковий та допоміжний масиви сортування і ключі.
+     */
+    private static final int MEMORY_PER_TEXT_BYTE = 16;
+    private static final long MIN_RUN_SIZE = 1L << 20;
+    private static final int MIN_READ_BUFFER_SIZE = 1 << 16;
+    private static final int MAX_READ_BUFFER_SIZE = 1 << 23;
+    private static final int WRITE_BUFFER_SIZE = 1 << 20;
+
+    private static final String USAGE_MESSAGE = "Використання: java ExternalMergeSort <файл-даних> [пам'ять-МБ] [коефіцієнт-злиття]\n" +
+            "Приклад:\n" +
+            "  java ExternalMergeSort list/LocalDateTime.data 512 64";
+
+    private final long memoryBudget;
+    private final int mergeFanIn;
+    private final SortedDataWriter.FsyncPolicy fsyncPolicy;
+
+    /**
+     * @param memoryBudget Приблизний обсяг пам'яті в байтах, доступний для однієї серії.
+     * @param mergeFanIn Найбільша кількість серій, що зливаються за один прохід (не менше 2).
+     * @param fsyncPolicy Політика синхронізації підсумкового файлу з диском.
+     */
+    public ExternalMergeSort(long memoryBudget, int mergeFanIn, SortedDataWriter.FsyncPolicy fsyncPolicy) {
+        if (memoryBudget <= 0 || mergeFanIn < 2) {
+            throw new IllegalArgumentException("Бюджет пам'яті має бути додатним, а коефіцієнт злиття - не менше 2");
+        }
+        this.memoryBudget = memoryBudget;
+        this.mergeFanIn = mergeFanIn;
+        this.fsyncPolicy = fsyncPolicy;
+    }
+
+    public static void main(String[] args) {
+        if (args.length < 1) {
+            System.out.println(USAGE_MESSAGE);
+            return;
+        }
+
+        String dataFilePath = args[0];
+        try {
+            long memoryBudget = args.length > 1 ? Long.parseLong(args[1]) << 20 : DEFAULT_MEMORY_BUDGET;
+            int mergeFanIn = args.length > 2 ? Integer.parseInt(args[2]) : DEFAULT_MERGE_FAN_IN;
+
+            ExternalMergeSort externalSort = new ExternalMergeSort(memoryBudget, mergeFanIn, SortedDataWriter.DEFAULT_FSYNC_POLICY);
+            externalSort.sortFile(dataFilePath, dataFilePath + ".sorted", DataType.fromFileName(dataFilePath));
+        } catch (IOException | IllegalArgumentException exception) {
+            System.out.println("❌ Помилка при зовнішньому сортуванні: " + exception.getMessage());
+            exception.printStackTrace();
+        }
+    }
+
+    /**
+     * Сортує текстовий файл даних і атомарно записує результат.
+     *
+     * @param dataFilePath Шлях до вихідного файлу даних.
+     * @param sortedFilePath Шлях до файлу результату.
+     * @param type Тип даних у файлі.
+     * @throws IOException якщо читання, тимчасові файли або запис результату не вдалися.
+     * @throws IllegalArgumentException для типів без примітивного представлення (String).
+     */
+    public void sortFile(String dataFilePath, String sortedFilePath, DataType type) throws IOException {
+        if (!type.isPrimitive()) {
+            throw new IllegalArgumentException("Зовнішнє сортування не підтримує тип " + type);
+        }
+
+        long timeStart = System.nanoTime();
+        Path sortedPath = Paths.get(sortedFilePath).toAbsolutePath();
+        Path temporaryDirectory = Files.createTempDirectory(sortedPath.getParent(), "external-sort");
+        long inputSize = Files.size(Paths.get(dataFilePath));
+
+        try {
+            List<Path> runs = createSortedRuns(dataFilePath, type, temporaryDirectory);
+            System.out.println("Кількість відсортованих серій: " + runs.size());
+
+            int mergePass = 0;
+            while (runs.size() > mergeFanIn) {
+                runs = mergeIntermediatePass(runs, temporaryDirectory, mergePass++);
+            }
+
+            try (SortedDataWriter writer = SortedDataWriter.open(sortedFilePath, fsyncPolicy)) {
+                mergeRuns(runs, key -> writeKey(writer, key, type));
+                writer.commit();
+            }
+        } finally {
+            deleteDirectory(temporaryDirectory);
+        }
+
+        PerformanceTracker.displayThroughput(timeStart, inputSize, "зовнішнє сортування " + dataFilePath);
+    }
+
+    private List<Path> createSortedRuns(String dataFilePath, DataType type, Path temporaryDirectory) throws IOException {
+        List<Path> runs = new ArrayList<>();
+        long runSize = Math.max(MIN_RUN_SIZE, memoryBudget / MEMORY_PER_TEXT_BYTE);
+
+        try (FileChannel fileChannel = FileChannel.open(Paths.get(dataFilePath), StandardOpenOption.READ)) {
+            long fileSize = fileChannel.size();
+            long runStart = 0;
+            while (runStart < fileSize) {
+                long runEnd = runStart + runSize >= fileSize
+                        ? fileSize
+                        : TypedDataLoader.findNextLineStart(fileChannel, runStart + runSize, fileSize);
+
+                Object values = TypedDataLoader.parseRange(fileChannel, runStart, runEnd, type);
+                DataSorter.sort(values, type);
+
+                Path runPath = temporaryDirectory.resolve("run-" + runs.size() + ".bin");
+                writeRun(DataSorter.toSortableKeys(values, type), runPath);
+                runs.add(runPath);
+                runStart = runEnd;
+            }
+        }
+        return runs;
+    }
+
+    private List<Path> mergeIntermediatePass(List<Path> runs, Path temporaryDirectory, int mergePass) throws IOException {
+        List<Path> mergedRuns = new ArrayList<>();
+        for (int groupStart = 0; groupStart < runs.size(); groupStart += mergeFanIn) {
+            List<Path> group = runs.subList(groupStart, Math.min(runs.size(), groupStart + mergeFanIn));
+            Path mergedPath = temporaryDirectory.resolve("merge-" + mergePass + "-" + mergedRuns.size() + ".bin");
+
+            try (RunWriter runWriter = new RunWriter(mergedPath)) {
+                mergeRuns(group, runWriter::write);
+            }
+            for (Path run : group) {
+                Files.delete(run);
+            }
+            mergedRuns.add(mergedPath);
+        }
+        return mergedRuns;
+    }
+
+    /**
+     * Зливає відсортовані серії, передаючи ключі у порядку зростання до приймача.
+     */
+    private void mergeRuns(List<Path> runs, KeyConsumer consumer) throws IOException {
+        int bufferSize = readBufferSize(runs.size());
+        PriorityQueue<RunReader> heap = new PriorityQueue<>(Math.max(1, runs.size()),
+                Comparator.comparingLong(RunReader::currentKey));
+        List<RunReader> readers = new ArrayList<>();
+
+        try {
+            for (Path run : runs) {
+                RunReader reader = new RunReader(run, bufferSize);
+                readers.add(reader);
+                if (reader.advance()) {
+                    heap.add(reader);
+                }
+            }
+
+            while (!heap.isEmpty()) {
+                RunReader reader = heap.poll();
+                consumer.accept(reader.currentKey());
+                if (reader.advance()) {
+                    heap.add(reader);
+                }
+            }
+        } finally {
+            for (RunReader reader : readers) {
+                reader.close();
+            }
+        }
+    }
+
+    private int readBufferSize(int runCount) {
+        long perReader = memoryBudget / (runCount + 1);
+        long clamped = Math.max(MIN_READ_BUFFER_SIZE, Math.min(MAX_READ_BUFFER_SIZE, perReader));
+        return (int) (clamped & ~(Long.BYTES - 1));
+    }
+
+    private static void writeKey(SortedDataWriter writer, long key, DataType type) throws IOException {
+        switch (type) {
+            case CHARACTER:
+                writer.writeChar((char) key);
+                break;
+            case FLOAT:
+                writer.writeFloat(RadixSort.sortableIntToFloat((int) key));
+                break;
+            case DOUBLE:
+                writer.writeDouble(RadixSort.sortableLongToDouble(key));
+                break;
+            case LOCAL_DATE:
+                writer.writeLocalDate((int) key);
+                break;
+            case LOCAL_TIME:
+                writer.writeLocalTime((int) key);
+                break;
+            case LOCAL_DATE_TIME:
+                writer.writeLocalDateTime(key);
+                break;
+            default:
+                writer.writeLong(key);
+                break;
+        }
+    }
+
+    private static void writeRun(long[] keys, Path runPath) throws IOException {
+        try (RunWriter runWriter = new RunWriter(runPath)) {
+            runWriter.writeAll(keys);
+        }
+    }
+
+    private static void deleteDirectory(Path directory) throws IOException {
+        try (DirectoryStream<Path> entries = Files.newDirectoryStream(directory)) {
+            for (Path entry : entries) {
+                Files.deleteIfExists(entry);
+            }
+        }
+        Files.deleteIfExists(directory);
+    }
+
+    /**
+     * Приймач ключів під час злиття.
+     */
+    @FunctionalInterface
+    private interface KeyConsumer {
+        void accept(long key) throws IOException;
+    }
+
+    /**
+     * Записує двійкову серію ключів long через прямий буфер.
+     */
+    private static final class RunWriter implements Closeable {
+        private final FileChannel fileChannel;
+        private final ByteBuffer buffer = ByteBuffer.allocateDirect(WRITE_BUFFER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+
+        RunWriter(Path runPath) throws IOException {
+            this.fileChannel = FileChannel.open(runPath, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+        }
+
+        void write(long key) throws IOException {
+            if (!buffer.hasRemaining()) {
+                flush();
+            }
+            buffer.putLong(key);
+        }
+
+        void writeAll(long[] keys) throws IOException {
+            int keysPerBuffer = WRITE_BUFFER_SIZE / Long.BYTES;
+            for (int from = 0; from < keys.length; from += keysPerBuffer) {
+                int count = Math.min(keysPerBuffer, keys.length - from);
+                flush();
+                buffer.asLongBuffer().put(keys, from, count);
+                buffer.position(count * Long.BYTES);
+            }
+        }
+
+        private void flush() throws IOException {
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                fileChannel.write(buffer);
+            }
+            buffer.clear();
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                flush();
+            } finally {
+                fileChannel.close();
+            }
+        }
+    }
+
+    /**
+     * Послідовно читає двійкову серію ключів long через прямий буфер.
+     */
+    private static final class RunReader implements Closeable {
+        private final FileChannel fileChannel;
+        private final ByteBuffer buffer;
+        private long currentKey;
+
+        RunReader(Path runPath, int bufferSize) throws IOException {
+            this.fileChannel = FileChannel.open(runPath, StandardOpenOption.READ);
+            this.buffer = ByteBuffer.allocateDirect(bufferSize).order(ByteOrder.LITTLE_ENDIAN);
+            this.buffer.flip();
+        }
+
+        long currentKey() {
+            return currentKey;
+        }
+
+        /**
+         * Переходить до наступного ключа серії.
+         *
+         * @return false, якщо серію вичерпано.
+         */
+        boolean advance() throws IOException {
+            if (!buffer.hasRemaining()) {
+                buffer.clear();
+                while (buffer.hasRemaining() && fileChannel.read(buffer) >= 0) {
+                    // читаємо, доки буфер не заповниться або файл не закінчиться
+                }
+                buffer.flip();
+                if (!buffer.hasRemaining()) {
+                    return false;
+                }
+            }
+            currentKey = buffer.getLong();
+            return true;
+        }
+
+        @Override
+        public void close() throws IOException {
+            fileChannel.close();
+        }
+    }
+}
@@ -0,0 +1,127 @@
+/**
+ * Клас EytzingerIndex - пошуковий індекс над відсортованим масивом у порядку Ейтцінгера
+ * (обхід двійкового дерева в ширину).
+ *
+ * <p>Корінь зберігається в позиції 1, а нащадки вузла k - у позиціях 2k та 2k+1. Перші рівні
+ * дерева, які відвідує кожен пошук, лежать поруч на кількох рядках кешу, а наступний вузол
+ * завжди знаходиться за передбачуваною адресою, тому апаратна попередня вибірка працює краще,
+ * ніж для {@link java.util.Arrays#binarySearch}. Спуск деревом не має умовних переходів:
+ * результат порівняння додається до номера вузла як біт.</p>
+ *
+ * <p>{@link #search(int)} повертає позицію у вихідному відсортованому масиві з тим самим
+ * змістом, що й {@link java.util.Arrays#binarySearch}: індекс входження (першого, якщо значення
+ * повторюється) або {@code -(точка вставки) - 1}. Дерево доповнюється до ідеального значеннями
+ * Integer.MAX_VALUE, тому позиція у відсортованому масиві обчислюється з номера вузла.</p>
+ */
+public class EytzingerIndex {
+    private static final int MAX_LENGTH = (1 << 30) - 1;
+
+    private final int[] layout;
+    private final int length;
+    private final int height;
+
+    private EytzingerIndex(int length) {
+        if (length > MAX_LENGTH) {
+            throw new IllegalArgumentException("Індекс Ейтцінгера підтримує не більше " + MAX_LENGTH + " елементів");
+        }
+        this.length = length;
+        this.height = Integer.SIZE - Integer.numberOfLeadingZeros(length);
+        // дерево доповнюється до ідеального (2^height - 1 вузлів) максимальними значеннями
+        this.layout = new int[1 << height];
+    }
+
+    /**
+     * Будує індекс для відсортованого масиву символів.
+     *
+     * @param sortedValues Масив, упорядкований за зростанням.
+     * @return Пошуковий індекс.
+     */
+    public static EytzingerIndex of(char[] sortedValues) {
+        int[] widened = new int[sortedValues.length];
+        for (int i = 0; i < sortedValues.length; i++) {
+            widened[i] = sortedValues[i];
+        }
+        return of(widened);
+    }
+
+    /**
+     * Будує індекс для відсортованого масиву int (а також LocalDate і LocalTime у представленні {@link DataType}).
+     *
+     * @param sortedValues Масив, упорядкований за зростанням.
+     * @return Пошуковий індекс.
+     */
+    public static EytzingerIndex of(int[] sortedValues) {
+        EytzingerIndex index = new EytzingerIndex(sortedValues.length);
+        index.fill(sortedValues, 0, 1);
+        return index;
+    }
+
+    /**
+     * Заповнює піддерево з коренем k симетричним обходом, беручи значення по черзі з масиву;
+     * після кінця масиву вузли заповнюються значенням Integer.MAX_VALUE.
+     *
+     * @return Індекс наступного елемента масиву.
+     */
+    private int fill(int[] sortedValues, int next, int k) {
+        if (k < layout.length) {
+            next = fill(sortedValues, next, 2 * k);
+            layout[k] = next < length ? sortedValues[next] : Integer.MAX_VALUE;
+            next++;
+            next = fill(sortedValues, next, 2 * k + 1);
+        }
+        return next;
+    }
+
+    public int size() {
+        return length;
+    }
+
+    /**
+     * Шукає значення.
+     *
+     * @param key Значення для пошуку.
+     * @return Позиція у відсортованому масиві або {@code -(точка вставки) - 1}.
+     */
+    public int search(int key) {
+        int k = lowerBoundNode(key);
+        int position = k == 0 ? length : Math.min(length, rankOf(k));
+        return position < length && layout[k] == key ? position : -position - 1;
+    }
+
+    /**
+     * @return Позиція першого елемента, не меншого за key, у відсортованому масиві (length, якщо такого немає).
+     */
+    public int lowerBound(int key) {
+        int k = lowerBoundNode(key);
+        return k == 0 ? length : Math.min(length, rankOf(k));
+    }
+
+    /**
+     * Спускається деревом без умовних переходів: на кожному з height рівнів k = 2k + (layout[k] < key).
+     * Після виходу за межі дерева шуканий вузол - останній, де відбувся поворот ліворуч,
+     * тобто k, зсунутий праворуч на кількість завершальних одиниць плюс одну.
+     *
+     * <p>Java не має інструкції програмної попередньої вибірки, а додаткові читання без
+     * використання результату JIT може вилучити, тому спуск покладається лише на розташування:
+     * перші рівні дерева лежать у кількох рядках кешу, а адреси наступних вузлів передбачувані.</p>
+     */
+    private int lowerBoundNode(int key) {
+        int[] layout = this.layout;
+        int k = 1;
+        for (int level = 0; level < height; level++) {
+            k = (k << 1) | (int) (((long) layout[k] - key) >>> 63);
+        }
+        return k >>> (Integer.numberOfTrailingZeros(~k) + 1);
+    }
+
+    /**
+     * Порядковий номер вузла при симетричному обході ідеального дерева, тобто позиція
+     * у відсортованому масиві: вузол з номером i на рівні depth має (2i + 1) * 2^(height - 1 - depth) - 1
+     * попередників. Зберігати окремий масив відповідностей (і платити за ще один промах кешу) не потрібно.
+     */
+    private int rankOf(int k) {
+        int depth = Integer.SIZE - 1 - Integer.numberOfLeadingZeros(k);
+        int offset = k - (1 << depth);
+        return ((2 * offset + 1) << (height - 1 - depth)) - 1;
+    }
+}
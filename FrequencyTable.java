@@ -0,0 +1,186 @@
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * Клас FrequencyTable зберігає таблицю частот для типів з малим доменом значень:
+ * char (65536 кошиків), byte (256 кошиків) та short (65536 кошиків).
+ *
+ * <p>Таблиця будується за один прохід по масиву. На її основі за лінійний час
+ * формується відсортований масив (сортування підрахунком), а мінімум, максимум,
+ * кількість входжень і перевірка наявності значення виконуються за O(1).</p>
+ */
+public class FrequencyTable {
+    private final int[] counts;
+    private final int bias;
+    private final int length;
+    private final int minBucket;
+    private final int maxBucket;
+    private final int distinctCount;
+
+    private FrequencyTable(int[] counts, int bias, int length) {
+        this.counts = counts;
+        this.bias = bias;
+        this.length = length;
+
+        int first = -1;
+        int last = -1;
+        int distinct = 0;
+        for (int bucket = 0; bucket < counts.length; bucket++) {
+            if (counts[bucket] != 0) {
+                if (first < 0) {
+                    first = bucket;
+                }
+                last = bucket;
+                distinct++;
+            }
+        }
+        this.minBucket = first;
+        this.maxBucket = last;
+        this.distinctCount = distinct;
+    }
+
+    /**
+     * Будує таблицю частот для масиву символів.
+     *
+     * @param values Масив символів.
+     * @return Таблиця частот з 65536 кошиками.
+     */
+    public static FrequencyTable ofChars(char[] values) {
+        int[] counts = new int[1 << Character.SIZE];
+        for (char value : values) {
+            counts[value]++;
+        }
+        return new FrequencyTable(counts, 0, values.length);
+    }
+
+    /**
+     * Будує таблицю частот для масиву байтів.
+     *
+     * @param values Масив байтів.
+     * @return Таблиця частот з 256 кошиками.
+     */
+    public static FrequencyTable ofBytes(byte[] values) {
+        int[] counts = new int[1 << Byte.SIZE];
+        for (byte value : values) {
+            counts[value - Byte.MIN_VALUE]++;
+        }
+        return new FrequencyTable(counts, -Byte.MIN_VALUE, values.length);
+    }
+
+    /**
+     * Будує таблицю частот для масиву коротких цілих.
+     *
+     * @param values Масив short.
+     * @return Таблиця частот з 65536 кошиками.
+     */
+    public static FrequencyTable ofShorts(short[] values) {
+        int[] counts = new int[1 << Short.SIZE];
+        for (short value : values) {
+            counts[value - Short.MIN_VALUE]++;
+        }
+        return new FrequencyTable(counts, -Short.MIN_VALUE, values.length);
+    }
+
+    /**
+     * @return Загальна кількість врахованих елементів.
+     */
+    public int size() {
+        return length;
+    }
+
+    public boolean isEmpty() {
+        return length == 0;
+    }
+
+    /**
+     * @return Кількість різних значень.
+     */
+    public int distinctCount() {
+        return distinctCount;
+    }
+
+    /**
+     * Повертає кількість входжень значення.
+     *
+     * @param value Значення (символ або число).
+     * @return Кількість входжень; 0 для значень поза доменом таблиці.
+     */
+    public int countOf(int value) {
+        int bucket = value + bias;
+        return bucket >= 0 && bucket < counts.length ? counts[bucket] : 0;
+    }
+
+    public boolean contains(int value) {
+        return countOf(value) != 0;
+    }
+
+    /**
+     * @return Найменше значення (перший непорожній кошик).
+     * @throws NoSuchElementException якщо таблиця порожня.
+     */
+    public int min() {
+        if (minBucket < 0) {
+            throw new NoSuchElementException("Таблиця частот порожня");
+        }
+        return minBucket - bias;
+    }
+
+    /**
+     * @return Найбільше значення (останній непорожній кошик).
+     * @throws NoSuchElementException якщо таблиця порожня.
+     */
+    public int max() {
+        if (maxBucket < 0) {
+            throw new NoSuchElementException("Таблиця частот порожня");
+        }
+        return maxBucket - bias;
+    }
+
+    /**
+     * Записує впорядковані за зростанням символи в масив (сортування підрахунком).
+     *
+     * @param target Масив довжиною не менше {@link #size()}; може бути вихідним масивом.
+     */
+    public void writeSortedChars(char[] target) {
+        int position = 0;
+        for (int bucket = minBucket; bucket >= 0 && bucket <= maxBucket; bucket++) {
+            int count = counts[bucket];
+            if (count != 0) {
+                Arrays.fill(target, position, position + count, (char) (bucket - bias));
+                position += count;
+            }
+        }
+    }
+
+    /**
+     * Записує впорядковані за зростанням байти в масив (сортування підрахунком).
+     *
+     * @param target Масив довжиною не менше {@link #size()}; може бути вихідним масивом.
+     */
+    public void writeSortedBytes(byte[] target) {
+        int position = 0;
+        for (int bucket = minBucket; bucket >= 0 && bucket <= maxBucket; bucket++) {
+            int count = counts[bucket];
+            if (count != 0) {
+                Arrays.fill(target, position, position + count, (byte) (bucket - bias));
+                position += count;
+            }
+        }
+    }
+
+    /**
+     * Записує впорядковані за зростанням значення short в масив (сортування підрахунком).
+     *
+     * @param target Масив довжиною не менше {@link #size()}; може бути вихідним масивом.
+     */
+    public void writeSortedShorts(short[] target) {
+        int position = 0;
+        for (int bucket = minBucket; bucket >= 0 && bucket <= maxBucket; bucket++) {
+            int count = counts[bucket];
+            if (count != 0) {
+                Arrays.fill(target, position, position + count, (short) (bucket - bias));
+                position += count;
+            }
+        }
+    }
+}
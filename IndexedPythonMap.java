@@ -0,0 +1,218 @@
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Клас IndexedPythonMap - таблиця «пітон - ім'я власника» з вторинними індексами за власником
+ * і за природним порядком ключів.
+ *
+ * <p>Записи зберігаються в будь-якій основній таблиці (PythonOwnerMap, LinkedHashMap тощо), а поряд
+ * підтримується індекс «власник - множина пітонів», який оновлюється при кожному put і remove.
+ * Тому пошук, підрахунок і видалення всіх записів власника виконуються за O(1) або O(k)
+ * (k - кількість записів власника) замість перебору та сортування всіх записів.</p>
+ *
+ * <p>Другий індекс - {@link PythonSortedIndex}, B+-дерево ключів у порядку Python.compareTo.
+ * Він також оновлюється при put і remove за O(log n), тому впорядкований обхід
+ * ({@link #sortedKeys()}) і діапазонні запити ({@link #keysInRange}) не потребують
+ * копіювання і сортування ключів чи перебудови таблиці.</p>
+ *
+ * <p>Порядок обходу записів визначає основна таблиця, а пітони одного власника повертаються
+ * в порядку додавання.</p>
+ *
+ * <p>Індекси - звичайні HashMap і B+-дерево, тому всі зміни та запити до індексів виконуються
+ * під монітором цього об'єкта, і кілька потоків можуть змінювати таблицю одночасно. get, containsKey
+ * і size звертаються лише до основної таблиці і потокобезпечні настільки, наскільки вона сама
+ * (PythonOwnerMap - так). Як і для Collections.synchronizedMap, обхід {@link #sortedKeys()},
+ * {@link #keysInRange}, {@link #keysOf} та entrySet() під час одночасних змін слід виконувати
+ * в блоці synchronized на цій таблиці.</p>
+ */
+public class IndexedPythonMap extends AbstractMap<BasicDataOperationUsingMap.Python, String> {
+    private final Map<BasicDataOperationUsingMap.Python, String> entries;
+    private final Map<String, Set<BasicDataOperationUsingMap.Python>> ownerIndex = new HashMap<String, Set<BasicDataOperationUsingMap.Python>>();
+    private final PythonSortedIndex sortedIndex = new PythonSortedIndex();
+
+    /**
+     * Наявні ключі сортуються один раз за упакованими ключами ({@link PythonSortKeys}), і з них
+     * будується B+-дерево, замість n окремих вставлень з порівняннями compareTo.
+     *
+     * @param entries Основна таблиця; наявні записи індексуються, а далі таблицю слід змінювати лише через цей об'єкт.
+     */
+    public IndexedPythonMap(Map<BasicDataOperationUsingMap.Python, String> entries) {
+        this.entries = entries;
+        BasicDataOperationUsingMap.Python[] keys = new BasicDataOperationUsingMap.Python[entries.size()];
+        int count = 0;
+        for (Map.Entry<BasicDataOperationUsingMap.Python, String> entry : entries.entrySet()) {
+            index(entry.getKey(), entry.getValue());
+            keys[count++] = entry.getKey();
+        }
+        PythonSortKeys.sort(keys);
+        sortedIndex.loadSorted(keys);
+    }
+
+    @Override
+    public int size() {
+        return entries.size();
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return entries.containsKey(key);
+    }
+
+    @Override
+    public String get(Object key) {
+        return entries.get(key);
+    }
+
+    /**
+     * Перевірка наявності власника за O(1) через індекс.
+     */
+    @Override
+    public synchronized boolean containsValue(Object value) {
+        return ownerIndex.containsKey(value);
+    }
+
+    @Override
+    public synchronized String put(BasicDataOperationUsingMap.Python key, String value) {
+        // наявність перевіряється окремо: ключ міг існувати зі значенням null
+        boolean existed = entries.containsKey(key);
+        String previous = entries.put(key, value);
+        if (existed) {
+            if (Objects.equals(previous, value)) {
+                return previous;
+            }
+            unindex(key, previous);
+        } else {
+            sortedIndex.add(key);
+        }
+        index(key, value);
+        return previous;
+    }
+
+    @Override
+    public synchronized String remove(Object key) {
+        if (!entries.containsKey(key)) {
+            return null;
+        }
+        String previous = entries.remove(key);
+        unindex((BasicDataOperationUsingMap.Python) key, previous);
+        sortedIndex.remove((BasicDataOperationUsingMap.Python) key);
+        return previous;
+    }
+
+    @Override
+    public synchronized void clear() {
+        entries.clear();
+        ownerIndex.clear();
+        sortedIndex.clear();
+    }
+
+    /**
+     * @return Пітони власника в порядку додавання (незмінне подання) або порожня множина.
+     */
+    public synchronized Set<BasicDataOperationUsingMap.Python> keysOf(String owner) {
+        Set<BasicDataOperationUsingMap.Python> keys = ownerIndex.get(owner);
+        return keys == null ? Collections.<BasicDataOperationUsingMap.Python>emptySet() : Collections.unmodifiableSet(keys);
+    }
+
+    /**
+     * @return Кількість записів власника за O(1).
+     */
+    public synchronized int countOf(String owner) {
+        Set<BasicDataOperationUsingMap.Python> keys = ownerIndex.get(owner);
+        return keys == null ? 0 : keys.size();
+    }
+
+    /**
+     * Видаляє всі записи власника за O(k).
+     *
+     * @return Кількість видалених записів.
+     */
+    public synchronized int removeAllOf(String owner) {
+        Set<BasicDataOperationUsingMap.Python> keys = ownerIndex.remove(owner);
+        if (keys == null) {
+            return 0;
+        }
+        for (BasicDataOperationUsingMap.Python key : keys) {
+            entries.remove(key);
+            sortedIndex.remove(key);
+        }
+        return keys.size();
+    }
+
+    /**
+     * @return Усі ключі в природному порядку Python (кличка за спаданням, плями за зростанням).
+     */
+    public synchronized Iterable<BasicDataOperationUsingMap.Python> sortedKeys() {
+        return sortedIndex;
+    }
+
+    /**
+     * @param from Нижня межа включно або null - від початку.
+     * @param to Верхня межа не включно або null - до кінця.
+     * @return Ключі з діапазону [from, to) у природному порядку.
+     */
+    public synchronized Iterable<BasicDataOperationUsingMap.Python> keysInRange(BasicDataOperationUsingMap.Python from, BasicDataOperationUsingMap.Python to) {
+        return sortedIndex.range(from, to);
+    }
+
+    private void index(BasicDataOperationUsingMap.Python key, String owner) {
+        ownerIndex.computeIfAbsent(owner, ignored -> new LinkedHashSet<BasicDataOperationUsingMap.Python>()).add(key);
+    }
+
+    private void unindex(BasicDataOperationUsingMap.Python key, String owner) {
+        Set<BasicDataOperationUsingMap.Python> keys = ownerIndex.get(owner);
+        if (keys != null && keys.remove(key) && keys.isEmpty()) {
+            ownerIndex.remove(owner);
+        }
+    }
+
+    @Override
+    public Set<Map.Entry<BasicDataOperationUsingMap.Python, String>> entrySet() {
+        return new AbstractSet<Map.Entry<BasicDataOperationUsingMap.Python, String>>() {
+            @Override
+            public Iterator<Map.Entry<BasicDataOperationUsingMap.Python, String>> iterator() {
+                Iterator<Map.Entry<BasicDataOperationUsingMap.Python, String>> iterator = entries.entrySet().iterator();
+                return new Iterator<Map.Entry<BasicDataOperationUsingMap.Python, String>>() {
+                    private Map.Entry<BasicDataOperationUsingMap.Python, String> last;
+
+                    @Override
+                    public boolean hasNext() {
+                        return iterator.hasNext();
+                    }
+
+                    @Override
+                    public Map.Entry<BasicDataOperationUsingMap.Python, String> next() {
+                        Map.Entry<BasicDataOperationUsingMap.Python, String> entry = iterator.next();
+                        last = new AbstractMap.SimpleImmutableEntry<BasicDataOperationUsingMap.Python, String>(entry);
+                        return last;
+                    }
+
+                    @Override
+                    public void remove() {
+                        if (last == null) {
+                            throw new IllegalStateException();
+                        }
+                        synchronized (IndexedPythonMap.this) {
+                            iterator.remove();
+                            unindex(last.getKey(), last.getValue());
+                            sortedIndex.remove(last.getKey());
+                        }
+                        last = null;
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return entries.size();
+            }
+        };
+    }
+}
@@ -0,0 +1,112 @@
+/**
+ * Клас LatencyHistogram - гістограма затримок (у наносекундах) з логарифмічно-лінійними кошиками.
+ *
+ * <p>Кожен інтервал [2^k, 2^(k+1)) поділено на 32 рівні кошики, тому відносна похибка
+ * значення не перевищує 1/32 (близько 3%) на всьому діапазоні long, а вся гістограма займає
+ * менше 16 КБ. Запис - це кілька бітових операцій і інкремент, без виділення пам'яті.</p>
+ *
+ * <p>Клас не потокобезпечний: кожен потік веде власну гістограму, а після завершення
+ * вимірювань вони об'єднуються через {@link #add(LatencyHistogram)}.</p>
+ */
+public class LatencyHistogram {
+    private static final int SUB_BUCKET_BITS = 5;
+    private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+    private static final int BUCKET_COUNT = (Long.SIZE - SUB_BUCKET_BITS) * SUB_BUCKET_COUNT;
+
+    private final long[] counts = new long[BUCKET_COUNT];
+    private long totalCount;
+    private long totalValue;
+    private long minValue = Long.MAX_VALUE;
+    private long maxValue;
+
+    /**
+     * Записує одне значення; від'ємні значення вважаються нулем.
+     *
+     * @param value Затримка в наносекундах.
+     */
+    public void record(long value) {
+        long clamped = Math.max(0, value);
+        counts[bucketIndex(clamped)]++;
+        totalCount++;
+        totalValue += clamped;
+        if (clamped < minValue) {
+            minValue = clamped;
+        }
+        if (clamped > maxValue) {
+            maxValue = clamped;
+        }
+    }
+
+    /**
+     * Додає до цієї гістограми всі значення іншої.
+     */
+    public void add(LatencyHistogram other) {
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            counts[i] += other.counts[i];
+        }
+        totalCount += other.totalCount;
+        totalValue += other.totalValue;
+        minValue = Math.min(minValue, other.minValue);
+        maxValue = Math.max(maxValue, other.maxValue);
+    }
+
+    public long getCount() {
+        return totalCount;
+    }
+
+    /**
+     * @return Найменше записане значення (точне, не межа кошика) або 0, якщо гістограма порожня.
+     */
+    public long getMin() {
+        return totalCount == 0 ? 0 : minValue;
+    }
+
+    public long getMax() {
+        return maxValue;
+    }
+
+    public double getMean() {
+        return totalCount == 0 ? 0 : (double) totalValue / totalCount;
+    }
+
+    /**
+     * @param percentile Перцентиль від 0 до 100.
+     * @return Верхня межа кошика, в який потрапляє значення заданого перцентиля
+     *         (не більше за максимальне записане значення); 0, якщо гістограма порожня.
+     */
+    public long getValueAtPercentile(double percentile) {
+        if (totalCount == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(Math.min(100, Math.max(0, percentile)) / 100 * totalCount));
+        long cumulative = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            cumulative += counts[i];
+            if (cumulative >= rank) {
+                return Math.min(maxValue, bucketUpperBound(i));
+            }
+        }
+        return maxValue;
+    }
+
+    /**
+     * Значення до 32 мають власні кошики; для більших значень номер кошика складається з
+     * порядку старшого біта та наступних 5 бітів мантиси.
+     */
+    private static int bucketIndex(long value) {
+        if (value < SUB_BUCKET_COUNT) {
+            return (int) value;
+        }
+        int shift = Long.SIZE - 1 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS;
+        return (shift + 1) * SUB_BUCKET_COUNT + (int) ((value >>> shift) - SUB_BUCKET_COUNT);
+    }
+
+    private static long bucketUpperBound(int index) {
+        if (index < SUB_BUCKET_COUNT) {
+            return index;
+        }
+        int shift = index / SUB_BUCKET_COUNT - 1;
+        long mantissa = SUB_BUCKET_COUNT + index % SUB_BUCKET_COUNT;
+        return ((mantissa + 1) << shift) - 1;
+    }
+}
@@ -0,0 +1,75 @@
+import java.util.ArrayList;
+import java.util.LinkedList;
+import java.util.List;
+
+/**
+ * Реалізація списку, з якою працює {@link BasicDataOperationUsingList}.
+ *
+ * <ul>
+ *   <li>{@link #LINKED_LIST} - LinkedList: пошук за індексом O(n), вузол і упакований Character на елемент;</li>
+ *   <li>{@link #ARRAY_LIST} - ArrayList: пошук за індексом O(1), посилання й упакований Character на елемент;</li>
+ *   <li>{@link #CHAR_ARRAY_LIST} - {@link CharArrayList}: пошук за індексом O(1), 2 байти на елемент.</li>
+ * </ul>
+ */
+public enum ListBackend {
+    LINKED_LIST("linked", "LinkedList"),
+    ARRAY_LIST("array", "ArrayList"),
+    CHAR_ARRAY_LIST("primitive", "CharArrayList");
+
+    private final String optionValue;
+    private final String displayName;
+
+    ListBackend(String optionValue, String displayName) {
+        this.optionValue = optionValue;
+        this.displayName = displayName;
+    }
+
+    public String getOptionValue() {
+        return optionValue;
+    }
+
+    public String getDisplayName() {
+        return displayName;
+    }
+
+    /**
+     * Створює список з елементами масиву у тому ж порядку.
+     *
+     * @param values Масив символів.
+     * @return Новий список обраної реалізації.
+     */
+    public List<Character> createList(char[] values) {
+        switch (this) {
+            case ARRAY_LIST: {
+                List<Character> list = new ArrayList<Character>(values.length);
+                for (char value : values) {
+                    list.add(value);
+                }
+                return list;
+            }
+            case CHAR_ARRAY_LIST:
+                return new CharArrayList(values);
+            default: {
+                List<Character> list = new LinkedList<Character>();
+                for (char value : values) {
+                    list.add(value);
+                }
+                return list;
+            }
+        }
+    }
+
+    /**
+     * Визначає реалізацію за значенням параметра командного рядка (linked, array, primitive).
+     *
+     * @throws IllegalArgumentException якщо значення невідоме.
+     */
+    public static ListBackend fromOptionValue(String value) {
+        for (ListBackend backend : values()) {
+            if (backend.optionValue.equalsIgnoreCase(value)) {
+                return backend;
+            }
+        }
+        throw new IllegalArgumentException("Невідома реалізація списку: " + value + " (linked, array, primitive)");
+    }
+}
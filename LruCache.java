@@ -0,0 +1,73 @@
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.function.Function;
+import java.util.function.ToIntBiFunction;
+
+/**
+ * Клас LruCache - обмежений кеш з витісненням найдавніше використаного запису (LRU).
+ *
+ * <p>Записи зберігаються в LinkedHashMap з порядком доступу (accessOrder = true): кожне влучання
+ * переносить запис у кінець списку, тому на початку завжди найдавніше використаний запис.
+ * removeEldestEntry тут не підходить - він прибирає не більше одного запису за вставлення,
+ * а з вагами інколи треба витіснити кілька, тому записи знімаються з початку списку в циклі.</p>
+ *
+ * @param <K> Тип ключів.
+ * @param <V> Тип значень.
+ */
+public class LruCache<K, V> extends BoundedCache<K, V> {
+    private final LinkedHashMap<K, Weighted<V>> entries = new LinkedHashMap<K, Weighted<V>>(16, 0.75f, true);
+
+    private static final class Weighted<V> {
+        V value;
+        int weight;
+
+        Weighted(V value, int weight) {
+            this.value = value;
+            this.weight = weight;
+        }
+    }
+
+    public LruCache(long maximumWeight, ToIntBiFunction<? super K, ? super V> weigher, Function<? super K, ? extends V> loader) {
+        super(maximumWeight, weigher, loader);
+    }
+
+    @Override
+    protected V lookup(K key) {
+        Weighted<V> entry = entries.get(key);
+        return entry != null ? entry.value : null;
+    }
+
+    @Override
+    protected void store(K key, V value, int weight) {
+        Weighted<V> entry = entries.get(key);
+        if (entry != null) {
+            addWeight(weight - entry.weight);
+            entry.value = value;
+            entry.weight = weight;
+        } else {
+            entries.put(key, new Weighted<V>(value, weight));
+            addWeight(weight);
+        }
+
+        // новий чи оновлений запис стоїть у кінці списку, тому до нього цикл не дійде
+        Iterator<Weighted<V>> eldest = entries.values().iterator();
+        while (isOverweight()) {
+            Weighted<V> victim = eldest.next();
+            eldest.remove();
+            recordEviction(victim.weight);
+        }
+    }
+
+    @Override
+    protected void discard(K key) {
+        Weighted<V> entry = entries.remove(key);
+        if (entry != null) {
+            addWeight(-entry.weight);
+        }
+    }
+
+    @Override
+    protected int entryCount() {
+        return entries.size();
+    }
+}
@@ -0,0 +1,73 @@
+import java.util.Collections;
+import java.util.Hashtable;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Реалізація потокобезпечної таблиці «пітон - ім'я власника», з якою працює {@link MapWorkloadDriver}.
+ *
+ * <ul>
+ *   <li>{@link #HASHTABLE} - Hashtable: усі операції під одним монітором таблиці;</li>
+ *   <li>{@link #SYNCHRONIZED_LINKED} - Collections.synchronizedMap(LinkedHashMap): так само один монітор;</li>
+ *   <li>{@link #CONCURRENT_HASH} - ConcurrentHashMap: читання без блокувань, зміни блокують один кошик;</li>
+ *   <li>{@link #STRIPED} - {@link StripedMap}: сегменти HashMap під окремими моніторами;</li>
+ *   <li>{@link #OWNER_MAP} - {@link PythonOwnerMap}: читання без блокувань, зміни під одним монітором.</li>
+ * </ul>
+ */
+public enum MapBackend {
+    HASHTABLE("hashtable", "Hashtable"),
+    SYNCHRONIZED_LINKED("synchronized", "synchronizedMap(LinkedHashMap)"),
+    CONCURRENT_HASH("concurrent", "ConcurrentHashMap"),
+    STRIPED("striped", "StripedMap"),
+    OWNER_MAP("owner", "PythonOwnerMap");
+
+    private final String optionValue;
+    private final String displayName;
+
+    MapBackend(String optionValue, String displayName) {
+        this.optionValue = optionValue;
+        this.displayName = displayName;
+    }
+
+    public String getOptionValue() {
+        return optionValue;
+    }
+
+    public String getDisplayName() {
+        return displayName;
+    }
+
+    /**
+     * @param expectedSize Очікувана кількість записів; кожна реалізація, включно зі StripedMap, створюється під неї.
+     * @return Нова порожня таблиця обраної реалізації.
+     */
+    public Map<BasicDataOperationUsingMap.Python, String> createMap(int expectedSize) {
+        switch (this) {
+            case HASHTABLE:
+                return new Hashtable<BasicDataOperationUsingMap.Python, String>(2 * expectedSize + 1);
+            case SYNCHRONIZED_LINKED:
+                return Collections.synchronizedMap(new LinkedHashMap<BasicDataOperationUsingMap.Python, String>(2 * expectedSize + 1));
+            case CONCURRENT_HASH:
+                return new ConcurrentHashMap<BasicDataOperationUsingMap.Python, String>(expectedSize);
+            case STRIPED:
+                return new StripedMap<BasicDataOperationUsingMap.Python, String>(expectedSize);
+            default:
+                return new PythonOwnerMap(expectedSize);
+        }
+    }
+
+    /**
+     * Визначає реалізацію за значенням параметра командного рядка (hashtable, synchronized, concurrent, striped, owner).
+     *
+     * @throws IllegalArgumentException якщо значення невідоме.
+     */
+    public static MapBackend fromOptionValue(String value) {
+        for (MapBackend backend : values()) {
+            if (backend.optionValue.equalsIgnoreCase(value)) {
+                return backend;
+            }
+        }
+        throw new IllegalArgumentException("Невідома реалізація таблиці: " + value + " (hashtable, synchronized, concurrent, striped, owner)");
+    }
+}
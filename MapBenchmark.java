@@ -0,0 +1,126 @@
+import java.util.HashMap;
+import java.util.Hashtable;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Клас MapBenchmark порівнює {@link PythonOwnerMap} з Hashtable, HashMap та ConcurrentHashMap
+ * для ключів {@link BasicDataOperationUsingMap.Python}: вставлення, пошук наявних ключів
+ * і пошук відсутніх ключів.
+ *
+ * <p>Ключі для пошуку - окремі об'єкти, рівні за equals ключам таблиці й створені в тому самому
+ * словнику кличок {@link NameRegistry}, як і ключі, що завантажує обробник Map. Тому успішний
+ * пошук порівнює ідентифікатори кличок і кількість плям, а не текст кличок.</p>
+ *
+ * <p>Приклад використання (кількості записів через кому):</p>
+ * <pre>
+ * {@code
+ * java MapBenchmark
+ * java -Xmx4g MapBenchmark 1000000,8000000
+ * }
+ * </pre>
+ */
+public class MapBenchmark {
+    private static final String DEFAULT_SIZES = "1000000,4000000";
+    private static final int REPETITIONS = 3;
+    private static final String[] NICKNAMES = {"Удавчик", "Змійка", "Сиріус", "Полоз", "Оріон", "Нагайна", "Медуза", "Кобра", "Аспід", "Василіск"};
+    private static final String[] OWNERS = {"Тарас", "Оксана", "Мирослава", "Борис", "Лариса", "Всеволод", "Антон", "Соломія", "Дар'я"};
+
+    public static void main(String[] args) {
+        String[] sizes = (args.length > 0 ? args[0] : DEFAULT_SIZES).split(",");
+
+        System.out.printf("%-18s %12s %18s %18s %18s%n", "таблиця", "записів", "put, нс/оп.", "get (є), нс/оп.", "get (немає), нс/оп.");
+        for (String size : sizes) {
+            int count = Integer.parseInt(size.trim());
+            // окремий словник кличок для кожного розміру звільняється разом із його ключами
+            NameRegistry nicknames = new NameRegistry();
+            BasicDataOperationUsingMap.Python[] keys = createKeys(nicknames, count, 1);
+            BasicDataOperationUsingMap.Python[] probes = copyKeys(keys);
+            BasicDataOperationUsingMap.Python[] missing = createKeys(nicknames, count, 2);
+            String[] owners = new String[count];
+            SplittableRandom random = new SplittableRandom(count);
+            for (int i = 0; i < count; i++) {
+                owners[i] = OWNERS[random.nextInt(OWNERS.length)];
+            }
+
+            benchmark("Hashtable", () -> new Hashtable<BasicDataOperationUsingMap.Python, String>(), keys, owners, probes, missing);
+            benchmark("HashMap", () -> new HashMap<BasicDataOperationUsingMap.Python, String>(), keys, owners, probes, missing);
+            benchmark("ConcurrentHashMap", () -> new ConcurrentHashMap<BasicDataOperationUsingMap.Python, String>(), keys, owners, probes, missing);
+            benchmark("PythonOwnerMap", PythonOwnerMap::new, keys, owners, probes, missing);
+        }
+    }
+
+    private static void benchmark(String name, Supplier<Map<BasicDataOperationUsingMap.Python, String>> factory,
+            BasicDataOperationUsingMap.Python[] keys, String[] owners,
+            BasicDataOperationUsingMap.Python[] probes, BasicDataOperationUsingMap.Python[] missing) {
+        long bestPut = Long.MAX_VALUE;
+        long bestHit = Long.MAX_VALUE;
+        long bestMiss = Long.MAX_VALUE;
+        long checksum = 0;
+        for (int repetition = 0; repetition < REPETITIONS; repetition++) {
+            Map<BasicDataOperationUsingMap.Python, String> map = factory.get();
+
+            long timeStart = System.nanoTime();
+            for (int i = 0; i < keys.length; i++) {
+                map.put(keys[i], owners[i]);
+            }
+            bestPut = Math.min(bestPut, System.nanoTime() - timeStart);
+
+            timeStart = System.nanoTime();
+            for (BasicDataOperationUsingMap.Python probe : probes) {
+                checksum += map.get(probe).length();
+            }
+            bestHit = Math.min(bestHit, System.nanoTime() - timeStart);
+
+            timeStart = System.nanoTime();
+            for (BasicDataOperationUsingMap.Python probe : missing) {
+                if (map.get(probe) != null) {
+                    throw new IllegalStateException(name + " знайшла ключ, якого немає: " + probe);
+                }
+            }
+            bestMiss = Math.min(bestMiss, System.nanoTime() - timeStart);
+
+            if (map.size() != keys.length) {
+                throw new IllegalStateException(name + " містить " + map.size() + " записів замість " + keys.length);
+            }
+        }
+
+        System.out.printf("%-18s %12d %18.1f %18.1f %18.1f%n", name, keys.length, (double) bestPut / keys.length,
+                (double) bestHit / probes.length, (double) bestMiss / missing.length);
+        PerformanceTracker.consume(checksum);
+    }
+
+    /**
+     * Створює унікальні ключі: кличка з номером і кількість плям; seed розділяє набори
+     * наявних і відсутніх ключів за парністю кількості плям.
+     */
+    private static BasicDataOperationUsingMap.Python[] createKeys(NameRegistry nicknames, int count, int seed) {
+        BasicDataOperationUsingMap.Python[] keys = new BasicDataOperationUsingMap.Python[count];
+        SplittableRandom random = new SplittableRandom(seed);
+        for (int i = 0; i < count; i++) {
+            String nickname = NICKNAMES[random.nextInt(NICKNAMES.length)] + "-" + i;
+            keys[i] = new BasicDataOperationUsingMap.Python(nicknames, nickname, 2 * random.nextInt(50) + seed % 2);
+        }
+        return keys;
+    }
+
+    /**
+     * @return Рівні, але не ті самі об'єкти ключів у випадковому порядку.
+     */
+    private static BasicDataOperationUsingMap.Python[] copyKeys(BasicDataOperationUsingMap.Python[] keys) {
+        BasicDataOperationUsingMap.Python[] copies = new BasicDataOperationUsingMap.Python[keys.length];
+        for (int i = 0; i < keys.length; i++) {
+            copies[i] = new BasicDataOperationUsingMap.Python(keys[i].getNicknames(), new String(keys[i].getNickname()), keys[i].getSkinSpots());
+        }
+        SplittableRandom random = new SplittableRandom(keys.length);
+        for (int i = copies.length - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            BasicDataOperationUsingMap.Python swap = copies[i];
+            copies[i] = copies[j];
+            copies[j] = swap;
+        }
+        return copies;
+    }
+}
@@ -0,0 +1,427 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.concurrent.CountDownLatch;
+
+/**
+ * Клас MapWorkloadDriver - багатопотоковий навантажувальний режим для таблиць {@link MapBackend}.
+ *
+ * <p>N потоків виконують над спільною таблицею «пітон - ім'я власника» суміш операцій
+ * у заданих відсотках ({@link OperationMix}):</p>
+ * <ul>
+ *   <li>get - пошук за ключем;</li>
+ *   <li>put - додавання або заміна запису;</li>
+ *   <li>remove - видалення за ключем;</li>
+ *   <li>find - пошук за значенням: підрахунок усіх пітонів власника обходом таблиці (forEach),
+ *       як у {@link BasicDataOperationUsingMap} до появи індексу власників.</li>
+ * </ul>
+ *
+ * <p>Послідовність операцій і ключів кожного потоку генерується заздалегідь, тому вимірювання
+ * не включають генератор випадкових чисел. Для кожної кількості потоків виводяться пропускна
+ * здатність і хвости затримок ({@link LatencyHistogram}) - саме в p99 видно, як потоки чекають
+ * на єдиний монітор Hashtable, поки інший потік обходить таблицю.</p>
+ *
+ * <p>Приклад використання (реалізація або all, найбільша кількість потоків, кількість операцій,
+ * відсотки get:put:remove:find, кількість ключів):</p>
+ * <pre>
+ * {@code
+ * java MapWorkloadDriver
+ * java MapWorkloadDriver all 32 5000000 90:5:4:1 100000
+ * }
+ * </pre>
+ */
+public class MapWorkloadDriver {
+    public static final int DEFAULT_KEY_COUNT = 10_000;
+    public static final int DEFAULT_OPERATION_COUNT = 1_000_000;
+    public static final int DEFAULT_MAX_THREADS = 4;
+    public static final String DEFAULT_MIX = "80:10:8:2";
+
+    static final int GET = 0;
+    static final int PUT = 1;
+    static final int REMOVE = 2;
+    static final int FIND = 3;
+
+    private static final String[] NICKNAMES = {"Удавчик", "Змійка", "Сиріус", "Полоз", "Оріон", "Нагайна", "Медуза", "Кобра", "Аспід", "Василіск"};
+    private static final String[] OWNERS = {"Тарас", "Оксана", "Мирослава", "Борис", "Лариса", "Всеволод", "Антон", "Соломія", "Дар'я"};
+
+    private static final String USAGE_MESSAGE = "Використання: java MapWorkloadDriver [hashtable|synchronized|concurrent|striped|owner|all] [макс.-потоків] [операцій] [get:put:remove:find] [ключів]\n" +
+            "Приклад:\n" +
+            "  java MapWorkloadDriver all 32 5000000 90:5:4:1 100000";
+
+    private final MapBackend backend;
+    private final int threads;
+    private final OperationMix mix;
+    private final int keyCount;
+
+    /**
+     * @param backend Реалізація таблиці.
+     * @param threads Кількість робочих потоків.
+     * @param mix Відсотки операцій.
+     * @param keyCount Кількість різних ключів; спочатку в таблиці половина з них.
+     */
+    public MapWorkloadDriver(MapBackend backend, int threads, OperationMix mix, int keyCount) {
+        if (threads < 1 || keyCount < 2) {
+            throw new IllegalArgumentException("Потрібен принаймні один потік і два ключі");
+        }
+        this.backend = backend;
+        this.threads = threads;
+        this.mix = mix;
+        this.keyCount = keyCount;
+    }
+
+    /**
+     * Відсотки операцій get, put, remove і find, які разом дають 100.
+     */
+    public static class OperationMix {
+        private final int[] percents;
+
+        public OperationMix(int get, int put, int remove, int find) {
+            this.percents = new int[] {get, put, remove, find};
+            for (int percent : percents) {
+                if (percent < 0) {
+                    throw new IllegalArgumentException("Відсоток операцій не може бути від'ємним: " + this);
+                }
+            }
+            if (get + put + remove + find != 100) {
+                throw new IllegalArgumentException("Відсотки операцій мають разом давати 100: " + this);
+            }
+        }
+
+        /**
+         * Розбирає суміш у форматі get:put:remove:find, наприклад 80:10:8:2.
+         *
+         * @throws IllegalArgumentException якщо формат або сума неправильні.
+         */
+        public static OperationMix parse(String value) {
+            String[] parts = value.split(":");
+            if (parts.length != 4) {
+                throw new IllegalArgumentException("Очікується суміш у форматі get:put:remove:find, отримано: " + value);
+            }
+            try {
+                return new OperationMix(Integer.parseInt(parts[0].trim()), Integer.parseInt(parts[1].trim()),
+                        Integer.parseInt(parts[2].trim()), Integer.parseInt(parts[3].trim()));
+            } catch (NumberFormatException exception) {
+                throw new IllegalArgumentException("Відсотки операцій мають бути цілими числами: " + value, exception);
+            }
+        }
+
+        /**
+         * @param roll Число від 0 до 99.
+         * @return Операція (GET, PUT, REMOVE або FIND), на яку припадає це число.
+         */
+        int operationFor(int roll) {
+            int bound = 0;
+            for (int operation = 0; operation < percents.length; operation++) {
+                bound += percents[operation];
+                if (roll < bound) {
+                    return operation;
+                }
+            }
+            return FIND;
+        }
+
+        @Override
+        public String toString() {
+            return percents[GET] + ":" + percents[PUT] + ":" + percents[REMOVE] + ":" + percents[FIND];
+        }
+    }
+
+    /**
+     * Результат одного запуску навантаження.
+     */
+    public static class Result {
+        private final long operationCount;
+        private final long elapsedNanos;
+        private final LatencyHistogram[] latencies;
+        private final LatencyHistogram totalLatency;
+        private final long getHits;
+        private final long ownerMatches;
+
+        Result(long operationCount, long elapsedNanos, LatencyHistogram[] latencies, long getHits, long ownerMatches) {
+            this.operationCount = operationCount;
+            this.elapsedNanos = elapsedNanos;
+            this.latencies = latencies;
+            this.getHits = getHits;
+            this.ownerMatches = ownerMatches;
+            this.totalLatency = new LatencyHistogram();
+            for (LatencyHistogram latency : latencies) {
+                totalLatency.add(latency);
+            }
+        }
+
+        public long getOperationCount() {
+            return operationCount;
+        }
+
+        public long getElapsedNanos() {
+            return elapsedNanos;
+        }
+
+        public double getOperationsPerSecond() {
+            return operationCount * 1e9 / Math.max(1, elapsedNanos);
+        }
+
+        /**
+         * @param operation GET, PUT, REMOVE або FIND.
+         * @return Затримки операцій цього типу.
+         */
+        public LatencyHistogram getLatency(int operation) {
+            return latencies[operation];
+        }
+
+        /**
+         * @return Затримки всіх операцій разом.
+         */
+        public LatencyHistogram getTotalLatency() {
+            return totalLatency;
+        }
+
+        /**
+         * @return Кількість get, які знайшли запис.
+         */
+        public long getGetHits() {
+            return getHits;
+        }
+
+        /**
+         * @return Загальна кількість записів, знайдених усіма операціями find.
+         */
+        public long getOwnerMatches() {
+            return ownerMatches;
+        }
+    }
+
+    /**
+     * Виконує operationCount операцій, рівномірно розподілених між потоками.
+     *
+     * @return Результат вимірювань.
+     * @throws IllegalStateException якщо після навантаження таблиця не узгоджена з результатами put і remove.
+     */
+    public Result run(int operationCount) {
+        BasicDataOperationUsingMap.Python[] keys = createKeys(keyCount);
+        Map<BasicDataOperationUsingMap.Python, String> map = backend.createMap(keyCount);
+        for (int i = 0; i < keyCount; i += 2) {
+            map.put(keys[i], OWNERS[i % OWNERS.length]);
+        }
+        int initialSize = map.size();
+
+        CountDownLatch ready = new CountDownLatch(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        Worker[] workers = new Worker[threads];
+        List<Thread> workerThreads = new ArrayList<Thread>();
+        SplittableRandom random = new SplittableRandom(operationCount);
+        for (int i = 0; i < threads; i++) {
+            int count = (int) ((long) operationCount * (i + 1) / threads - (long) operationCount * i / threads);
+            workers[i] = new Worker(map, keys, mix, count, random.split(), ready, start);
+            workerThreads.add(new Thread(workers[i], "map-worker-" + i));
+        }
+
+        for (Thread thread : workerThreads) {
+            thread.start();
+        }
+        long timeStart;
+        try {
+            ready.await();
+            timeStart = System.nanoTime();
+            start.countDown();
+            for (Thread thread : workerThreads) {
+                thread.join();
+            }
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Навантаження перервано", exception);
+        }
+        long elapsedNanos = System.nanoTime() - timeStart;
+
+        LatencyHistogram[] latencies = new LatencyHistogram[4];
+        for (int operation = 0; operation < latencies.length; operation++) {
+            latencies[operation] = new LatencyHistogram();
+        }
+        long sizeChange = 0;
+        long getHits = 0;
+        long ownerMatches = 0;
+        for (Worker worker : workers) {
+            for (int operation = 0; operation < latencies.length; operation++) {
+                latencies[operation].add(worker.latencies[operation]);
+            }
+            sizeChange += worker.sizeChange;
+            getHits += worker.getHits;
+            ownerMatches += worker.ownerMatches;
+        }
+        verify(map, keys, initialSize + sizeChange);
+        return new Result(operationCount, elapsedNanos, latencies, getHits, ownerMatches);
+    }
+
+    /**
+     * Перевіряє, що розмір таблиці відповідає успішним put і remove, а кожен запис -
+     * один із ключів навантаження з відомим власником.
+     */
+    private void verify(Map<BasicDataOperationUsingMap.Python, String> map, BasicDataOperationUsingMap.Python[] keys, long expectedSize) {
+        Set<BasicDataOperationUsingMap.Python> knownKeys = new HashSet<BasicDataOperationUsingMap.Python>(Arrays.asList(keys));
+        Set<String> knownOwners = new HashSet<String>(Arrays.asList(OWNERS));
+        long entries = 0;
+        for (Map.Entry<BasicDataOperationUsingMap.Python, String> entry : map.entrySet()) {
+            if (!knownKeys.contains(entry.getKey()) || !knownOwners.contains(entry.getValue())) {
+                throw new IllegalStateException(backend.getDisplayName() + " містить невідомий запис: " + entry);
+            }
+            entries++;
+        }
+        if (map.size() != expectedSize || entries != expectedSize) {
+            throw new IllegalStateException(backend.getDisplayName() + " містить " + map.size() + " записів (обхід: "
+                    + entries + ") замість " + expectedSize);
+        }
+    }
+
+    /**
+     * Створює унікальні ключі: кличка з номером і кількість плям.
+     */
+    private static BasicDataOperationUsingMap.Python[] createKeys(int count) {
+        BasicDataOperationUsingMap.Python[] keys = new BasicDataOperationUsingMap.Python[count];
+        // окремий словник кличок звільняється разом із ключами після навантаження
+        NameRegistry nicknames = new NameRegistry();
+        for (int i = 0; i < count; i++) {
+            keys[i] = new BasicDataOperationUsingMap.Python(nicknames, NICKNAMES[i % NICKNAMES.length] + "-" + i, i % 50);
+        }
+        return keys;
+    }
+
+    private static void awaitStart(CountDownLatch ready, CountDownLatch start) {
+        ready.countDown();
+        try {
+            start.await();
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static class Worker implements Runnable {
+        private final Map<BasicDataOperationUsingMap.Python, String> map;
+        private final BasicDataOperationUsingMap.Python[] keys;
+        private final byte[] operations;
+        private final int[] keyIndices;
+        private final CountDownLatch ready;
+        private final CountDownLatch start;
+        private final LatencyHistogram[] latencies = new LatencyHistogram[4];
+        private long sizeChange;
+        private long getHits;
+        private long ownerMatches;
+
+        Worker(Map<BasicDataOperationUsingMap.Python, String> map, BasicDataOperationUsingMap.Python[] keys, OperationMix mix,
+                int operationCount, SplittableRandom random, CountDownLatch ready, CountDownLatch start) {
+            this.map = map;
+            this.keys = keys;
+            this.ready = ready;
+            this.start = start;
+            this.operations = new byte[operationCount];
+            this.keyIndices = new int[operationCount];
+            for (int i = 0; i < operationCount; i++) {
+                operations[i] = (byte) mix.operationFor(random.nextInt(100));
+                keyIndices[i] = random.nextInt(keys.length);
+            }
+            for (int operation = 0; operation < latencies.length; operation++) {
+                latencies[operation] = new LatencyHistogram();
+            }
+        }
+
+        @Override
+        public void run() {
+            awaitStart(ready, start);
+            for (int i = 0; i < operations.length; i++) {
+                int operation = operations[i];
+                int keyIndex = keyIndices[i];
+                long timeStart = System.nanoTime();
+                switch (operation) {
+                    case GET:
+                        if (map.get(keys[keyIndex]) != null) {
+                            getHits++;
+                        }
+                        break;
+                    case PUT:
+                        if (map.put(keys[keyIndex], OWNERS[keyIndex % OWNERS.length]) == null) {
+                            sizeChange++;
+                        }
+                        break;
+                    case REMOVE:
+                        if (map.remove(keys[keyIndex]) != null) {
+                            sizeChange--;
+                        }
+                        break;
+                    default:
+                        String owner = OWNERS[keyIndex % OWNERS.length];
+                        map.forEach((key, value) -> {
+                            if (value.equals(owner)) {
+                                ownerMatches++;
+                            }
+                        });
+                        break;
+                }
+                latencies[operation].record(System.nanoTime() - timeStart);
+            }
+        }
+    }
+
+    /**
+     * Виконує навантаження для кожної реалізації з 1, 2, 4, ... maxThreads потоками
+     * і виводить таблицю пропускної здатності та затримок.
+     *
+     * @param backends Реалізації таблиці.
+     * @param maxThreads Найбільша кількість потоків.
+     * @param operationCount Кількість операцій в одному запуску.
+     * @param mix Відсотки операцій.
+     * @param keyCount Кількість різних ключів.
+     */
+    public static void printScalingTable(List<MapBackend> backends, int maxThreads, int operationCount, OperationMix mix, int keyCount) {
+        System.out.println("Суміш get:put:remove:find = " + mix + ", ключів: " + keyCount + ", операцій: " + operationCount);
+        System.out.printf("%-32s %7s %14s %8s %10s %10s %10s %12s%n", "таблиця", "потоки", "операцій/с",
+                "p50", "p99", "p99.9", "p99 get", "p99 find");
+        for (MapBackend backend : backends) {
+            // прогрів: JIT-компіляція всіх операцій не потрапляє у вимірювання
+            new MapWorkloadDriver(backend, 1, mix, keyCount).run(Math.max(1, operationCount / 10));
+            for (int threads = 1; threads <= maxThreads; threads *= 2) {
+                Result result = new MapWorkloadDriver(backend, threads, mix, keyCount).run(operationCount);
+                System.out.printf("%-32s %7d %14.0f %8d %10d %10d %10d %12d%n",
+                        backend.getDisplayName(), threads, result.getOperationsPerSecond(),
+                        result.getTotalLatency().getValueAtPercentile(50),
+                        result.getTotalLatency().getValueAtPercentile(99),
+                        result.getTotalLatency().getValueAtPercentile(99.9),
+                        result.getLatency(GET).getValueAtPercentile(99),
+                        result.getLatency(FIND).getValueAtPercentile(99));
+            }
+        }
+        System.out.println("Затримки в наносекундах.");
+    }
+
+    /**
+     * Розбирає назву реалізації таблиці; значення all означає всі реалізації.
+     */
+    static List<MapBackend> parseBackends(String value) {
+        if (value.equalsIgnoreCase("all")) {
+            return Arrays.asList(MapBackend.values());
+        }
+        return Arrays.asList(MapBackend.fromOptionValue(value));
+    }
+
+    public static void main(String[] args) {
+        if (args.length > 5) {
+            System.out.println(USAGE_MESSAGE);
+            return;
+        }
+
+        try {
+            List<MapBackend> backends = parseBackends(args.length > 0 ? args[0] : "all");
+            int maxThreads = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_MAX_THREADS;
+            int operationCount = args.length > 2 ? Integer.parseInt(args[2]) : DEFAULT_OPERATION_COUNT;
+            OperationMix mix = OperationMix.parse(args.length > 3 ? args[3] : DEFAULT_MIX);
+            int keyCount = args.length > 4 ? Integer.parseInt(args[4]) : DEFAULT_KEY_COUNT;
+
+            printScalingTable(backends, maxThreads, operationCount, mix, keyCount);
+        } catch (RuntimeException exception) {
+            System.out.println("❌ Помилка навантажувального режиму таблиці: " + exception.getMessage());
+            exception.printStackTrace();
+        }
+    }
+}
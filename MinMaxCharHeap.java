@@ -0,0 +1,408 @@
+import java.util.AbstractQueue;
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Клас MinMaxCharHeap - двостороння черга з пріоритетом (min-max купа) над примітивним масивом char.
+ *
+ * <p>Рівні купи чергуються: вузли на парних рівнях (корінь - рівень 0) не більші за всіх своїх
+ * нащадків, на непарних - не менші. Тому найменший елемент завжди в корені, а найбільший -
+ * в одному з двох його нащадків: {@link #peekMin()} і {@link #peekMax()} виконуються за O(1),
+ * а {@link #pollMin()} та {@link #pollMax()} - за O(log n). Побудова з масиву займає O(n).</p>
+ *
+ * <p>Окрема таблиця кількостей на 65536 значень дає перевірку наявності {@link #contains(char)}
+ * за O(1) замість лінійного перебору, як у {@link java.util.PriorityQueue#contains}.</p>
+ *
+ * <p>Клас реалізує {@link java.util.Queue}: {@link #peek()} і {@link #poll()} працюють з найменшим
+ * елементом, як у PriorityQueue&lt;Character&gt;. Ітератор обходить елементи в порядку купи.</p>
+ */
+public class MinMaxCharHeap extends AbstractQueue<Character> {
+    private static final int DEFAULT_CAPACITY = 16;
+
+    private char[] heap;
+    private int size;
+    private final int[] counts = new int[1 << Character.SIZE];
+    private int modificationCount;
+
+    public MinMaxCharHeap() {
+        this.heap = new char[DEFAULT_CAPACITY];
+    }
+
+    /**
+     * Будує купу з копії масиву за O(n).
+     *
+     * @param values Масив символів (повтори допускаються).
+     */
+    public MinMaxCharHeap(char[] values) {
+        this.heap = Arrays.copyOf(values, Math.max(DEFAULT_CAPACITY, values.length));
+        this.size = values.length;
+        for (char value : values) {
+            counts[value]++;
+        }
+        for (int i = size / 2 - 1; i >= 0; i--) {
+            trickleDown(i);
+        }
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    public boolean contains(char value) {
+        return counts[value] > 0;
+    }
+
+    @Override
+    public boolean contains(Object value) {
+        return value instanceof Character && contains(((Character) value).charValue());
+    }
+
+    /**
+     * @return Кількість входжень символу в черзі.
+     */
+    public int count(char value) {
+        return counts[value];
+    }
+
+    public void add(char value) {
+        if (size == heap.length) {
+            heap = Arrays.copyOf(heap, size * 2);
+        }
+        heap[size] = value;
+        counts[value]++;
+        bubbleUp(size++);
+        modificationCount++;
+    }
+
+    @Override
+    public boolean offer(Character value) {
+        add(value.charValue());
+        return true;
+    }
+
+    /**
+     * @return Найменший символ.
+     * @throws NoSuchElementException якщо черга порожня.
+     */
+    public char peekMin() {
+        checkNotEmpty();
+        return heap[0];
+    }
+
+    /**
+     * @return Найбільший символ.
+     * @throws NoSuchElementException якщо черга порожня.
+     */
+    public char peekMax() {
+        checkNotEmpty();
+        return heap[maxIndex()];
+    }
+
+    /**
+     * Видаляє найменший символ.
+     *
+     * @return Видалений символ.
+     * @throws NoSuchElementException якщо черга порожня.
+     */
+    public char pollMin() {
+        checkNotEmpty();
+        return removeAt(0);
+    }
+
+    /**
+     * Видаляє найбільший символ.
+     *
+     * @return Видалений символ.
+     * @throws NoSuchElementException якщо черга порожня.
+     */
+    public char pollMax() {
+        checkNotEmpty();
+        return removeAt(maxIndex());
+    }
+
+    @Override
+    public Character peek() {
+        return size == 0 ? null : heap[0];
+    }
+
+    @Override
+    public Character poll() {
+        return size == 0 ? null : removeAt(0);
+    }
+
+    /**
+     * Видаляє одне входження символу; позиція шукається лише тоді, коли таблиця кількостей
+     * підтверджує наявність.
+     *
+     * @return true, якщо символ був у черзі.
+     */
+    public boolean remove(char value) {
+        if (counts[value] == 0) {
+            return false;
+        }
+        for (int i = 0; i < size; i++) {
+            if (heap[i] == value) {
+                removeAt(i);
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public boolean remove(Object value) {
+        return value instanceof Character && remove(((Character) value).charValue());
+    }
+
+    @Override
+    public void clear() {
+        for (int i = 0; i < size; i++) {
+            counts[heap[i]] = 0;
+        }
+        size = 0;
+        modificationCount++;
+    }
+
+    /**
+     * Ітератор у порядку купи (не в порядку зростання); видалення через ітератор не підтримується.
+     */
+    @Override
+    public Iterator<Character> iterator() {
+        return new Iterator<Character>() {
+            private int next;
+            private final int expectedModificationCount = modificationCount;
+
+            @Override
+            public boolean hasNext() {
+                return next < size;
+            }
+
+            @Override
+            public Character next() {
+                if (expectedModificationCount != modificationCount) {
+                    throw new ConcurrentModificationException();
+                }
+                if (next >= size) {
+                    throw new NoSuchElementException();
+                }
+                return heap[next++];
+            }
+        };
+    }
+
+    /**
+     * @return Копія елементів у порядку купи.
+     */
+    public char[] toCharArray() {
+        return Arrays.copyOf(heap, size);
+    }
+
+    private void checkNotEmpty() {
+        if (size == 0) {
+            throw new NoSuchElementException("Черга порожня");
+        }
+    }
+
+    /**
+     * Найбільший елемент - корінь, якщо він єдиний, інакше більший з двох нащадків кореня.
+     */
+    private int maxIndex() {
+        if (size <= 2) {
+            return size - 1;
+        }
+        return heap[1] >= heap[2] ? 1 : 2;
+    }
+
+    /**
+     * Замінює елемент у позиції index останнім елементом купи і відновлює її властивості.
+     */
+    private char removeAt(int index) {
+        char removed = heap[index];
+        counts[removed]--;
+        size--;
+        if (index < size) {
+            heap[index] = heap[size];
+            restore(index);
+        }
+        modificationCount++;
+        return removed;
+    }
+
+    /**
+     * Відновлює купу після заміни елемента в позиції index: елемент, що порушує порядок
+     * відносно батька (вузла протилежного рівня), міняється з ним місцями - батько опускається
+     * і просівається вниз, а новий елемент піднімається рівнями свого типу; елемент, менший
+     * за діда на рівні мінімумів (більший - на рівні максимумів), піднімається; інакше просівається вниз.
+     */
+    private void restore(int index) {
+        if (index > 0) {
+            int parent = (index - 1) / 2;
+            boolean minLevel = isMinLevel(index);
+            if (minLevel ? heap[index] > heap[parent] : heap[index] < heap[parent]) {
+                swap(index, parent);
+                if (minLevel) {
+                    bubbleUpMax(parent);
+                } else {
+                    bubbleUpMin(parent);
+                }
+                trickleDown(index);
+                return;
+            }
+            if (index > 2) {
+                int grandparent = (index - 3) / 4;
+                if (minLevel ? heap[index] < heap[grandparent] : heap[index] > heap[grandparent]) {
+                    if (minLevel) {
+                        bubbleUpMin(index);
+                    } else {
+                        bubbleUpMax(index);
+                    }
+                    return;
+                }
+            }
+        }
+        trickleDown(index);
+    }
+
+    private static boolean isMinLevel(int index) {
+        // рівень вузла - floor(log2(index + 1)); рівні з парним номером є рівнями мінімумів
+        return ((Integer.SIZE - 1 - Integer.numberOfLeadingZeros(index + 1)) & 1) == 0;
+    }
+
+    private void bubbleUp(int index) {
+        if (index == 0) {
+            return;
+        }
+        int parent = (index - 1) / 2;
+        if (isMinLevel(index)) {
+            if (heap[index] > heap[parent]) {
+                swap(index, parent);
+                bubbleUpMax(parent);
+            } else {
+                bubbleUpMin(index);
+            }
+        } else {
+            if (heap[index] < heap[parent]) {
+                swap(index, parent);
+                bubbleUpMin(parent);
+            } else {
+                bubbleUpMax(index);
+            }
+        }
+    }
+
+    private void bubbleUpMin(int index) {
+        char value = heap[index];
+        while (index > 2) {
+            int grandparent = (index - 3) / 4;
+            if (value >= heap[grandparent]) {
+                break;
+            }
+            heap[index] = heap[grandparent];
+            index = grandparent;
+        }
+        heap[index] = value;
+    }
+
+    private void bubbleUpMax(int index) {
+        char value = heap[index];
+        while (index > 2) {
+            int grandparent = (index - 3) / 4;
+            if (value <= heap[grandparent]) {
+                break;
+            }
+            heap[index] = heap[grandparent];
+            index = grandparent;
+        }
+        heap[index] = value;
+    }
+
+    private void trickleDown(int index) {
+        if (isMinLevel(index)) {
+            trickleDownMin(index);
+        } else {
+            trickleDownMax(index);
+        }
+    }
+
+    /**
+     * Просіює елемент вниз по рівнях мінімумів: на кожному кроці обирає найменший серед
+     * нащадків і онуків; якщо це онук, елемент опускається на два рівні і за потреби
+     * міняється з батьком онука (вузлом рівня максимумів).
+     */
+    private void trickleDownMin(int index) {
+        while (2 * index + 1 < size) {
+            int smallest = smallestDescendant(index);
+            if (heap[smallest] >= heap[index]) {
+                return;
+            }
+            swap(smallest, index);
+            if (smallest <= 2 * index + 2) {
+                return;
+            }
+            int parent = (smallest - 1) / 2;
+            if (heap[smallest] > heap[parent]) {
+                swap(smallest, parent);
+            }
+            index = smallest;
+        }
+    }
+
+    private void trickleDownMax(int index) {
+        while (2 * index + 1 < size) {
+            int largest = largestDescendant(index);
+            if (heap[largest] <= heap[index]) {
+                return;
+            }
+            swap(largest, index);
+            if (largest <= 2 * index + 2) {
+                return;
+            }
+            int parent = (largest - 1) / 2;
+            if (heap[largest] < heap[parent]) {
+                swap(largest, parent);
+            }
+            index = largest;
+        }
+    }
+
+    private int smallestDescendant(int index) {
+        int child = 2 * index + 1;
+        int best = child;
+        if (child + 1 < size && heap[child + 1] < heap[best]) {
+            best = child + 1;
+        }
+        int grandchild = 4 * index + 3;
+        int end = Math.min(size, grandchild + 4);
+        for (int i = grandchild; i < end; i++) {
+            if (heap[i] < heap[best]) {
+                best = i;
+            }
+        }
+        return best;
+    }
+
+    private int largestDescendant(int index) {
+        int child = 2 * index + 1;
+        int best = child;
+        if (child + 1 < size && heap[child + 1] > heap[best]) {
+            best = child + 1;
+        }
+        int grandchild = 4 * index + 3;
+        int end = Math.min(size, grandchild + 4);
+        for (int i = grandchild; i < end; i++) {
+            if (heap[i] > heap[best]) {
+                best = i;
+            }
+        }
+        return best;
+    }
+
+    private void swap(int first, int second) {
+        char value = heap[first];
+        heap[first] = heap[second];
+        heap[second] = value;
+    }
+}
@@ -0,0 +1,230 @@
+import java.util.AbstractQueue;
+import java.util.Collection;
+import java.lang.invoke.VarHandle;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Клас MpmcRingBuffer - обмежена неблокувальна черга для багатьох виробників і багатьох
+ * споживачів на кільцевому буфері (алгоритм Д. Вюкова).
+ *
+ * <p>Кожна комірка має порядковий номер: виробник може записати в комірку з номером,
+ * що дорівнює його позиції, а споживач - прочитати комірку з номером позиція + 1. Позицію
+ * захоплюють одним compareAndSet, після чого запис елемента і публікація номера комірки
+ * (запис з семантикою release) не конкурують з іншими потоками. Блокувань немає:
+ * {@link #offer(Object)} повертає false, якщо буфер заповнений, а {@link #poll()} - null, якщо порожній.</p>
+ *
+ * <p>Кількість невдалих спроб захопити позицію ({@link #getContendedAttempts()}) показує
+ * рівень конкуренції між потоками. Ітератор слабко узгоджений (див. {@link #iterator()}), тому
+ * contains, toArray і toString працюють і під час одночасних змін; видалення довільного елемента
+ * (remove(Object), Iterator.remove) не підтримується, бо кільцевий буфер звільняє комірки лише по черзі.</p>
+ *
+ * @param <E> Тип елементів.
+ */
+public class MpmcRingBuffer<E> extends AbstractQueue<E> {
+    private final Object[] buffer;
+    private final AtomicLongArray sequences;
+    private final int mask;
+    private final AtomicLong enqueuePosition = new AtomicLong();
+    private final AtomicLong dequeuePosition = new AtomicLong();
+    private final LongAdder contendedAttempts = new LongAdder();
+
+    /**
+     * @param capacity Місткість; округлюється вгору до степеня двійки.
+     */
+    public MpmcRingBuffer(int capacity) {
+        if (capacity < 1 || capacity > 1 << 30) {
+            throw new IllegalArgumentException("Місткість має бути від 1 до 2^30: " + capacity);
+        }
+        int size = Integer.highestOneBit(capacity);
+        if (size < capacity) {
+            size <<= 1;
+        }
+        this.buffer = new Object[size];
+        this.sequences = new AtomicLongArray(size);
+        this.mask = size - 1;
+        for (int i = 0; i < size; i++) {
+            sequences.set(i, i);
+        }
+    }
+
+    public int capacity() {
+        return buffer.length;
+    }
+
+    @Override
+    public boolean offer(E element) {
+        if (element == null) {
+            throw new NullPointerException();
+        }
+        long position = enqueuePosition.get();
+        while (true) {
+            int index = (int) position & mask;
+            long difference = sequences.get(index) - position;
+            if (difference == 0) {
+                if (enqueuePosition.compareAndSet(position, position + 1)) {
+                    buffer[index] = element;
+                    sequences.lazySet(index, position + 1);
+                    return true;
+                }
+                contendedAttempts.increment();
+                position = enqueuePosition.get();
+            } else if (difference < 0) {
+                // комірку ще не звільнив споживач попереднього кола - буфер заповнений
+                return false;
+            } else {
+                position = enqueuePosition.get();
+            }
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public E poll() {
+        long position = dequeuePosition.get();
+        while (true) {
+            int index = (int) position & mask;
+            long difference = sequences.get(index) - (position + 1);
+            if (difference == 0) {
+                if (dequeuePosition.compareAndSet(position, position + 1)) {
+                    E element = (E) buffer[index];
+                    buffer[index] = null;
+                    sequences.lazySet(index, position + buffer.length);
+                    return element;
+                }
+                contendedAttempts.increment();
+                position = dequeuePosition.get();
+            } else if (difference < 0) {
+                // виробник ще не опублікував елемент - буфер порожній
+                return null;
+            } else {
+                position = dequeuePosition.get();
+            }
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public E peek() {
+        long position = dequeuePosition.get();
+        int index = (int) position & mask;
+        return sequences.get(index) == position + 1 ? (E) buffer[index] : null;
+    }
+
+    /**
+     * Переносить до maxElements елементів у колекцію, як {@link java.util.concurrent.BlockingQueue#drainTo}.
+     * Усі опубліковані поспіль комірки захоплюються одним compareAndSet, а не окремо для кожного елемента.
+     *
+     * @return Кількість перенесених елементів.
+     */
+    @SuppressWarnings("unchecked")
+    public int drainTo(Collection<? super E> target, int maxElements) {
+        long position = dequeuePosition.get();
+        while (maxElements > 0) {
+            int available = 0;
+            while (available < maxElements
+                    && sequences.get((int) (position + available) & mask) == position + available + 1) {
+                available++;
+            }
+            if (available == 0) {
+                long current = dequeuePosition.get();
+                if (current == position) {
+                    return 0;
+                }
+                // позицію вже зсунув інший споживач - повторюємо з актуальної
+                position = current;
+                continue;
+            }
+            if (dequeuePosition.compareAndSet(position, position + available)) {
+                for (int i = 0; i < available; i++) {
+                    int index = (int) (position + i) & mask;
+                    target.add((E) buffer[index]);
+                    buffer[index] = null;
+                    sequences.lazySet(index, position + i + buffer.length);
+                }
+                return available;
+            }
+            contendedAttempts.increment();
+            position = dequeuePosition.get();
+        }
+        return 0;
+    }
+
+    /**
+     * @return Приблизна кількість елементів: під час одночасних змін значення може бути застарілим.
+     */
+    @Override
+    public int size() {
+        long size = enqueuePosition.get() - dequeuePosition.get();
+        return (int) Math.max(0, Math.min(buffer.length, size));
+    }
+
+    /**
+     * @return Кількість невдалих compareAndSet при захопленні позиції виробниками і споживачами.
+     */
+    public long getContendedAttempts() {
+        return contendedAttempts.sum();
+    }
+
+    /**
+     * Повертає слабко узгоджений ітератор: він обходить опубліковані комірки між позиціями
+     * споживачів і виробників на момент створення, нікого не блокуючи. Елементи, які вже забрав
+     * споживач, пропускаються, а додані після створення ітератора не потрапляють в обхід.
+     */
+    @Override
+    public Iterator<E> iterator() {
+        return new WeaklyConsistentIterator();
+    }
+
+    private final class WeaklyConsistentIterator implements Iterator<E> {
+        private final long end = enqueuePosition.get();
+        private long position = dequeuePosition.get();
+        private E next;
+
+        WeaklyConsistentIterator() {
+            advance();
+        }
+
+        @SuppressWarnings("unchecked")
+        private void advance() {
+            next = null;
+            // споживачі могли вже забрати комірки, до яких ітератор ще не дійшов
+            position = Math.max(position, dequeuePosition.get());
+            while (next == null && position < end) {
+                int index = (int) position & mask;
+                if (sequences.get(index) == position + 1) {
+                    Object element = buffer[index];
+                    // елемент дійсний, лише якщо номер комірки не змінився після його читання
+                    VarHandle.loadLoadFence();
+                    if (element != null && sequences.get(index) == position + 1) {
+                        next = (E) element;
+                    }
+                }
+                position++;
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return next != null;
+        }
+
+        @Override
+        public E next() {
+            if (next == null) {
+                throw new NoSuchElementException();
+            }
+            E element = next;
+            advance();
+            return element;
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "MpmcRingBuffer[capacity=" + buffer.length + ", size=" + size() + "]";
+    }
+}
@@ -0,0 +1,320 @@
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * Клас NameRegistry - словник рядків, який кодує кожен різний рядок цілим ідентифікатором.
+ *
+ * <p>Байти рядків зберігаються поза купою, у прямому {@link ByteBuffer} (арені), а в купі лишаються
+ * тільки масиви зсувів, хеш-кодів і рангів - по кілька int на різний рядок. Тому об'єкти, що
+ * посилаються на рядок через ідентифікатор, не тримають власних String, а однакові рядки
+ * зберігаються один раз.</p>
+ *
+ * <p>Рядки кодуються в арені по одній UTF-16 одиниці (CESU-8: сурогати - окремими трибайтовими
+ * послідовностями). У такому кодуванні беззнаковий порядок байтів збігається з порядком
+ * {@link String#compareTo}, а рядки з непарними сурогатами зберігаються без втрат. Для швидкого
+ * порівняння ведеться масив рангів - позицій рядків у відсортованому словнику; він
+ * перераховується, коли кількість нових рядків зрівнюється з кількістю вже впорядкованих,
+ * а порівняння нових рядків до перерахунку виконується за байтами арени.</p>
+ *
+ * <p>Додавання ({@link #intern}) синхронізоване; читання ({@link #nameOf}, {@link #compare},
+ * {@link #hashOf}) не використовують блокувань. Рядки з реєстру не видаляються.</p>
+ */
+public class NameRegistry {
+    private static final int INITIAL_CAPACITY = 64;
+    private static final int INITIAL_ARENA_SIZE = 1 << 12;
+    private static final int MIN_RANKED_BATCH = 64;
+
+    /**
+     * Незмінний за розміром знімок сховища; замінюється цілком, коли потрібне більше місце.
+     */
+    private static final class Storage {
+        final ByteBuffer arena;
+        // offsets[id] - початок рядка id в арені, offsets[id + 1] - його кінець
+        final int[] offsets;
+        final int[] hashes;
+
+        Storage(ByteBuffer arena, int[] offsets, int[] hashes) {
+            this.arena = arena;
+            this.offsets = offsets;
+            this.hashes = hashes;
+        }
+    }
+
+    private volatile Storage storage;
+    private volatile int size;
+    // ранги рядків з ідентифікаторами 0..ranks.length - 1
+    private volatile int[] ranks = new int[0];
+
+    // хеш-таблиця для пошуку ідентифікатора за рядком (id + 1, 0 - порожня комірка); лише під блокуванням
+    private int[] slots = new int[2 * INITIAL_CAPACITY];
+    private byte[] scratch = new byte[64];
+
+    public NameRegistry() {
+        storage = new Storage(ByteBuffer.allocateDirect(INITIAL_ARENA_SIZE), new int[INITIAL_CAPACITY + 1], new int[INITIAL_CAPACITY]);
+    }
+
+    /**
+     * @return Кількість різних рядків у реєстрі.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return Обсяг арени поза купою в байтах.
+     */
+    public int getArenaCapacity() {
+        return storage.arena.capacity();
+    }
+
+    /**
+     * Повертає ідентифікатор рядка, додаючи рядок до реєстру, якщо його ще немає.
+     *
+     * @throws NullPointerException якщо рядок дорівнює null.
+     */
+    public synchronized int intern(String name) {
+        int length = encode(name);
+        int hash = name.hashCode();
+        Storage current = storage;
+        int mask = slots.length - 1;
+        int index = spread(hash) & mask;
+        for (int slot = slots[index]; slot != 0; slot = slots[index]) {
+            int id = slot - 1;
+            if (current.hashes[id] == hash && matches(current, id, length)) {
+                return id;
+            }
+            index = (index + 1) & mask;
+        }
+
+        int id = size;
+        current = ensureCapacity(current, id + 1, current.offsets[id] + length);
+        int offset = current.offsets[id];
+        current.arena.put(offset, scratch, 0, length);
+        current.offsets[id + 1] = offset + length;
+        current.hashes[id] = hash;
+        slots[index] = id + 1;
+        // публікація: читач, який побачив новий розмір, побачить і байти рядка
+        size = id + 1;
+
+        if (2 * (id + 1) > slots.length) {
+            rehash(current);
+        }
+        if (id + 1 >= 2 * ranks.length + MIN_RANKED_BATCH) {
+            ranks = computeRanks(current, id + 1);
+        }
+        return id;
+    }
+
+    /**
+     * @return Рядок з ідентифікатором id (декодується з арени при кожному виклику).
+     */
+    public String nameOf(int id) {
+        checkId(id);
+        Storage current = storage;
+        int from = current.offsets[id];
+        int to = current.offsets[id + 1];
+        char[] chars = new char[to - from];
+        int length = 0;
+        for (int i = from; i < to; ) {
+            int lead = current.arena.get(i) & 0xFF;
+            if (lead < 0x80) {
+                chars[length++] = (char) lead;
+                i++;
+            } else if (lead < 0xE0) {
+                chars[length++] = (char) (((lead & 0x1F) << 6) | (current.arena.get(i + 1) & 0x3F));
+                i += 2;
+            } else {
+                chars[length++] = (char) (((lead & 0x0F) << 12) | ((current.arena.get(i + 1) & 0x3F) << 6)
+                        | (current.arena.get(i + 2) & 0x3F));
+                i += 3;
+            }
+        }
+        return new String(chars, 0, length);
+    }
+
+    /**
+     * @return String.hashCode() рядка з ідентифікатором id.
+     */
+    public int hashOf(int id) {
+        checkId(id);
+        return storage.hashes[id];
+    }
+
+    /**
+     * Порівнює рядки за ідентифікаторами в порядку {@link String#compareTo}, не створюючи рядків:
+     * за рангами, якщо обидва рядки вже впорядковані, інакше - за байтами арени.
+     *
+     * @return Від'ємне число, 0 або додатне число, як String.compareTo (знак збігається).
+     */
+    public int compare(int firstId, int secondId) {
+        if (firstId == secondId) {
+            return 0;
+        }
+        int[] currentRanks = ranks;
+        if (firstId < currentRanks.length && secondId < currentRanks.length) {
+            return Integer.compare(currentRanks[firstId], currentRanks[secondId]);
+        }
+        checkId(firstId);
+        checkId(secondId);
+        return compareBytes(storage, firstId, secondId);
+    }
+
+    /**
+     * Повертає ранги всіх рядків реєстру (ranks[id] - позиція рядка id у відсортованому словнику),
+     * спершу перераховуючи їх, якщо після останнього перерахунку додалися нові рядки.
+     * Масив спільний для всіх викликів, тому змінювати його не можна.
+     */
+    synchronized int[] currentRanks() {
+        if (ranks.length < size) {
+            ranks = computeRanks(storage, size);
+        }
+        return ranks;
+    }
+
+    private void checkId(int id) {
+        if (id < 0 || id >= size) {
+            throw new IllegalArgumentException("Невідомий ідентифікатор рядка: " + id);
+        }
+    }
+
+    /**
+     * Кодує рядок у scratch по одній UTF-16 одиниці (1-3 байти на одиницю).
+     *
+     * @return Кількість байтів.
+     */
+    private int encode(String name) {
+        int maxLength = 3 * name.length();
+        if (scratch.length < maxLength) {
+            scratch = new byte[Math.max(maxLength, 2 * scratch.length)];
+        }
+        int length = 0;
+        for (int i = 0; i < name.length(); i++) {
+            char value = name.charAt(i);
+            if (value < 0x80) {
+                scratch[length++] = (byte) value;
+            } else if (value < 0x800) {
+                scratch[length++] = (byte) (0xC0 | (value >> 6));
+                scratch[length++] = (byte) (0x80 | (value & 0x3F));
+            } else {
+                scratch[length++] = (byte) (0xE0 | (value >> 12));
+                scratch[length++] = (byte) (0x80 | ((value >> 6) & 0x3F));
+                scratch[length++] = (byte) (0x80 | (value & 0x3F));
+            }
+        }
+        return length;
+    }
+
+    private boolean matches(Storage current, int id, int length) {
+        int from = current.offsets[id];
+        if (current.offsets[id + 1] - from != length) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            if (current.arena.get(from + i) != scratch[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int compareBytes(Storage current, int firstId, int secondId) {
+        int firstFrom = current.offsets[firstId];
+        int firstLength = current.offsets[firstId + 1] - firstFrom;
+        int secondFrom = current.offsets[secondId];
+        int secondLength = current.offsets[secondId + 1] - secondFrom;
+        int length = Math.min(firstLength, secondLength);
+        for (int i = 0; i < length; i++) {
+            int difference = (current.arena.get(firstFrom + i) & 0xFF) - (current.arena.get(secondFrom + i) & 0xFF);
+            if (difference != 0) {
+                return difference;
+            }
+        }
+        return firstLength - secondLength;
+    }
+
+    /**
+     * Забезпечує місце для ids рядків і arenaBytes байтів; за потреби публікує нове сховище
+     * з подвоєною місткістю, куди скопійовано всі наявні дані.
+     */
+    private Storage ensureCapacity(Storage current, int ids, int arenaBytes) {
+        if (ids <= current.hashes.length && arenaBytes <= current.arena.capacity()) {
+            return current;
+        }
+        int[] offsets = current.offsets;
+        int[] hashes = current.hashes;
+        if (ids > hashes.length) {
+            hashes = Arrays.copyOf(hashes, 2 * hashes.length);
+            offsets = Arrays.copyOf(offsets, hashes.length + 1);
+        }
+        ByteBuffer arena = current.arena;
+        if (arenaBytes > arena.capacity()) {
+            long capacity = Math.max(arenaBytes, 2L * arena.capacity());
+            if (capacity > Integer.MAX_VALUE) {
+                throw new IllegalStateException("Арена реєстру рядків перевищила 2 ГБ");
+            }
+            arena = ByteBuffer.allocateDirect((int) capacity);
+            arena.put(0, current.arena, 0, offsets[size]);
+        }
+        Storage grown = new Storage(arena, offsets, hashes);
+        storage = grown;
+        return grown;
+    }
+
+    private void rehash(Storage current) {
+        int[] rehashed = new int[2 * slots.length];
+        int mask = rehashed.length - 1;
+        for (int id = 0; id < size; id++) {
+            int index = spread(current.hashes[id]) & mask;
+            while (rehashed[index] != 0) {
+                index = (index + 1) & mask;
+            }
+            rehashed[index] = id + 1;
+        }
+        slots = rehashed;
+    }
+
+    private static int spread(int hash) {
+        int mixed = hash * 0x9E3779B9;
+        return mixed ^ (mixed >>> 16);
+    }
+
+    /**
+     * Сортує ідентифікатори 0..count - 1 за байтами арени (сортування злиттям) і повертає їхні ранги.
+     */
+    private static int[] computeRanks(Storage current, int count) {
+        int[] ids = new int[count];
+        for (int i = 0; i < count; i++) {
+            ids[i] = i;
+        }
+        int[] buffer = new int[count];
+        for (int width = 1; width < count; width *= 2) {
+            for (int from = 0; from < count; from += 2 * width) {
+                int middle = Math.min(from + width, count);
+                int to = Math.min(from + 2 * width, count);
+                int left = from;
+                int right = middle;
+                for (int i = from; i < to; i++) {
+                    if (right >= to || (left < middle && compareBytes(current, ids[left], ids[right]) <= 0)) {
+                        buffer[i] = ids[left++];
+                    } else {
+                        buffer[i] = ids[right++];
+                    }
+                }
+            }
+            int[] swap = ids;
+            ids = buffer;
+            buffer = swap;
+        }
+        int[] result = new int[count];
+        for (int rank = 0; rank < count; rank++) {
+            result[ids[rank]] = rank;
+        }
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        int currentSize = size;
+        return "NameRegistry[size=" + currentSize + ", arenaBytes=" + storage.offsets[currentSize] + "]";
+    }
+}
@@ -1,7 +1,47 @@
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.LongSupplier;
+
 /**
  * Клас PerformanceTracker відстежує продуктивність операцій з даними.
+ *
+ * <p>Окрім одноразових вимірів (display*), клас веде гістограми затримок ({@link LatencyHistogram})
+ * за назвами операцій. {@link #measureOperation} виконує операцію багато разів - спершу
+ * прогрівальні ітерації без запису, щоб JIT встиг скомпілювати код, потім вимірювані - і записує
+ * кожну ітерацію в гістограму. Запис - це виклик System.nanoTime() та інкремент кошика, без
+ * виділення пам'яті. Пропускна здатність вимірюється окремим циклом тієї ж довжини, який засікає
+ * час лише на початку й наприкінці, тож виклики System.nanoTime() у ній не враховуються.
+ * {@link #displayLatencyReport()} виводить для кожної операції min/p50/p90/p99/p99.9/max
+ * та кількість операцій за секунду.</p>
  */
 public class PerformanceTracker {
+    public static final int DEFAULT_WARMUP_ITERATIONS = 10_000;
+    public static final int DEFAULT_MEASUREMENT_ITERATIONS = 100_000;
+
+    // виміри за назвою операції в порядку першого запису; доступ - під монітором самої таблиці
+    private static final Map<String, OperationStatistics> LATENCIES = new LinkedHashMap<String, OperationStatistics>();
+    // сюди додаються результати операцій, щоб JIT не викинув виміряний код як мертвий
+    private static volatile long resultSink;
+
+    /**
+     * Накопичені виміри однієї операції: гістограма затримок і загальний час циклів пропускної здатності.
+     */
+    private static final class OperationStatistics {
+        final LatencyHistogram histogram = new LatencyHistogram();
+        long throughputOperations;
+        long throughputTime;
+    }
+
+    /**
+     * Поглинає результат вимірюваного коду, щоб JIT не вилучив його як мертвий код.
+     * Тести продуктивності передають сюди контрольну суму після вимірювання.
+     *
+     * @param result Контрольна сума або інший результат вимірюваних операцій.
+     */
+    public static void consume(long result) {
+        resultSink += result;
+    }
+
     /**
      * Відображає тривалість виконання операції в наносекундах.
      * 
@@ -13,4 +53,122 @@ public class PerformanceTracker {
         long executionTime = (finishTime - startTime);
         System.out.println("\n========= Тривалість операції '" + operationName + "': " + executionTime + " нс =========");
     }
+
+    /**
+     * Відображає тривалість операції та її пропускну здатність у мегабайтах за секунду.
+     *
+     * @param startTime Початковий час операції в наносекундах.
+     * @param processedBytes Кількість оброблених байтів.
+     * @param operationName Назва операції.
+     */
+    public static void displayThroughput(long startTime, long processedBytes, String operationName) {
+        long finishTime = System.nanoTime();
+        long executionTime = Math.max(1, finishTime - startTime);
+        double megabytesPerSecond = (processedBytes / (1024.0 * 1024.0)) / (executionTime / 1_000_000_000.0);
+        System.out.println("\n========= Тривалість операції '" + operationName + "': " + executionTime + " нс, "
+                + processedBytes + " байт, " + String.format("%.2f", megabytesPerSecond) + " МБ/с =========");
+    }
+
+    /**
+     * Відображає тривалість пакетної операції та кількість оброблених елементів за секунду.
+     *
+     * @param startTime Початковий час операції в наносекундах.
+     * @param operationCount Кількість елементів, оброблених за операцію.
+     * @param operationName Назва операції.
+     */
+    public static void displayOperationRate(long startTime, long operationCount, String operationName) {
+        long finishTime = System.nanoTime();
+        long executionTime = Math.max(1, finishTime - startTime);
+        double operationsPerSecond = operationCount / (executionTime / 1_000_000_000.0);
+        System.out.println("\n========= Тривалість операції '" + operationName + "': " + executionTime + " нс, "
+                + operationCount + " елементів, " + String.format("%.0f", operationsPerSecond) + " елементів/с =========");
+    }
+
+    /**
+     * Відображає лічильники кешу: влучання, промахи, витіснення та частку влучань.
+     *
+     * @param cache Кеш, статистику якого потрібно вивести.
+     * @param cacheName Назва кешу.
+     */
+    public static void displayCacheStatistics(BoundedCache<?, ?> cache, String cacheName) {
+        System.out.println("\n========= Кеш '" + cacheName + "': " + cache.getHitCount() + " влучань, "
+                + cache.getMissCount() + " промахів, " + cache.getEvictionCount() + " витіснень, частка влучань "
+                + String.format("%.2f", 100 * cache.getHitRate()) + "%, записів " + cache.size() + " =========");
+    }
+
+    /**
+     * Вимірює операцію повторними запусками і додає затримку кожного вимірюваного запуску
+     * до гістограми операції operationName. Потім операція ще measurementIterations разів виконується
+     * одним циклом без вимірів окремих запусків - за його тривалістю обчислюється пропускна здатність.
+     *
+     * <p>Операція повертає довільне число (наприклад, знайдену позицію); результати підсумовуються,
+     * щоб JIT не викинув виклик. Сама операція не повинна виділяти пам'ять, якщо вимір має
+     * показувати лише її час: цикл вимірювання нічого не виділяє.</p>
+     *
+     * @param operationName Назва операції в звіті.
+     * @param warmupIterations Кількість прогрівальних запусків, які не записуються.
+     * @param measurementIterations Кількість вимірюваних запусків.
+     * @param operation Операція, яку можна безпечно повторювати (без побічних змін даних).
+     * @throws IllegalArgumentException якщо кількість ітерацій від'ємна або вимірюваних немає.
+     */
+    public static void measureOperation(String operationName, int warmupIterations, int measurementIterations, LongSupplier operation) {
+        if (warmupIterations < 0 || measurementIterations < 1) {
+            throw new IllegalArgumentException("Потрібні невід'ємна кількість прогрівальних і додатна кількість вимірюваних ітерацій: "
+                    + warmupIterations + ", " + measurementIterations);
+        }
+        long checksum = 0;
+        for (int i = 0; i < warmupIterations; i++) {
+            checksum += operation.getAsLong();
+        }
+
+        // вимірювання пишуться в окрему гістограму без блокувань і додаються до спільної наприкінці
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 0; i < measurementIterations; i++) {
+            long startTime = System.nanoTime();
+            checksum += operation.getAsLong();
+            histogram.record(System.nanoTime() - startTime);
+        }
+
+        long loopStart = System.nanoTime();
+        for (int i = 0; i < measurementIterations; i++) {
+            checksum += operation.getAsLong();
+        }
+        long loopTime = System.nanoTime() - loopStart;
+        resultSink += checksum;
+
+        synchronized (LATENCIES) {
+            OperationStatistics statistics = operationStatistics(operationName);
+            statistics.histogram.add(histogram);
+            statistics.throughputOperations += measurementIterations;
+            statistics.throughputTime += loopTime;
+        }
+    }
+
+    /**
+     * Виводить розподіл затримок для кожної операції, виміряної через {@link #measureOperation},
+     * у порядку першого запису.
+     */
+    public static void displayLatencyReport() {
+        synchronized (LATENCIES) {
+            for (Map.Entry<String, OperationStatistics> entry : LATENCIES.entrySet()) {
+                OperationStatistics statistics = entry.getValue();
+                LatencyHistogram histogram = statistics.histogram;
+                double operationsPerSecond = statistics.throughputOperations / (Math.max(1, statistics.throughputTime) / 1_000_000_000.0);
+                System.out.println("\n========= Затримки операції '" + entry.getKey() + "': " + histogram.getCount() + " вимірів, "
+                        + "min " + histogram.getMin() + " нс, p50 " + histogram.getValueAtPercentile(50)
+                        + " нс, p90 " + histogram.getValueAtPercentile(90) + " нс, p99 " + histogram.getValueAtPercentile(99)
+                        + " нс, p99.9 " + histogram.getValueAtPercentile(99.9) + " нс, max " + histogram.getMax() + " нс, "
+                        + String.format("%.0f", operationsPerSecond) + " операцій/с =========");
+            }
+        }
+    }
+
+    private static OperationStatistics operationStatistics(String operationName) {
+        OperationStatistics statistics = LATENCIES.get(operationName);
+        if (statistics == null) {
+            statistics = new OperationStatistics();
+            LATENCIES.put(operationName, statistics);
+        }
+        return statistics;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,344 @@
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.function.BiConsumer;
+
+/**
+ * Клас PythonOwnerMap - хеш-таблиця з відкритою адресацією (лінійне зондування) для пар
+ * «пітон - ім'я власника».
+ *
+ * <p>Ключі, їхні хеш-коди та значення зберігаються в паралельних масивах, тому запис не потребує
+ * окремого вузла, а пошук переглядає сусідні комірки одного масиву. Перед викликом equals
+ * порівнюється збережений хеш-код, а сам хеш-код {@link BasicDataOperationUsingMap.Python}
+ * кешується при створенні ключа.</p>
+ *
+ * <p>Читання ({@link #get}, {@link #containsKey}) не використовують блокувань: запис комірки
+ * публікується записом ключа з семантикою release після значення, а читач зчитує ключ
+ * з семантикою acquire і лише потім значення. Видалений ключ замінюється позначкою-надгробком,
+ * щоб не розривати ланцюжки зондування для паралельних читачів; надгробки прибираються
+ * при перебудові таблиці, яка публікується заміною volatile-посилання. Зміни (put, remove)
+ * синхронізовані між собою.</p>
+ *
+ * <p>Як і Hashtable, таблиця не допускає null-ключів і null-значень. Ітератори слабко узгоджені:
+ * вони обходять таблицю, чинну на момент створення ітератора.</p>
+ */
+public class PythonOwnerMap extends AbstractMap<BasicDataOperationUsingMap.Python, String> {
+    private static final int DEFAULT_CAPACITY = 16;
+    private static final int MAX_CAPACITY = 1 << 30;
+    private static final Object TOMBSTONE = new Object();
+    private static final VarHandle KEYS = MethodHandles.arrayElementVarHandle(Object[].class);
+    private static final VarHandle VALUES = MethodHandles.arrayElementVarHandle(String[].class);
+
+    /**
+     * Незмінний за розміром знімок таблиці: масиви, що читаються без блокувань.
+     */
+    private static final class Table {
+        final Object[] keys;
+        final int[] hashes;
+        final String[] values;
+        final int mask;
+        final int shift;
+
+        Table(int capacity) {
+            keys = new Object[capacity];
+            hashes = new int[capacity];
+            values = new String[capacity];
+            mask = capacity - 1;
+            shift = Integer.numberOfLeadingZeros(capacity) + 1;
+        }
+
+        /**
+         * Фібоначчієве хешування: старші біти добутку на 2^32/φ рівномірно розподіляють
+         * навіть близькі хеш-коди.
+         */
+        int indexFor(int hash) {
+            return (hash * 0x9E3779B9) >>> shift;
+        }
+    }
+
+    private volatile Table table;
+    private volatile int size;
+    private int tombstones;
+
+    public PythonOwnerMap() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * @param expectedSize Очікувана кількість записів; таблиця одразу виділяється з запасом,
+     *                     щоб заповнення не перевищувало половини.
+     */
+    public PythonOwnerMap(int expectedSize) {
+        if (expectedSize < 0) {
+            throw new IllegalArgumentException("Очікувана кількість записів не може бути від'ємною: " + expectedSize);
+        }
+        this.table = new Table(capacityFor(expectedSize));
+    }
+
+    private static int capacityFor(int expectedSize) {
+        long required = Math.max(DEFAULT_CAPACITY, 2L * expectedSize + 1);
+        if (required > MAX_CAPACITY) {
+            return MAX_CAPACITY;
+        }
+        return Integer.highestOneBit((int) required - 1) << 1;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return get(key) != null;
+    }
+
+    /**
+     * Пошук без блокувань: перегляд комірок від позиції хешу до першої порожньої.
+     */
+    @Override
+    public String get(Object key) {
+        if (!(key instanceof BasicDataOperationUsingMap.Python)) {
+            return null;
+        }
+        int hash = key.hashCode();
+        while (true) {
+            Table current = table;
+            for (int index = current.indexFor(hash); ; index = (index + 1) & current.mask) {
+                Object candidate = KEYS.getAcquire(current.keys, index);
+                if (candidate == null) {
+                    return null;
+                }
+                if (candidate != TOMBSTONE && current.hashes[index] == hash && key.equals(candidate)) {
+                    String value = (String) VALUES.getAcquire(current.values, index);
+                    // якщо тим часом комірку звільнили й зайняли іншим ключем, пошук повторюється
+                    if (KEYS.getAcquire(current.keys, index) == candidate) {
+                        // null означає, що запис саме видалено
+                        return value;
+                    }
+                    break;
+                }
+            }
+        }
+    }
+
+    /**
+     * @throws NullPointerException якщо ключ або значення дорівнює null.
+     */
+    @Override
+    public synchronized String put(BasicDataOperationUsingMap.Python key, String value) {
+        if (key == null || value == null) {
+            throw new NullPointerException("PythonOwnerMap не допускає null-ключів і null-значень");
+        }
+        int hash = key.hashCode();
+        Table current = table;
+        int firstTombstone = -1;
+        int index = current.indexFor(hash);
+        for (; ; index = (index + 1) & current.mask) {
+            Object candidate = current.keys[index];
+            if (candidate == null) {
+                break;
+            }
+            if (candidate == TOMBSTONE) {
+                if (firstTombstone < 0) {
+                    firstTombstone = index;
+                }
+            } else if (current.hashes[index] == hash && key.equals(candidate)) {
+                String previous = current.values[index];
+                VALUES.setRelease(current.values, index, value);
+                return previous;
+            }
+        }
+
+        if (firstTombstone >= 0) {
+            index = firstTombstone;
+            tombstones--;
+        }
+        current.hashes[index] = hash;
+        VALUES.setRelease(current.values, index, value);
+        // публікація: читач, який побачив ключ, побачить також хеш-код і значення
+        KEYS.setRelease(current.keys, index, key);
+        size++;
+        if (2L * (size + tombstones) > current.keys.length) {
+            rebuild();
+        }
+        return null;
+    }
+
+    /**
+     * Пакетне додавання під одним блокуванням. Якщо після додавання заповнення перевищило б
+     * половину, таблиця заздалегідь перебудовується під підсумковий розмір - один раз,
+     * а не кілька подвоєнь поспіль.
+     */
+    @Override
+    public synchronized void putAll(Map<? extends BasicDataOperationUsingMap.Python, ? extends String> entries) {
+        long expectedSize = (long) size + entries.size();
+        if (2 * (expectedSize + tombstones) > table.keys.length) {
+            resize(Math.max(table.keys.length, capacityFor((int) Math.min(expectedSize, MAX_CAPACITY))));
+        }
+        for (Map.Entry<? extends BasicDataOperationUsingMap.Python, ? extends String> entry : entries.entrySet()) {
+            put(entry.getKey(), entry.getValue());
+        }
+    }
+
+    @Override
+    public synchronized String remove(Object key) {
+        if (!(key instanceof BasicDataOperationUsingMap.Python)) {
+            return null;
+        }
+        int hash = key.hashCode();
+        Table current = table;
+        for (int index = current.indexFor(hash); ; index = (index + 1) & current.mask) {
+            Object candidate = current.keys[index];
+            if (candidate == null) {
+                return null;
+            }
+            if (candidate != TOMBSTONE && current.hashes[index] == hash && key.equals(candidate)) {
+                String previous = current.values[index];
+                VALUES.setRelease(current.values, index, null);
+                KEYS.setRelease(current.keys, index, TOMBSTONE);
+                size--;
+                tombstones++;
+                return previous;
+            }
+        }
+    }
+
+    @Override
+    public synchronized void clear() {
+        table = new Table(DEFAULT_CAPACITY);
+        size = 0;
+        tombstones = 0;
+    }
+
+    /**
+     * Передає всі пари без створення об'єктів Map.Entry.
+     */
+    @Override
+    public void forEach(BiConsumer<? super BasicDataOperationUsingMap.Python, ? super String> action) {
+        Table current = table;
+        for (int index = 0; index < current.keys.length; index++) {
+            Object candidate = KEYS.getAcquire(current.keys, index);
+            if (candidate != null && candidate != TOMBSTONE) {
+                String value = (String) VALUES.getAcquire(current.values, index);
+                if (value != null) {
+                    action.accept((BasicDataOperationUsingMap.Python) candidate, value);
+                }
+            }
+        }
+    }
+
+    /**
+     * Перебудовує таблицю без надгробків; якщо живих записів понад чверть місткості,
+     * місткість подвоюється. Нова таблиця публікується одним записом volatile-поля.
+     */
+    private void rebuild() {
+        int capacity = table.keys.length;
+        if (4L * size > capacity && capacity < MAX_CAPACITY) {
+            capacity <<= 1;
+        }
+        resize(capacity);
+    }
+
+    /**
+     * Переносить живі записи в нову таблицю заданої місткості.
+     */
+    private void resize(int capacity) {
+        Table current = table;
+        Table rebuilt = new Table(capacity);
+        for (int i = 0; i < current.keys.length; i++) {
+            Object candidate = current.keys[i];
+            if (candidate != null && candidate != TOMBSTONE) {
+                int index = rebuilt.indexFor(current.hashes[i]);
+                while (rebuilt.keys[index] != null) {
+                    index = (index + 1) & rebuilt.mask;
+                }
+                rebuilt.keys[index] = candidate;
+                rebuilt.hashes[index] = current.hashes[i];
+                rebuilt.values[index] = current.values[i];
+            }
+        }
+        table = rebuilt;
+        tombstones = 0;
+    }
+
+    @Override
+    public Set<Map.Entry<BasicDataOperationUsingMap.Python, String>> entrySet() {
+        return new AbstractSet<Map.Entry<BasicDataOperationUsingMap.Python, String>>() {
+            @Override
+            public Iterator<Map.Entry<BasicDataOperationUsingMap.Python, String>> iterator() {
+                return new EntryIterator();
+            }
+
+            @Override
+            public int size() {
+                return PythonOwnerMap.this.size();
+            }
+
+            @Override
+            public boolean contains(Object object) {
+                if (!(object instanceof Map.Entry)) {
+                    return false;
+                }
+                Map.Entry<?, ?> entry = (Map.Entry<?, ?>) object;
+                String value = get(entry.getKey());
+                return value != null && value.equals(entry.getValue());
+            }
+        };
+    }
+
+    private final class EntryIterator implements Iterator<Map.Entry<BasicDataOperationUsingMap.Python, String>> {
+        private final Table snapshot = table;
+        private int next = -1;
+        private BasicDataOperationUsingMap.Python lastKey;
+        private Map.Entry<BasicDataOperationUsingMap.Python, String> pending;
+
+        EntryIterator() {
+            advance();
+        }
+
+        private void advance() {
+            pending = null;
+            while (pending == null && ++next < snapshot.keys.length) {
+                Object candidate = KEYS.getAcquire(snapshot.keys, next);
+                if (candidate != null && candidate != TOMBSTONE) {
+                    String value = (String) VALUES.getAcquire(snapshot.values, next);
+                    if (value != null) {
+                        pending = new AbstractMap.SimpleImmutableEntry<BasicDataOperationUsingMap.Python, String>(
+                                (BasicDataOperationUsingMap.Python) candidate, value);
+                    }
+                }
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return pending != null;
+        }
+
+        @Override
+        public Map.Entry<BasicDataOperationUsingMap.Python, String> next() {
+            if (pending == null) {
+                throw new NoSuchElementException();
+            }
+            Map.Entry<BasicDataOperationUsingMap.Python, String> entry = pending;
+            lastKey = entry.getKey();
+            advance();
+            return entry;
+        }
+
+        @Override
+        public void remove() {
+            if (lastKey == null) {
+                throw new IllegalStateException();
+            }
+            PythonOwnerMap.this.remove(lastKey);
+            lastKey = null;
+        }
+    }
+}
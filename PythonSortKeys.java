@@ -0,0 +1,82 @@
+import java.util.Arrays;
+
+/**
+ * Клас PythonSortKeys сортує масиви ключів {@link BasicDataOperationUsingMap.Python} у природному
+ * порядку (кличка за спаданням, null-кличка в кінці; кількість плям за зростанням, null - першою)
+ * без жодного виклику Python.compareTo.
+ *
+ * <p>Для кожного ключа один раз обчислюється упакований ключ long - три поля від старших бітів:</p>
+ * <ul>
+ *   <li>інвертований ранг клички у відсортованому словнику {@link NameRegistry} (null-кличка -
+ *       найбільше значення, тобто в кінці);</li>
+ *   <li>кількість плям, зсунута на мінімум серед ключів, плюс 1 (0 - кількість не задана);</li>
+ *   <li>позиція ключа в масиві - вона робить упаковані ключі різними, сортування стабільним і
+ *       дає змогу переставити ключі після сортування.</li>
+ * </ul>
+ *
+ * <p>Масив long сортується порозрядно ({@link RadixSort}), а ключі переставляються за позиціями
+ * з молодших бітів. Якщо поля разом не вміщаються в 63 біти (дуже великий словник чи розмах
+ * кількості плям) або ключі належать різним словникам кличок, масив сортується звичайним Arrays.sort.</p>
+ */
+public class PythonSortKeys {
+    private static final int MAX_PACKED_BITS = Long.SIZE - 1;
+
+    /**
+     * Сортує ключі на місці в порядку Python.compareTo; рівні ключі зберігають взаємний порядок.
+     *
+     * @throws NullPointerException якщо масив містить null.
+     */
+    public static void sort(BasicDataOperationUsingMap.Python[] keys) {
+        int length = keys.length;
+        if (length < 2) {
+            return;
+        }
+
+        NameRegistry nicknames = keys[0].getNicknames();
+        long minSpots = Long.MAX_VALUE;
+        long maxSpots = Long.MIN_VALUE;
+        for (BasicDataOperationUsingMap.Python key : keys) {
+            if (key.getNicknames() != nicknames) {
+                // ранги є лише в межах одного словника
+                Arrays.sort(keys);
+                return;
+            }
+            if (key.hasSkinSpots()) {
+                minSpots = Math.min(minSpots, key.getSkinSpotCount());
+                maxSpots = Math.max(maxSpots, key.getSkinSpotCount());
+            }
+        }
+
+        int[] ranks = nicknames.currentRanks();
+        int nicknameBits = bitsFor(ranks.length);
+        int spotBits = minSpots > maxSpots ? 0 : bitsFor(maxSpots - minSpots + 1);
+        int indexBits = bitsFor(length - 1);
+        if (nicknameBits + spotBits + indexBits > MAX_PACKED_BITS) {
+            Arrays.sort(keys);
+            return;
+        }
+
+        long[] packed = new long[length];
+        for (int i = 0; i < length; i++) {
+            BasicDataOperationUsingMap.Python key = keys[i];
+            int nicknameId = key.getNicknameId();
+            long nickname = nicknameId == BasicDataOperationUsingMap.Python.NO_NICKNAME ? ranks.length : ranks.length - 1 - ranks[nicknameId];
+            long spots = key.hasSkinSpots() ? key.getSkinSpotCount() - minSpots + 1 : 0;
+            packed[i] = (nickname << (spotBits + indexBits)) | (spots << indexBits) | i;
+        }
+        RadixSort.sort(packed);
+
+        BasicDataOperationUsingMap.Python[] original = keys.clone();
+        long indexMask = (1L << indexBits) - 1;
+        for (int i = 0; i < length; i++) {
+            keys[i] = original[(int) (packed[i] & indexMask)];
+        }
+    }
+
+    /**
+     * @return Кількість бітів, потрібна для значень від 0 до maxValue.
+     */
+    private static int bitsFor(long maxValue) {
+        return Long.SIZE - Long.numberOfLeadingZeros(maxValue);
+    }
+}
@@ -0,0 +1,513 @@
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Клас PythonSortedIndex - B+-дерево посилань на ключі {@link BasicDataOperationUsingMap.Python}
+ * у природному порядку (кличка за спаданням, кількість плям за зростанням).
+ *
+ * <p>Ключі зберігаються у вузлах-масивах до {@link #NODE_CAPACITY} елементів, тому пошук
+ * позиції - бінарний пошук у кількох суцільних масивах, а не перехід по вузлу на кожен ключ,
+ * як у червоно-чорному дереві. Листки з'єднані в список, тож упорядкований обхід і діапазонні
+ * запити після знаходження першого ключа лише переглядають листки підряд.</p>
+ *
+ * <p>Вставлення й видалення виконуються за O(log n) з розщепленням, перерозподілом і злиттям
+ * вузлів, тому індекс не перебудовується. Клас не потокобезпечний; ітератори не підтримують
+ * видалення і не повинні використовуватися після змін індексу.</p>
+ */
+public class PythonSortedIndex implements Iterable<BasicDataOperationUsingMap.Python> {
+    static final int NODE_CAPACITY = 64;
+    private static final int MIN_FILL = NODE_CAPACITY / 2;
+
+    private abstract static class Node {
+        final BasicDataOperationUsingMap.Python[] keys = new BasicDataOperationUsingMap.Python[NODE_CAPACITY];
+        int count;
+    }
+
+    /**
+     * Листок: count відсортованих ключів і посилання на наступний листок.
+     */
+    private static final class Leaf extends Node {
+        Leaf next;
+    }
+
+    /**
+     * Внутрішній вузол: count нащадків; keys[i] (i >= 1) - роздільник: не більший за будь-який
+     * ключ піддерева children[i] і більший за ключі children[i - 1]; keys[0] не використовується.
+     */
+    private static final class Inner extends Node {
+        final Node[] children = new Node[NODE_CAPACITY];
+    }
+
+    private Node root = new Leaf();
+    private int size;
+    // ключ-роздільник, який піднімається до батька після розщеплення вузла
+    private BasicDataOperationUsingMap.Python splitKey;
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public void clear() {
+        root = new Leaf();
+        size = 0;
+    }
+
+    public boolean contains(BasicDataOperationUsingMap.Python key) {
+        Leaf leaf = findLeaf(key);
+        return searchLeaf(leaf, key) >= 0;
+    }
+
+    /**
+     * @return true, якщо ключа ще не було в індексі.
+     * @throws NullPointerException якщо ключ дорівнює null.
+     */
+    public boolean add(BasicDataOperationUsingMap.Python key) {
+        if (key == null) {
+            throw new NullPointerException("PythonSortedIndex не допускає null-ключів");
+        }
+        int sizeBefore = size;
+        Node right = insert(root, key);
+        if (right != null) {
+            Inner newRoot = new Inner();
+            newRoot.children[0] = root;
+            newRoot.children[1] = right;
+            newRoot.keys[1] = splitKey;
+            newRoot.count = 2;
+            root = newRoot;
+        }
+        return size != sizeBefore;
+    }
+
+    /**
+     * @return true, якщо ключ був в індексі.
+     */
+    public boolean remove(BasicDataOperationUsingMap.Python key) {
+        if (key == null || !delete(root, key)) {
+            return false;
+        }
+        if (root instanceof Inner && root.count == 1) {
+            root = ((Inner) root).children[0];
+        }
+        return true;
+    }
+
+    /**
+     * Замінює вміст індексу ключами, уже відсортованими в природному порядку, будуючи дерево
+     * знизу вгору за O(n) без пошуку позицій і розщеплень: ключі рівномірно розкладаються по
+     * листках, а ті - по внутрішніх вузлах, тож кожен вузол заповнений щонайменше наполовину.
+     *
+     * @param sortedKeys Ключі в порядку строгого зростання (наприклад, після {@link PythonSortKeys#sort}).
+     * @throws IllegalArgumentException якщо ключі не впорядковані або повторюються.
+     */
+    public void loadSorted(BasicDataOperationUsingMap.Python[] sortedKeys) {
+        for (int i = 1; i < sortedKeys.length; i++) {
+            if (sortedKeys[i - 1].compareTo(sortedKeys[i]) >= 0) {
+                throw new IllegalArgumentException("Ключі мають бути строго впорядковані: " + sortedKeys[i - 1] + ", " + sortedKeys[i]);
+            }
+        }
+        if (sortedKeys.length == 0) {
+            clear();
+            return;
+        }
+
+        int count = nodeCount(sortedKeys.length);
+        Node[] level = new Node[count];
+        // найменший ключ піддерева кожного вузла рівня - роздільник у батьківському вузлі
+        BasicDataOperationUsingMap.Python[] firstKeys = new BasicDataOperationUsingMap.Python[count];
+        Leaf previous = null;
+        for (int node = 0, from = 0; node < count; node++) {
+            int to = (int) ((long) sortedKeys.length * (node + 1) / count);
+            Leaf leaf = new Leaf();
+            System.arraycopy(sortedKeys, from, leaf.keys, 0, to - from);
+            leaf.count = to - from;
+            if (previous != null) {
+                previous.next = leaf;
+            }
+            previous = leaf;
+            level[node] = leaf;
+            firstKeys[node] = leaf.keys[0];
+            from = to;
+        }
+
+        while (level.length > 1) {
+            int parentCount = nodeCount(level.length);
+            Node[] parents = new Node[parentCount];
+            BasicDataOperationUsingMap.Python[] parentFirstKeys = new BasicDataOperationUsingMap.Python[parentCount];
+            for (int node = 0, from = 0; node < parentCount; node++) {
+                int to = (int) ((long) level.length * (node + 1) / parentCount);
+                Inner inner = new Inner();
+                System.arraycopy(level, from, inner.children, 0, to - from);
+                System.arraycopy(firstKeys, from + 1, inner.keys, 1, to - from - 1);
+                inner.count = to - from;
+                parents[node] = inner;
+                parentFirstKeys[node] = firstKeys[from];
+                from = to;
+            }
+            level = parents;
+            firstKeys = parentFirstKeys;
+        }
+        root = level[0];
+        size = sortedKeys.length;
+    }
+
+    /**
+     * Кількість вузлів для рівномірного розподілу elements елементів: при ceil(elements / NODE_CAPACITY)
+     * вузлах у кожному від MIN_FILL до NODE_CAPACITY елементів (корінь може мати й менше).
+     */
+    private static int nodeCount(int elements) {
+        return (elements + NODE_CAPACITY - 1) / NODE_CAPACITY;
+    }
+
+    /**
+     * @return Найменший ключ у природному порядку або null, якщо індекс порожній.
+     */
+    public BasicDataOperationUsingMap.Python first() {
+        Leaf leaf = firstLeaf();
+        return leaf.count == 0 ? null : leaf.keys[0];
+    }
+
+    /**
+     * Обхід усіх ключів у природному порядку.
+     */
+    @Override
+    public Iterator<BasicDataOperationUsingMap.Python> iterator() {
+        return new RangeIterator(firstLeaf(), 0, null);
+    }
+
+    /**
+     * Діапазонний запит без копіювання ключів.
+     *
+     * @param from Нижня межа включно або null - від початку.
+     * @param to Верхня межа не включно або null - до кінця.
+     * @return Ключі з діапазону [from, to) у природному порядку.
+     */
+    public Iterable<BasicDataOperationUsingMap.Python> range(BasicDataOperationUsingMap.Python from, BasicDataOperationUsingMap.Python to) {
+        return () -> {
+            if (from == null) {
+                return new RangeIterator(firstLeaf(), 0, to);
+            }
+            Leaf leaf = findLeaf(from);
+            int position = searchLeaf(leaf, from);
+            return new RangeIterator(leaf, position >= 0 ? position : -position - 1, to);
+        };
+    }
+
+    private Leaf firstLeaf() {
+        Node node = root;
+        while (node instanceof Inner) {
+            node = ((Inner) node).children[0];
+        }
+        return (Leaf) node;
+    }
+
+    private Leaf findLeaf(BasicDataOperationUsingMap.Python key) {
+        Node node = root;
+        while (node instanceof Inner) {
+            Inner inner = (Inner) node;
+            node = inner.children[childIndex(inner, key)];
+        }
+        return (Leaf) node;
+    }
+
+    /**
+     * @return Індекс нащадка, піддерево якого може містити ключ: останній i з keys[i] <= key.
+     */
+    private static int childIndex(Inner inner, BasicDataOperationUsingMap.Python key) {
+        int low = 1;
+        int high = inner.count - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            if (inner.keys[middle].compareTo(key) <= 0) {
+                low = middle + 1;
+            } else {
+                high = middle - 1;
+            }
+        }
+        return low - 1;
+    }
+
+    /**
+     * @return Позиція ключа в листку або -(точка вставлення) - 1, як у Arrays.binarySearch.
+     */
+    private static int searchLeaf(Leaf leaf, BasicDataOperationUsingMap.Python key) {
+        int low = 0;
+        int high = leaf.count - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            int comparison = leaf.keys[middle].compareTo(key);
+            if (comparison < 0) {
+                low = middle + 1;
+            } else if (comparison > 0) {
+                high = middle - 1;
+            } else {
+                return middle;
+            }
+        }
+        return -(low + 1);
+    }
+
+    /**
+     * Вставляє ключ у піддерево.
+     *
+     * @return Новий правий сусід, якщо вузол розщепився (роздільник - у splitKey), інакше null.
+     */
+    private Node insert(Node node, BasicDataOperationUsingMap.Python key) {
+        if (node instanceof Leaf) {
+            Leaf leaf = (Leaf) node;
+            int position = searchLeaf(leaf, key);
+            if (position >= 0) {
+                return null;
+            }
+            size++;
+            return insertIntoLeaf(leaf, -position - 1, key);
+        }
+
+        Inner inner = (Inner) node;
+        int index = childIndex(inner, key);
+        Node right = insert(inner.children[index], key);
+        if (right == null) {
+            return null;
+        }
+        return insertIntoInner(inner, index + 1, splitKey, right);
+    }
+
+    private Leaf insertIntoLeaf(Leaf leaf, int position, BasicDataOperationUsingMap.Python key) {
+        if (leaf.count < NODE_CAPACITY) {
+            System.arraycopy(leaf.keys, position, leaf.keys, position + 1, leaf.count - position);
+            leaf.keys[position] = key;
+            leaf.count++;
+            return null;
+        }
+
+        Leaf right = new Leaf();
+        int leftCount = (NODE_CAPACITY + 1) / 2;
+        if (position < leftCount) {
+            moveKeys(leaf, leftCount - 1, right, 0, NODE_CAPACITY - leftCount + 1);
+            leaf.count = leftCount - 1;
+            System.arraycopy(leaf.keys, position, leaf.keys, position + 1, leaf.count - position);
+            leaf.keys[position] = key;
+            leaf.count++;
+        } else {
+            moveKeys(leaf, leftCount, right, 0, NODE_CAPACITY - leftCount);
+            leaf.count = leftCount;
+            int rightPosition = position - leftCount;
+            System.arraycopy(right.keys, rightPosition, right.keys, rightPosition + 1, right.count - rightPosition);
+            right.keys[rightPosition] = key;
+            right.count++;
+        }
+        right.next = leaf.next;
+        leaf.next = right;
+        splitKey = right.keys[0];
+        return right;
+    }
+
+    private Inner insertIntoInner(Inner inner, int position, BasicDataOperationUsingMap.Python key, Node child) {
+        if (inner.count < NODE_CAPACITY) {
+            shiftRight(inner, position);
+            inner.keys[position] = key;
+            inner.children[position] = child;
+            inner.count++;
+            return null;
+        }
+
+        Inner right = new Inner();
+        int leftCount = (NODE_CAPACITY + 1) / 2;
+        if (position < leftCount) {
+            moveChildren(inner, leftCount - 1, right, 0, NODE_CAPACITY - leftCount + 1);
+            inner.count = leftCount - 1;
+            shiftRight(inner, position);
+            inner.keys[position] = key;
+            inner.children[position] = child;
+            inner.count++;
+        } else {
+            moveChildren(inner, leftCount, right, 0, NODE_CAPACITY - leftCount);
+            inner.count = leftCount;
+            int rightPosition = position - leftCount;
+            shiftRight(right, rightPosition);
+            right.keys[rightPosition] = key;
+            right.children[rightPosition] = child;
+            right.count++;
+        }
+        // найменший ключ правого вузла піднімається до батька, а в самому вузлі keys[0] не потрібен
+        splitKey = right.keys[0];
+        right.keys[0] = null;
+        return right;
+    }
+
+    /**
+     * Видаляє ключ із піддерева й відновлює заповненість нащадка, якщо вона впала нижче половини.
+     */
+    private boolean delete(Node node, BasicDataOperationUsingMap.Python key) {
+        if (node instanceof Leaf) {
+            Leaf leaf = (Leaf) node;
+            int position = searchLeaf(leaf, key);
+            if (position < 0) {
+                return false;
+            }
+            System.arraycopy(leaf.keys, position + 1, leaf.keys, position, leaf.count - position - 1);
+            leaf.keys[--leaf.count] = null;
+            size--;
+            return true;
+        }
+
+        Inner inner = (Inner) node;
+        int index = childIndex(inner, key);
+        if (!delete(inner.children[index], key)) {
+            return false;
+        }
+        if (inner.children[index].count < MIN_FILL) {
+            rebalance(inner, index);
+        }
+        return true;
+    }
+
+    /**
+     * Поповнює недозаповненого нащадка: позичає ключ у сусіда, якщо той заповнений більш ніж
+     * наполовину, інакше зливає обох в одного вузла.
+     */
+    private static void rebalance(Inner parent, int index) {
+        if (index > 0 && parent.children[index - 1].count > MIN_FILL) {
+            borrowFromLeft(parent, index);
+        } else if (index + 1 < parent.count && parent.children[index + 1].count > MIN_FILL) {
+            borrowFromRight(parent, index);
+        } else if (index > 0) {
+            merge(parent, index - 1);
+        } else if (parent.count > 1) {
+            merge(parent, index);
+        }
+    }
+
+    private static void borrowFromLeft(Inner parent, int index) {
+        Node left = parent.children[index - 1];
+        Node node = parent.children[index];
+        if (node instanceof Leaf) {
+            System.arraycopy(node.keys, 0, node.keys, 1, node.count);
+            node.keys[0] = left.keys[left.count - 1];
+            left.keys[--left.count] = null;
+            node.count++;
+            parent.keys[index] = node.keys[0];
+        } else {
+            Inner leftInner = (Inner) left;
+            Inner inner = (Inner) node;
+            shiftRight(inner, 0);
+            inner.keys[1] = parent.keys[index];
+            inner.children[0] = leftInner.children[leftInner.count - 1];
+            inner.count++;
+            parent.keys[index] = leftInner.keys[leftInner.count - 1];
+            leftInner.count--;
+            leftInner.keys[leftInner.count] = null;
+            leftInner.children[leftInner.count] = null;
+        }
+    }
+
+    private static void borrowFromRight(Inner parent, int index) {
+        Node node = parent.children[index];
+        Node right = parent.children[index + 1];
+        if (node instanceof Leaf) {
+            node.keys[node.count++] = right.keys[0];
+            System.arraycopy(right.keys, 1, right.keys, 0, right.count - 1);
+            right.keys[--right.count] = null;
+            parent.keys[index + 1] = right.keys[0];
+        } else {
+            Inner inner = (Inner) node;
+            Inner rightInner = (Inner) right;
+            inner.keys[inner.count] = parent.keys[index + 1];
+            inner.children[inner.count] = rightInner.children[0];
+            inner.count++;
+            parent.keys[index + 1] = rightInner.keys[1];
+            System.arraycopy(rightInner.keys, 1, rightInner.keys, 0, rightInner.count - 1);
+            System.arraycopy(rightInner.children, 1, rightInner.children, 0, rightInner.count - 1);
+            rightInner.count--;
+            rightInner.keys[0] = null;
+            rightInner.keys[rightInner.count] = null;
+            rightInner.children[rightInner.count] = null;
+        }
+    }
+
+    /**
+     * Зливає нащадка index + 1 у нащадка index і прибирає роздільник з батька.
+     */
+    private static void merge(Inner parent, int index) {
+        Node left = parent.children[index];
+        Node right = parent.children[index + 1];
+        if (left instanceof Leaf) {
+            moveKeys((Leaf) right, 0, (Leaf) left, left.count, right.count);
+            ((Leaf) left).next = ((Leaf) right).next;
+        } else {
+            Inner leftInner = (Inner) left;
+            Inner rightInner = (Inner) right;
+            int offset = leftInner.count;
+            System.arraycopy(rightInner.keys, 1, leftInner.keys, offset + 1, rightInner.count - 1);
+            System.arraycopy(rightInner.children, 0, leftInner.children, offset, rightInner.count);
+            leftInner.keys[offset] = parent.keys[index + 1];
+            leftInner.count += rightInner.count;
+        }
+        System.arraycopy(parent.keys, index + 2, parent.keys, index + 1, parent.count - index - 2);
+        System.arraycopy(parent.children, index + 2, parent.children, index + 1, parent.count - index - 2);
+        parent.count--;
+        parent.keys[parent.count] = null;
+        parent.children[parent.count] = null;
+    }
+
+    private static void moveKeys(Leaf source, int from, Leaf target, int to, int length) {
+        System.arraycopy(source.keys, from, target.keys, to, length);
+        Arrays.fill(source.keys, from, from + length, null);
+        target.count = to + length;
+    }
+
+    private static void moveChildren(Inner source, int from, Inner target, int to, int length) {
+        System.arraycopy(source.keys, from, target.keys, to, length);
+        System.arraycopy(source.children, from, target.children, to, length);
+        Arrays.fill(source.keys, from, from + length, null);
+        Arrays.fill(source.children, from, from + length, null);
+        target.count = to + length;
+    }
+
+    private static void shiftRight(Inner inner, int position) {
+        System.arraycopy(inner.keys, position, inner.keys, position + 1, inner.count - position);
+        System.arraycopy(inner.children, position, inner.children, position + 1, inner.count - position);
+    }
+
+    /**
+     * Послідовний перегляд листків від заданої позиції до верхньої межі.
+     */
+    private static final class RangeIterator implements Iterator<BasicDataOperationUsingMap.Python> {
+        private final BasicDataOperationUsingMap.Python to;
+        private Leaf leaf;
+        private int position;
+
+        RangeIterator(Leaf leaf, int position, BasicDataOperationUsingMap.Python to) {
+            this.leaf = leaf;
+            this.position = position;
+            this.to = to;
+            skipExhaustedLeaves();
+        }
+
+        private void skipExhaustedLeaves() {
+            while (leaf != null && position >= leaf.count) {
+                leaf = leaf.next;
+                position = 0;
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return leaf != null && (to == null || leaf.keys[position].compareTo(to) < 0);
+        }
+
+        @Override
+        public BasicDataOperationUsingMap.Python next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            BasicDataOperationUsingMap.Python key = leaf.keys[position++];
+            skipExhaustedLeaves();
+            return key;
+        }
+    }
+}
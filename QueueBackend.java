@@ -0,0 +1,69 @@
+import java.util.Queue;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+
+/**
+ * Реалізація потокобезпечної черги, з якою працює {@link QueueWorkloadDriver}.
+ *
+ * <ul>
+ *   <li>{@link #ARRAY_BLOCKING} - ArrayBlockingQueue: кільцевий масив під одним блокуванням;</li>
+ *   <li>{@link #LINKED_BLOCKING} - LinkedBlockingQueue: вузли та окремі блокування для голови і хвоста;</li>
+ *   <li>{@link #CONCURRENT_LINKED} - ConcurrentLinkedQueue: неблокувальна, але необмежена
+ *       (місткість не обмежує виробників);</li>
+ *   <li>{@link #RING_BUFFER} - {@link MpmcRingBuffer}: обмежений неблокувальний кільцевий буфер.</li>
+ * </ul>
+ */
+public enum QueueBackend {
+    ARRAY_BLOCKING("array", "ArrayBlockingQueue"),
+    LINKED_BLOCKING("linked", "LinkedBlockingQueue"),
+    CONCURRENT_LINKED("concurrent", "ConcurrentLinkedQueue"),
+    RING_BUFFER("ring", "MpmcRingBuffer");
+
+    private final String optionValue;
+    private final String displayName;
+
+    QueueBackend(String optionValue, String displayName) {
+        this.optionValue = optionValue;
+        this.displayName = displayName;
+    }
+
+    public String getOptionValue() {
+        return optionValue;
+    }
+
+    public String getDisplayName() {
+        return displayName;
+    }
+
+    /**
+     * @param capacity Місткість черги (для ConcurrentLinkedQueue не використовується).
+     * @return Нова порожня черга обраної реалізації.
+     */
+    public Queue<Character> createQueue(int capacity) {
+        switch (this) {
+            case ARRAY_BLOCKING:
+                return new ArrayBlockingQueue<Character>(capacity);
+            case LINKED_BLOCKING:
+                return new LinkedBlockingQueue<Character>(capacity);
+            case CONCURRENT_LINKED:
+                return new ConcurrentLinkedQueue<Character>();
+            default:
+                return new MpmcRingBuffer<Character>(capacity);
+        }
+    }
+
+    /**
+     * Визначає реалізацію за значенням параметра командного рядка (array, linked, concurrent, ring).
+     *
+     * @throws IllegalArgumentException якщо значення невідоме.
+     */
+    public static QueueBackend fromOptionValue(String value) {
+        for (QueueBackend backend : values()) {
+            if (backend.optionValue.equalsIgnoreCase(value)) {
+                return backend;
+            }
+        }
+        throw new IllegalArgumentException("Невідома реалізація черги: " + value + " (array, linked, concurrent, ring)");
+    }
+}
@@ -0,0 +1,388 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Клас QueueWorkloadDriver - навантажувальний режим «виробники/споживачі» для черг {@link QueueBackend}.
+ *
+ * <p>N потоків-виробників передають записи з файлу даних в обмежену чергу, а M потоків-споживачів
+ * забирають їх пакетами (drainTo). Якщо черга заповнена або порожня, потік поступається
+ * процесором (Thread.yield) і повторює спробу. Для кожного запуску виводяться:</p>
+ * <ul>
+ *   <li>пропускна здатність - переданих записів за секунду;</li>
+ *   <li>p50/p99 затримки запису одного елемента і вилучення одного пакета ({@link LatencyHistogram});</li>
+ *   <li>конкуренція - повтори запису в заповнену чергу, порожні опитування споживачів
+ *       та (для {@link MpmcRingBuffer}) невдалі compareAndSet на 1000 записів.</li>
+ * </ul>
+ *
+ * <p>Файл даних читається один раз через {@link DataFileHandler}; він значно менший за потрібну
+ * кількість записів, тому потік записів проходить його масив по колу. Кожен виробник обходить
+ * свою частину потоку безпосередньо в завантаженому масиві char і упаковує запис перед
+ * записом у чергу, тож пам'ять не залежить від кількості записів.</p>
+ *
+ * <p>Приклад використання (реалізація або all, найбільша кількість потоків з кожного боку, кількість записів):</p>
+ * <pre>
+ * {@code
+ * java QueueWorkloadDriver list/Character.data
+ * java QueueWorkloadDriver list/Character.data ring 8 5000000
+ * }
+ * </pre>
+ */
+public class QueueWorkloadDriver {
+    public static final int DEFAULT_CAPACITY = 1024;
+    public static final int DEFAULT_BATCH_SIZE = 64;
+    public static final int DEFAULT_RECORD_COUNT = 1_000_000;
+    public static final int DEFAULT_MAX_THREADS = 4;
+
+    private static final String USAGE_MESSAGE = "Використання: java QueueWorkloadDriver <файл-даних> [array|linked|concurrent|ring|all] [макс.-потоків] [записів]\n" +
+            "Приклад:\n" +
+            "  java QueueWorkloadDriver list/Character.data ring 8 5000000";
+
+    private final QueueBackend backend;
+    private final int producers;
+    private final int consumers;
+    private final int capacity;
+    private final int batchSize;
+
+    /**
+     * @param backend Реалізація черги.
+     * @param producers Кількість потоків-виробників.
+     * @param consumers Кількість потоків-споживачів.
+     * @param capacity Місткість черги.
+     * @param batchSize Найбільший розмір пакета, який споживач забирає за один виклик.
+     */
+    public QueueWorkloadDriver(QueueBackend backend, int producers, int consumers, int capacity, int batchSize) {
+        if (producers < 1 || consumers < 1 || capacity < 1 || batchSize < 1) {
+            throw new IllegalArgumentException("Кількість потоків, місткість і розмір пакета мають бути додатними");
+        }
+        this.backend = backend;
+        this.producers = producers;
+        this.consumers = consumers;
+        this.capacity = capacity;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Результат одного запуску навантаження.
+     */
+    public static class Result {
+        private final long recordCount;
+        private final long elapsedNanos;
+        private final LatencyHistogram enqueueLatency;
+        private final LatencyHistogram dequeueLatency;
+        private final long fullRetries;
+        private final long emptyPolls;
+        private final long contendedAttempts;
+
+        Result(long recordCount, long elapsedNanos, LatencyHistogram enqueueLatency, LatencyHistogram dequeueLatency,
+                long fullRetries, long emptyPolls, long contendedAttempts) {
+            this.recordCount = recordCount;
+            this.elapsedNanos = elapsedNanos;
+            this.enqueueLatency = enqueueLatency;
+            this.dequeueLatency = dequeueLatency;
+            this.fullRetries = fullRetries;
+            this.emptyPolls = emptyPolls;
+            this.contendedAttempts = contendedAttempts;
+        }
+
+        public long getRecordCount() {
+            return recordCount;
+        }
+
+        public long getElapsedNanos() {
+            return elapsedNanos;
+        }
+
+        public double getOperationsPerSecond() {
+            return recordCount * 1e9 / Math.max(1, elapsedNanos);
+        }
+
+        /**
+         * @return Затримки запису одного елемента (разом з повторами, якщо черга була заповнена).
+         */
+        public LatencyHistogram getEnqueueLatency() {
+            return enqueueLatency;
+        }
+
+        /**
+         * @return Затримки вилучення одного непорожнього пакета.
+         */
+        public LatencyHistogram getDequeueLatency() {
+            return dequeueLatency;
+        }
+
+        public long getFullRetries() {
+            return fullRetries;
+        }
+
+        public long getEmptyPolls() {
+            return emptyPolls;
+        }
+
+        /**
+         * @return Невдалі compareAndSet у {@link MpmcRingBuffer} або -1 для інших реалізацій.
+         */
+        public long getContendedAttempts() {
+            return contendedAttempts;
+        }
+    }
+
+    /**
+     * Передає recordCount записів (значення масиву по колу) від виробників до споживачів.
+     *
+     * @param values Записи з файлу даних.
+     * @param recordCount Загальна кількість записів.
+     * @return Результат вимірювань.
+     * @throws IllegalStateException якщо споживачі отримали не ті записи, що надіслали виробники.
+     */
+    public Result run(char[] values, int recordCount) {
+        if (values.length == 0) {
+            throw new IllegalArgumentException("Немає записів для передачі");
+        }
+        long expectedChecksum = 0;
+        for (int i = 0; i < recordCount; i++) {
+            expectedChecksum += values[i % values.length];
+        }
+
+        Queue<Character> queue = backend.createQueue(capacity);
+        AtomicLong consumed = new AtomicLong();
+        CountDownLatch ready = new CountDownLatch(producers + consumers);
+        CountDownLatch start = new CountDownLatch(1);
+
+        Producer[] producerTasks = new Producer[producers];
+        Consumer[] consumerTasks = new Consumer[consumers];
+        List<Thread> threads = new ArrayList<Thread>();
+        for (int i = 0; i < producers; i++) {
+            int from = (int) ((long) recordCount * i / producers);
+            int to = (int) ((long) recordCount * (i + 1) / producers);
+            producerTasks[i] = new Producer(queue, values, from, to, ready, start);
+            threads.add(new Thread(producerTasks[i], "producer-" + i));
+        }
+        for (int i = 0; i < consumers; i++) {
+            consumerTasks[i] = new Consumer(queue, batchSize, recordCount, consumed, ready, start);
+            threads.add(new Thread(consumerTasks[i], "consumer-" + i));
+        }
+
+        for (Thread thread : threads) {
+            thread.start();
+        }
+        long timeStart;
+        try {
+            ready.await();
+            timeStart = System.nanoTime();
+            start.countDown();
+            for (Thread thread : threads) {
+                thread.join();
+            }
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Навантаження перервано", exception);
+        }
+        long elapsedNanos = System.nanoTime() - timeStart;
+
+        LatencyHistogram enqueueLatency = new LatencyHistogram();
+        LatencyHistogram dequeueLatency = new LatencyHistogram();
+        long fullRetries = 0;
+        long emptyPolls = 0;
+        long checksum = 0;
+        for (Producer producer : producerTasks) {
+            enqueueLatency.add(producer.latency);
+            fullRetries += producer.fullRetries;
+        }
+        for (Consumer consumer : consumerTasks) {
+            dequeueLatency.add(consumer.latency);
+            emptyPolls += consumer.emptyPolls;
+            checksum += consumer.checksum;
+        }
+        if (checksum != expectedChecksum || consumed.get() != recordCount) {
+            throw new IllegalStateException("Споживачі отримали " + consumed.get() + " записів з контрольною сумою "
+                    + checksum + " замість " + recordCount + " із сумою " + expectedChecksum);
+        }
+        long contendedAttempts = queue instanceof MpmcRingBuffer
+                ? ((MpmcRingBuffer<Character>) queue).getContendedAttempts()
+                : -1;
+        return new Result(recordCount, elapsedNanos, enqueueLatency, dequeueLatency, fullRetries, emptyPolls, contendedAttempts);
+    }
+
+    /**
+     * Забирає до maxElements елементів одним викликом drainTo, якщо черга його підтримує,
+     * інакше - послідовними poll.
+     */
+    private static int drain(Queue<Character> queue, Collection<Character> target, int maxElements) {
+        if (queue instanceof BlockingQueue) {
+            return ((BlockingQueue<Character>) queue).drainTo(target, maxElements);
+        }
+        if (queue instanceof MpmcRingBuffer) {
+            return ((MpmcRingBuffer<Character>) queue).drainTo(target, maxElements);
+        }
+        int drained = 0;
+        Character element;
+        while (drained < maxElements && (element = queue.poll()) != null) {
+            target.add(element);
+            drained++;
+        }
+        return drained;
+    }
+
+    private static void awaitStart(CountDownLatch ready, CountDownLatch start) {
+        ready.countDown();
+        try {
+            start.await();
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Виробник передає записи з номерами [from, to) загального потоку; запис з номером i - це
+     * значення values[i % values.length] з файлу даних, упаковане безпосередньо перед записом у чергу.
+     */
+    private static class Producer implements Runnable {
+        private final Queue<Character> queue;
+        private final char[] values;
+        private final int from;
+        private final int to;
+        private final CountDownLatch ready;
+        private final CountDownLatch start;
+        private final LatencyHistogram latency = new LatencyHistogram();
+        private long fullRetries;
+
+        Producer(Queue<Character> queue, char[] values, int from, int to, CountDownLatch ready, CountDownLatch start) {
+            this.queue = queue;
+            this.values = values;
+            this.from = from;
+            this.to = to;
+            this.ready = ready;
+            this.start = start;
+        }
+
+        @Override
+        public void run() {
+            awaitStart(ready, start);
+            int index = from % values.length;
+            for (int i = from; i < to; i++) {
+                Character record = values[index];
+                if (++index == values.length) {
+                    index = 0;
+                }
+                // затримка запису не включає упаковку запису
+                long timeStart = System.nanoTime();
+                while (!queue.offer(record)) {
+                    fullRetries++;
+                    Thread.yield();
+                }
+                latency.record(System.nanoTime() - timeStart);
+            }
+        }
+    }
+
+    private static class Consumer implements Runnable {
+        private final Queue<Character> queue;
+        private final int batchSize;
+        private final long recordCount;
+        private final AtomicLong consumed;
+        private final CountDownLatch ready;
+        private final CountDownLatch start;
+        private final LatencyHistogram latency = new LatencyHistogram();
+        private long emptyPolls;
+        private long checksum;
+
+        Consumer(Queue<Character> queue, int batchSize, long recordCount, AtomicLong consumed,
+                CountDownLatch ready, CountDownLatch start) {
+            this.queue = queue;
+            this.batchSize = batchSize;
+            this.recordCount = recordCount;
+            this.consumed = consumed;
+            this.ready = ready;
+            this.start = start;
+        }
+
+        @Override
+        public void run() {
+            awaitStart(ready, start);
+            List<Character> batch = new ArrayList<Character>(batchSize);
+            while (consumed.get() < recordCount) {
+                long timeStart = System.nanoTime();
+                int drained = drain(queue, batch, batchSize);
+                if (drained == 0) {
+                    emptyPolls++;
+                    Thread.yield();
+                    continue;
+                }
+                latency.record(System.nanoTime() - timeStart);
+                consumed.addAndGet(drained);
+                for (Character record : batch) {
+                    checksum += record;
+                }
+                batch.clear();
+            }
+        }
+    }
+
+    /**
+     * Виконує навантаження для кожної реалізації з 1, 2, 4, ... maxThreads виробниками
+     * і стільки ж споживачами та виводить таблицю результатів.
+     *
+     * @param values Записи з файлу даних.
+     * @param backends Реалізації черги.
+     * @param maxThreads Найбільша кількість потоків з кожного боку.
+     * @param recordCount Кількість записів в одному запуску.
+     */
+    public static void printScalingTable(char[] values, List<QueueBackend> backends, int maxThreads, int recordCount) {
+        System.out.printf("%-22s %4s %4s %14s %10s %10s %12s %12s %10s %10s %10s%n", "черга", "P", "C", "записів/с",
+                "p50 зап.", "p99 зап.", "p50 пакета", "p99 пакета", "повтори", "порожні", "CAS");
+        for (QueueBackend backend : backends) {
+            // прогрів: JIT-компіляція шляхів запису та вилучення не потрапляє у вимірювання
+            new QueueWorkloadDriver(backend, 1, 1, DEFAULT_CAPACITY, DEFAULT_BATCH_SIZE).run(values, Math.max(1, recordCount / 10));
+            for (int threads = 1; threads <= maxThreads; threads *= 2) {
+                Result result = new QueueWorkloadDriver(backend, threads, threads, DEFAULT_CAPACITY, DEFAULT_BATCH_SIZE)
+                        .run(values, recordCount);
+                double perThousand = 1000.0 / result.getRecordCount();
+                System.out.printf("%-22s %4d %4d %14.0f %10d %10d %12d %12d %10.2f %10.2f %10s%n",
+                        backend.getDisplayName(), threads, threads, result.getOperationsPerSecond(),
+                        result.getEnqueueLatency().getValueAtPercentile(50),
+                        result.getEnqueueLatency().getValueAtPercentile(99),
+                        result.getDequeueLatency().getValueAtPercentile(50),
+                        result.getDequeueLatency().getValueAtPercentile(99),
+                        result.getFullRetries() * perThousand, result.getEmptyPolls() * perThousand,
+                        result.getContendedAttempts() < 0 ? "-"
+                                : String.format("%.2f", result.getContendedAttempts() * perThousand));
+            }
+        }
+        System.out.println("Затримки в наносекундах; повтори, порожні опитування та CAS-конфлікти - на 1000 записів.");
+    }
+
+    /**
+     * Розбирає назву реалізації черги; значення all означає всі реалізації.
+     */
+    static List<QueueBackend> parseBackends(String value) {
+        if (value.equalsIgnoreCase("all")) {
+            return Arrays.asList(QueueBackend.values());
+        }
+        return Arrays.asList(QueueBackend.fromOptionValue(value));
+    }
+
+    public static void main(String[] args) {
+        if (args.length < 1 || args.length > 4) {
+            System.out.println(USAGE_MESSAGE);
+            return;
+        }
+
+        try {
+            List<QueueBackend> backends = args.length > 1 ? parseBackends(args[1]) : parseBackends("all");
+            int maxThreads = args.length > 2 ? Integer.parseInt(args[2]) : DEFAULT_MAX_THREADS;
+            int recordCount = args.length > 3 ? Integer.parseInt(args[3]) : DEFAULT_RECORD_COUNT;
+
+            char[] values = DataFileHandler.loadCharArrayFromFile(args[0]);
+            printScalingTable(values, backends, maxThreads, recordCount);
+        } catch (RuntimeException exception) {
+            System.out.println("❌ Помилка навантажувального режиму черги: " + exception.getMessage());
+            exception.printStackTrace();
+        }
+    }
+}
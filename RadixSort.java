@@ -0,0 +1,228 @@
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.IntConsumer;
+import java.util.stream.IntStream;
+
+/**
+ * Клас RadixSort реалізує паралельне порозрядне сортування (LSD radix sort)
+ * для примітивних масивів int, long, float та double.
+ *
+ * <p>Масив ділиться на блоки, для кожного блока паралельно рахується гістограма
+ * поточного байта, після чого блоки паралельно розкладають елементи у допоміжний масив.
+ * Проходи, у яких усі елементи мають однаковий байт, пропускаються.</p>
+ *
+ * <p>Числа з плаваючою комою перетворюються на впорядковані цілі ключі (інверсія бітів
+ * від'ємних значень), тому порядок збігається з {@link Float#compare(float, float)} та
+ * {@link Double#compare(double, double)}: від'ємні значення та субнормальні числа
+ * впорядковуються за величиною, -0.0 йде перед 0.0, а NaN - в кінці. Усі NaN після
+ * сортування мають канонічне представлення.</p>
+ */
+public class RadixSort {
+    private static final int RADIX_BITS = 8;
+    private static final int RADIX = 1 << RADIX_BITS;
+    private static final int DIGIT_MASK = RADIX - 1;
+
+    /** Менші масиви сортуються {@link Arrays#sort}, де накладні витрати гістограм не окупаються. */
+    private static final int RADIX_THRESHOLD = 1 << 12;
+    private static final int MIN_BLOCK_SIZE = 1 << 16;
+
+    public static void sort(int[] values) {
+        if (values.length < RADIX_THRESHOLD) {
+            Arrays.sort(values);
+            return;
+        }
+        sortInts(values, new int[values.length]);
+    }
+
+    public static void sort(long[] values) {
+        if (values.length < RADIX_THRESHOLD) {
+            Arrays.sort(values);
+            return;
+        }
+        sortLongs(values, new long[values.length]);
+    }
+
+    public static void sort(float[] values) {
+        if (values.length < RADIX_THRESHOLD) {
+            Arrays.sort(values);
+            return;
+        }
+        int[] keys = new int[values.length];
+        Arrays.parallelSetAll(keys, i -> floatToSortableInt(values[i]));
+        sortInts(keys, new int[values.length]);
+        IntStream.range(0, values.length).parallel().forEach(i -> values[i] = sortableIntToFloat(keys[i]));
+    }
+
+    public static void sort(double[] values) {
+        if (values.length < RADIX_THRESHOLD) {
+            Arrays.sort(values);
+            return;
+        }
+        long[] keys = new long[values.length];
+        Arrays.parallelSetAll(keys, i -> doubleToSortableLong(values[i]));
+        sortLongs(keys, new long[values.length]);
+        IntStream.range(0, values.length).parallel().forEach(i -> values[i] = sortableLongToDouble(keys[i]));
+    }
+
+    /**
+     * Перетворює float на ціле число, порядок якого (зі знаком) збігається з {@link Float#compare}.
+     */
+    public static int floatToSortableInt(float value) {
+        int bits = Float.floatToIntBits(value);
+        return bits ^ ((bits >> 31) & Integer.MAX_VALUE);
+    }
+
+    public static float sortableIntToFloat(int key) {
+        return Float.intBitsToFloat(key ^ ((key >> 31) & Integer.MAX_VALUE));
+    }
+
+    /**
+     * Перетворює double на ціле число, порядок якого (зі знаком) збігається з {@link Double#compare}.
+     */
+    public static long doubleToSortableLong(double value) {
+        long bits = Double.doubleToLongBits(value);
+        return bits ^ ((bits >> 63) & Long.MAX_VALUE);
+    }
+
+    public static double sortableLongToDouble(long key) {
+        return Double.longBitsToDouble(key ^ ((key >> 63) & Long.MAX_VALUE));
+    }
+
+    private static void sortInts(int[] values, int[] buffer) {
+        int length = values.length;
+        int blockCount = blockCount(length);
+        int blockSize = (length + blockCount - 1) / blockCount;
+        int[][] histograms = new int[blockCount][RADIX];
+
+        int[] source = values;
+        int[] target = buffer;
+        for (int shift = 0; shift < Integer.SIZE; shift += RADIX_BITS) {
+            final int[] from = source;
+            final int[] to = target;
+            final int digitShift = shift;
+
+            forEachBlock(blockCount, block -> {
+                int[] histogram = histograms[block];
+                Arrays.fill(histogram, 0);
+                int end = Math.min(length, (block + 1) * blockSize);
+                for (int i = block * blockSize; i < end; i++) {
+                    histogram[intDigit(from[i], digitShift)]++;
+                }
+            });
+
+            if (!toBlockOffsets(histograms, length)) {
+                continue;
+            }
+
+            forEachBlock(blockCount, block -> {
+                int[] offsets = histograms[block];
+                int end = Math.min(length, (block + 1) * blockSize);
+                for (int i = block * blockSize; i < end; i++) {
+                    int value = from[i];
+                    to[offsets[intDigit(value, digitShift)]++] = value;
+                }
+            });
+
+            source = to;
+            target = from;
+        }
+
+        if (source != values) {
+            System.arraycopy(source, 0, values, 0, length);
+        }
+    }
+
+    private static void sortLongs(long[] values, long[] buffer) {
+        int length = values.length;
+        int blockCount = blockCount(length);
+        int blockSize = (length + blockCount - 1) / blockCount;
+        int[][] histograms = new int[blockCount][RADIX];
+
+        long[] source = values;
+        long[] target = buffer;
+        for (int shift = 0; shift < Long.SIZE; shift += RADIX_BITS) {
+            final long[] from = source;
+            final long[] to = target;
+            final int digitShift = shift;
+
+            forEachBlock(blockCount, block -> {
+                int[] histogram = histograms[block];
+                Arrays.fill(histogram, 0);
+                int end = Math.min(length, (block + 1) * blockSize);
+                for (int i = block * blockSize; i < end; i++) {
+                    histogram[longDigit(from[i], digitShift)]++;
+                }
+            });
+
+            if (!toBlockOffsets(histograms, length)) {
+                continue;
+            }
+
+            forEachBlock(blockCount, block -> {
+                int[] offsets = histograms[block];
+                int end = Math.min(length, (block + 1) * blockSize);
+                for (int i = block * blockSize; i < end; i++) {
+                    long value = from[i];
+                    to[offsets[longDigit(value, digitShift)]++] = value;
+                }
+            });
+
+            source = to;
+            target = from;
+        }
+
+        if (source != values) {
+            System.arraycopy(source, 0, values, 0, length);
+        }
+    }
+
+    /**
+     * Перетворює гістограми блоків на початкові позиції запису: спочатку за цифрою,
+     * потім за номером блока, що зберігає стабільність сортування.
+     *
+     * @return false, якщо всі елементи мають однакову цифру і прохід можна пропустити.
+     */
+    private static boolean toBlockOffsets(int[][] histograms, int length) {
+        for (int digit = 0; digit < RADIX; digit++) {
+            int total = 0;
+            for (int[] histogram : histograms) {
+                total += histogram[digit];
+            }
+            if (total == length) {
+                return false;
+            }
+        }
+
+        int running = 0;
+        for (int digit = 0; digit < RADIX; digit++) {
+            for (int[] histogram : histograms) {
+                int count = histogram[digit];
+                histogram[digit] = running;
+                running += count;
+            }
+        }
+        return true;
+    }
+
+    // інверсія знакового біта робить порядок беззнакових цифр таким самим, як порядок чисел зі знаком
+    private static int intDigit(int value, int shift) {
+        return ((value ^ Integer.MIN_VALUE) >>> shift) & DIGIT_MASK;
+    }
+
+    private static int longDigit(long value, int shift) {
+        return (int) ((value ^ Long.MIN_VALUE) >>> shift) & DIGIT_MASK;
+    }
+
+    private static int blockCount(int length) {
+        int parallelism = ForkJoinPool.getCommonPoolParallelism();
+        return Math.max(1, Math.min(parallelism * 2, length / MIN_BLOCK_SIZE));
+    }
+
+    private static void forEachBlock(int blockCount, IntConsumer action) {
+        if (blockCount == 1) {
+            action.accept(0);
+        } else {
+            IntStream.range(0, blockCount).parallel().forEach(action);
+        }
+    }
+}
@@ -0,0 +1,258 @@
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Клас RunOptions містить додаткові параметри запуску {@link BasicDataOperation}.
+ *
+ * <p>Підтримувані параметри:</p>
+ * <ul>
+ *   <li>{@code --probes=<символи>} - кожен символ рядка є окремим значенням для пакетного пошуку;</li>
+ *   <li>{@code --probes-file=<файл>} - значення для пакетного пошуку, по одному символу в рядку;</li>
+ *   <li>{@code --eytzinger-search} - пошук у відсортованому масиві через {@link EytzingerIndex}
+ *       замість {@link java.util.Arrays#binarySearch};</li>
+ *   <li>{@code --range=<від>..<до>} - підрахунок елементів у діапазоні символів (межі включно);</li>
+ *   <li>{@code --list-backend=linked|array|primitive} - реалізація списку для обробки List (див. {@link ListBackend});</li>
+ *   <li>{@code --queue-workload=array|linked|concurrent|ring|all} - навантажувальний режим «виробники/споживачі»
+ *       для обраних черг (див. {@link QueueWorkloadDriver});</li>
+ *   <li>{@code --queue-threads=<N>} - найбільша кількість виробників і споживачів у навантажувальному режимі;</li>
+ *   <li>{@code --cache=<політика>} або {@code --cache=<політика>:<місткість>} - лише для
+ *       {@link BasicDataOperationUsingMap} ({@link BasicDataOperation} його відхиляє): обробка Map шукає власника
+ *       за ключем через обмежений кеш {@link BoundedCache} політики lru, clock або tinylfu (див. {@link CachePolicy});</li>
+ *   <li>{@code --latency} або {@code --latency=<прогрів>:<вимірів>} - повторні виміри пошукових операцій (в обробці Map - усіх операцій таблиць)
+ *       з прогрівом і звіт про розподіл затримок (див. {@link PerformanceTracker#measureOperation}).</li>
+ * </ul>
+ */
+public class RunOptions {
+    private static final String PROBES_OPTION = "--probes=";
+    private static final String PROBES_FILE_OPTION = "--probes-file=";
+    private static final String EYTZINGER_SEARCH_OPTION = "--eytzinger-search";
+    private static final String RANGE_OPTION = "--range=";
+    private static final String RANGE_SEPARATOR = "..";
+    private static final String LIST_BACKEND_OPTION = "--list-backend=";
+    private static final String QUEUE_WORKLOAD_OPTION = "--queue-workload=";
+    private static final String QUEUE_THREADS_OPTION = "--queue-threads=";
+    private static final String CACHE_OPTION = "--cache=";
+    private static final String LATENCY_OPTION = "--latency";
+    private static final String ITERATIONS_SEPARATOR = ":";
+
+    private char[] probes;
+    private boolean eytzingerSearch;
+    private boolean hasRange;
+    private char rangeFrom;
+    private char rangeTo;
+    private ListBackend listBackend = ListBackend.LINKED_LIST;
+    private List<QueueBackend> queueWorkloadBackends = Collections.emptyList();
+    private int queueThreads = QueueWorkloadDriver.DEFAULT_MAX_THREADS;
+    private CachePolicy cachePolicy;
+    private long cacheCapacity;
+    private boolean measuresLatency;
+    private int latencyWarmupIterations = PerformanceTracker.DEFAULT_WARMUP_ITERATIONS;
+    private int latencyMeasurementIterations = PerformanceTracker.DEFAULT_MEASUREMENT_ITERATIONS;
+
+    /**
+     * Розбирає параметри командного рядка, що йдуть після пошукового значення.
+     *
+     * @param args Аргументи командного рядка.
+     * @param fromIndex Індекс першого параметра.
+     * @return Розібрані параметри.
+     * @throws IllegalArgumentException якщо параметр невідомий.
+     */
+    public static RunOptions parse(String[] args, int fromIndex) {
+        RunOptions options = new RunOptions();
+        for (int i = fromIndex; i < args.length; i++) {
+            String argument = args[i];
+            if (argument.startsWith(PROBES_OPTION)) {
+                options.addProbes(argument.substring(PROBES_OPTION.length()).toCharArray());
+            } else if (argument.startsWith(PROBES_FILE_OPTION)) {
+                options.addProbes(DataFileHandler.loadCharArrayFromFile(argument.substring(PROBES_FILE_OPTION.length())));
+            } else if (argument.equals(EYTZINGER_SEARCH_OPTION)) {
+                options.eytzingerSearch = true;
+            } else if (argument.startsWith(RANGE_OPTION)) {
+                options.parseRange(argument.substring(RANGE_OPTION.length()));
+            } else if (argument.startsWith(LIST_BACKEND_OPTION)) {
+                options.listBackend = ListBackend.fromOptionValue(argument.substring(LIST_BACKEND_OPTION.length()));
+            } else if (argument.startsWith(QUEUE_WORKLOAD_OPTION)) {
+                options.queueWorkloadBackends = QueueWorkloadDriver.parseBackends(argument.substring(QUEUE_WORKLOAD_OPTION.length()));
+            } else if (argument.startsWith(QUEUE_THREADS_OPTION)) {
+                options.queueThreads = parsePositive(argument.substring(QUEUE_THREADS_OPTION.length()), QUEUE_THREADS_OPTION);
+            } else if (argument.startsWith(CACHE_OPTION)) {
+                options.parseCache(argument.substring(CACHE_OPTION.length()));
+            } else if (argument.equals(LATENCY_OPTION)) {
+                options.measuresLatency = true;
+            } else if (argument.startsWith(LATENCY_OPTION + "=")) {
+                options.parseLatencyIterations(argument.substring(LATENCY_OPTION.length() + 1));
+            } else {
+                throw new IllegalArgumentException("Невідомий параметр: " + argument);
+            }
+        }
+        return options;
+    }
+
+    private static int parsePositive(String value, String option) {
+        try {
+            int parsed = Integer.parseInt(value);
+            if (parsed > 0) {
+                return parsed;
+            }
+        } catch (NumberFormatException exception) {
+            // повідомлення нижче
+        }
+        throw new IllegalArgumentException("Параметр " + option + " має бути додатним цілим числом: " + value);
+    }
+
+    private void parseLatencyIterations(String iterations) {
+        int separator = iterations.indexOf(ITERATIONS_SEPARATOR);
+        if (separator < 0) {
+            throw new IllegalArgumentException("Кількість ітерацій має бути у форматі <прогрів>:<вимірів>: " + iterations);
+        }
+        String warmup = iterations.substring(0, separator);
+        try {
+            latencyWarmupIterations = Integer.parseInt(warmup);
+        } catch (NumberFormatException exception) {
+            latencyWarmupIterations = -1;
+        }
+        if (latencyWarmupIterations < 0) {
+            throw new IllegalArgumentException("Кількість прогрівальних ітерацій має бути невід'ємним цілим числом: " + warmup);
+        }
+        latencyMeasurementIterations = parsePositive(iterations.substring(separator + 1), LATENCY_OPTION);
+        measuresLatency = true;
+    }
+
+    private void parseCache(String cache) {
+        int separator = cache.indexOf(ITERATIONS_SEPARATOR);
+        if (separator < 0) {
+            cachePolicy = CachePolicy.fromOptionValue(cache);
+            cacheCapacity = 0;
+            return;
+        }
+        cachePolicy = CachePolicy.fromOptionValue(cache.substring(0, separator));
+        cacheCapacity = parsePositive(cache.substring(separator + 1), CACHE_OPTION);
+    }
+
+    private void parseRange(String range) {
+        int separator = range.indexOf(RANGE_SEPARATOR);
+        if (separator != 1 || range.length() != separator + RANGE_SEPARATOR.length() + 1) {
+            throw new IllegalArgumentException("Діапазон має бути у форматі <символ>..<символ>: " + range);
+        }
+        hasRange = true;
+        rangeFrom = range.charAt(0);
+        rangeTo = range.charAt(range.length() - 1);
+    }
+
+    private void addProbes(char[] newProbes) {
+        if (probes == null) {
+            probes = newProbes;
+            return;
+        }
+        char[] combined = new char[probes.length + newProbes.length];
+        System.arraycopy(probes, 0, combined, 0, probes.length);
+        System.arraycopy(newProbes, 0, combined, probes.length, newProbes.length);
+        probes = combined;
+    }
+
+    /**
+     * @return true, якщо задано значення для пакетного пошуку.
+     */
+    public boolean hasProbes() {
+        return probes != null && probes.length > 0;
+    }
+
+    /**
+     * @return Значення для пакетного пошуку у порядку введення або порожній масив.
+     */
+    public char[] getProbes() {
+        return probes == null ? new char[0] : probes;
+    }
+
+    /**
+     * @return true, якщо пошук у відсортованому масиві має використовувати {@link EytzingerIndex}.
+     */
+    public boolean usesEytzingerSearch() {
+        return eytzingerSearch;
+    }
+
+    /**
+     * @return true, якщо задано діапазон для підрахунку.
+     */
+    public boolean hasRange() {
+        return hasRange;
+    }
+
+    public char getRangeFrom() {
+        return rangeFrom;
+    }
+
+    public char getRangeTo() {
+        return rangeTo;
+    }
+
+    /**
+     * @return Реалізація списку для обробки List (за замовчуванням LinkedList).
+     */
+    public ListBackend getListBackend() {
+        return listBackend;
+    }
+
+    /**
+     * @return true, якщо задано навантажувальний режим черги.
+     */
+    public boolean hasQueueWorkload() {
+        return !queueWorkloadBackends.isEmpty();
+    }
+
+    /**
+     * @return Реалізації черги для навантажувального режиму або порожній список.
+     */
+    public List<QueueBackend> getQueueWorkloadBackends() {
+        return queueWorkloadBackends;
+    }
+
+    /**
+     * @return Найбільша кількість виробників і споживачів (за замовчуванням {@link QueueWorkloadDriver#DEFAULT_MAX_THREADS}).
+     */
+    public int getQueueThreads() {
+        return queueThreads;
+    }
+
+    /**
+     * @return true, якщо пошук власника за ключем у Map має йти через кеш.
+     */
+    public boolean hasCache() {
+        return cachePolicy != null;
+    }
+
+    /**
+     * @return Політика кешу або null, якщо кеш не задано.
+     */
+    public CachePolicy getCachePolicy() {
+        return cachePolicy;
+    }
+
+    /**
+     * @return Місткість кешу в записах або 0, якщо вона не задана явно.
+     */
+    public long getCacheCapacity() {
+        return cacheCapacity;
+    }
+
+    /**
+     * @return true, якщо пошукові операції потрібно додатково виміряти повторними запусками.
+     */
+    public boolean measuresLatency() {
+        return measuresLatency;
+    }
+
+    /**
+     * @return Кількість прогрівальних ітерацій (за замовчуванням {@link PerformanceTracker#DEFAULT_WARMUP_ITERATIONS}).
+     */
+    public int getLatencyWarmupIterations() {
+        return latencyWarmupIterations;
+    }
+
+    /**
+     * @return Кількість вимірюваних ітерацій (за замовчуванням {@link PerformanceTracker#DEFAULT_MEASUREMENT_ITERATIONS}).
+     */
+    public int getLatencyMeasurementIterations() {
+        return latencyMeasurementIterations;
+    }
+}
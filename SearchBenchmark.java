@@ -0,0 +1,82 @@
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * Клас SearchBenchmark порівнює {@link EytzingerIndex} з {@link Arrays#binarySearch(int[], int)}
+ * на відсортованих масивах int різного розміру: від таких, що вміщуються в кеш L1,
+ * до значно більших за кеш останнього рівня.
+ *
+ * <p>Приклад використання (розміри через кому, кількість пошуків):</p>
+ * <pre>
+ * {@code
+ * java SearchBenchmark
+ * java -Xmx4g SearchBenchmark 1024,1048576,67108864 2000000
+ * }
+ * </pre>
+ */
+public class SearchBenchmark {
+    /** Від 4 КБ (L1) до 256 МБ (більше за кеш останнього рівня). */
+    private static final String DEFAULT_SIZES = "1024,8192,65536,524288,4194304,33554432,67108864";
+    private static final int DEFAULT_LOOKUPS = 1_000_000;
+    private static final int REPETITIONS = 5;
+
+    public static void main(String[] args) {
+        String[] sizes = (args.length > 0 ? args[0] : DEFAULT_SIZES).split(",");
+        int lookups = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_LOOKUPS;
+
+        System.out.printf("%14s %12s %22s %22s%n", "елементів", "розмір, КБ", "binarySearch, нс/пошук", "Eytzinger, нс/пошук");
+        for (String size : sizes) {
+            benchmark(Integer.parseInt(size.trim()), lookups);
+        }
+    }
+
+    private static void benchmark(int length, int lookups) {
+        SplittableRandom random = new SplittableRandom(length);
+        int[] sorted = random.ints(length).toArray();
+        Arrays.sort(sorted);
+        EytzingerIndex index = EytzingerIndex.of(sorted);
+
+        // половина значень для пошуку присутня в масиві, половина - випадкова
+        int[] keys = new int[lookups];
+        for (int i = 0; i < lookups; i++) {
+            keys[i] = random.nextBoolean() ? sorted[random.nextInt(length)] : random.nextInt();
+        }
+        verify(sorted, index, keys);
+
+        long bestBinary = Long.MAX_VALUE;
+        long bestEytzinger = Long.MAX_VALUE;
+        long checksum = 0;
+        for (int repetition = 0; repetition < REPETITIONS; repetition++) {
+            long timeStart = System.nanoTime();
+            for (int key : keys) {
+                checksum += Arrays.binarySearch(sorted, key);
+            }
+            bestBinary = Math.min(bestBinary, System.nanoTime() - timeStart);
+
+            timeStart = System.nanoTime();
+            for (int key : keys) {
+                checksum += index.search(key);
+            }
+            bestEytzinger = Math.min(bestEytzinger, System.nanoTime() - timeStart);
+        }
+
+        System.out.printf("%14d %12d %22.1f %22.1f%n", length, (long) length * Integer.BYTES / 1024,
+                (double) bestBinary / lookups, (double) bestEytzinger / lookups);
+        PerformanceTracker.consume(checksum);
+    }
+
+    /**
+     * Перевіряє, що обидва пошуки дають однаковий результат: однакову точку вставки
+     * для відсутніх значень і позицію з тим самим значенням для присутніх.
+     */
+    private static void verify(int[] sorted, EytzingerIndex index, int[] keys) {
+        for (int key : keys) {
+            int expected = Arrays.binarySearch(sorted, key);
+            int actual = index.search(key);
+            boolean same = expected >= 0 ? actual >= 0 && sorted[actual] == key : actual == expected;
+            if (!same) {
+                throw new IllegalStateException("EytzingerIndex повернув " + actual + " замість " + expected + " для " + key);
+            }
+        }
+    }
+}
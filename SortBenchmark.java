@@ -0,0 +1,155 @@
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * Клас SortBenchmark порівнює {@link RadixSort} з {@link Arrays#sort} та {@link Arrays#parallelSort}
+ * на масивах int, long, float та double.
+ *
+ * <p>Приклад використання (розміри через кому; для 10^9 елементів потрібна велика купа):</p>
+ * <pre>
+ * {@code
+ * java SortBenchmark 1000000,10000000,100000000
+ * java -Xmx48g SortBenchmark 1000000000 1
+ * }
+ * </pre>
+ */
+public class SortBenchmark {
+    private static final String DEFAULT_SIZES = "1000000,10000000";
+    private static final int DEFAULT_REPETITIONS = 3;
+
+    public static void main(String[] args) {
+        String[] sizes = (args.length > 0 ? args[0] : DEFAULT_SIZES).split(",");
+        int repetitions = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_REPETITIONS;
+
+        System.out.printf("%-8s %14s %16s %16s %16s%n", "тип", "елементів", "Arrays.sort, мс", "parallelSort, мс", "RadixSort, мс");
+        for (String size : sizes) {
+            int length = Integer.parseInt(size.trim());
+            benchmarkInts(length, repetitions);
+            benchmarkLongs(length, repetitions);
+            benchmarkFloats(length, repetitions);
+            benchmarkDoubles(length, repetitions);
+        }
+    }
+
+    private static void benchmarkInts(int length, int repetitions) {
+        int[] source = new SplittableRandom(1).ints(length).toArray();
+        long[] best = {Long.MAX_VALUE, Long.MAX_VALUE, Long.MAX_VALUE};
+        int[] expected = null;
+
+        for (int repetition = 0; repetition < repetitions; repetition++) {
+            int[] copy = source.clone();
+            best[0] = Math.min(best[0], time(() -> Arrays.sort(copy)));
+            expected = copy;
+
+            int[] parallelCopy = source.clone();
+            best[1] = Math.min(best[1], time(() -> Arrays.parallelSort(parallelCopy)));
+
+            int[] radixCopy = source.clone();
+            best[2] = Math.min(best[2], time(() -> RadixSort.sort(radixCopy)));
+            verify(Arrays.equals(expected, radixCopy), "int");
+        }
+        report("int", length, best);
+    }
+
+    private static void benchmarkLongs(int length, int repetitions) {
+        long[] source = new SplittableRandom(2).longs(length).toArray();
+        long[] best = {Long.MAX_VALUE, Long.MAX_VALUE, Long.MAX_VALUE};
+        long[] expected = null;
+
+        for (int repetition = 0; repetition < repetitions; repetition++) {
+            long[] copy = source.clone();
+            best[0] = Math.min(best[0], time(() -> Arrays.sort(copy)));
+            expected = copy;
+
+            long[] parallelCopy = source.clone();
+            best[1] = Math.min(best[1], time(() -> Arrays.parallelSort(parallelCopy)));
+
+            long[] radixCopy = source.clone();
+            best[2] = Math.min(best[2], time(() -> RadixSort.sort(radixCopy)));
+            verify(Arrays.equals(expected, radixCopy), "long");
+        }
+        report("long", length, best);
+    }
+
+    private static void benchmarkFloats(int length, int repetitions) {
+        SplittableRandom random = new SplittableRandom(3);
+        float[] source = new float[length];
+        for (int i = 0; i < length; i++) {
+            source[i] = (float) specialOrRandom(random);
+        }
+        long[] best = {Long.MAX_VALUE, Long.MAX_VALUE, Long.MAX_VALUE};
+        float[] expected = null;
+
+        for (int repetition = 0; repetition < repetitions; repetition++) {
+            float[] copy = source.clone();
+            best[0] = Math.min(best[0], time(() -> Arrays.sort(copy)));
+            expected = copy;
+
+            float[] parallelCopy = source.clone();
+            best[1] = Math.min(best[1], time(() -> Arrays.parallelSort(parallelCopy)));
+
+            float[] radixCopy = source.clone();
+            best[2] = Math.min(best[2], time(() -> RadixSort.sort(radixCopy)));
+            verify(Arrays.equals(expected, radixCopy), "float");
+        }
+        report("float", length, best);
+    }
+
+    private static void benchmarkDoubles(int length, int repetitions) {
+        SplittableRandom random = new SplittableRandom(4);
+        double[] source = new double[length];
+        for (int i = 0; i < length; i++) {
+            source[i] = specialOrRandom(random);
+        }
+        long[] best = {Long.MAX_VALUE, Long.MAX_VALUE, Long.MAX_VALUE};
+        double[] expected = null;
+
+        for (int repetition = 0; repetition < repetitions; repetition++) {
+            double[] copy = source.clone();
+            best[0] = Math.min(best[0], time(() -> Arrays.sort(copy)));
+            expected = copy;
+
+            double[] parallelCopy = source.clone();
+            best[1] = Math.min(best[1], time(() -> Arrays.parallelSort(parallelCopy)));
+
+            double[] radixCopy = source.clone();
+            best[2] = Math.min(best[2], time(() -> RadixSort.sort(radixCopy)));
+            verify(Arrays.equals(expected, radixCopy), "double");
+        }
+        report("double", length, best);
+    }
+
+    /**
+     * Генерує значення з широким діапазоном порядків, включно з від'ємними, субнормальними, -0.0 та NaN.
+     */
+    private static double specialOrRandom(SplittableRandom random) {
+        switch (random.nextInt(1000)) {
+            case 0: return Double.NaN;
+            case 1: return -0.0;
+            case 2: return 0.0;
+            case 3: return -4.284784E-201;
+            case 4: return Double.MIN_VALUE;
+            case 5: return Double.NEGATIVE_INFINITY;
+            default:
+                double magnitude = Math.pow(10, random.nextInt(-300, 300));
+                return (random.nextBoolean() ? -1 : 1) * random.nextDouble() * magnitude;
+        }
+    }
+
+    private static long time(Runnable operation) {
+        long timeStart = System.nanoTime();
+        operation.run();
+        return System.nanoTime() - timeStart;
+    }
+
+    private static void verify(boolean sortedCorrectly, String type) {
+        if (!sortedCorrectly) {
+            throw new IllegalStateException("RadixSort повернув інший порядок для типу " + type);
+        }
+    }
+
+    private static void report(String type, int length, long[] bestNanos) {
+        System.out.printf("%-8s %14d %16.1f %16.1f %16.1f%n", type, length,
+                bestNanos[0] / 1e6, bestNanos[1] / 1e6, bestNanos[2] / 1e6);
+    }
+}
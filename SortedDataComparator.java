@@ -0,0 +1,73 @@
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Клас SortedDataComparator звіряє наявний файл даних з тим, що записав би {@link SortedDataWriter},
+ * не змінюючи файл.
+ *
+ * <p>Значення кодуються тим самим {@link DataLineEncoder}, а кожен заповнений буфер порівнюється
+ * з наступною ділянкою файлу. Після першої розбіжності файл далі не читається.</p>
+ */
+public class SortedDataComparator extends DataLineEncoder implements Closeable {
+    private final FileChannel fileChannel;
+    private final ByteBuffer fileBuffer;
+    private boolean contentMatches = true;
+
+    private SortedDataComparator(Path existingPath) throws IOException {
+        this.fileChannel = FileChannel.open(existingPath, StandardOpenOption.READ);
+        this.fileBuffer = ByteBuffer.allocateDirect(ENCODER_BUFFER_SIZE);
+    }
+
+    /**
+     * Перевіряє, чи наявний файл побайтово збігається з тим, що записав би {@link SortedDataWriter#writeArray}.
+     *
+     * @param array Примітивний масив або String[] відповідно до {@link DataType}.
+     * @param type Тип даних масиву.
+     * @param filePath Шлях до наявного файлу.
+     * @return true, якщо файл існує і його вміст збігається.
+     * @throws IOException якщо файл неможливо прочитати.
+     */
+    public static boolean matchesFile(Object array, DataType type, String filePath) throws IOException {
+        Path existingPath = Paths.get(filePath);
+        if (!Files.isRegularFile(existingPath)) {
+            return false;
+        }
+
+        try (SortedDataComparator comparator = new SortedDataComparator(existingPath)) {
+            comparator.writeAll(array, type);
+            comparator.flushBuffer();
+            return comparator.contentMatches && comparator.getBytesWritten() == comparator.fileChannel.size();
+        }
+    }
+
+    /**
+     * Звіряє закодовані байти з наступною ділянкою наявного файлу.
+     */
+    @Override
+    protected void drain(ByteBuffer encoded) throws IOException {
+        if (!contentMatches) {
+            return;
+        }
+
+        fileBuffer.clear().limit(encoded.remaining());
+        while (fileBuffer.hasRemaining()) {
+            if (fileChannel.read(fileBuffer) < 0) {
+                contentMatches = false;
+                return;
+            }
+        }
+        fileBuffer.flip();
+        contentMatches = fileBuffer.equals(encoded);
+    }
+
+    @Override
+    public void close() throws IOException {
+        fileChannel.close();
+    }
+}
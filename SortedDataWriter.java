@@ -0,0 +1,136 @@
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Клас SortedDataWriter записує текстові файли даних (наприклад, *.sorted) одним рядком на елемент.
+ *
+ * <p>Значення кодуються {@link DataLineEncoder} у великий прямий буфер і записуються через {@link FileChannel}
+ * у тимчасовий файл поруч з цільовим. Після {@link #commit()} тимчасовий файл атомарно
+ * перейменовується, тому збій під час запису залишає попередню версію файлу неушкодженою.</p>
+ *
+ * <p>Приклад використання:</p>
+ * <pre>
+ * {@code
+ * try (SortedDataWriter writer = SortedDataWriter.open("list/long.data.sorted", FsyncPolicy.FILE)) {
+ *     writer.writeLong(42);
+ *     writer.commit();
+ * }
+ * }
+ * </pre>
+ */
+public class SortedDataWriter extends DataLineEncoder implements Closeable {
+    /**
+     * Політика синхронізації файлу з диском перед перейменуванням.
+     */
+    public enum FsyncPolicy {
+        /** Без fsync: найшвидше, але після збою живлення файл може бути порожнім. */
+        NONE,
+        /** fsync вмісту файлу перед перейменуванням. */
+        FILE,
+        /** fsync вмісту файлу та каталогу після перейменування. */
+        FILE_AND_DIRECTORY
+    }
+
+    public static final FsyncPolicy DEFAULT_FSYNC_POLICY = FsyncPolicy.FILE;
+
+    private final Path targetPath;
+    private final Path temporaryPath;
+    private final FsyncPolicy fsyncPolicy;
+    private final FileChannel fileChannel;
+    private boolean committed;
+
+    private SortedDataWriter(Path targetPath, FsyncPolicy fsyncPolicy) throws IOException {
+        this.targetPath = targetPath;
+        this.fsyncPolicy = fsyncPolicy;
+        // тимчасовий файл у тому ж каталозі, щоб перейменування залишалося атомарним
+        this.temporaryPath = targetPath.resolveSibling(targetPath.getFileName() + "."
+                + ProcessHandle.current().pid() + "." + System.nanoTime() + ".tmp");
+        this.fileChannel = FileChannel.open(temporaryPath, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+    }
+
+    /**
+     * Відкриває новий запис файлу.
+     *
+     * @param filePath Шлях до цільового файлу.
+     * @param fsyncPolicy Політика синхронізації з диском.
+     * @return Відкритий записувач; до виклику {@link #commit()} цільовий файл не змінюється.
+     * @throws IOException якщо неможливо створити тимчасовий файл.
+     */
+    public static SortedDataWriter open(String filePath, FsyncPolicy fsyncPolicy) throws IOException {
+        return new SortedDataWriter(Paths.get(filePath), fsyncPolicy);
+    }
+
+    /**
+     * Записує масив у текстовий файл атомарно, по одному значенню в рядку.
+     *
+     * @param array Примітивний масив або String[] відповідно до {@link DataType}.
+     * @param type Тип даних масиву.
+     * @param filePath Шлях до цільового файлу.
+     * @param fsyncPolicy Політика синхронізації з диском.
+     * @throws IOException якщо запис або перейменування не вдалося.
+     */
+    public static void writeArray(Object array, DataType type, String filePath, FsyncPolicy fsyncPolicy) throws IOException {
+        long timeStart = System.nanoTime();
+        long bytesWritten;
+
+        try (SortedDataWriter writer = open(filePath, fsyncPolicy)) {
+            writer.writeAll(array, type);
+            writer.commit();
+            bytesWritten = writer.getBytesWritten();
+        }
+
+        PerformanceTracker.displayThroughput(timeStart, bytesWritten, "запис " + filePath);
+    }
+
+    /**
+     * Скидає буфер, синхронізує файл відповідно до політики та атомарно замінює цільовий файл.
+     */
+    public void commit() throws IOException {
+        flushBuffer();
+        if (fsyncPolicy != FsyncPolicy.NONE) {
+            fileChannel.force(true);
+        }
+        fileChannel.close();
+
+        Files.move(temporaryPath, targetPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        committed = true;
+
+        if (fsyncPolicy == FsyncPolicy.FILE_AND_DIRECTORY) {
+            forceDirectory(targetPath.toAbsolutePath().getParent());
+        }
+    }
+
+    /**
+     * Закриває записувач. Якщо {@link #commit()} не викликався, тимчасовий файл видаляється,
+     * а цільовий файл залишається без змін.
+     */
+    @Override
+    public void close() throws IOException {
+        if (!committed) {
+            fileChannel.close();
+            Files.deleteIfExists(temporaryPath);
+        }
+    }
+
+    @Override
+    protected void drain(ByteBuffer encoded) throws IOException {
+        while (encoded.hasRemaining()) {
+            fileChannel.write(encoded);
+        }
+    }
+
+    private static void forceDirectory(Path directory) {
+        try (FileChannel directoryChannel = FileChannel.open(directory, StandardOpenOption.READ)) {
+            directoryChannel.force(true);
+        } catch (IOException ioException) {
+            // деякі файлові системи (наприклад, у Windows) не дозволяють відкривати каталоги
+        }
+    }
+}
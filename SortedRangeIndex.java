@@ -0,0 +1,288 @@
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneOffset;
+import java.util.function.DoubleConsumer;
+import java.util.function.LongConsumer;
+
+/**
+ * Клас SortedRangeIndex відповідає на запити діапазону над відсортованими даними:
+ * кількість значень між двома межами, ранг значення, k-те за величиною значення
+ * та перебір усіх значень діапазону.
+ *
+ * <p>Усі запити зводяться до пошуку нижньої/верхньої межі за O(log n) і не виділяють пам'яті.
+ * Додатково зберігається вибірка кожного {@code sampleInterval}-го ключа: спочатку пошук іде
+ * по компактній вибірці, яка вміщується в кеш, а потім - лише в межах одного блока масиву.</p>
+ *
+ * <p>Значення зберігаються як впорядковані ключі long (див. {@link DataSorter#toSortableKeys}),
+ * тому індекс підходить для всіх примітивних типів {@link DataType}, зокрема LocalDateTime
+ * (секунди від 1970-01-01T00:00:00 UTC). Межі запитів задаються ключами (див. {@link #parseKey}),
+ * а {@link #forEachInRange} передає вже розкодовані значення: для цілих і часових типів ключ
+ * збігається зі значенням, а float і double перебираються через {@link #forEachDoubleInRange}.</p>
+ *
+ * <p>Приклад використання:</p>
+ * <pre>
+ * {@code
+ * java SortedRangeIndex list/LocalDateTime.data 2024-03-01T00:00:00Z 2024-03-31T23:59:59Z
+ * }
+ * </pre>
+ */
+public class SortedRangeIndex {
+    public static final int DEFAULT_SAMPLE_INTERVAL = 64;
+
+    private static final String USAGE_MESSAGE = "Використання: java SortedRangeIndex <файл-даних> <від> <до>\n" +
+            "Приклад:\n" +
+            "  java SortedRangeIndex list/LocalDateTime.data 2024-03-01T00:00:00Z 2024-03-31T23:59:59Z";
+
+    private final long[] keys;
+    private final long[] samples;
+    private final int sampleInterval;
+    // тип значень, з яких отримано ключі; null - ключі задано безпосередньо
+    private final DataType type;
+
+    private SortedRangeIndex(long[] keys, int sampleInterval, DataType type) {
+        this.keys = keys;
+        this.sampleInterval = sampleInterval;
+        this.type = type;
+        if (sampleInterval > 0 && keys.length > sampleInterval) {
+            samples = new long[(keys.length + sampleInterval - 1) / sampleInterval];
+            for (int i = 0; i < samples.length; i++) {
+                samples[i] = keys[i * sampleInterval];
+            }
+        } else {
+            samples = null;
+        }
+    }
+
+    /**
+     * @param sortedKeys Відсортовані ключі; масив не копіюється і не повинен змінюватися.
+     * @return Індекс з вибіркою кожного {@link #DEFAULT_SAMPLE_INTERVAL}-го ключа.
+     */
+    public static SortedRangeIndex of(long[] sortedKeys) {
+        return new SortedRangeIndex(sortedKeys, DEFAULT_SAMPLE_INTERVAL, null);
+    }
+
+    /**
+     * @param sortedKeys Відсортовані ключі; масив не копіюється і не повинен змінюватися.
+     * @param sampleInterval Крок вибірки; 0 - без вибірки (звичайний двійковий пошук).
+     */
+    public static SortedRangeIndex of(long[] sortedKeys, int sampleInterval) {
+        if (sampleInterval < 0) {
+            throw new IllegalArgumentException("Крок вибірки не може бути від'ємним");
+        }
+        return new SortedRangeIndex(sortedKeys, sampleInterval, null);
+    }
+
+    /**
+     * @param sortedValues Відсортований масив у представленні відповідного {@link DataType}.
+     * @param type Тип даних масиву (крім String).
+     */
+    public static SortedRangeIndex of(Object sortedValues, DataType type) {
+        return new SortedRangeIndex(DataSorter.toSortableKeys(sortedValues, type), DEFAULT_SAMPLE_INTERVAL, type);
+    }
+
+    public int size() {
+        return keys.length;
+    }
+
+    /**
+     * @return Кількість значень, строго менших за key (позиція першого значення, не меншого за key).
+     */
+    public int rank(long key) {
+        return lowerBound(key);
+    }
+
+    /**
+     * @return Кількість значень у діапазоні [from, to] (обидві межі включно); 0, якщо from &gt; to.
+     */
+    public int count(long from, long to) {
+        if (from > to) {
+            return 0;
+        }
+        return upperBound(to) - lowerBound(from);
+    }
+
+    /**
+     * @param k Ранг значення, від 0 до size() - 1.
+     * @return k-те за величиною значення (ключ).
+     * @throws IndexOutOfBoundsException якщо k поза межами.
+     */
+    public long select(int k) {
+        if (k < 0 || k >= keys.length) {
+            throw new IndexOutOfBoundsException("Ранг " + k + " поза межами 0.." + (keys.length - 1));
+        }
+        return keys[k];
+    }
+
+    /**
+     * Передає всі значення діапазону [from, to] у порядку зростання. Для цілих і часових типів
+     * ключ і є значенням (символ, число, день, секунда).
+     *
+     * @return Кількість переданих значень.
+     * @throws IllegalStateException якщо індекс побудовано для float або double.
+     */
+    public int forEachInRange(long from, long to, LongConsumer action) {
+        if (type == DataType.FLOAT || type == DataType.DOUBLE) {
+            throw new IllegalStateException("Значення типу " + type + " перебираються через forEachDoubleInRange");
+        }
+        if (from > to) {
+            return 0;
+        }
+        int start = lowerBound(from);
+        int end = upperBound(to);
+        for (int i = start; i < end; i++) {
+            action.accept(keys[i]);
+        }
+        return Math.max(0, end - start);
+    }
+
+    /**
+     * Передає всі значення діапазону [from, to] індексу float або double у порядку зростання,
+     * розкодовуючи ключі назад у числа.
+     *
+     * @return Кількість переданих значень.
+     * @throws IllegalStateException якщо індекс побудовано не для float чи double.
+     */
+    public int forEachDoubleInRange(double from, double to, DoubleConsumer action) {
+        long fromKey;
+        long toKey;
+        if (type == DataType.FLOAT) {
+            fromKey = RadixSort.floatToSortableInt((float) from);
+            toKey = RadixSort.floatToSortableInt((float) to);
+        } else if (type == DataType.DOUBLE) {
+            fromKey = RadixSort.doubleToSortableLong(from);
+            toKey = RadixSort.doubleToSortableLong(to);
+        } else {
+            throw new IllegalStateException("Значення типу " + type + " перебираються через forEachInRange");
+        }
+        if (fromKey > toKey) {
+            return 0;
+        }
+
+        int start = lowerBound(fromKey);
+        int end = upperBound(toKey);
+        for (int i = start; i < end; i++) {
+            action.accept(type == DataType.FLOAT ? RadixSort.sortableIntToFloat((int) keys[i]) : RadixSort.sortableLongToDouble(keys[i]));
+        }
+        return Math.max(0, end - start);
+    }
+
+    /**
+     * Підраховує символи набору даних у діапазоні [from, to] і виводить тривалість запиту,
+     * кількість, позиції діапазону та його перший елемент.
+     *
+     * @param dataset Набір символів; індекс будується при першому запиті.
+     * @param structureName Назва структури даних для виводу.
+     */
+    public static void countCharRange(CharDataset dataset, char from, char to, String structureName) {
+        long timeStart = System.nanoTime();
+
+        SortedRangeIndex rangeIndex = dataset.rangeIndex();
+        int count = rangeIndex.count(from, to);
+        int rank = rangeIndex.rank(from);
+
+        PerformanceTracker.displayOperationTime(timeStart, "запит діапазону в " + structureName);
+
+        System.out.println("Кiлькiсть елементiв у діапазоні ['" + from + "', '" + to + "']: " + count);
+        if (count > 0) {
+            System.out.println("Діапазон займає позиції " + rank + ".." + (rank + count - 1)
+                    + ", перший елемент: '" + (char) rangeIndex.select(rank) + "'");
+        }
+    }
+
+    /**
+     * @return Позиція першого значення, не меншого за key (size(), якщо такого немає).
+     */
+    public int lowerBound(long key) {
+        int from = 0;
+        int to = keys.length;
+        if (samples != null) {
+            // блок b містить межу: samples[b - 1] < key <= samples[b]
+            int block = lowerBound(samples, 0, samples.length, key);
+            from = block == 0 ? 0 : (block - 1) * sampleInterval + 1;
+            to = Math.min(keys.length, block * sampleInterval);
+        }
+        return lowerBound(keys, from, to, key);
+    }
+
+    /**
+     * @return Позиція першого значення, більшого за key (size(), якщо такого немає).
+     */
+    public int upperBound(long key) {
+        return key == Long.MAX_VALUE ? keys.length : lowerBound(key + 1);
+    }
+
+    private static int lowerBound(long[] sortedKeys, int from, int to, long key) {
+        int low = from;
+        int high = to;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (sortedKeys[middle] < key) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    public static void main(String[] args) {
+        if (args.length != 3) {
+            System.out.println(USAGE_MESSAGE);
+            return;
+        }
+
+        String dataFilePath = args[0];
+        try {
+            DataType type = DataType.fromFileName(dataFilePath);
+            long from = parseKey(args[1], type);
+            long to = parseKey(args[2], type);
+
+            Object values = DataFileHandler.loadCachedArray(dataFilePath, type);
+            long timeStart = System.nanoTime();
+            DataSorter.sort(values, type);
+            SortedRangeIndex index = SortedRangeIndex.of(values, type);
+            PerformanceTracker.displayOperationTime(timeStart, "упорядкування та побудова індексу діапазонів");
+
+            timeStart = System.nanoTime();
+            int count = index.count(from, to);
+            int rank = index.rank(from);
+            PerformanceTracker.displayOperationTime(timeStart, "запит діапазону");
+
+            System.out.println("Кількість значень у діапазоні [" + args[1] + ", " + args[2] + "]: " + count);
+            System.out.println("Ранг нижньої межі (кількість менших значень): " + rank);
+            System.out.println("Усього значень: " + index.size());
+        } catch (RuntimeException exception) {
+            System.out.println("❌ Помилка при запиті діапазону: " + exception.getMessage());
+            exception.printStackTrace();
+        }
+    }
+
+    /**
+     * Перетворює текстову межу на ключ у представленні відповідного {@link DataType}.
+     */
+    static long parseKey(String text, DataType type) {
+        String value = text.trim();
+        switch (type) {
+            case CHARACTER:
+                return value.charAt(0);
+            case FLOAT:
+                return RadixSort.floatToSortableInt(Float.parseFloat(value));
+            case DOUBLE:
+                return RadixSort.doubleToSortableLong(Double.parseDouble(value));
+            case LOCAL_DATE:
+                return LocalDate.parse(value).toEpochDay();
+            case LOCAL_TIME:
+                return LocalTime.parse(value).toSecondOfDay();
+            case LOCAL_DATE_TIME:
+                if (value.endsWith("Z")) {
+                    value = value.substring(0, value.length() - 1);
+                }
+                return LocalDateTime.parse(value).toEpochSecond(ZoneOffset.UTC);
+            case STRING:
+                throw new IllegalArgumentException("Запити діапазону не підтримують тип " + type);
+            default:
+                return Long.parseLong(value);
+        }
+    }
+}
@@ -0,0 +1,150 @@
+import java.util.DoubleSummaryStatistics;
+import java.util.IntSummaryStatistics;
+import java.util.LongSummaryStatistics;
+import java.util.SplittableRandom;
+
+/**
+ * Клас StatisticsBenchmark порівнює {@link StatisticsKernels} з поелементним накопиченням
+ * через {@link IntSummaryStatistics#accept}, {@link LongSummaryStatistics#accept} та
+ * {@link DoubleSummaryStatistics#accept} для масивів char, short, int, long, float і double.
+ *
+ * <p>Приклад використання (розміри через кому):</p>
+ * <pre>
+ * {@code
+ * java StatisticsBenchmark
+ * java -Xmx4g StatisticsBenchmark 1000000,50000000
+ * }
+ * </pre>
+ */
+public class StatisticsBenchmark {
+    private static final String DEFAULT_SIZES = "1000000,16000000";
+    private static final int REPETITIONS = 7;
+
+    public static void main(String[] args) {
+        String[] sizes = (args.length > 0 ? args[0] : DEFAULT_SIZES).split(",");
+
+        System.out.printf("%8s %12s %20s %20s %10s%n", "тип", "елементів", "accept, нс/елемент", "ядро, нс/елемент", "прискорення");
+        for (String size : sizes) {
+            int length = Integer.parseInt(size.trim());
+            SplittableRandom random = new SplittableRandom(length);
+
+            char[] chars = new char[length];
+            short[] shorts = new short[length];
+            int[] ints = new int[length];
+            long[] longs = new long[length];
+            float[] floats = new float[length];
+            double[] doubles = new double[length];
+            for (int i = 0; i < length; i++) {
+                chars[i] = (char) random.nextInt(Character.MAX_VALUE + 1);
+                shorts[i] = (short) random.nextInt();
+                ints[i] = random.nextInt();
+                longs[i] = random.nextLong();
+                floats[i] = (float) random.nextDouble(-1e6, 1e6);
+                doubles[i] = random.nextDouble(-1e6, 1e6);
+            }
+
+            check("char", StatisticsKernels.of(chars).toString(), naive(chars).toString());
+            check("short", StatisticsKernels.of(shorts).toString(), naive(shorts).toString());
+            check("int", StatisticsKernels.of(ints).toString(), naive(ints).toString());
+            check("long", StatisticsKernels.of(longs).toString(), naive(longs).toString());
+            check("float", StatisticsKernels.of(floats), naive(floats));
+            check("double", StatisticsKernels.of(doubles), naive(doubles));
+
+            report("char", length, () -> naive(chars).getSum(), () -> StatisticsKernels.of(chars).getSum());
+            report("short", length, () -> naive(shorts).getSum(), () -> StatisticsKernels.of(shorts).getSum());
+            report("int", length, () -> naive(ints).getSum(), () -> StatisticsKernels.of(ints).getSum());
+            report("long", length, () -> naive(longs).getSum(), () -> StatisticsKernels.of(longs).getSum());
+            report("float", length, () -> naive(floats).getSum(), () -> StatisticsKernels.of(floats).getSum());
+            report("double", length, () -> naive(doubles).getSum(), () -> StatisticsKernels.of(doubles).getSum());
+        }
+    }
+
+    private static void report(String typeName, int length, Measured loop, Measured kernel) {
+        long bestLoop = Long.MAX_VALUE;
+        long bestKernel = Long.MAX_VALUE;
+        double checksum = 0;
+        for (int repetition = 0; repetition < REPETITIONS; repetition++) {
+            long timeStart = System.nanoTime();
+            checksum += loop.run();
+            bestLoop = Math.min(bestLoop, System.nanoTime() - timeStart);
+
+            timeStart = System.nanoTime();
+            checksum += kernel.run();
+            bestKernel = Math.min(bestKernel, System.nanoTime() - timeStart);
+        }
+
+        System.out.printf("%8s %12d %20.3f %20.3f %9.1fx%n", typeName, length,
+                (double) bestLoop / length, (double) bestKernel / length, (double) bestLoop / bestKernel);
+        PerformanceTracker.consume(Double.doubleToRawLongBits(checksum));
+    }
+
+    private interface Measured {
+        double run();
+    }
+
+    private static void check(String typeName, String actual, String expected) {
+        if (!actual.equals(expected)) {
+            throw new IllegalStateException("StatisticsKernels (" + typeName + ") повернув " + actual + " замість " + expected);
+        }
+    }
+
+    /**
+     * Мінімум і максимум мають збігатися точно, а сума чисел з плаваючою комою - з точністю
+     * до похибки округлення, бо ядро додає значення в іншому порядку.
+     */
+    private static void check(String typeName, DoubleSummaryStatistics actual, DoubleSummaryStatistics expected) {
+        double tolerance = 1e-9 * Math.max(1, Math.abs(expected.getSum()) + expected.getCount());
+        if (actual.getCount() != expected.getCount() || actual.getMin() != expected.getMin()
+                || actual.getMax() != expected.getMax() || Math.abs(actual.getSum() - expected.getSum()) > tolerance) {
+            throw new IllegalStateException("StatisticsKernels (" + typeName + ") повернув " + actual + " замість " + expected);
+        }
+    }
+
+    private static IntSummaryStatistics naive(char[] values) {
+        IntSummaryStatistics statistics = new IntSummaryStatistics();
+        for (char value : values) {
+            statistics.accept(value);
+        }
+        return statistics;
+    }
+
+    private static IntSummaryStatistics naive(short[] values) {
+        IntSummaryStatistics statistics = new IntSummaryStatistics();
+        for (short value : values) {
+            statistics.accept(value);
+        }
+        return statistics;
+    }
+
+    private static IntSummaryStatistics naive(int[] values) {
+        IntSummaryStatistics statistics = new IntSummaryStatistics();
+        for (int value : values) {
+            statistics.accept(value);
+        }
+        return statistics;
+    }
+
+    private static LongSummaryStatistics naive(long[] values) {
+        LongSummaryStatistics statistics = new LongSummaryStatistics();
+        for (long value : values) {
+            statistics.accept(value);
+        }
+        return statistics;
+    }
+
+    private static DoubleSummaryStatistics naive(float[] values) {
+        DoubleSummaryStatistics statistics = new DoubleSummaryStatistics();
+        for (float value : values) {
+            statistics.accept(value);
+        }
+        return statistics;
+    }
+
+    private static DoubleSummaryStatistics naive(double[] values) {
+        DoubleSummaryStatistics statistics = new DoubleSummaryStatistics();
+        for (double value : values) {
+            statistics.accept(value);
+        }
+        return statistics;
+    }
+}
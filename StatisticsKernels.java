@@ -0,0 +1,346 @@
+import java.util.DoubleSummaryStatistics;
+import java.util.IntSummaryStatistics;
+import java.util.LongSummaryStatistics;
+
+/**
+ * Клас StatisticsKernels обчислює кількість, мінімум, максимум, суму та середнє
+ * примітивних масивів за один прохід.
+ *
+ * <p>Мінімум і максимум оновлюються простими порівняннями: на реальних даних вони змінюються
+ * рідко, тому переходи добре передбачаються, а звернення до пам'яті йдуть послідовно.
+ * Для char і short сума накопичується в int блоками, що не можуть переповнитися, і лише
+ * потім додається до long. Для float і double використовуються чотири незалежні суми:
+ * JIT не може змінювати порядок додавання чисел з плаваючою комою, тому одна сума
+ * утворює ланцюжок залежностей, а чотири виконуються паралельно. Кожна смуга, як і
+ * {@link DoubleSummaryStatistics}, додає з компенсацією Кехена, тож точність суми та сама,
+ * хоча останній біт може відрізнятися через інший порядок додавання.</p>
+ *
+ * <p>Результати повертаються як стандартні {@link IntSummaryStatistics},
+ * {@link LongSummaryStatistics} та {@link DoubleSummaryStatistics}.</p>
+ */
+public class StatisticsKernels {
+    /** 65535 * 2^15 &lt; Integer.MAX_VALUE: сума блока char або short не переповнює int. */
+    private static final int INT_SUM_BLOCK = 1 << 15;
+    private static final int LANES = 4;
+
+    public static IntSummaryStatistics of(char[] values) {
+        int min = Character.MAX_VALUE;
+        int max = Character.MIN_VALUE;
+        long sum = 0;
+        for (int from = 0; from < values.length; from += INT_SUM_BLOCK) {
+            int to = Math.min(values.length, from + INT_SUM_BLOCK);
+            int blockSum = 0;
+            for (int i = from; i < to; i++) {
+                int value = values[i];
+                if (value < min) {
+                    min = value;
+                }
+                if (value > max) {
+                    max = value;
+                }
+                blockSum += value;
+            }
+            sum += blockSum;
+        }
+        return new IntSummaryStatistics(values.length, min, max, sum);
+    }
+
+    public static IntSummaryStatistics of(short[] values) {
+        int min = Short.MAX_VALUE;
+        int max = Short.MIN_VALUE;
+        long sum = 0;
+        for (int from = 0; from < values.length; from += INT_SUM_BLOCK) {
+            int to = Math.min(values.length, from + INT_SUM_BLOCK);
+            int blockSum = 0;
+            for (int i = from; i < to; i++) {
+                int value = values[i];
+                if (value < min) {
+                    min = value;
+                }
+                if (value > max) {
+                    max = value;
+                }
+                blockSum += value;
+            }
+            sum += blockSum;
+        }
+        return new IntSummaryStatistics(values.length, min, max, sum);
+    }
+
+    public static IntSummaryStatistics of(int[] values) {
+        int min = Integer.MAX_VALUE;
+        int max = Integer.MIN_VALUE;
+        long sum = 0;
+        for (int value : values) {
+            if (value < min) {
+                min = value;
+            }
+            if (value > max) {
+                max = value;
+            }
+            sum += value;
+        }
+        return new IntSummaryStatistics(values.length, min, max, sum);
+    }
+
+    public static LongSummaryStatistics of(long[] values) {
+        long min = Long.MAX_VALUE;
+        long max = Long.MIN_VALUE;
+        long sum = 0;
+        for (long value : values) {
+            if (value < min) {
+                min = value;
+            }
+            if (value > max) {
+                max = value;
+            }
+            sum += value;
+        }
+        return new LongSummaryStatistics(values.length, min, max, sum);
+    }
+
+    /**
+     * Статистика float обчислюється в double, як і в {@link DoubleSummaryStatistics}.
+     */
+    public static DoubleSummaryStatistics of(float[] values) {
+        float min = Float.POSITIVE_INFINITY;
+        float max = Float.NEGATIVE_INFINITY;
+        double sum0 = 0;
+        double sum1 = 0;
+        double sum2 = 0;
+        double sum3 = 0;
+        double compensation0 = 0;
+        double compensation1 = 0;
+        double compensation2 = 0;
+        double compensation3 = 0;
+        int i = 0;
+        for (; i + LANES <= values.length; i += LANES) {
+            float value0 = values[i];
+            float value1 = values[i + 1];
+            float value2 = values[i + 2];
+            float value3 = values[i + 3];
+            if (value0 < min) {
+                min = value0;
+            }
+            if (value0 > max) {
+                max = value0;
+            }
+            if (value1 < min) {
+                min = value1;
+            }
+            if (value1 > max) {
+                max = value1;
+            }
+            if (value2 < min) {
+                min = value2;
+            }
+            if (value2 > max) {
+                max = value2;
+            }
+            if (value3 < min) {
+                min = value3;
+            }
+            if (value3 > max) {
+                max = value3;
+            }
+            // додавання Кехена в кожній смузі: compensation зберігає втрачені при округленні молодші біти
+            double corrected0 = value0 - compensation0;
+            double total0 = sum0 + corrected0;
+            compensation0 = (total0 - sum0) - corrected0;
+            sum0 = total0;
+            double corrected1 = value1 - compensation1;
+            double total1 = sum1 + corrected1;
+            compensation1 = (total1 - sum1) - corrected1;
+            sum1 = total1;
+            double corrected2 = value2 - compensation2;
+            double total2 = sum2 + corrected2;
+            compensation2 = (total2 - sum2) - corrected2;
+            sum2 = total2;
+            double corrected3 = value3 - compensation3;
+            double total3 = sum3 + corrected3;
+            compensation3 = (total3 - sum3) - corrected3;
+            sum3 = total3;
+        }
+        for (; i < values.length; i++) {
+            if (values[i] < min) {
+                min = values[i];
+            }
+            if (values[i] > max) {
+                max = values[i];
+            }
+            double corrected = values[i] - compensation0;
+            double total = sum0 + corrected;
+            compensation0 = (total - sum0) - corrected;
+            sum0 = total;
+        }
+        double sum = combineLanes(sum0, compensation0, sum1, compensation1, sum2, compensation2, sum3, compensation3);
+        if (Double.isNaN(sum) || min == 0 || max == 0) {
+            return acceptAll(values);
+        }
+        return summary(values.length, min, max, sum);
+    }
+
+    public static DoubleSummaryStatistics of(double[] values) {
+        double min = Double.POSITIVE_INFINITY;
+        double max = Double.NEGATIVE_INFINITY;
+        double sum0 = 0;
+        double sum1 = 0;
+        double sum2 = 0;
+        double sum3 = 0;
+        double compensation0 = 0;
+        double compensation1 = 0;
+        double compensation2 = 0;
+        double compensation3 = 0;
+        int i = 0;
+        for (; i + LANES <= values.length; i += LANES) {
+            double value0 = values[i];
+            double value1 = values[i + 1];
+            double value2 = values[i + 2];
+            double value3 = values[i + 3];
+            if (value0 < min) {
+                min = value0;
+            }
+            if (value0 > max) {
+                max = value0;
+            }
+            if (value1 < min) {
+                min = value1;
+            }
+            if (value1 > max) {
+                max = value1;
+            }
+            if (value2 < min) {
+                min = value2;
+            }
+            if (value2 > max) {
+                max = value2;
+            }
+            if (value3 < min) {
+                min = value3;
+            }
+            if (value3 > max) {
+                max = value3;
+            }
+            // додавання Кехена в кожній смузі: compensation зберігає втрачені при округленні молодші біти
+            double corrected0 = value0 - compensation0;
+            double total0 = sum0 + corrected0;
+            compensation0 = (total0 - sum0) - corrected0;
+            sum0 = total0;
+            double corrected1 = value1 - compensation1;
+            double total1 = sum1 + corrected1;
+            compensation1 = (total1 - sum1) - corrected1;
+            sum1 = total1;
+            double corrected2 = value2 - compensation2;
+            double total2 = sum2 + corrected2;
+            compensation2 = (total2 - sum2) - corrected2;
+            sum2 = total2;
+            double corrected3 = value3 - compensation3;
+            double total3 = sum3 + corrected3;
+            compensation3 = (total3 - sum3) - corrected3;
+            sum3 = total3;
+        }
+        for (; i < values.length; i++) {
+            if (values[i] < min) {
+                min = values[i];
+            }
+            if (values[i] > max) {
+                max = values[i];
+            }
+            double corrected = values[i] - compensation0;
+            double total = sum0 + corrected;
+            compensation0 = (total - sum0) - corrected;
+            sum0 = total;
+        }
+        double sum = combineLanes(sum0, compensation0, sum1, compensation1, sum2, compensation2, sum3, compensation3);
+        if (Double.isNaN(sum) || min == 0 || max == 0) {
+            return acceptAll(values);
+        }
+        return summary(values.length, min, max, sum);
+    }
+
+    /**
+     * Обчислює статистику масиву у представленні відповідного {@link DataType}.
+     *
+     * @return IntSummaryStatistics, LongSummaryStatistics або DoubleSummaryStatistics.
+     * @throws IllegalArgumentException для типу String.
+     */
+    public static Object of(Object array, DataType type) {
+        switch (type) {
+            case CHARACTER:
+                return of((char[]) array);
+            case BYTE: {
+                byte[] bytes = (byte[]) array;
+                int min = Byte.MAX_VALUE;
+                int max = Byte.MIN_VALUE;
+                long sum = 0;
+                for (byte value : bytes) {
+                    min = Math.min(min, value);
+                    max = Math.max(max, value);
+                    sum += value;
+                }
+                return new IntSummaryStatistics(bytes.length, min, max, sum);
+            }
+            case SHORT:
+                return of((short[]) array);
+            case INT:
+            case LOCAL_DATE:
+            case LOCAL_TIME:
+                return of((int[]) array);
+            case LONG:
+            case LOCAL_DATE_TIME:
+                return of((long[]) array);
+            case FLOAT:
+                return of((float[]) array);
+            case DOUBLE:
+                return of((double[]) array);
+            default:
+                throw new IllegalArgumentException("Статистика не підтримує тип " + type);
+        }
+    }
+
+    /**
+     * Порівняння &lt; і &gt; не розрізняють -0.0 і 0.0 та пропускають NaN, а {@link DoubleSummaryStatistics}
+     * вважає -0.0 меншим за 0.0 і повертає NaN, якщо він трапився. NaN у даних (як і пара нескінченностей
+     * різних знаків) завжди робить NaN і суму, тому в цих рідкісних випадках статистика
+     * обчислюється стандартним {@link DoubleSummaryStatistics#accept}.
+     */
+    private static DoubleSummaryStatistics acceptAll(float[] values) {
+        DoubleSummaryStatistics statistics = new DoubleSummaryStatistics();
+        for (float value : values) {
+            statistics.accept(value);
+        }
+        return statistics;
+    }
+
+    private static DoubleSummaryStatistics acceptAll(double[] values) {
+        DoubleSummaryStatistics statistics = new DoubleSummaryStatistics();
+        for (double value : values) {
+            statistics.accept(value);
+        }
+        return statistics;
+    }
+
+    /**
+     * Додає суми смуг разом з їхніми поправками теж з компенсацією Кехена.
+     */
+    private static double combineLanes(double sum0, double compensation0, double sum1, double compensation1,
+            double sum2, double compensation2, double sum3, double compensation3) {
+        double[] terms = {sum0, -compensation0, sum1, -compensation1, sum2, -compensation2, sum3, -compensation3};
+        double sum = 0;
+        double compensation = 0;
+        for (double term : terms) {
+            double corrected = term - compensation;
+            double total = sum + corrected;
+            compensation = (total - sum) - corrected;
+            sum = total;
+        }
+        return sum;
+    }
+
+    private static DoubleSummaryStatistics summary(int count, double min, double max, double sum) {
+        if (count == 0) {
+            return new DoubleSummaryStatistics();
+        }
+        return new DoubleSummaryStatistics(count, min, max, sum);
+    }
+}
@@ -0,0 +1,264 @@
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BiConsumer;
+
+/**
+ * Клас StripedMap - потокобезпечна хеш-таблиця з розділеними блокуваннями (lock striping).
+ *
+ * <p>Записи розподіляються між кількома незалежними сегментами-HashMap за старшими бітами
+ * перемішаного хеш-коду, і кожен сегмент захищений власним монітором. Потоки, що працюють
+ * з ключами різних сегментів, не чекають один одного, на відміну від Hashtable чи
+ * Collections.synchronizedMap, де один монітор серіалізує всі операції.</p>
+ *
+ * <p>Операції над усією таблицею ({@link #size()}, {@link #containsValue}, обхід) блокують
+ * сегменти по черзі, тому не зупиняють решту таблиці, але й не дають атомарного знімка.
+ * {@link #forEach} обходить кожен сегмент під його монітором без копіювання, а ітератор
+ * копіює записи лише одного сегмента за раз. Null-ключі й null-значення не допускаються.</p>
+ *
+ * @param <K> Тип ключів.
+ * @param <V> Тип значень.
+ */
+public class StripedMap<K, V> extends AbstractMap<K, V> {
+    private final HashMap<K, V>[] segments;
+    private final int shift;
+
+    /**
+     * Створює таблицю з кількістю сегментів, учетверо більшою за кількість процесорів (не менше 16).
+     */
+    public StripedMap() {
+        this(defaultStripeCount(), 0);
+    }
+
+    /**
+     * Створює таблицю зі стандартною кількістю сегментів, кожен з яких одразу вміщує свою частку
+     * expectedSize записів без перехешування.
+     *
+     * @param expectedSize Очікувана кількість записів.
+     */
+    public StripedMap(int expectedSize) {
+        this(defaultStripeCount(), expectedSize);
+    }
+
+    /**
+     * @param stripes Кількість сегментів; округлюється вгору до степеня двійки.
+     * @param expectedSize Очікувана кількість записів усієї таблиці.
+     */
+    @SuppressWarnings("unchecked")
+    public StripedMap(int stripes, int expectedSize) {
+        if (stripes < 1 || stripes > 1 << 16) {
+            throw new IllegalArgumentException("Кількість сегментів має бути від 1 до 65536: " + stripes);
+        }
+        if (expectedSize < 0) {
+            throw new IllegalArgumentException("Очікувана кількість записів не може бути від'ємною: " + expectedSize);
+        }
+        int count = Integer.highestOneBit(stripes);
+        if (count < stripes) {
+            count <<= 1;
+        }
+        segments = (HashMap<K, V>[]) new HashMap<?, ?>[count];
+        // частка сегмента з запасом на нерівномірний розподіл, поділена на коефіцієнт заповнення HashMap 0.75
+        int segmentCapacity = (int) Math.min(1 << 30, ((long) expectedSize / count + 1) * 5 / 4 * 4 / 3 + 1);
+        for (int i = 0; i < count; i++) {
+            segments[i] = new HashMap<K, V>(segmentCapacity);
+        }
+        shift = Integer.numberOfLeadingZeros(count) + 1;
+    }
+
+    private static int defaultStripeCount() {
+        return Math.max(16, 4 * Runtime.getRuntime().availableProcessors());
+    }
+
+    public int getStripeCount() {
+        return segments.length;
+    }
+
+    /**
+     * Фібоначчієве хешування: сегмент визначають старші біти добутку, а HashMap усередині
+     * сегмента використовує молодші, тож розподіли між сегментами і всередині них незалежні.
+     */
+    private HashMap<K, V> segmentFor(Object key) {
+        if (segments.length == 1) {
+            // зсув на 32 біти в Java не змінює int, тому єдиний сегмент обирається окремо
+            return segments[0];
+        }
+        return segments[(key.hashCode() * 0x9E3779B9) >>> shift];
+    }
+
+    @Override
+    public V get(Object key) {
+        if (key == null) {
+            return null;
+        }
+        HashMap<K, V> segment = segmentFor(key);
+        synchronized (segment) {
+            return segment.get(key);
+        }
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        if (key == null) {
+            return false;
+        }
+        HashMap<K, V> segment = segmentFor(key);
+        synchronized (segment) {
+            return segment.containsKey(key);
+        }
+    }
+
+    /**
+     * @throws NullPointerException якщо ключ або значення дорівнює null.
+     */
+    @Override
+    public V put(K key, V value) {
+        if (key == null || value == null) {
+            throw new NullPointerException("StripedMap не допускає null-ключів і null-значень");
+        }
+        HashMap<K, V> segment = segmentFor(key);
+        synchronized (segment) {
+            return segment.put(key, value);
+        }
+    }
+
+    @Override
+    public V remove(Object key) {
+        if (key == null) {
+            return null;
+        }
+        HashMap<K, V> segment = segmentFor(key);
+        synchronized (segment) {
+            return segment.remove(key);
+        }
+    }
+
+    /**
+     * Перевіряє сегменти по черзі; одночасно блокується лише один сегмент.
+     */
+    @Override
+    public boolean containsValue(Object value) {
+        for (HashMap<K, V> segment : segments) {
+            synchronized (segment) {
+                if (segment.containsValue(value)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @return Сума розмірів сегментів; під час одночасних змін значення може бути застарілим.
+     */
+    @Override
+    public int size() {
+        long size = 0;
+        for (HashMap<K, V> segment : segments) {
+            synchronized (segment) {
+                size += segment.size();
+            }
+        }
+        return (int) Math.min(Integer.MAX_VALUE, size);
+    }
+
+    @Override
+    public boolean isEmpty() {
+        for (HashMap<K, V> segment : segments) {
+            synchronized (segment) {
+                if (!segment.isEmpty()) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public void clear() {
+        for (HashMap<K, V> segment : segments) {
+            synchronized (segment) {
+                segment.clear();
+            }
+        }
+    }
+
+    /**
+     * Обходить сегменти по черзі; дія виконується під монітором поточного сегмента, тому не повинна
+     * змінювати цю таблицю (як і для {@link java.util.Hashtable#forEach}). Копії записів не створюються.
+     */
+    @Override
+    public void forEach(BiConsumer<? super K, ? super V> action) {
+        for (HashMap<K, V> segment : segments) {
+            synchronized (segment) {
+                segment.forEach(action);
+            }
+        }
+    }
+
+    /**
+     * @return Копія записів одного сегмента.
+     */
+    @SuppressWarnings("unchecked")
+    private Map.Entry<K, V>[] snapshot(HashMap<K, V> segment) {
+        synchronized (segment) {
+            Map.Entry<K, V>[] entries = (Map.Entry<K, V>[]) new Map.Entry<?, ?>[segment.size()];
+            int count = 0;
+            for (Map.Entry<K, V> entry : segment.entrySet()) {
+                entries[count++] = new AbstractMap.SimpleImmutableEntry<K, V>(entry);
+            }
+            return entries;
+        }
+    }
+
+    @Override
+    public Set<Map.Entry<K, V>> entrySet() {
+        return new AbstractSet<Map.Entry<K, V>>() {
+            @Override
+            public Iterator<Map.Entry<K, V>> iterator() {
+                return new Iterator<Map.Entry<K, V>>() {
+                    private int segmentIndex;
+                    private Map.Entry<K, V>[] entries = snapshot(segments[0]);
+                    private int position;
+                    private Map.Entry<K, V> last;
+
+                    @Override
+                    public boolean hasNext() {
+                        // наступний сегмент копіюється лише тоді, коли попередній уже пройдено
+                        while (position == entries.length && segmentIndex < segments.length - 1) {
+                            entries = snapshot(segments[++segmentIndex]);
+                            position = 0;
+                        }
+                        return position < entries.length;
+                    }
+
+                    @Override
+                    public Map.Entry<K, V> next() {
+                        if (!hasNext()) {
+                            throw new NoSuchElementException();
+                        }
+                        last = entries[position++];
+                        return last;
+                    }
+
+                    @Override
+                    public void remove() {
+                        if (last == null) {
+                            throw new IllegalStateException();
+                        }
+                        StripedMap.this.remove(last.getKey());
+                        last = null;
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return StripedMap.this.size();
+            }
+        };
+    }
+}
@@ -0,0 +1,329 @@
+import java.util.HashMap;
+import java.util.function.Function;
+import java.util.function.ToIntBiFunction;
+
+/**
+ * Клас TinyLfuCache - обмежений кеш з політикою W-TinyLFU.
+ *
+ * <p>Кеш поділено на три області, кожна - двобічний список у порядку доступу (на початку
+ * найдавніше використаний запис):</p>
+ * <ul>
+ *   <li>вікно (1% місткості) - нові записи; воно поглинає короткі сплески звернень;</li>
+ *   <li>випробувальна область - записи, які вийшли з вікна і пройшли фільтр допуску;</li>
+ *   <li>захищена область (80% основної частини) - записи, до яких звернулися повторно
+ *       вже в основній частині.</li>
+ * </ul>
+ *
+ * <p>Запис, що виходить з вікна, стає кандидатом. Якщо основна частина заповнена, кандидат
+ * порівнюється з найдавніше використаним записом випробувальної області за оцінкою частоти
+ * звернень, і в кеші залишається той, до кого зверталися частіше (при рівності - старий запис).
+ * Частоти оцінює {@link FrequencySketch} - count-min sketch з 4-бітними лічильниками, які
+ * періодично зменшуються вдвічі, тож давня популярність поступово забувається. На потоці з
+ * асиметричним розподілом ключів (Zipf) це дає більшу частку влучань, ніж LRU, бо рідкісні ключі
+ * не витісняють популярних.</p>
+ *
+ * <p>Вузли записів самі є ланками списків, тому влучання коштує одного пошуку в HashMap і
+ * кількох присвоєнь посилань, а лічильники одного ключа в sketch лежать в одному 64-байтовому
+ * блоці, щоб оцінка частоти зверталася до однієї лінії кешу процесора. Розмір sketch задається
+ * очікуваною кількістю записів, а не місткістю: для кешу, обмеженого за байтами, місткість
+ * у мільйони одиниць ваги означає лише тисячі записів.</p>
+ *
+ * @param <K> Тип ключів.
+ * @param <V> Тип значень.
+ */
+public class TinyLfuCache<K, V> extends BoundedCache<K, V> {
+    private static final int WINDOW = 0;
+    private static final int PROBATION = 1;
+    private static final int PROTECTED = 2;
+
+    private static final double WINDOW_FRACTION = 0.01;
+    private static final double PROTECTED_FRACTION = 0.8;
+
+    private final HashMap<K, Node<K, V>> nodes = new HashMap<K, Node<K, V>>();
+    // вартові кільцевих списків областей: head.next - найдавніший запис, head.previous - найсвіжіший
+    private final Node<K, V> window = new Node<K, V>(null, null, 0, WINDOW);
+    private final Node<K, V> probation = new Node<K, V>(null, null, 0, PROBATION);
+    private final Node<K, V> protectedArea = new Node<K, V>(null, null, 0, PROTECTED);
+    private final FrequencySketch sketch;
+
+    private final long maximumWindowWeight;
+    private final long maximumProtectedWeight;
+    private long windowWeight;
+    private long protectedWeight;
+
+    private static final class Node<K, V> {
+        final K key;
+        V value;
+        int weight;
+        int area;
+        Node<K, V> previous = this;
+        Node<K, V> next = this;
+
+        Node(K key, V value, int weight, int area) {
+            this.key = key;
+            this.value = value;
+            this.weight = weight;
+            this.area = area;
+        }
+    }
+
+    /**
+     * @param maximumWeight Найбільша сумарна вага записів.
+     * @param expectedEntries Очікувана кількість записів у заповненому кеші (для ваги 1 - сама місткість);
+     *                        визначає розмір {@link FrequencySketch}.
+     * @param weigher Вага запису (невід'ємна).
+     * @param loader Завантаження значення з повільного сховища.
+     */
+    public TinyLfuCache(long maximumWeight, long expectedEntries, ToIntBiFunction<? super K, ? super V> weigher,
+            Function<? super K, ? extends V> loader) {
+        super(maximumWeight, weigher, loader);
+        if (expectedEntries < 1) {
+            throw new IllegalArgumentException("Очікувана кількість записів має бути додатною: " + expectedEntries);
+        }
+        maximumWindowWeight = Math.max(1, (long) (maximumWeight * WINDOW_FRACTION));
+        maximumProtectedWeight = (long) ((maximumWeight - maximumWindowWeight) * PROTECTED_FRACTION);
+        sketch = new FrequencySketch(expectedEntries);
+    }
+
+    @Override
+    protected V lookup(K key) {
+        sketch.increment(key.hashCode());
+        Node<K, V> node = nodes.get(key);
+        if (node == null) {
+            return null;
+        }
+        touch(node);
+        return node.value;
+    }
+
+    /**
+     * Позначає звернення: у вікні й захищеній області запис переходить у кінець списку,
+     * а з випробувальної області - до захищеної.
+     */
+    private void touch(Node<K, V> node) {
+        if (node.area == WINDOW) {
+            moveToEnd(window, node);
+        } else if (node.area == PROTECTED) {
+            moveToEnd(protectedArea, node);
+        } else {
+            unlink(node);
+            node.area = PROTECTED;
+            linkLast(protectedArea, node);
+            protectedWeight += node.weight;
+            // переповнена захищена область повертає найдавніші записи на випробування
+            while (protectedWeight > maximumProtectedWeight && protectedArea.next != node) {
+                Node<K, V> demoted = protectedArea.next;
+                unlink(demoted);
+                protectedWeight -= demoted.weight;
+                demoted.area = PROBATION;
+                linkLast(probation, demoted);
+            }
+        }
+    }
+
+    @Override
+    protected void store(K key, V value, int weight) {
+        Node<K, V> node = nodes.get(key);
+        if (node != null) {
+            addWeight(weight - node.weight);
+            if (node.area == WINDOW) {
+                windowWeight += weight - node.weight;
+            } else if (node.area == PROTECTED) {
+                protectedWeight += weight - node.weight;
+            }
+            node.value = value;
+            node.weight = weight;
+            touch(node);
+        } else {
+            node = new Node<K, V>(key, value, weight, WINDOW);
+            nodes.put(key, node);
+            linkLast(window, node);
+            windowWeight += weight;
+            addWeight(weight);
+        }
+
+        // переповнене вікно віддає найдавніші записи кандидатами до основної частини
+        while (windowWeight > maximumWindowWeight && window.next != node) {
+            Node<K, V> candidate = window.next;
+            unlink(candidate);
+            windowWeight -= candidate.weight;
+            admit(candidate, node);
+        }
+        // вікно могло вирости, поки основна частина заповнена: тоді витісняються найдавніші записи
+        while (isOverweight()) {
+            Node<K, V> victim = victimFrom(probation, node, node);
+            if (victim == null) {
+                victim = victimFrom(protectedArea, node, node);
+            }
+            if (victim == null) {
+                victim = victimFrom(window, node, node);
+            }
+            evict(victim);
+        }
+    }
+
+    /**
+     * Переводить кандидата з вікна до випробувальної області, витісняючи за частотою
+     * або записи основної частини, або самого кандидата.
+     *
+     * @param stored Щойно доданий або оновлений запис, який не витісняється.
+     */
+    private void admit(Node<K, V> candidate, Node<K, V> stored) {
+        candidate.area = PROBATION;
+        linkLast(probation, candidate);
+        int candidateFrequency = sketch.frequency(candidate.key.hashCode());
+        while (isOverweight()) {
+            Node<K, V> victim = victimFrom(probation, candidate, stored);
+            if (victim == null) {
+                victim = victimFrom(protectedArea, stored, stored);
+            }
+            if (victim == null) {
+                return;
+            }
+            if (candidateFrequency > sketch.frequency(victim.key.hashCode())) {
+                evict(victim);
+            } else {
+                evict(candidate);
+                return;
+            }
+        }
+    }
+
+    /**
+     * @return Найдавніше використаний запис області, крім двох указаних, або null.
+     */
+    private Node<K, V> victimFrom(Node<K, V> head, Node<K, V> except, Node<K, V> alsoExcept) {
+        for (Node<K, V> node = head.next; node != head; node = node.next) {
+            if (node != except && node != alsoExcept) {
+                return node;
+            }
+        }
+        return null;
+    }
+
+    private void evict(Node<K, V> victim) {
+        remove(victim);
+        recordEviction(victim.weight);
+    }
+
+    @Override
+    protected void discard(K key) {
+        Node<K, V> node = nodes.get(key);
+        if (node != null) {
+            remove(node);
+            addWeight(-node.weight);
+        }
+    }
+
+    private void remove(Node<K, V> node) {
+        nodes.remove(node.key);
+        unlink(node);
+        if (node.area == WINDOW) {
+            windowWeight -= node.weight;
+        } else if (node.area == PROTECTED) {
+            protectedWeight -= node.weight;
+        }
+    }
+
+    @Override
+    protected int entryCount() {
+        return nodes.size();
+    }
+
+    private static <K, V> void linkLast(Node<K, V> head, Node<K, V> node) {
+        Node<K, V> last = head.previous;
+        node.previous = last;
+        node.next = head;
+        last.next = node;
+        head.previous = node;
+    }
+
+    private static <K, V> void unlink(Node<K, V> node) {
+        node.previous.next = node.next;
+        node.next.previous = node.previous;
+        node.previous = node;
+        node.next = node;
+    }
+
+    private static <K, V> void moveToEnd(Node<K, V> head, Node<K, V> node) {
+        if (head.previous != node) {
+            unlink(node);
+            linkLast(head, node);
+        }
+    }
+
+    /**
+     * Count-min sketch: 4 рядки 4-бітних лічильників, упакованих по 16 у long. Оцінка частоти -
+     * мінімум з чотирьох лічильників ключа. Усі чотири лічильники ключа лежать в одному блоці
+     * з 8 long (64 байти): кожен рядок має у блоці свою пару long. Після 10 * (кількість long)
+     * збільшень усі лічильники зменшуються вдвічі (старіння).
+     */
+    static final class FrequencySketch {
+        private static final long RESET_MASK = 0x7777777777777777L;
+        private static final int MAX_COUNTER = 15;
+        private static final int ROWS = 4;
+
+        private final long[] table;
+        private final int blockMask;
+        private final int sampleSize;
+        private int additions;
+
+        /**
+         * @param expectedEntries Очікувана кількість записів кешу (обмежується діапазоном 16..2^24).
+         */
+        FrequencySketch(long expectedEntries) {
+            int length = Integer.highestOneBit((int) Math.max(16, Math.min(1 << 24, expectedEntries)) * 2 - 1);
+            table = new long[length];
+            blockMask = (length >>> 3) - 1;
+            sampleSize = 10 * length;
+        }
+
+        int frequency(int hashCode) {
+            int blockHash = spread(hashCode);
+            int counterHash = rehash(blockHash);
+            int block = (blockHash & blockMask) << 3;
+            int frequency = MAX_COUNTER;
+            for (int row = 0; row < ROWS; row++) {
+                int bits = counterHash >>> (row << 3);
+                long word = table[block + (row << 1) + (bits & 1)];
+                frequency = Math.min(frequency, (int) ((word >>> (((bits >>> 1) & 15) << 2)) & MAX_COUNTER));
+            }
+            return frequency;
+        }
+
+        void increment(int hashCode) {
+            int blockHash = spread(hashCode);
+            int counterHash = rehash(blockHash);
+            int block = (blockHash & blockMask) << 3;
+            boolean added = false;
+            for (int row = 0; row < ROWS; row++) {
+                int bits = counterHash >>> (row << 3);
+                int index = block + (row << 1) + (bits & 1);
+                int offset = ((bits >>> 1) & 15) << 2;
+                if (((table[index] >>> offset) & MAX_COUNTER) != MAX_COUNTER) {
+                    table[index] += 1L << offset;
+                    added = true;
+                }
+            }
+            if (added && ++additions == sampleSize) {
+                for (int i = 0; i < table.length; i++) {
+                    table[i] = (table[i] >>> 1) & RESET_MASK;
+                }
+                additions >>>= 1;
+            }
+        }
+
+        private static int spread(int hashCode) {
+            int mixed = hashCode * 0x9E3779B9;
+            return mixed ^ (mixed >>> 16);
+        }
+
+        /**
+         * Друге, незалежне від номера блоку перемішування для вибору лічильників у блоці.
+         */
+        private static int rehash(int hash) {
+            int mixed = hash * 0x31848BAB;
+            return mixed ^ (mixed >>> 14);
+        }
+    }
+}
@@ -0,0 +1,676 @@
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.Year;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Клас TypedDataLoader завантажує файли даних каталогу list/ у примітивні масиви.
+ *
+ * <p>Файл відображається в пам'ять і розбивається на фрагменти по межах рядків.
+ * Фрагменти розбираються паралельно у {@link ForkJoinPool#commonPool()} без створення
+ * рядків для числових значень, а результати об'єднуються в порядку слідування у файлі.</p>
+ *
+ * <p>Представлення типів дати та часу описане в {@link DataType}.</p>
+ */
+public class TypedDataLoader {
+    private static final long MIN_CHUNK_SIZE = 1L << 20;
+    private static final long MAX_CHUNK_SIZE = 1L << 26;
+    private static final int SECONDS_PER_DAY = 86_400;
+
+    private static final double[] DOUBLE_POWERS_OF_TEN = {
+        1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10,
+        1e11, 1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+    };
+    private static final float[] FLOAT_POWERS_OF_TEN = {
+        1e0f, 1e1f, 1e2f, 1e3f, 1e4f, 1e5f, 1e6f, 1e7f, 1e8f, 1e9f, 1e10f
+    };
+
+    public static char[] loadChars(String filePath) {
+        return (char[]) load(filePath, DataType.CHARACTER);
+    }
+
+    public static byte[] loadBytes(String filePath) {
+        return (byte[]) load(filePath, DataType.BYTE);
+    }
+
+    public static short[] loadShorts(String filePath) {
+        return (short[]) load(filePath, DataType.SHORT);
+    }
+
+    public static int[] loadInts(String filePath) {
+        return (int[]) load(filePath, DataType.INT);
+    }
+
+    public static long[] loadLongs(String filePath) {
+        return (long[]) load(filePath, DataType.LONG);
+    }
+
+    public static float[] loadFloats(String filePath) {
+        return (float[]) load(filePath, DataType.FLOAT);
+    }
+
+    public static double[] loadDoubles(String filePath) {
+        return (double[]) load(filePath, DataType.DOUBLE);
+    }
+
+    /**
+     * @return Дати у вигляді кількості днів від 1970-01-01.
+     */
+    public static int[] loadLocalDates(String filePath) {
+        return (int[]) load(filePath, DataType.LOCAL_DATE);
+    }
+
+    /**
+     * @return Час у вигляді кількості секунд від початку доби.
+     */
+    public static int[] loadLocalTimes(String filePath) {
+        return (int[]) load(filePath, DataType.LOCAL_TIME);
+    }
+
+    /**
+     * @return Дата-час у вигляді кількості секунд від 1970-01-01T00:00:00 (UTC).
+     */
+    public static long[] loadLocalDateTimes(String filePath) {
+        return (long[]) load(filePath, DataType.LOCAL_DATE_TIME);
+    }
+
+    public static String[] loadStrings(String filePath) {
+        return (String[]) load(filePath, DataType.STRING);
+    }
+
+    /**
+     * Завантажує файл, визначаючи тип даних за його ім'ям.
+     *
+     * @param filePath Шлях до файлу з даними (наприклад, "list/int.data").
+     * @return Масив відповідного примітивного типу або String[].
+     */
+    public static Object load(String filePath) {
+        return load(filePath, DataType.fromFileName(filePath));
+    }
+
+    /**
+     * Завантажує файл у масив заданого типу.
+     *
+     * @param filePath Шлях до файлу з даними.
+     * @param type Тип даних у файлі.
+     * @return Масив відповідного примітивного типу або String[] для {@link DataType#STRING}.
+     * @throws NumberFormatException якщо рядок файлу не відповідає формату типу.
+     */
+    public static Object load(String filePath, DataType type) {
+        try {
+            return loadOrThrow(filePath, type);
+        } catch (IOException ioException) {
+            ioException.printStackTrace();
+            return newArray(type, 0);
+        }
+    }
+
+    /**
+     * Те саме, що {@link #load(String, DataType)}, але помилка читання передається викликачу,
+     * тож він може відрізнити повністю розібраний файл від нерозібраного.
+     *
+     * @throws IOException якщо файл не вдалося прочитати повністю.
+     */
+    static Object loadOrThrow(String filePath, DataType type) throws IOException {
+        long timeStart = System.nanoTime();
+        long fileSize = 0;
+        Object resultArray;
+
+        try (FileChannel fileChannel = FileChannel.open(Paths.get(filePath), StandardOpenOption.READ)) {
+            fileSize = fileChannel.size();
+            resultArray = parseRange(fileChannel, 0, fileSize, type);
+        } catch (UncheckedIOException uncheckedException) {
+            // паралельні частини розбору загортають IOException, бо виконуються в задачах ForkJoin
+            throw uncheckedException.getCause();
+        } finally {
+            PerformanceTracker.displayThroughput(timeStart, fileSize, "паралельний розбір " + filePath);
+        }
+
+        return resultArray;
+    }
+
+    /**
+     * Паралельно розбирає діапазон файлу, що починається з початку рядка.
+     *
+     * @param fileChannel Канал відкритого файлу даних.
+     * @param start Початок діапазону (0 або позиція одразу після символу нового рядка).
+     * @param end Кінець діапазону (позиція після символу нового рядка або розмір файлу).
+     * @param type Тип даних у файлі.
+     * @return Масив відповідного типу з усіма значеннями діапазону в порядку слідування.
+     */
+    static Object parseRange(FileChannel fileChannel, long start, long end, DataType type) throws IOException {
+        int parallelism = ForkJoinPool.commonPool().getParallelism();
+        long chunkSize = Math.max(MIN_CHUNK_SIZE, Math.min(MAX_CHUNK_SIZE, (end - start) / (parallelism * 4L)));
+
+        List<ChunkParser> chunks = new ArrayList<>();
+        long chunkStart = start;
+        while (chunkStart < end) {
+            long chunkEnd = chunkStart + chunkSize >= end
+                    ? end
+                    : Math.min(end, findNextLineStart(fileChannel, chunkStart + chunkSize, end));
+            chunks.add(new ChunkParser(fileChannel, chunkStart, chunkEnd, type));
+            chunkStart = chunkEnd;
+        }
+
+        ForkJoinTask.invokeAll(chunks);
+        return stitch(chunks, type);
+    }
+
+    /**
+     * Знаходить початок рядка, наступного за позицією.
+     *
+     * @return Позиція одразу після найближчого символу нового рядка або fileSize, якщо його немає.
+     */
+    static long findNextLineStart(FileChannel fileChannel, long position, long fileSize) throws IOException {
+        ByteBuffer probe = ByteBuffer.allocate(8192);
+        while (position < fileSize) {
+            probe.clear();
+            int bytesRead = fileChannel.read(probe, position);
+            if (bytesRead <= 0) {
+                break;
+            }
+            for (int i = 0; i < bytesRead; i++) {
+                if (probe.get(i) == '\n') {
+                    return position + i + 1;
+                }
+            }
+            position += bytesRead;
+        }
+        return fileSize;
+    }
+
+    private static Object stitch(List<ChunkParser> chunks, DataType type) {
+        int totalCount = 0;
+        for (ChunkParser chunk : chunks) {
+            chunk.offset = totalCount;
+            totalCount = Math.addExact(totalCount, chunk.count);
+        }
+
+        Object resultArray = newArray(type, totalCount);
+        chunks.parallelStream().forEach(chunk -> chunk.copyInto(resultArray));
+        return resultArray;
+    }
+
+    static Object newArray(DataType type, int length) {
+        switch (type) {
+            case CHARACTER: return new char[length];
+            case BYTE: return new byte[length];
+            case SHORT: return new short[length];
+            case INT:
+            case LOCAL_DATE:
+            case LOCAL_TIME: return new int[length];
+            case LONG:
+            case LOCAL_DATE_TIME: return new long[length];
+            case FLOAT: return new float[length];
+            case DOUBLE: return new double[length];
+            default: return new String[length];
+        }
+    }
+
+    /**
+     * Розбирає один фрагмент файлу у проміжний масив long[], double[] або String[].
+     * Звуження до цільового типу виконується під час об'єднання фрагментів.
+     */
+    static final class ChunkParser extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final transient FileChannel fileChannel;
+        private final long start;
+        private final long end;
+        private final DataType type;
+
+        long[] integers;
+        double[] reals;
+        String[] texts;
+        int count;
+        int offset;
+
+        ChunkParser(FileChannel fileChannel, long start, long end, DataType type) {
+            this.fileChannel = fileChannel;
+            this.start = start;
+            this.end = end;
+            this.type = type;
+        }
+
+        @Override
+        protected void compute() {
+            MappedByteBuffer buffer;
+            try {
+                buffer = fileChannel.map(FileChannel.MapMode.READ_ONLY, start, end - start);
+            } catch (IOException ioException) {
+                throw new UncheckedIOException(ioException);
+            }
+
+            int limit = buffer.limit();
+            int initialCapacity = Math.max(16, limit / 16);
+            if (type == DataType.STRING) {
+                texts = new String[initialCapacity];
+            } else if (type.isFloatingPoint()) {
+                reals = new double[initialCapacity];
+            } else {
+                integers = new long[initialCapacity];
+            }
+
+            int position = 0;
+            if (start == 0 && limit >= 3
+                    && (buffer.get(0) & 0xFF) == 0xEF
+                    && (buffer.get(1) & 0xFF) == 0xBB
+                    && (buffer.get(2) & 0xFF) == 0xBF) {
+                position = 3;
+            }
+
+            while (position < limit) {
+                int lineEnd = position;
+                while (lineEnd < limit && buffer.get(lineEnd) != '\n') {
+                    lineEnd++;
+                }
+
+                // аналог String.trim(): відкидаємо керуючі та пробільні байти з обох боків
+                int from = position;
+                int to = lineEnd;
+                while (from < to && (buffer.get(from) & 0xFF) <= ' ') {
+                    from++;
+                }
+                while (to > from && (buffer.get(to - 1) & 0xFF) <= ' ') {
+                    to--;
+                }
+
+                if (from < to) {
+                    parseLine(buffer, from, to);
+                }
+                position = lineEnd + 1;
+            }
+        }
+
+        private void parseLine(ByteBuffer buffer, int from, int to) {
+            switch (type) {
+                case CHARACTER:
+                    addInteger(decodeFirstChar(buffer, from, to));
+                    break;
+                case BYTE:
+                    addInteger(parseIntegral(buffer, from, to, Byte.MIN_VALUE, Byte.MAX_VALUE));
+                    break;
+                case SHORT:
+                    addInteger(parseIntegral(buffer, from, to, Short.MIN_VALUE, Short.MAX_VALUE));
+                    break;
+                case INT:
+                    addInteger(parseIntegral(buffer, from, to, Integer.MIN_VALUE, Integer.MAX_VALUE));
+                    break;
+                case LONG:
+                    addInteger(parseIntegral(buffer, from, to, Long.MIN_VALUE, Long.MAX_VALUE));
+                    break;
+                case FLOAT:
+                    addReal(parseReal(buffer, from, to, true));
+                    break;
+                case DOUBLE:
+                    addReal(parseReal(buffer, from, to, false));
+                    break;
+                case LOCAL_DATE:
+                    addInteger(parseEpochDay(buffer, from, to));
+                    break;
+                case LOCAL_TIME:
+                    addInteger(parseSecondOfDay(buffer, from, to));
+                    break;
+                case LOCAL_DATE_TIME:
+                    addInteger(parseEpochSecond(buffer, from, to));
+                    break;
+                default:
+                    addText(decodeText(buffer, from, to));
+                    break;
+            }
+        }
+
+        private void addInteger(long value) {
+            if (count == integers.length) {
+                integers = Arrays.copyOf(integers, count * 2);
+            }
+            integers[count++] = value;
+        }
+
+        private void addReal(double value) {
+            if (count == reals.length) {
+                reals = Arrays.copyOf(reals, count * 2);
+            }
+            reals[count++] = value;
+        }
+
+        private void addText(String value) {
+            if (count == texts.length) {
+                texts = Arrays.copyOf(texts, count * 2);
+            }
+            texts[count++] = value;
+        }
+
+        /**
+         * Копіює розібрані значення у підсумковий масив, звужуючи їх до цільового типу.
+         */
+        void copyInto(Object target) {
+            switch (type) {
+                case CHARACTER: {
+                    char[] values = (char[]) target;
+                    for (int i = 0; i < count; i++) {
+                        values[offset + i] = (char) integers[i];
+                    }
+                    break;
+                }
+                case BYTE: {
+                    byte[] values = (byte[]) target;
+                    for (int i = 0; i < count; i++) {
+                        values[offset + i] = (byte) integers[i];
+                    }
+                    break;
+                }
+                case SHORT: {
+                    short[] values = (short[]) target;
+                    for (int i = 0; i < count; i++) {
+                        values[offset + i] = (short) integers[i];
+                    }
+                    break;
+                }
+                case INT:
+                case LOCAL_DATE:
+                case LOCAL_TIME: {
+                    int[] values = (int[]) target;
+                    for (int i = 0; i < count; i++) {
+                        values[offset + i] = (int) integers[i];
+                    }
+                    break;
+                }
+                case LONG:
+                case LOCAL_DATE_TIME:
+                    System.arraycopy(integers, 0, target, offset, count);
+                    break;
+                case FLOAT: {
+                    float[] values = (float[]) target;
+                    for (int i = 0; i < count; i++) {
+                        values[offset + i] = (float) reals[i];
+                    }
+                    break;
+                }
+                case DOUBLE:
+                    System.arraycopy(reals, 0, target, offset, count);
+                    break;
+                default:
+                    System.arraycopy(texts, 0, target, offset, count);
+                    break;
+            }
+            integers = null;
+            reals = null;
+            texts = null;
+        }
+    }
+
+    /**
+     * Декодує перший символ UTF-8 у діапазоні так само, як String.charAt(0).
+     */
+    static char decodeFirstChar(ByteBuffer buffer, int from, int to) {
+        int leadByte = buffer.get(from) & 0xFF;
+        if (leadByte < 0x80) {
+            return (char) leadByte;
+        }
+
+        int codePoint;
+        int continuationBytes;
+        int minCodePoint;
+        if (leadByte >= 0xC2 && leadByte <= 0xDF) {
+            codePoint = leadByte & 0x1F;
+            continuationBytes = 1;
+            minCodePoint = 0x80;
+        } else if (leadByte >= 0xE0 && leadByte <= 0xEF) {
+            codePoint = leadByte & 0x0F;
+            continuationBytes = 2;
+            minCodePoint = 0x800;
+        } else if (leadByte >= 0xF0 && leadByte <= 0xF4) {
+            codePoint = leadByte & 0x07;
+            continuationBytes = 3;
+            minCodePoint = 0x10000;
+        } else {
+            return '\uFFFD';
+        }
+
+        if (to - from <= continuationBytes) {
+            return '\uFFFD';
+        }
+        for (int i = 1; i <= continuationBytes; i++) {
+            int continuationByte = buffer.get(from + i) & 0xFF;
+            if ((continuationByte & 0xC0) != 0x80) {
+                return '\uFFFD';
+            }
+            codePoint = (codePoint << 6) | (continuationByte & 0x3F);
+        }
+
+        if (codePoint < minCodePoint || codePoint > Character.MAX_CODE_POINT
+                || (codePoint >= Character.MIN_SURROGATE && codePoint <= Character.MAX_SURROGATE)) {
+            return '\uFFFD';
+        }
+        return codePoint >= Character.MIN_SUPPLEMENTARY_CODE_POINT
+                ? Character.highSurrogate(codePoint)
+                : (char) codePoint;
+    }
+
+    /**
+     * Розбирає десяткове ціле число зі знаком і перевіряє, що воно лежить у діапазоні типу.
+     */
+    static long parseIntegral(ByteBuffer buffer, int from, int to, long minValue, long maxValue) {
+        int index = from;
+        boolean negative = false;
+        byte firstByte = buffer.get(index);
+        if (firstByte == '-' || firstByte == '+') {
+            negative = firstByte == '-';
+            index++;
+        }
+        if (index == to) {
+            throw invalidValue(buffer, from, to);
+        }
+
+        // накопичуємо від'ємне значення, щоб коректно розібрати Long.MIN_VALUE
+        long accumulator = 0;
+        for (; index < to; index++) {
+            int digit = buffer.get(index) - '0';
+            if (digit < 0 || digit > 9 || accumulator < Long.MIN_VALUE / 10) {
+                throw invalidValue(buffer, from, to);
+            }
+            accumulator *= 10;
+            if (accumulator < Long.MIN_VALUE + digit) {
+                throw invalidValue(buffer, from, to);
+            }
+            accumulator -= digit;
+        }
+
+        if (!negative && accumulator == Long.MIN_VALUE) {
+            throw invalidValue(buffer, from, to);
+        }
+        long value = negative ? accumulator : -accumulator;
+        if (value < minValue || value > maxValue) {
+            throw invalidValue(buffer, from, to);
+        }
+        return value;
+    }
+
+    /**
+     * Розбирає число з плаваючою комою.
+     *
+     * <p>Якщо мантиса і десятковий порядок точно представлені у double (або float),
+     * результат обчислюється однією операцією множення чи ділення і є коректно округленим.
+     * Решта значень (великі порядки, NaN, Infinity) передаються до Double.parseDouble / Float.parseFloat.</p>
+     */
+    static double parseReal(ByteBuffer buffer, int from, int to, boolean singlePrecision) {
+        int index = from;
+        boolean negative = false;
+        byte firstByte = buffer.get(index);
+        if (firstByte == '-' || firstByte == '+') {
+            negative = firstByte == '-';
+            index++;
+        }
+
+        long mantissa = 0;
+        int significantDigits = 0;
+        int exponent = 0;
+        boolean exact = true;
+        boolean anyDigits = false;
+        boolean fraction = false;
+
+        for (; index < to; index++) {
+            byte currentByte = buffer.get(index);
+            if (currentByte == '.' && !fraction) {
+                fraction = true;
+                continue;
+            }
+            int digit = currentByte - '0';
+            if (digit < 0 || digit > 9) {
+                break;
+            }
+            anyDigits = true;
+            if (mantissa == 0 && digit == 0) {
+                if (fraction) {
+                    exponent--;
+                }
+            } else if (significantDigits < 18) {
+                mantissa = mantissa * 10 + digit;
+                significantDigits++;
+                if (fraction) {
+                    exponent--;
+                }
+            } else {
+                exact &= digit == 0;
+                if (!fraction) {
+                    exponent++;
+                }
+            }
+        }
+
+        if (anyDigits && index < to && (buffer.get(index) == 'e' || buffer.get(index) == 'E')) {
+            index++;
+            boolean negativeExponent = false;
+            if (index < to && (buffer.get(index) == '-' || buffer.get(index) == '+')) {
+                negativeExponent = buffer.get(index) == '-';
+                index++;
+            }
+            int exponentValue = 0;
+            int exponentStart = index;
+            for (; index < to; index++) {
+                int digit = buffer.get(index) - '0';
+                if (digit < 0 || digit > 9) {
+                    break;
+                }
+                exponentValue = Math.min(exponentValue * 10 + digit, 100_000);
+            }
+            if (index == exponentStart) {
+                anyDigits = false;
+            }
+            exponent += negativeExponent ? -exponentValue : exponentValue;
+        }
+
+        if (anyDigits && index == to && exact) {
+            if (mantissa == 0) {
+                return negative ? -0.0 : 0.0;
+            }
+            if (singlePrecision && mantissa < (1L << 24) && Math.abs(exponent) < FLOAT_POWERS_OF_TEN.length) {
+                float value = exponent < 0
+                        ? (float) mantissa / FLOAT_POWERS_OF_TEN[-exponent]
+                        : (float) mantissa * FLOAT_POWERS_OF_TEN[exponent];
+                return negative ? -value : value;
+            }
+            if (!singlePrecision && mantissa < (1L << 53) && Math.abs(exponent) < DOUBLE_POWERS_OF_TEN.length) {
+                double value = exponent < 0
+                        ? (double) mantissa / DOUBLE_POWERS_OF_TEN[-exponent]
+                        : (double) mantissa * DOUBLE_POWERS_OF_TEN[exponent];
+                return negative ? -value : value;
+            }
+        }
+
+        String text = decodeText(buffer, from, to);
+        return singlePrecision ? Float.parseFloat(text) : Double.parseDouble(text);
+    }
+
+    /**
+     * Розбирає дату у форматі yyyy-MM-dd.
+     *
+     * @return Кількість днів від 1970-01-01.
+     */
+    static int parseEpochDay(ByteBuffer buffer, int from, int to) {
+        int firstDash = indexOf(buffer, from + 1, to, '-');
+        int secondDash = firstDash < 0 ? -1 : indexOf(buffer, firstDash + 1, to, '-');
+        if (secondDash < 0) {
+            throw invalidValue(buffer, from, to);
+        }
+
+        int year = (int) parseIntegral(buffer, from, firstDash, Year.MIN_VALUE, Year.MAX_VALUE);
+        int month = (int) parseIntegral(buffer, firstDash + 1, secondDash, 1, 12);
+        int day = (int) parseIntegral(buffer, secondDash + 1, to, 1, 31);
+        try {
+            return (int) LocalDate.of(year, month, day).toEpochDay();
+        } catch (DateTimeException dateTimeException) {
+            throw invalidValue(buffer, from, to);
+        }
+    }
+
+    /**
+     * Розбирає час у форматі HH:mm або HH:mm:ss.
+     *
+     * @return Кількість секунд від початку доби.
+     */
+    static int parseSecondOfDay(ByteBuffer buffer, int from, int to) {
+        int firstColon = indexOf(buffer, from, to, ':');
+        if (firstColon < 0) {
+            throw invalidValue(buffer, from, to);
+        }
+        int secondColon = indexOf(buffer, firstColon + 1, to, ':');
+        int minuteEnd = secondColon < 0 ? to : secondColon;
+
+        int hour = (int) parseIntegral(buffer, from, firstColon, 0, 23);
+        int minute = (int) parseIntegral(buffer, firstColon + 1, minuteEnd, 0, 59);
+        int second = secondColon < 0 ? 0 : (int) parseIntegral(buffer, secondColon + 1, to, 0, 59);
+        return LocalTime.of(hour, minute, second).toSecondOfDay();
+    }
+
+    /**
+     * Розбирає дату-час у форматі yyyy-MM-dd'T'HH:mm:ss з необов'язковим суфіксом Z.
+     *
+     * @return Кількість секунд від 1970-01-01T00:00:00 (UTC).
+     */
+    static long parseEpochSecond(ByteBuffer buffer, int from, int to) {
+        int separator = indexOf(buffer, from, to, 'T');
+        if (separator < 0) {
+            throw invalidValue(buffer, from, to);
+        }
+        int timeEnd = buffer.get(to - 1) == 'Z' ? to - 1 : to;
+
+        long epochDay = parseEpochDay(buffer, from, separator);
+        int secondOfDay = parseSecondOfDay(buffer, separator + 1, timeEnd);
+        return epochDay * SECONDS_PER_DAY + secondOfDay;
+    }
+
+    static String decodeText(ByteBuffer buffer, int from, int to) {
+        byte[] bytes = new byte[to - from];
+        buffer.get(from, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static int indexOf(ByteBuffer buffer, int from, int to, char value) {
+        for (int i = from; i < to; i++) {
+            if (buffer.get(i) == value) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static NumberFormatException invalidValue(ByteBuffer buffer, int from, int to) {
+        return new NumberFormatException("Некоректне значення у файлі даних: '" + decodeText(buffer, from, to) + "'");
+    }
+}